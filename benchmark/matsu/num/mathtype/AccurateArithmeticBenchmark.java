@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 和と積の, 高速な計算 ({@link DoubleDoubleFloat#plus(DoubleDoubleFloat)},
+ * {@link DoubleDoubleFloat#times(DoubleDoubleFloat)}) と
+ * 高精度な計算 ({@link DoubleDoubleFloat#plusAccurate(DoubleDoubleFloat)},
+ * {@link DoubleDoubleFloat#timesAccurate(DoubleDoubleFloat)}) のスループットを比較する.
+ * 
+ * <p>
+ * {@link DoubleDoubleFloat} による計算 (インスタンスの生成を含む) と,
+ * {@link DoubleDoubleMath} のカーネルによる計算 (配列への書き込み) を計測する. <br>
+ * 和の入力は, 符号がランダムな値の組と, 桁落ちを起こす値の組の2種類である. <br>
+ * 結果は1演算あたりの時間 (ns) の中央値である.
+ * </p>
+ * 
+ * <p>
+ * 引数は, 配列の長さ (省略時 1024) と計測の繰り返し回数 (省略時 9) である.
+ * </p>
+ */
+final class AccurateArithmeticBenchmark {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long NANOS_PER_ROUND = 100_000_000L;
+
+    private final int length;
+    private final BenchmarkTimer timer;
+
+    private final DoubleDoubleFloat[] xs;
+    private final DoubleDoubleFloat[] ys;
+
+    /**
+     * xs[i] と打ち消し合う値.
+     */
+    private final DoubleDoubleFloat[] cancelling;
+
+    private final double[] dest = new double[2];
+
+    private AccurateArithmeticBenchmark(int length, int rounds) {
+        this.length = length;
+        this.timer = new BenchmarkTimer(WARMUP_NANOS, NANOS_PER_ROUND, rounds);
+        this.xs = new DoubleDoubleFloat[length];
+        this.ys = new DoubleDoubleFloat[length];
+        this.cancelling = new DoubleDoubleFloat[length];
+
+        Random random = new Random(10L);
+        for (int i = 0; i < length; i++) {
+            this.xs[i] = DoubleDoubleFloat.valueOf(1 + random.nextDouble()).dividedBy(3d);
+            this.ys[i] = DoubleDoubleFloat.valueOf(random.nextDouble() - 0.5).dividedBy(7d);
+            this.cancelling[i] = this.xs[i].negated()
+                    .plus(DoubleDoubleFloat.valueOf(random.nextDouble()).dividedBy(0x1p40));
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        new AccurateArithmeticBenchmark(length, rounds).run();
+    }
+
+    private void run() {
+        System.out.printf("java = %s, FMA = %s%n", System.getProperty("java.version"), TwoProduct.USE_FMA);
+        System.out.printf("%-40s %12s%n", "operation", "[ns/op]");
+
+        this.report("DoubleDoubleFloat.plus", () -> this.plus(this.ys));
+        this.report("DoubleDoubleFloat.plusAccurate", () -> this.plusAccurate(this.ys));
+        this.report("DoubleDoubleFloat.plus (cancel)", () -> this.plus(this.cancelling));
+        this.report("DoubleDoubleFloat.plusAccurate (cancel)", () -> this.plusAccurate(this.cancelling));
+        this.report("DoubleDoubleFloat.times", this::times);
+        this.report("DoubleDoubleFloat.timesAccurate", this::timesAccurate);
+
+        this.report("DoubleDoubleMath.add", () -> this.add(this.ys));
+        this.report("DoubleDoubleMath.addAccurate", () -> this.addAccurate(this.ys));
+        this.report("DoubleDoubleMath.multiply", this::multiply);
+        this.report("DoubleDoubleMath.multiplyAccurate", this::multiplyAccurate);
+    }
+
+    private void report(String name, DoubleSupplier task) {
+        System.out.printf("%-40s %12.3f%n", name, this.timer.measure(task, this.length));
+    }
+
+    private double plus(DoubleDoubleFloat[] augends) {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].plus(augends[i]).lowValue();
+        }
+        return sink;
+    }
+
+    private double plusAccurate(DoubleDoubleFloat[] augends) {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].plusAccurate(augends[i]).lowValue();
+        }
+        return sink;
+    }
+
+    private double times() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].times(this.ys[i]).lowValue();
+        }
+        return sink;
+    }
+
+    private double timesAccurate() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].timesAccurate(this.ys[i]).lowValue();
+        }
+        return sink;
+    }
+
+    private double add(DoubleDoubleFloat[] augends) {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            DoubleDoubleFloat x = this.xs[i];
+            DoubleDoubleFloat y = augends[i];
+            DoubleDoubleMath.add(x.doubleValue(), x.lowValue(), y.doubleValue(), y.lowValue(), this.dest, 0);
+            sink += this.dest[1];
+        }
+        return sink;
+    }
+
+    private double addAccurate(DoubleDoubleFloat[] augends) {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            DoubleDoubleFloat x = this.xs[i];
+            DoubleDoubleFloat y = augends[i];
+            DoubleDoubleMath.addAccurate(
+                    x.doubleValue(), x.lowValue(), y.doubleValue(), y.lowValue(), this.dest, 0);
+            sink += this.dest[1];
+        }
+        return sink;
+    }
+
+    private double multiply() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            DoubleDoubleFloat x = this.xs[i];
+            DoubleDoubleFloat y = this.ys[i];
+            DoubleDoubleMath.multiply(x.doubleValue(), x.lowValue(), y.doubleValue(), y.lowValue(), this.dest, 0);
+            sink += this.dest[1];
+        }
+        return sink;
+    }
+
+    private double multiplyAccurate() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            DoubleDoubleFloat x = this.xs[i];
+            DoubleDoubleFloat y = this.ys[i];
+            DoubleDoubleMath.multiplyAccurate(
+                    x.doubleValue(), x.lowValue(), y.doubleValue(), y.lowValue(), this.dest, 0);
+            sink += this.dest[1];
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+
+/**
+ * ベンチマークの計測を行う.
+ * 
+ * <p>
+ * 計測対象を一定時間繰り返してJITコンパイルさせた後,
+ * 目安の時間の計測を指定回数行い, 1演算あたりの時間 (ns) の中央値を返す. <br>
+ * 計測対象は演算の結果に依存する値を返し, 最適化で演算が除去されないようにする.
+ * </p>
+ */
+final class BenchmarkTimer {
+
+    private final long warmupNanos;
+    private final long nanosPerRound;
+    private final int rounds;
+
+    /**
+     * 結果が最適化で除去されないように保持する.
+     */
+    private double blackhole;
+
+    /**
+     * @param warmupNanos 計測前に繰り返す時間 (ns)
+     * @param nanosPerRound 1回の計測の時間の目安 (ns)
+     * @param rounds 計測の回数
+     */
+    BenchmarkTimer(long warmupNanos, long nanosPerRound, int rounds) {
+        if (!(warmupNanos > 0 && nanosPerRound > 0 && rounds > 0)) {
+            throw new IllegalArgumentException("不正な計測条件");
+        }
+        this.warmupNanos = warmupNanos;
+        this.nanosPerRound = nanosPerRound;
+        this.rounds = rounds;
+    }
+
+    /**
+     * 1回の呼び出しで {@code operations} 回の演算を行う計測対象を計測し,
+     * 1演算あたりの時間 (ns) の中央値を返す.
+     * 
+     * @param task 計測対象
+     * @param operations 1回の呼び出しあたりの演算回数
+     * @return 1演算あたりの時間 (ns)
+     */
+    double measure(DoubleSupplier task, int operations) {
+        //ウォームアップの結果から, 1回の計測の繰り返し回数を定める
+        double sink = 0d;
+        long warmupCount = 0;
+        long warmupStart = System.nanoTime();
+        long warmupElapsed;
+        do {
+            sink += task.getAsDouble();
+            warmupCount++;
+            warmupElapsed = System.nanoTime() - warmupStart;
+        } while (warmupElapsed < this.warmupNanos);
+        int repeats = (int) Math.max(1L, warmupCount * this.nanosPerRound / warmupElapsed);
+
+        double[] samples = new double[this.rounds];
+        for (int round = 0; round < this.rounds; round++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < repeats; r++) {
+                sink += task.getAsDouble();
+            }
+            long elapsed = System.nanoTime() - start;
+            samples[round] = (double) elapsed / ((long) repeats * operations);
+        }
+        this.blackhole += sink;
+        if (this.blackhole == 42d) {
+            System.out.println();
+        }
+
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * {@link BigDecimal} との相互変換のスループットを, {@link BigDecimal} の演算による変換と比較する.
+ * 
+ * <p>
+ * 比較するのは次の組である.
+ * </p>
+ * 
+ * <ul>
+ * <li>{@link DoubleDoubleFloat#valueOf(BigDecimal)} と, 以前の実装と同じ
+ * {@code high = d.doubleValue()}, {@code low = d.subtract(high, DECIMAL128).doubleValue()}
+ * による変換</li>
+ * <li>{@link DoubleDoubleFloat#toBigDecimal()} と
+ * {@code new BigDecimal(high).add(new BigDecimal(low))}</li>
+ * <li>{@link DoubleDoubleArray#valueOf(BigDecimal[], DoubleDoubleArray.Layout)} と
+ * {@link DoubleDoubleArray#toBigDecimalArray()} (レイアウトごと)</li>
+ * </ul>
+ * 
+ * <p>
+ * 入力は, 10桁から40桁の仮数と -10 から 49 のスケールを持つ, 符号がランダムな10進数である. <br>
+ * 結果は1要素あたりの時間 (ns) の中央値である. <br>
+ * 引数は, 配列の長さ (省略時 4096) と計測の繰り返し回数 (省略時 9) である.
+ * </p>
+ */
+final class BigDecimalConversionBenchmark {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long NANOS_PER_ROUND = 100_000_000L;
+
+    private static final int MIN_DIGITS = 10;
+    private static final int MAX_DIGITS = 40;
+    private static final int MIN_SCALE = -10;
+    private static final int MAX_SCALE = 49;
+
+    private final int length;
+    private final BenchmarkTimer timer;
+
+    private final BigDecimal[] decimals;
+    private final DoubleDoubleFloat[] values;
+
+    private BigDecimalConversionBenchmark(int length, int rounds) {
+        this.length = length;
+        this.timer = new BenchmarkTimer(WARMUP_NANOS, NANOS_PER_ROUND, rounds);
+        this.decimals = new BigDecimal[length];
+        this.values = new DoubleDoubleFloat[length];
+
+        Random random = new Random(24L);
+        for (int i = 0; i < length; i++) {
+            int digits = MIN_DIGITS + random.nextInt(MAX_DIGITS - MIN_DIGITS + 1);
+            StringBuilder unscaled = new StringBuilder(digits + 1);
+            if (random.nextBoolean()) {
+                unscaled.append('-');
+            }
+            unscaled.append((char) ('1' + random.nextInt(9)));
+            for (int k = 1; k < digits; k++) {
+                unscaled.append((char) ('0' + random.nextInt(10)));
+            }
+            int scale = MIN_SCALE + random.nextInt(MAX_SCALE - MIN_SCALE + 1);
+            this.decimals[i] = new BigDecimal(new BigInteger(unscaled.toString()), scale);
+            this.values[i] = DoubleDoubleFloat.valueOf(this.decimals[i]);
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        new BigDecimalConversionBenchmark(length, rounds).run();
+    }
+
+    private void run() {
+        System.out.printf("java = %s%n", System.getProperty("java.version"));
+        System.out.printf("%-56s %12s%n", "operation", "[ns/elem]");
+
+        this.report("valueOf(BigDecimal)", this::valueOf);
+        this.report("valueOf by BigDecimal arithmetic (previous)", this::valueOfByArithmetic);
+        this.report("toBigDecimal()", this::toBigDecimal);
+        this.report("new BigDecimal(high).add(new BigDecimal(low))", this::toBigDecimalByArithmetic);
+
+        for (DoubleDoubleArray.Layout layout : DoubleDoubleArray.Layout.values()) {
+            this.reportArray(layout);
+        }
+    }
+
+    private void report(String name, DoubleSupplier task) {
+        System.out.printf("%-56s %12.3f%n", name, this.timer.measure(task, this.length));
+    }
+
+    private void reportArray(DoubleDoubleArray.Layout layout) {
+        DoubleDoubleArray array = DoubleDoubleArray.valueOf(this.decimals, layout);
+
+        this.report("DoubleDoubleArray.valueOf(BigDecimal[]), " + layout,
+                () -> DoubleDoubleArray.valueOf(this.decimals, layout).getLow(this.length - 1));
+        this.report("DoubleDoubleArray.toBigDecimalArray(), " + layout,
+                () -> array.toBigDecimalArray()[this.length - 1].scale());
+    }
+
+    private double valueOf() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += DoubleDoubleFloat.valueOf(this.decimals[i]).lowValue();
+        }
+        return sink;
+    }
+
+    private double valueOfByArithmetic() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            BigDecimal value = this.decimals[i];
+            double high = value.doubleValue();
+            double low = value
+                    .subtract(new BigDecimal(high, MathContext.DECIMAL128), MathContext.DECIMAL128)
+                    .doubleValue();
+            sink += DoubleDoubleFloat.valueOf(high, low).lowValue();
+        }
+        return sink;
+    }
+
+    private double toBigDecimal() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.values[i].toBigDecimal().scale();
+        }
+        return sink;
+    }
+
+    private double toBigDecimalByArithmetic() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            DoubleDoubleFloat value = this.values[i];
+            sink += new BigDecimal(value.doubleValue())
+                    .add(new BigDecimal(value.lowValue()))
+                    .scale();
+        }
+        return sink;
+    }
+}
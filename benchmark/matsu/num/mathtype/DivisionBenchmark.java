@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 除算の専用の経路のスループットを, 一般の除算
+ * {@link DoubleDoubleFloat#dividedBy(DoubleDoubleFloat)} と比較する.
+ * 
+ * <p>
+ * 比較するのは次の組である.
+ * </p>
+ * 
+ * <ul>
+ * <li>{@code POSITIVE_1.dividedBy(x)} と {@link DoubleDoubleFloat#reciprocal()}</li>
+ * <li>{@code x.dividedBy(valueOf(d))} と {@link DoubleDoubleFloat#dividedBy(double)}</li>
+ * <li>除数の全要素が等しい配列による {@link DoubleDoubleArray#divide(DoubleDoubleArray, DoubleDoubleArray)}
+ * と, 逆数を共有する {@link DoubleDoubleArray#divide(DoubleDoubleFloat, DoubleDoubleArray)}
+ * (レイアウトごと)</li>
+ * </ul>
+ * 
+ * <p>
+ * 結果は1演算 (配列では1要素) あたりの時間 (ns) の中央値である. <br>
+ * 引数は, 配列の長さ (省略時 1024) と計測の繰り返し回数 (省略時 9) である.
+ * </p>
+ */
+final class DivisionBenchmark {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long NANOS_PER_ROUND = 100_000_000L;
+
+    private final int length;
+    private final BenchmarkTimer timer;
+
+    private final DoubleDoubleFloat[] xs;
+    private final DoubleDoubleFloat[] ys;
+    private final double[] doubleDivisors;
+    private final DoubleDoubleFloat[] promotedDivisors;
+
+    private DivisionBenchmark(int length, int rounds) {
+        this.length = length;
+        this.timer = new BenchmarkTimer(WARMUP_NANOS, NANOS_PER_ROUND, rounds);
+        this.xs = new DoubleDoubleFloat[length];
+        this.ys = new DoubleDoubleFloat[length];
+        this.doubleDivisors = new double[length];
+        this.promotedDivisors = new DoubleDoubleFloat[length];
+
+        Random random = new Random(11L);
+        for (int i = 0; i < length; i++) {
+            this.xs[i] = DoubleDoubleFloat.valueOf(1 + random.nextDouble()).dividedBy(3d);
+            this.ys[i] = DoubleDoubleFloat.valueOf(random.nextDouble() - 0.5).dividedBy(7d);
+            this.doubleDivisors[i] = 0.5 + random.nextDouble();
+            this.promotedDivisors[i] = DoubleDoubleFloat.valueOf(this.doubleDivisors[i]);
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        new DivisionBenchmark(length, rounds).run();
+    }
+
+    private void run() {
+        System.out.printf("java = %s, FMA = %s%n", System.getProperty("java.version"), TwoProduct.USE_FMA);
+        System.out.printf("%-56s %12s%n", "operation", "[ns/op]");
+
+        this.report("dividedBy(DoubleDoubleFloat)", this::dividedBy);
+        this.report("POSITIVE_1.dividedBy(x)", this::reciprocalByDivision);
+        this.report("reciprocal()", this::reciprocal);
+        this.report("dividedBy(valueOf(double))", this::dividedByPromoted);
+        this.report("dividedBy(double)", this::dividedByDouble);
+
+        for (DoubleDoubleArray.Layout layout : DoubleDoubleArray.Layout.values()) {
+            this.reportArrayDivision(layout);
+        }
+    }
+
+    private void report(String name, DoubleSupplier task) {
+        System.out.printf("%-56s %12.3f%n", name, this.timer.measure(task, this.length));
+    }
+
+    private void reportArrayDivision(DoubleDoubleArray.Layout layout) {
+        DoubleDoubleFloat divisor = this.ys[0];
+        DoubleDoubleArray numerators = DoubleDoubleArray.create(this.length, layout);
+        DoubleDoubleArray divisors = DoubleDoubleArray.create(this.length, layout);
+        DoubleDoubleArray dest = DoubleDoubleArray.create(this.length, layout);
+        for (int i = 0; i < this.length; i++) {
+            numerators.set(i, this.xs[i]);
+            divisors.set(i, divisor);
+        }
+
+        this.report("DoubleDoubleArray.divide(array), " + layout, () -> {
+            numerators.divide(divisors, dest);
+            return dest.getLow(this.length - 1);
+        });
+        this.report("DoubleDoubleArray.divide(DoubleDoubleFloat), " + layout, () -> {
+            numerators.divide(divisor, dest);
+            return dest.getLow(this.length - 1);
+        });
+    }
+
+    private double dividedBy() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].dividedBy(this.ys[i]).lowValue();
+        }
+        return sink;
+    }
+
+    private double reciprocalByDivision() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += DoubleDoubleFloat.POSITIVE_1.dividedBy(this.ys[i]).lowValue();
+        }
+        return sink;
+    }
+
+    private double reciprocal() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.ys[i].reciprocal().lowValue();
+        }
+        return sink;
+    }
+
+    private double dividedByPromoted() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].dividedBy(this.promotedDivisors[i]).lowValue();
+        }
+        return sink;
+    }
+
+    private double dividedByDouble() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].dividedBy(this.doubleDivisors[i]).lowValue();
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * {@link DoubleDoubleVectorKernel} の和と積の一括演算の, ベクトルのビット長ごとのスループットを計測する.
+ * 
+ * <p>
+ * スカラーの演算 ({@link DoubleDoubleArray} の要素ごとの計算と同一のループ),
+ * 既定の種によるカーネル, 64, 128, 256, 512 bit の種によるカーネルを, 同一の入力に対して計測する. <br>
+ * カーネルの種は JVM ごとに1つに定まる (種が定数でないとSIMD命令に置き換えられない) ため,
+ * 計測は構成ごとに子プロセスの JVM で行い,
+ * ビット長はシステムプロパティ {@value DoubleDoubleVectorKernel#VECTOR_BIT_SIZE_PROPERTY} で指定する. <br>
+ * ハードウェアのベクトル長を超える種は, Vector API のソフトウェア実装で計算される.
+ * </p>
+ * 
+ * <p>
+ * 実行には, バージョン付きのソースフォルダ ({@code src-versions/17}) のクラスを
+ * ベースのクラスより前にクラスパスに置き, {@code --add-modules jdk.incubator.vector} を指定する.
+ * {@code benchmark-build.xml} の {@code run-benchmark} ターゲットはこれを行う. <br>
+ * 引数は, 配列の長さ (省略時 4096) と計測の繰り返し回数 (省略時 9) である.
+ * </p>
+ */
+final class DoubleDoubleVectorKernelBenchmark {
+
+    private static final String[] VECTOR_BIT_SIZES = { "64", "128", "256", "512" };
+
+    /**
+     * 子プロセスで計測する構成を指定する引数の接頭辞.
+     */
+    private static final String KERNEL_OPTION = "--kernel=";
+
+    private static final String SCALAR = "scalar";
+    private static final String DEFAULT = "default";
+
+    /**
+     * 1回の計測の時間の目安 (ns).
+     */
+    private static final long NANOS_PER_ROUND = 100_000_000L;
+
+    /**
+     * 計測前にJITコンパイルのために演算を繰り返す時間 (ns).
+     */
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+
+    private final int length;
+    private final BenchmarkTimer timer;
+    private final double[] xhs, xls, yhs, yls, zhs, zls;
+
+    private DoubleDoubleVectorKernelBenchmark(int length, int rounds) {
+        this.length = length;
+        this.timer = new BenchmarkTimer(WARMUP_NANOS, NANOS_PER_ROUND, rounds);
+        this.xhs = new double[length];
+        this.xls = new double[length];
+        this.yhs = new double[length];
+        this.yls = new double[length];
+        this.zhs = new double[length];
+        this.zls = new double[length];
+
+        Random random = new Random(1L);
+        for (int i = 0; i < length; i++) {
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(1 + random.nextDouble()).dividedBy(3d);
+            DoubleDoubleFloat y = DoubleDoubleFloat.valueOf(random.nextDouble() - 0.5).dividedBy(7d);
+            this.xhs[i] = x.doubleValue();
+            this.xls[i] = x.lowValue();
+            this.yhs[i] = y.doubleValue();
+            this.yls[i] = y.lowValue();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].startsWith(KERNEL_OPTION)) {
+            String kernel = args[0].substring(KERNEL_OPTION.length());
+            newBenchmark(Arrays.copyOfRange(args, 1, args.length)).runKernel(kernel);
+            return;
+        }
+
+        System.out.printf("java = %s, FMA = %s%n", System.getProperty("java.version"), TwoProduct.USE_FMA);
+        System.out.printf("%-10s %10s %14s %14s%n", "kernel", "bit size", "add [ns/elem]", "mul [ns/elem]");
+        runInChildProcess(SCALAR, null, args);
+        runInChildProcess(DEFAULT, null, args);
+        for (String bitSize : VECTOR_BIT_SIZES) {
+            runInChildProcess(bitSize, bitSize, args);
+        }
+    }
+
+    private static DoubleDoubleVectorKernelBenchmark newBenchmark(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        return new DoubleDoubleVectorKernelBenchmark(length, rounds);
+    }
+
+    /**
+     * 現在の JVM と同じクラスパスで子プロセスを起動し, その出力を転送する.
+     */
+    private static void runInChildProcess(String kernel, String vectorBitSize, String[] args)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("--add-modules");
+        command.add("jdk.incubator.vector");
+        if (Objects.nonNull(vectorBitSize)) {
+            command.add("-D" + DoubleDoubleVectorKernel.VECTOR_BIT_SIZE_PROPERTY + "=" + vectorBitSize);
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(DoubleDoubleVectorKernelBenchmark.class.getName());
+        command.add(KERNEL_OPTION + kernel);
+        command.addAll(Arrays.asList(args));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while (Objects.nonNull(line = reader.readLine())) {
+                //Vector API の警告は転送しない
+                if (!line.startsWith("WARNING: Using incubator modules")) {
+                    System.out.println(line);
+                }
+            }
+        }
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("子プロセスが異常終了: kernel = " + kernel);
+        }
+    }
+
+    /**
+     * 1つの構成を計測し, 結果を1行で出力する.
+     */
+    private void runKernel(String kernel) {
+        if (kernel.equals(SCALAR)) {
+            this.report(kernel, "-", this.measure(this::scalarAdd), this.measure(this::scalarMultiply));
+            return;
+        }
+
+        int bitSize = DoubleDoubleVectorKernel.vectorBitSize();
+        if (bitSize == 0) {
+            System.out.printf("%-10s %10s %14s %14s%n", kernel, "-", "n/a", "n/a");
+            return;
+        }
+        this.verify(this::scalarAdd, () -> DoubleDoubleVectorKernel.add(
+                this.xhs, this.xls, this.yhs, this.yls, this.zhs, this.zls, this.length));
+        if (TwoProduct.USE_FMA) {
+            this.verify(this::scalarMultiply, () -> DoubleDoubleVectorKernel.multiply(
+                    this.xhs, this.xls, this.yhs, this.yls, this.zhs, this.zls, this.length));
+        }
+        this.report(kernel, Integer.toString(bitSize),
+                this.measure(() -> DoubleDoubleVectorKernel.add(
+                        this.xhs, this.xls, this.yhs, this.yls, this.zhs, this.zls, this.length)),
+                TwoProduct.USE_FMA
+                        ? this.measure(() -> DoubleDoubleVectorKernel.multiply(
+                                this.xhs, this.xls, this.yhs, this.yls, this.zhs, this.zls, this.length))
+                        : Double.NaN);
+    }
+
+    /**
+     * カーネルの結果が, スカラーの演算の結果とビット単位で一致することを確かめる.
+     */
+    private void verify(Runnable scalar, IntSupplier vector) {
+        scalar.run();
+        double[] expectedHighs = this.zhs.clone();
+        double[] expectedLows = this.zls.clone();
+        Arrays.fill(this.zhs, Double.NaN);
+        Arrays.fill(this.zls, Double.NaN);
+        int processed = vector.getAsInt();
+        for (int i = 0; i < processed; i++) {
+            if (Double.doubleToRawLongBits(this.zhs[i]) != Double.doubleToRawLongBits(expectedHighs[i])
+                    || Double.doubleToRawLongBits(this.zls[i]) != Double.doubleToRawLongBits(expectedLows[i])) {
+                throw new IllegalStateException("スカラーの演算と一致しない: index = " + i);
+            }
+        }
+    }
+
+    private void report(String kernel, String bitSize, double addNanos, double multiplyNanos) {
+        System.out.printf("%-10s %10s %14.3f %14.3f%n", kernel, bitSize, addNanos, multiplyNanos);
+    }
+
+    /**
+     * 演算を繰り返し, 1要素あたりの時間 (ns) の中央値を返す.
+     */
+    private double measure(Runnable kernel) {
+        return this.timer.measure(() -> {
+            kernel.run();
+            return this.zhs[this.length - 1] + this.zls[0];
+        }, this.length);
+    }
+
+    private void scalarAdd() {
+        for (int i = 0; i < this.length; i++) {
+            double xh = this.xhs[i];
+            double yh = this.yhs[i];
+            double sh = xh + yh;
+            double sl = DoubleDoubleMath.two_sum_dd_low(xh, this.xls[i], yh, this.yls[i], sh);
+            double ch = DoubleDoubleMath.canonicalHigh(sh, sl);
+            this.zhs[i] = ch;
+            this.zls[i] = DoubleDoubleMath.canonicalLow(sh, sl, ch);
+        }
+    }
+
+    private void scalarMultiply() {
+        for (int i = 0; i < this.length; i++) {
+            double xh = this.xhs[i];
+            double yh = this.yhs[i];
+            double ph = xh * yh;
+            double pl = DoubleDoubleMath.two_prod_dd_low(xh, this.xls[i], yh, this.yls[i], ph);
+            double ch = DoubleDoubleMath.canonicalHigh(ph, pl);
+            this.zhs[i] = ch;
+            this.zls[i] = DoubleDoubleMath.canonicalLow(ph, pl, ch);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * {@link DoubleDoubleFormat} による文字列表現の生成のスループットを, 出力先ごとに計測する.
+ * 
+ * <p>
+ * 書式 ({@link DoubleDoubleFormat#shortest()}, {@code scientific(20)}, {@code fixed(5)}) ごとに,
+ * {@link DoubleDoubleFormat#format(DoubleDoubleFloat)},
+ * {@link StringBuilder} への追加, {@link StringWriter} と {@link StringBuffer}
+ * ({@link Appendable} として) への追加を計測する. <br>
+ * 出力先は計測対象の呼び出しごとに再利用する. <br>
+ * 結果は1値あたりの時間 (ns) の中央値である.
+ * </p>
+ * 
+ * <p>
+ * 引数は, 値の個数 (省略時 1024) と計測の繰り返し回数 (省略時 9) である.
+ * </p>
+ */
+final class FormatBenchmark {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long NANOS_PER_ROUND = 100_000_000L;
+
+    private final int length;
+    private final BenchmarkTimer timer;
+
+    private final DoubleDoubleFloat[] values;
+
+    private final StringBuilder builder = new StringBuilder();
+    private final StringWriter writer = new StringWriter();
+    private final StringBuffer buffer = new StringBuffer();
+
+    private FormatBenchmark(int length, int rounds) {
+        this.length = length;
+        this.timer = new BenchmarkTimer(WARMUP_NANOS, NANOS_PER_ROUND, rounds);
+        this.values = new DoubleDoubleFloat[length];
+
+        //符号と指数 (10^-8 から 10^8) がランダムな値
+        Random random = new Random(22L);
+        for (int i = 0; i < length; i++) {
+            double scale = Math.pow(10d, random.nextInt(17) - 8);
+            DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(1 + random.nextDouble()).dividedBy(3d).times(scale);
+            this.values[i] = random.nextBoolean() ? value : value.negated();
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        new FormatBenchmark(length, rounds).run();
+    }
+
+    private void run() {
+        System.out.printf("java = %s%n", System.getProperty("java.version"));
+        System.out.printf("%-16s %14s %14s %14s %14s%n",
+                "format [ns/op]", "format", "StringBuilder", "StringWriter", "StringBuffer");
+
+        this.report("shortest", DoubleDoubleFormat.shortest());
+        this.report("scientific(20)", DoubleDoubleFormat.scientific(20));
+        this.report("fixed(5)", DoubleDoubleFormat.fixed(5));
+    }
+
+    private void report(String name, DoubleDoubleFormat format) {
+        System.out.printf("%-16s %14.3f %14.3f %14.3f %14.3f%n", name,
+                this.measure(() -> this.format(format)),
+                this.measure(() -> this.appendToBuilder(format)),
+                this.measure(() -> this.appendToWriter(format)),
+                this.measure(() -> this.appendToBuffer(format)));
+    }
+
+    private double measure(DoubleSupplier task) {
+        return this.timer.measure(task, this.length);
+    }
+
+    private double format(DoubleDoubleFormat format) {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += format.format(this.values[i]).length();
+        }
+        return sink;
+    }
+
+    private double appendToBuilder(DoubleDoubleFormat format) {
+        StringBuilder dest = this.builder;
+        dest.setLength(0);
+        for (int i = 0; i < this.length; i++) {
+            format.appendTo(this.values[i], dest);
+        }
+        return dest.length();
+    }
+
+    private double appendToWriter(DoubleDoubleFormat format) {
+        StringBuffer dest = this.writer.getBuffer();
+        dest.setLength(0);
+        try {
+            for (int i = 0; i < this.length; i++) {
+                format.appendTo(this.values[i], this.writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dest.length();
+    }
+
+    private double appendToBuffer(DoubleDoubleFormat format) {
+        StringBuffer dest = this.buffer;
+        dest.setLength(0);
+        try {
+            for (int i = 0; i < this.length; i++) {
+                format.appendTo(this.values[i], (Appendable) dest);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dest.length();
+    }
+}
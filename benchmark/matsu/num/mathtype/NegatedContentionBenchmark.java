@@ -0,0 +1,260 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 複数のスレッドが同一のインスタンスの {@link DoubleDoubleFloat#negated()} を
+ * 同時に呼び出す場合のスループットを計測する.
+ * 
+ * <p>
+ * 現在のキャッシュ (単一チェックイディオム) と,
+ * 以前の実装と同じ, インスタンスごとのロックと volatile なフィールドによる二重チェックのキャッシュ
+ * ({@link SynchronizedNegation}) を比較する. <br>
+ * 各計測では, キャッシュが空の新しいインスタンスの配列を用意し,
+ * すべてのスレッドが配列の全要素の加法逆元を求める (初回).
+ * 続いて, キャッシュされた加法逆元を繰り返し読み出す (2回目以降). <br>
+ * 結果は1要素あたりの経過時間 (ns) の中央値である.
+ * </p>
+ * 
+ * <p>
+ * 引数は, 配列の長さ (省略時 4096), 計測の繰り返し回数 (省略時 9),
+ * スレッド数の上限 (省略時 プロセッサ数と4の大きいほう) である.
+ * </p>
+ */
+final class NegatedContentionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+
+    /**
+     * キャッシュされた加法逆元を読み出す回数.
+     */
+    private static final int CACHED_PASSES = 8;
+
+    private final int size;
+    private final int rounds;
+
+    /**
+     * 結果が最適化で除去されないように保持する.
+     */
+    private double blackhole;
+
+    private NegatedContentionBenchmark(int size, int rounds) {
+        this.size = size;
+        this.rounds = rounds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        int maxThreads = args.length > 2
+                ? Integer.parseInt(args[2])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        NegatedContentionBenchmark benchmark = new NegatedContentionBenchmark(size, rounds);
+        System.out.printf("java = %s, processors = %d%n",
+                System.getProperty("java.version"), Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-14s %8s %18s %18s%n", "cache", "threads", "first [ns/elem]", "cached [ns/elem]");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            benchmark.run(new SynchronizedCase(), threads);
+            benchmark.run(new CurrentCase(), threads);
+        }
+    }
+
+    /**
+     * 1つの構成を計測し, 結果を1行で出力する.
+     */
+    private void run(Case target, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            double[] firstSamples = new double[this.rounds];
+            double[] cachedSamples = new double[this.rounds];
+            for (int round = -WARMUP_ROUNDS; round < this.rounds; round++) {
+                long[] elapsed = this.runRound(target, threads, executor);
+                if (round >= 0) {
+                    firstSamples[round] = (double) elapsed[0] / this.size;
+                    cachedSamples[round] = (double) elapsed[1] / ((long) this.size * CACHED_PASSES);
+                }
+            }
+            Arrays.sort(firstSamples);
+            Arrays.sort(cachedSamples);
+            System.out.printf("%-14s %8d %18.3f %18.3f%n", target.name(), threads,
+                    firstSamples[this.rounds / 2], cachedSamples[this.rounds / 2]);
+        } finally {
+            executor.shutdown();
+        }
+        if (this.blackhole == 42d) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * キャッシュが空のインスタンスを用意し, 全スレッドで初回と2回目以降の呼び出しを行う.
+     * 
+     * @return {初回の経過時間, 2回目以降の経過時間} (ns)
+     */
+    private long[] runRound(Case target, int threads, ExecutorService executor) throws Exception {
+        target.prepare(this.size);
+        CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+        List<Future<Double>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                barrier.await();
+                double sink = target.negateAll();
+                barrier.await();
+                for (int p = 0; p < CACHED_PASSES; p++) {
+                    sink += target.negateAll();
+                }
+                barrier.await();
+                return sink;
+            }));
+        }
+
+        awaitQuietly(barrier);
+        long start = System.nanoTime();
+        awaitQuietly(barrier);
+        long first = System.nanoTime();
+        awaitQuietly(barrier);
+        long cached = System.nanoTime();
+
+        for (Future<Double> future : futures) {
+            this.blackhole += future.get();
+        }
+        return new long[] { first - start, cached - first };
+    }
+
+    private static void awaitQuietly(CyclicBarrier barrier) throws InterruptedException {
+        try {
+            barrier.await();
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("計測スレッドが異常終了", e);
+        }
+    }
+
+    /**
+     * 計測対象の実装.
+     */
+    private static abstract class Case {
+
+        abstract String name();
+
+        /**
+         * 加法逆元のキャッシュが空の, 新しいインスタンスの配列を用意する.
+         */
+        abstract void prepare(int size);
+
+        /**
+         * 配列の全要素の加法逆元を求め, 結果に依存する値を返す.
+         */
+        abstract double negateAll();
+    }
+
+    private static final class CurrentCase extends Case {
+
+        private DoubleDoubleFloat[] values;
+
+        @Override
+        String name() {
+            return "single-check";
+        }
+
+        @Override
+        void prepare(int size) {
+            this.values = new DoubleDoubleFloat[size];
+            for (int i = 0; i < size; i++) {
+                this.values[i] = DoubleDoubleFloat.valueOf(1.1 + i, 1E-20);
+            }
+        }
+
+        @Override
+        double negateAll() {
+            double sink = 0d;
+            for (DoubleDoubleFloat value : this.values) {
+                sink += value.negated().lowValue();
+            }
+            return sink;
+        }
+    }
+
+    private static final class SynchronizedCase extends Case {
+
+        private SynchronizedNegation[] values;
+
+        @Override
+        String name() {
+            return "synchronized";
+        }
+
+        @Override
+        void prepare(int size) {
+            this.values = new SynchronizedNegation[size];
+            for (int i = 0; i < size; i++) {
+                this.values[i] = new SynchronizedNegation(1.1 + i, 1E-20);
+            }
+        }
+
+        @Override
+        double negateAll() {
+            double sink = 0d;
+            for (SynchronizedNegation value : this.values) {
+                sink += value.negated().low;
+            }
+            return sink;
+        }
+    }
+
+    /**
+     * 以前の {@link DoubleDoubleFloat} の加法逆元のキャッシュを再現したもの. <br>
+     * インスタンスごとにロックのオブジェクトを持ち, 二重チェックでキャッシュを初期化する.
+     */
+    private static final class SynchronizedNegation {
+
+        private final double high;
+        private final double low;
+
+        private final Object lock = new Object();
+        private volatile SynchronizedNegation negated;
+
+        SynchronizedNegation(double high, double low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        SynchronizedNegation negated() {
+            SynchronizedNegation out = this.negated;
+            if (Objects.nonNull(out)) {
+                return out;
+            }
+
+            synchronized (this.lock) {
+                out = this.negated;
+                if (Objects.nonNull(out)) {
+                    return out;
+                }
+                out = new SynchronizedNegation(-this.high, -this.low);
+                if (Objects.isNull(out.negated)) {
+                    out.negated = this;
+                }
+                this.negated = out;
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 整数乗 {@link DoubleDoubleFloat#pow(int)} のスループットを,
+ * {@link DoubleDoubleFloat#times(DoubleDoubleFloat)} の繰り返しと比較する.
+ * 
+ * <p>
+ * 指数ごとに, {@code pow(n)} と, {@code |n| - 1} 回の積 (負の指数では最後に逆数をとる)
+ * を計測する. <br>
+ * あわせて, {@link DoubleDoubleFloat#square()} と {@code x.times(x)} を比較する. <br>
+ * 結果は1演算あたりの時間 (ns) の中央値である.
+ * </p>
+ * 
+ * <p>
+ * 引数は, 配列の長さ (省略時 1024) と計測の繰り返し回数 (省略時 9) である.
+ * </p>
+ */
+final class PowerBenchmark {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long NANOS_PER_ROUND = 100_000_000L;
+
+    private static final int[] EXPONENTS = { 2, 3, 5, 8, 16, 31, -1, -8 };
+
+    private final int length;
+    private final BenchmarkTimer timer;
+
+    private final DoubleDoubleFloat[] xs;
+
+    private PowerBenchmark(int length, int rounds) {
+        this.length = length;
+        this.timer = new BenchmarkTimer(WARMUP_NANOS, NANOS_PER_ROUND, rounds);
+        this.xs = new DoubleDoubleFloat[length];
+
+        //31乗でもオーバーフロー, アンダーフローしない範囲
+        Random random = new Random(18L);
+        for (int i = 0; i < length; i++) {
+            this.xs[i] = DoubleDoubleFloat.valueOf(0.5 + random.nextDouble()).dividedBy(3d).plus(1d);
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        new PowerBenchmark(length, rounds).run();
+    }
+
+    private void run() {
+        System.out.printf("java = %s, FMA = %s%n", System.getProperty("java.version"), TwoProduct.USE_FMA);
+        System.out.printf("%-10s %16s %16s%n", "exponent", "pow [ns/op]", "times [ns/op]");
+        for (int n : EXPONENTS) {
+            System.out.printf("%-10d %16.3f %16.3f%n", n,
+                    this.measure(() -> this.pow(n)), this.measure(() -> this.repeatedTimes(n)));
+        }
+        System.out.printf("%-10s %16.3f %16.3f%n", "square",
+                this.measure(this::square), this.measure(this::timesSelf));
+    }
+
+    private double measure(DoubleSupplier task) {
+        return this.timer.measure(task, this.length);
+    }
+
+    private double pow(int n) {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].pow(n).lowValue();
+        }
+        return sink;
+    }
+
+    private double repeatedTimes(int n) {
+        int count = Math.abs(n);
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            DoubleDoubleFloat x = this.xs[i];
+            DoubleDoubleFloat product = x;
+            for (int k = 1; k < count; k++) {
+                product = product.times(x);
+            }
+            if (n < 0) {
+                product = product.reciprocal();
+            }
+            sink += product.lowValue();
+        }
+        return sink;
+    }
+
+    private double square() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            sink += this.xs[i].square().lowValue();
+        }
+        return sink;
+    }
+
+    private double timesSelf() {
+        double sink = 0d;
+        for (int i = 0; i < this.length; i++) {
+            DoubleDoubleFloat x = this.xs[i];
+            sink += x.times(x).lowValue();
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.17
+ */
+package matsu.num.mathtype;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 上位と下位が別の配列に格納された double-double の配列に対する,
+ * Vector API ({@code jdk.incubator.vector}) による一括演算カーネル.
+ * 
+ * <p>
+ * マルチリリースJARの {@code META-INF/versions/17} のエントリとして,
+ * ベースの (SIMD化を行わない) 同名のクラスを置き換える. <br>
+ * パッケージプライベートなAPIはベースのクラスと同一に保つ.
+ * </p>
+ * 
+ * <p>
+ * {@code jdk.incubator.vector} モジュールは任意の依存であり,
+ * 実行時に存在しない場合 ({@code --add-modules jdk.incubator.vector} が指定されていない場合)
+ * は {@link #AVAILABLE} が false となり, このカーネルは使われない. <br>
+ * Vector API の型は入れ子クラス {@link Impl} に閉じ込めてあり,
+ * モジュールが存在しない限り読み込まれない.
+ * </p>
+ * 
+ * <p>
+ * 使用するベクトルの種はクラスの初期化時に1つに定める
+ * (種が定数でないと, JITコンパイラによるSIMD命令への置き換えが行われない). <br>
+ * 既定ではプラットフォームの推奨する種を用い, そのビット長が {@value #MIN_VECTOR_BIT_SIZE} 未満の場合は利用不可とする
+ * (JDK 17 の x86 では, 2レーンの double のマスク演算がSIMD命令に置き換えられず, スカラーの演算より大幅に遅い). <br>
+ * システムプロパティ {@value #VECTOR_BIT_SIZE_PROPERTY} に 64, 128, 256, 512 のいずれかを指定した場合は,
+ * そのビット長の種を用い, ビット長によらず利用可能とする (ベンチマーク用).
+ * </p>
+ * 
+ * <p>
+ * 各メソッドは, 先頭からベクトル長の倍数の要素までを処理し, 処理した要素数を返す. <br>
+ * 残りの要素の処理は呼び出し側が行う. <br>
+ * 結果は {@link DoubleDoubleMath} のスカラーカーネルとビット単位で一致する.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleVectorKernel {
+
+    /**
+     * 使用するベクトルのビット長を指定するシステムプロパティ.
+     */
+    static final String VECTOR_BIT_SIZE_PROPERTY = "matsu.num.mathtype.vectorBitSize";
+
+    /**
+     * 既定で利用可能とする, ベクトルの最小のビット長.
+     */
+    private static final int MIN_VECTOR_BIT_SIZE = 256;
+
+    /**
+     * {@code jdk.incubator.vector} モジュールが読み込み可能かどうか.
+     */
+    private static final boolean READABLE = isVectorModuleReadable();
+
+    /**
+     * Vector API が利用可能かどうか.
+     */
+    static final boolean AVAILABLE = READABLE
+            && (Impl.SPECIFIED || Impl.SPECIES.vectorBitSize() >= MIN_VECTOR_BIT_SIZE);
+
+    private DoubleDoubleVectorKernel() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * 使用するベクトルのビット長を返す (利用不可の場合は0).
+     */
+    static int vectorBitSize() {
+        return AVAILABLE ? Impl.SPECIES.vectorBitSize() : 0;
+    }
+
+    /**
+     * 要素ごとの和を計算する.
+     * 
+     * @return 処理した要素数 (利用不可の場合は0)
+     */
+    static int add(
+            double[] xhs, double[] xls, double[] yhs, double[] yls,
+            double[] zhs, double[] zls, int length) {
+        if (!AVAILABLE) {
+            return 0;
+        }
+        return Impl.add(xhs, xls, yhs, yls, zhs, zls, length);
+    }
+
+    /**
+     * 要素ごとの積を計算する.
+     * 
+     * <p>
+     * 積の誤差項をFMAで計算するため, {@link TwoProduct#USE_FMA} が false の場合は何もせずに0を返す.
+     * </p>
+     * 
+     * @return 処理した要素数 (利用不可の場合は0)
+     */
+    static int multiply(
+            double[] xhs, double[] xls, double[] yhs, double[] yls,
+            double[] zhs, double[] zls, int length) {
+        if (!AVAILABLE || !TwoProduct.USE_FMA) {
+            return 0;
+        }
+        return Impl.multiply(xhs, xls, yhs, yls, zhs, zls, length);
+    }
+
+    /**
+     * {@code jdk.incubator.vector} モジュールが存在し, 読み込み可能かを判定する.
+     */
+    private static boolean isVectorModuleReadable() {
+        Optional<Module> vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector");
+        return vectorModule.isPresent()
+                && DoubleDoubleVectorKernel.class.getModule().canRead(vectorModule.get());
+    }
+
+    /**
+     * Vector API による実装.
+     */
+    private static final class Impl {
+
+        /**
+         * システムプロパティで指定されたビット長 (指定がない場合はnull).
+         */
+        private static final Integer SPECIFIED_BIT_SIZE = Integer.getInteger(VECTOR_BIT_SIZE_PROPERTY);
+
+        /**
+         * システムプロパティで有効なビット長が指定されたかどうか.
+         */
+        static final boolean SPECIFIED = isValidBitSize(SPECIFIED_BIT_SIZE);
+
+        /**
+         * 使用する種. <br>
+         * 演算のループはこの定数を直接参照する
+         * (引数として渡すと, OSRコンパイルされたループで定数として扱われず, SIMD命令に置き換えられない).
+         */
+        static final VectorSpecies<Double> SPECIES = SPECIFIED
+                ? VectorSpecies.of(double.class, VectorShape.forBitSize(SPECIFIED_BIT_SIZE))
+                : DoubleVector.SPECIES_PREFERRED;
+
+
+        private static boolean isValidBitSize(Integer vectorBitSize) {
+            if (Objects.isNull(vectorBitSize)) {
+                return false;
+            }
+            switch (vectorBitSize) {
+                case 64:
+                case 128:
+                case 256:
+                case 512:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        static int add(
+                double[] xhs, double[] xls, double[] yhs, double[] yls,
+                double[] zhs, double[] zls, int length) {
+            int bound = SPECIES.loopBound(length);
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                DoubleVector xh = DoubleVector.fromArray(SPECIES, xhs, i);
+                DoubleVector xl = DoubleVector.fromArray(SPECIES, xls, i);
+                DoubleVector yh = DoubleVector.fromArray(SPECIES, yhs, i);
+                DoubleVector yl = DoubleVector.fromArray(SPECIES, yls, i);
+
+                //two_sum_dd_low と同一の演算
+                DoubleVector sh = xh.add(yh);
+                DoubleVector v = sh.sub(xh);
+                DoubleVector sl = xh.sub(sh.sub(v)).add(yh.sub(v)).add(xl.add(yl));
+
+                canonicalizeInto(sh, sl, zhs, zls, i);
+            }
+            return bound;
+        }
+
+        static int multiply(
+                double[] xhs, double[] xls, double[] yhs, double[] yls,
+                double[] zhs, double[] zls, int length) {
+            int bound = SPECIES.loopBound(length);
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                DoubleVector xh = DoubleVector.fromArray(SPECIES, xhs, i);
+                DoubleVector xl = DoubleVector.fromArray(SPECIES, xls, i);
+                DoubleVector yh = DoubleVector.fromArray(SPECIES, yhs, i);
+                DoubleVector yl = DoubleVector.fromArray(SPECIES, yls, i);
+
+                //two_prod_dd_low (FMAによる) と同一の演算
+                DoubleVector ph = xh.mul(yh);
+                DoubleVector pl = xh.fma(yh, ph.mul(-1d)).add(xl.mul(yh).add(xh.mul(yl)));
+
+                canonicalizeInto(ph, pl, zhs, zls, i);
+            }
+            return bound;
+        }
+
+        /**
+         * (high, low) を正規化して書き込む. <br>
+         * 規約は {@link DoubleDoubleMath#canonicalHigh(double, double)},
+         * {@link DoubleDoubleMath#canonicalLow(double, double, double)} と同一であり,
+         * 分岐をマスクによる選択に置き換えている.
+         */
+        private static void canonicalizeInto(
+                DoubleVector high, DoubleVector low, double[] zhs, double[] zls, int offset) {
+            DoubleVector zero = high.broadcast(0d);
+            DoubleVector nan = high.broadcast(Double.NaN);
+
+            //有限の場合
+            DoubleVector s = high.add(low);
+            DoubleVector e = low.sub(s.sub(high));
+            VectorMask<Double> overflow = s.abs().compare(VectorOperators.EQ, Double.MAX_VALUE)
+                    .and(s.compare(VectorOperators.GT, 0d).and(e.compare(VectorOperators.GT, 0d))
+                            .or(s.compare(VectorOperators.LT, 0d).and(e.compare(VectorOperators.LT, 0d))));
+            DoubleVector ch = s.blend(s.mul(Double.POSITIVE_INFINITY), overflow);
+
+            //high = 0 の場合
+            VectorMask<Double> highIsZero = high.compare(VectorOperators.EQ, 0d);
+            ch = ch.blend(low.blend(high, low.compare(VectorOperators.EQ, 0d)), highIsZero);
+
+            //high が有限でない場合
+            ch = ch.blend(high.blend(nan, isNaN(high)), isNotFinite(high));
+
+            DoubleVector cl = low.sub(ch.sub(high));
+            cl = cl.blend(zero, highIsZero);
+            cl = cl.blend(zero.blend(nan, isNaN(ch)), isNotFinite(ch));
+
+            ch.intoArray(zhs, offset);
+            cl.intoArray(zls, offset);
+        }
+
+        /*
+         * 以下の判定は VectorOperators.IS_NAN, IS_FINITE による判定と同等である.
+         * JDK 17 ではそれらがSIMD命令に置き換えられないため, 比較演算で表す.
+         */
+
+        /**
+         * NaN であるレーンのマスクを返す.
+         */
+        private static VectorMask<Double> isNaN(DoubleVector v) {
+            return v.compare(VectorOperators.NE, v);
+        }
+
+        /**
+         * 有限でない (無限大または NaN である) レーンのマスクを返す.
+         */
+        private static VectorMask<Double> isNotFinite(DoubleVector v) {
+            return v.sub(v).compare(VectorOperators.NE, 0d);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/**
+ * 数学や数値計算で使用できる, 独自の型を表現するモジュール.
+ * 
+ * <p>
+ * <i>依存モジュール:</i> <br>
+ * (無し)
+ * </p>
+ * 
+ * <p>
+ * <i>任意の依存モジュール:</i> <br>
+ * {@code jdk.management}
+ * (double-double 演算においてハードウェアのFMA命令が使えるかどうかの判定に使用する.
+ * 存在しない場合は, FMA命令を使わない計算方法が選ばれる.) <br>
+ * {@code jdk.incubator.vector}
+ * (double-double 配列の一括演算のSIMD化に使用する.
+ * 実行時に {@code --add-modules jdk.incubator.vector} が指定されていない場合,
+ * またはハードウェアのベクトル長が256bit未満の場合は,
+ * SIMD化されない計算方法が選ばれる.)
+ * </p>
+ * 
+ * <p>
+ * マルチリリースJARの {@code META-INF/versions/17} に置かれるモジュール記述子であり,
+ * ベースのモジュール記述子とは {@code requires static jdk.incubator.vector} の有無のみが異なる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ * @version 4.0.0
+ */
+module matsu.num.MathType {
+    requires static jdk.management;
+    requires static jdk.incubator.vector;
+
+    exports matsu.num.mathtype;
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * {@link BigDecimal} による, 任意精度の初等関数の計算. <br>
+ * {@link CorrectlyRoundedMath} において, double-double の結果では
+ * 丸めが確定しない場合の代替経路として用いる.
+ * 
+ * <p>
+ * いずれの関数も, 引数は {@code double} の範囲の有限値であり,
+ * 結果の相対誤差は, 指定した精度 (10進桁数) に対して 10^(-(桁数)) 程度以下である.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class BigDecimalMath {
+
+    /**
+     * 内部の計算に加える桁数. <br>
+     * 指数関数の2乗の繰り返し, 対数関数の1に近い引数での桁落ち (最大で約16桁) を見込んでいる.
+     */
+    private static final int GUARD_DIGITS = 40;
+
+    /**
+     * 指数関数の Taylor 級数を用いる引数の絶対値の上限.
+     */
+    private static final BigDecimal EXP_REDUCED_UPPER = new BigDecimal("0.001");
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /**
+     * 計算済みの π (より高い精度が要求された場合に置き換えられる).
+     */
+    private static volatile BigDecimal piCache = BigDecimal.ZERO;
+
+    private BigDecimalMath() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * exp(x) を返す.
+     */
+    static BigDecimal exp(BigDecimal x, int digits) {
+        MathContext mc = new MathContext(digits + GUARD_DIGITS);
+
+        //|x| が十分小さくなるまで半分にし, Taylor 級数の後に2乗を繰り返す
+        int halvings = 0;
+        while (x.abs().compareTo(EXP_REDUCED_UPPER) > 0) {
+            x = x.divide(TWO, mc);
+            halvings++;
+        }
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(mc.getPrecision() + 2);
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal term = BigDecimal.ONE;
+        for (int k = 1; term.abs().compareTo(threshold) > 0; k++) {
+            term = term.multiply(x, mc).divide(BigDecimal.valueOf(k), mc);
+            sum = sum.add(term, mc);
+        }
+        for (int i = 0; i < halvings; i++) {
+            sum = sum.multiply(sum, mc);
+        }
+        return sum;
+    }
+
+    /**
+     * 正の x に対し, log(x) を返す.
+     */
+    static BigDecimal log(BigDecimal x, int digits) {
+        MathContext mc = new MathContext(digits + GUARD_DIGITS);
+
+        //Math.log による初期値 (約16桁) に, Newton 法 y <- y + x exp(-y) - 1 を適用する
+        //収束は2次であり, 反復ごとに正しい桁数が倍になる
+        BigDecimal y = new BigDecimal(Math.log(x.doubleValue()));
+        for (int correct = 15; correct < mc.getPrecision() * 2; correct *= 2) {
+            BigDecimal ratio = x.multiply(exp(y.negate(), mc.getPrecision()), mc);
+            y = y.add(ratio.subtract(BigDecimal.ONE, mc), mc);
+        }
+        return y;
+    }
+
+    /**
+     * sin(x) を返す.
+     */
+    static BigDecimal sin(BigDecimal x, int digits) {
+        return trigonometric(x, digits, 0);
+    }
+
+    /**
+     * cos(x) を返す.
+     */
+    static BigDecimal cos(BigDecimal x, int digits) {
+        return trigonometric(x, digits, 1);
+    }
+
+    /**
+     * sin(x + shift * π/2) を返す.
+     */
+    private static BigDecimal trigonometric(BigDecimal x, int digits, int shift) {
+        //x = q * π/2 + r と還元する
+        //|x| の整数部の桁数に加え, r の桁落ち (double の引数では 2^(-62) 程度が下限) を見込む
+        int integerDigits = Math.max(0, x.precision() - x.scale());
+        MathContext mcReduction = new MathContext(digits + GUARD_DIGITS + integerDigits + 20);
+        BigDecimal halfPi = pi(mcReduction).divide(TWO, mcReduction);
+        BigDecimal q = x.divide(halfPi, mcReduction).setScale(0, RoundingMode.HALF_EVEN);
+        BigDecimal r = x.subtract(q.multiply(halfPi, mcReduction), mcReduction);
+        int quadrant = (q.remainder(BigDecimal.valueOf(4)).intValue() + shift + 4) & 3;
+
+        //|r| <= π/4 (+微小) に対する Taylor 級数
+        MathContext mc = new MathContext(digits + GUARD_DIGITS);
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(mc.getPrecision() + 2);
+        BigDecimal square = r.multiply(r, mc);
+        boolean sin = (quadrant & 1) == 0;
+        BigDecimal term = sin ? r.round(mc) : BigDecimal.ONE;
+        BigDecimal sum = term;
+        for (int k = sin ? 2 : 1; term.abs().compareTo(threshold) > 0; k += 2) {
+            term = term.multiply(square, mc)
+                    .divide(BigDecimal.valueOf((long) k * (k + 1)), mc)
+                    .negate();
+            sum = sum.add(term, mc);
+        }
+        return quadrant >= 2 ? sum.negate() : sum;
+    }
+
+    /**
+     * π を返す.
+     */
+    private static BigDecimal pi(MathContext mc) {
+        BigDecimal cached = piCache;
+        if (cached.precision() >= mc.getPrecision()) {
+            return cached.round(mc);
+        }
+
+        //Machin の公式 π = 16 arctan(1/5) - 4 arctan(1/239)
+        MathContext mcWork = new MathContext(mc.getPrecision() + 10);
+        BigDecimal pi = arctanOfInverse(5, mcWork).multiply(BigDecimal.valueOf(16))
+                .subtract(arctanOfInverse(239, mcWork).multiply(BigDecimal.valueOf(4)), mcWork);
+        piCache = pi;
+        return pi.round(mc);
+    }
+
+    /**
+     * arctan(1/n) を返す.
+     */
+    private static BigDecimal arctanOfInverse(int n, MathContext mc) {
+        BigDecimal inverseSquare = BigDecimal.ONE.divide(BigDecimal.valueOf((long) n * n), mc);
+        BigDecimal power = BigDecimal.ONE.divide(BigDecimal.valueOf(n), mc);
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(mc.getPrecision() + 2);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int k = 0; power.compareTo(threshold) > 0; k++) {
+            BigDecimal term = power.divide(BigDecimal.valueOf(2 * k + 1), mc);
+            sum = (k & 1) == 0 ? sum.add(term, mc) : sum.subtract(term, mc);
+            power = power.multiply(inverseSquare, mc);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * 正しく丸められた (最近接偶数丸めによる) {@code double} の初等関数.
+ * 
+ * <p>
+ * {@link Math} の初等関数は誤差1ulp程度を許容しており, 結果がJVMやプラットフォームに依存しうる. <br>
+ * このクラスの関数は, 真の値を最も近い {@code double} に丸めた値 (真の値が2つの {@code double}
+ * のちょうど中間である場合は, 仮数部が偶数の方) を返すので, 結果は実行環境に依らず一意に定まる.
+ * </p>
+ * 
+ * <p>
+ * 計算はまず {@link DoubleDoubleFloat} の対応する関数 (相対誤差が 2<sup>-94</sup> 程度以下) で行い,
+ * その結果 {@code (high, low)} が丸めの境界 (隣り合う {@code double} の中点) から十分に離れている,
+ * すなわち, 誤差の上限を 2<sup>-80</sup>|high| と見積もっても丸めの結果が {@code high}
+ * に確定する場合に, {@code high} を返す. <br>
+ * 丸めが確定しない稀な場合 (結果が非正規化数に近い場合を含む) に限り,
+ * {@link BigDecimal} による任意精度の計算に切り替え, 丸めが確定するまで精度を上げる. <br>
+ * 任意精度の計算に切り替わった呼び出しの割合は, {@link #callCount()}, {@link #fallbackCount()}
+ * により確認できる.
+ * </p>
+ * 
+ * <p>
+ * 特殊値 (NaN, 無限大, 符号付きの0) の扱いは, {@link Math} の対応する関数に準じる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class CorrectlyRoundedMath {
+
+    /**
+     * double-double による結果の相対誤差の上限の見積もり. <br>
+     * 各関数の誤差の上限 (pow の 3000u^2 程度が最大) に対して十分な余裕を持たせている.
+     */
+    private static final double RELATIVE_ERROR = 0x1p-80;
+
+    /**
+     * π/4 を超える引数に対する sin, cos の結果の絶対誤差の上限の見積もり. <br>
+     * π/2 の整数倍に近い引数で結果が0に近い場合に, 相対誤差による見積もりを補う.
+     */
+    private static final double TRIGONOMETRIC_ABSOLUTE_ERROR = 0x1p-100;
+
+    /**
+     * double-double の結果の上位の絶対値がこれ未満の場合, 丸めの判定を行わない
+     * (下位が非正規化数となりうる).
+     */
+    private static final double FAST_PATH_LOWER = 0x1p-969;
+
+    /**
+     * exp(x) が {@link Double#MAX_VALUE} と正の無限大の中点を超える x の十分条件.
+     */
+    private static final double EXP_OVERFLOW = 709.79;
+
+    /**
+     * exp(x) が最小の非正規化数の半分を下回る x の十分条件.
+     */
+    private static final double EXP_UNDERFLOW = -745.14;
+
+    /**
+     * 絶対値がこれ未満の x に対し, exp(x) は1に丸められる.
+     */
+    private static final double EXP_SMALL_ARGUMENT = 0x1p-54;
+
+    /**
+     * 絶対値がこれ未満の x に対し, sin(x) は x に丸められる.
+     */
+    private static final double SIN_SMALL_ARGUMENT = 0x1p-26;
+
+    /**
+     * 絶対値がこれ未満の x に対し, cos(x) は1に丸められる.
+     */
+    private static final double COS_SMALL_ARGUMENT = 0x1p-27;
+
+    /**
+     * π/4 の {@code double} 近似.
+     */
+    private static final double PI_4_DOUBLE = 0x1.921fb54442d18p-1;
+
+    /**
+     * 任意精度の計算の精度 (10進桁数) の初期値と上限. <br>
+     * 精度は丸めが確定するまで倍々に上げられる.
+     */
+    private static final int INITIAL_DIGITS = 40;
+    private static final int MAX_DIGITS = 640;
+
+    /**
+     * pow の任意精度の計算において, 正確な整数乗を計算する指数の上限.
+     */
+    private static final int EXACT_POW_MAX = 64;
+
+    /**
+     * pow の結果が丸めの中点に一致するかを判定する, 指数 y = p/2^k の p の上限. <br>
+     * 中点となりうるのは k &le; 5, p &le; 34 * 2^k の場合に限られる.
+     */
+    private static final long MIDPOINT_NUMERATOR_MAX = 4096L;
+
+    private static final long SIGNIFICAND_MASK = 0x000F_FFFF_FFFF_FFFFL;
+    private static final long IMPLICIT_BIT = 0x0010_0000_0000_0000L;
+
+    private static final LongAdder CALL_COUNT = new LongAdder();
+    private static final LongAdder FALLBACK_COUNT = new LongAdder();
+
+    private CorrectlyRoundedMath() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * 正しく丸められた指数関数 exp(x) の値を返す.
+     * 
+     * @param x 引数
+     * @return exp(x)
+     */
+    public static double exp(double x) {
+        CALL_COUNT.increment();
+        if (Double.isNaN(x)) {
+            return Double.NaN;
+        }
+        if (x > EXP_OVERFLOW) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (x < EXP_UNDERFLOW) {
+            return 0d;
+        }
+        if (Math.abs(x) < EXP_SMALL_ARGUMENT) {
+            return 1d;
+        }
+
+        DoubleDoubleFloat result = DoubleDoubleFloat.valueOf(x).exp();
+        if (isSafelyRounded(result, 0d)) {
+            return result.doubleValue();
+        }
+        FALLBACK_COUNT.increment();
+        BigDecimal arg = new BigDecimal(x);
+        return correctlyRounded(digits -> BigDecimalMath.exp(arg, digits));
+    }
+
+    /**
+     * 正しく丸められた自然対数 log(x) の値を返す.
+     * 
+     * @param x 引数
+     * @return log(x)
+     */
+    public static double log(double x) {
+        CALL_COUNT.increment();
+        if (!(x > 0d && x < Double.POSITIVE_INFINITY)) {
+            //NaN, 負の数, 0, 正の無限大
+            return Math.log(x);
+        }
+        if (x == 1d) {
+            return 0d;
+        }
+
+        DoubleDoubleFloat result = DoubleDoubleFloat.valueOf(x).log();
+        if (isSafelyRounded(result, 0d)) {
+            return result.doubleValue();
+        }
+        FALLBACK_COUNT.increment();
+        BigDecimal arg = new BigDecimal(x);
+        return correctlyRounded(digits -> BigDecimalMath.log(arg, digits));
+    }
+
+    /**
+     * 正しく丸められた正弦 sin(x) の値を返す.
+     * 
+     * @param x 引数
+     * @return sin(x)
+     */
+    public static double sin(double x) {
+        CALL_COUNT.increment();
+        if (!Double.isFinite(x)) {
+            return Double.NaN;
+        }
+        if (Math.abs(x) < SIN_SMALL_ARGUMENT) {
+            //符号付きの0を含む
+            return x;
+        }
+
+        DoubleDoubleFloat result = DoubleDoubleFloat.valueOf(x).sin();
+        if (isSafelyRounded(result, trigonometricAbsoluteError(x))) {
+            return result.doubleValue();
+        }
+        FALLBACK_COUNT.increment();
+        BigDecimal arg = new BigDecimal(x);
+        return correctlyRounded(digits -> BigDecimalMath.sin(arg, digits));
+    }
+
+    /**
+     * 正しく丸められた余弦 cos(x) の値を返す.
+     * 
+     * @param x 引数
+     * @return cos(x)
+     */
+    public static double cos(double x) {
+        CALL_COUNT.increment();
+        if (!Double.isFinite(x)) {
+            return Double.NaN;
+        }
+        if (Math.abs(x) < COS_SMALL_ARGUMENT) {
+            return 1d;
+        }
+
+        DoubleDoubleFloat result = DoubleDoubleFloat.valueOf(x).cos();
+        if (isSafelyRounded(result, trigonometricAbsoluteError(x))) {
+            return result.doubleValue();
+        }
+        FALLBACK_COUNT.increment();
+        BigDecimal arg = new BigDecimal(x);
+        return correctlyRounded(digits -> BigDecimalMath.cos(arg, digits));
+    }
+
+    /**
+     * 正しく丸められた累乗 x<sup>y</sup> の値を返す.
+     * 
+     * <p>
+     * 真の値が2つの {@code double} の中点に一致する場合
+     * (例えば, 27bitの整数の2乗が54bitの奇数となる場合) も, 最近接偶数丸めの結果を返す.
+     * </p>
+     * 
+     * @param x 底
+     * @param y 指数
+     * @return x<sup>y</sup>
+     */
+    public static double pow(double x, double y) {
+        CALL_COUNT.increment();
+        if (!Double.isFinite(x) || !Double.isFinite(y) || x == 0d || y == 0d || x == 1d) {
+            //特殊値の結果は正確である
+            return Math.pow(x, y);
+        }
+        if (x < 0d && y != Math.rint(y)) {
+            return Double.NaN;
+        }
+
+        DoubleDoubleFloat result =
+                DoubleDoubleFloat.valueOf(x).pow(DoubleDoubleFloat.valueOf(y));
+        if (isSafelyRounded(result, 0d)) {
+            return result.doubleValue();
+        }
+        FALLBACK_COUNT.increment();
+        return powFallback(x, y);
+    }
+
+    /**
+     * このクラスの関数が呼ばれた回数を返す.
+     * 
+     * @return 呼び出しの回数
+     */
+    public static long callCount() {
+        return CALL_COUNT.sum();
+    }
+
+    /**
+     * このクラスの関数の呼び出しのうち,
+     * 任意精度の計算に切り替わった回数を返す.
+     * 
+     * @return 任意精度の計算に切り替わった回数
+     */
+    public static long fallbackCount() {
+        return FALLBACK_COUNT.sum();
+    }
+
+    /**
+     * {@link #callCount()}, {@link #fallbackCount()} の計数を0に戻す.
+     */
+    public static void resetStatistics() {
+        CALL_COUNT.reset();
+        FALLBACK_COUNT.reset();
+    }
+
+    /**
+     * sin(x), cos(x) の double-double の結果の絶対誤差の上限の見積もりを返す.
+     */
+    private static double trigonometricAbsoluteError(double x) {
+        return Math.abs(x) <= PI_4_DOUBLE ? 0d : TRIGONOMETRIC_ABSOLUTE_ERROR;
+    }
+
+    /**
+     * double-double の結果の誤差を (相対誤差 2^(-80) に加え) 絶対誤差 absoluteError
+     * と見積もったとき, 真の値の丸めが上位に確定するかどうかを判定する.
+     */
+    private static boolean isSafelyRounded(DoubleDoubleFloat result, double absoluteError) {
+        double high = result.doubleValue();
+        double low = result.lowValue();
+        double absHigh = Math.abs(high);
+        if (!(absHigh >= FAST_PATH_LOWER && absHigh <= Double.MAX_VALUE)) {
+            //NaN を含む
+            return false;
+        }
+
+        double halfUlp = 0.5 * Math.ulp(high);
+        if (absHigh == Math.scalb(1d, Math.getExponent(high))
+                && Math.signum(low) != Math.signum(high)) {
+            //2の累乗の0側は, 隣の double との間隔が半分である
+            halfUlp *= 0.5;
+        }
+        return Math.abs(low) + (RELATIVE_ERROR * absHigh + absoluteError) < halfUlp;
+    }
+
+    /**
+     * 精度 (10進桁数) を与えて任意精度で計算する関数から, 正しく丸められた値を返す.
+     */
+    private static double correctlyRounded(IntFunction<BigDecimal> function) {
+        //上限の精度でも確定しないことは, 超越数の値に対しては実際上起こらない
+        return roundingBounds(function)[0];
+    }
+
+    /**
+     * 精度を上げながら任意精度の計算を行い, 丸めの結果の候補 {lower, upper} を返す. <br>
+     * 丸めが確定した場合は {@code lower == upper} であり,
+     * 上限の精度でも確定しない場合は隣り合う {@code double} である.
+     */
+    private static double[] roundingBounds(IntFunction<BigDecimal> function) {
+        double[] bounds = null;
+        for (int digits = INITIAL_DIGITS; digits <= MAX_DIGITS; digits *= 2) {
+            BigDecimal value = function.apply(digits);
+            BigDecimal delta = value.abs().movePointLeft(digits);
+            bounds = new double[] {
+                    value.subtract(delta).doubleValue(),
+                    value.add(delta).doubleValue() };
+            if (bounds[0] == bounds[1]) {
+                break;
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * 任意精度の計算による x^y を返す. <br>
+     * 特殊値や, 負の x に対する整数でない y は除かれている.
+     */
+    private static double powFallback(double x, double y) {
+        boolean negative = x < 0d && isOddInteger(y);
+        double abs = Math.abs(x);
+        double result = unsignedPow(abs, y);
+        return negative ? -result : result;
+    }
+
+    /**
+     * 正の x に対し, 任意精度の計算による x^y を返す.
+     */
+    private static double unsignedPow(double x, double y) {
+        //オーバーフロー, アンダーフローの判定には, y log(x) の double の値で十分である
+        double estimate = y * Math.log(x);
+        if (estimate > EXP_OVERFLOW) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (estimate < EXP_UNDERFLOW) {
+            return 0d;
+        }
+
+        if (y > 0d && y <= EXACT_POW_MAX && y == Math.rint(y)) {
+            //正確な値を丸める
+            return new BigDecimal(x).pow((int) y).doubleValue();
+        }
+
+        BigDecimal base = new BigDecimal(x);
+        BigDecimal exponent = new BigDecimal(y);
+        double[] bounds = roundingBounds(digits -> BigDecimalMath.exp(
+                exponent.multiply(BigDecimalMath.log(base, digits + 5)), digits));
+        if (bounds[0] == bounds[1]) {
+            return bounds[0];
+        }
+        return midpointRounded(x, y, bounds[0], bounds[1]);
+    }
+
+    /**
+     * 任意精度の計算で丸めが確定しない (真の値が隣り合う正の {@code double} の lower &lt; upper
+     * の中点に極めて近い) 場合に, 中点との一致を正確に判定して x^y の丸めの結果を返す.
+     */
+    private static double midpointRounded(double x, double y, double lower, double upper) {
+        //x = mx * 2^ex, y = my * 2^ey (mx, my は奇数) と分解し,
+        //y = p / 2^k に対して, 中点 mm * 2^em について mm^(2^k) * 2^(em 2^k) = mx^p * 2^(ex p) を調べる
+        long xSignificand = significand(x);
+        int xExponent = binaryExponent(x) + Long.numberOfTrailingZeros(xSignificand);
+        xSignificand >>>= Long.numberOfTrailingZeros(xSignificand);
+
+        long ySignificand = significand(y);
+        int yExponent = binaryExponent(y) + Long.numberOfTrailingZeros(ySignificand);
+        ySignificand >>>= Long.numberOfTrailingZeros(ySignificand);
+
+        if (y > 0d && yExponent > -32 && yExponent < 12) {
+            int k = Math.max(0, -yExponent);
+            long p = ySignificand << Math.max(0, yExponent);
+            if (p <= MIDPOINT_NUMERATOR_MAX) {
+                BigInteger midSignificand =
+                        BigInteger.valueOf(significand(lower)).shiftLeft(1).add(BigInteger.ONE);
+                long midExponent = binaryExponent(lower) - 1L;
+                boolean isMidpoint =
+                        midExponent << k == xExponent * p
+                                && midSignificand.pow(1 << k)
+                                        .equals(BigInteger.valueOf(xSignificand).pow((int) p));
+                if (isMidpoint) {
+                    return (Double.doubleToRawLongBits(lower) & 1L) == 0L ? lower : upper;
+                }
+            }
+        }
+        //中点ではない (実際上は起こらない)
+        return lower;
+    }
+
+    /**
+     * 正の有限の {@code double} の仮数部を, 整数として返す.
+     */
+    private static long significand(double x) {
+        long bits = Double.doubleToRawLongBits(Math.abs(x)) & SIGNIFICAND_MASK;
+        return Math.getExponent(x) == Double.MIN_EXPONENT - 1 ? bits : bits | IMPLICIT_BIT;
+    }
+
+    /**
+     * 正の有限の {@code double} を {@code significand(x) * 2^e} と表したときの e を返す.
+     */
+    private static int binaryExponent(double x) {
+        return Math.max(Math.getExponent(x), Double.MIN_EXPONENT) - 52;
+    }
+
+    /**
+     * y が奇数の整数であるかを判定する.
+     */
+    private static boolean isOddInteger(double y) {
+        return Math.abs(y) < 0x1p53 && y == Math.rint(y) && (((long) y) & 1L) != 0L;
+    }
+}
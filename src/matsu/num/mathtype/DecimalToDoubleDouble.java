@@ -0,0 +1,329 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 10進数 (10進の仮数と指数) から double-double 浮動小数点数の上位と下位への変換.
+ * 
+ * <p>
+ * 10進数 d に対し, 上位 {@code high = round(d)}, 下位 {@code low = round(d - high)}
+ * (いずれも {@code double} への最近接偶数丸め) を求める. 結果は正規化されていない. <br>
+ * d = m * 10^q の128bitの仮数 m と, 10^q の128bitの近似 ({@link PowersOfTen}) との256bitの積から,
+ * 上位と下位を直接取り出す. <br>
+ * 積の誤差の上限を併せて求めておき, 上位と下位の丸めの判定が誤差の範囲で確定しない場合,
+ * または結果が非正規化数の範囲にかかる場合に限り, {@link BigDecimal} による正確な計算に切り替える. <br>
+ * m が切り捨てられておらず {@code 0 <= q <= 55} の場合は積が正確であり, 判定は常に確定する.
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスは変換のための作業領域であり, スレッドセーフではない. <br>
+ * 1つのインスタンスを, 複数の値の変換に繰り返し用いることができる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DecimalToDoubleDouble {
+
+    /**
+     * 高速な計算で扱う, 仮数に掛ける2の冪の指数の絶対値の上限.
+     */
+    private static final int MAX_BINARY_SHIFT = 4096;
+
+    private static final long SIGNIFICAND_MASK = 0x000F_FFFF_FFFF_FFFFL;
+    private static final long IMPLICIT_BIT = 0x0010_0000_0000_0000L;
+
+    /**
+     * 高速な計算で結果とする {@code double} の2進指数の下限 (正規化数の範囲).
+     */
+    private static final int MIN_NORMAL_EXPONENT = Double.MIN_EXPONENT;
+
+    /*
+     * 丸めの判定の結果.
+     */
+    private static final int DOWN = 0;
+    private static final int UP = 1;
+    private static final int UNDETERMINED = -1;
+
+    private final long[] product = new long[4];
+
+    /*
+     * 変換の結果.
+     */
+    private double high;
+    private double low;
+
+    DecimalToDoubleDouble() {
+        super();
+    }
+
+    /**
+     * 変換結果の上位を返す.
+     */
+    double high() {
+        return this.high;
+    }
+
+    /**
+     * 変換結果の下位を返す.
+     */
+    double low() {
+        return this.low;
+    }
+
+    /**
+     * {@link BigDecimal} 値を変換し, 結果を {@link #high()}, {@link #low()} に格納する. <br>
+     * 仮数 (unscaled value) の2進の上位127bitと指数から高速な計算を試み,
+     * 確定しない場合は {@link #convertExactly(BigDecimal)} による.
+     */
+    void convert(BigDecimal value) {
+        int signum = value.signum();
+        if (signum == 0) {
+            this.high = 0d;
+            this.low = 0d;
+            return;
+        }
+        long q = -(long) value.scale();
+        if (q < PowersOfTen.MIN_EXPONENT || q > PowersOfTen.MAX_EXPONENT) {
+            this.convertExactly(value);
+            return;
+        }
+
+        BigInteger unscaled = value.unscaledValue();
+        int bitLength = unscaled.bitLength();
+        long m1;
+        long m0;
+        boolean truncated;
+        int binaryShift;
+        if (bitLength < Long.SIZE) {
+            //-2^63 の絶対値も, 符号なしとして正しい
+            m1 = 0L;
+            m0 = Math.abs(unscaled.longValue());
+            truncated = false;
+            binaryShift = 0;
+        } else if (bitLength <= 127) {
+            //128bitの2の補数表現
+            m1 = unscaled.shiftRight(Long.SIZE).longValue();
+            m0 = unscaled.longValue();
+            if (signum < 0) {
+                m0 = -m0;
+                m1 = ~m1 + (m0 == 0L ? 1L : 0L);
+            }
+            truncated = false;
+            binaryShift = 0;
+        } else {
+            //絶対値の上位127bit
+            BigInteger magnitude = unscaled.abs();
+            binaryShift = bitLength - 127;
+            BigInteger top = magnitude.shiftRight(binaryShift);
+            m1 = top.shiftRight(Long.SIZE).longValue();
+            m0 = top.longValue();
+            truncated = magnitude.getLowestSetBit() < binaryShift;
+        }
+
+        if (!this.convert(m1, m0, truncated, binaryShift, (int) q, signum < 0)) {
+            this.convertExactly(value);
+        }
+    }
+
+    /**
+     * {@link BigDecimal} による正確な計算で変換し, 結果を {@link #high()}, {@link #low()} に格納する.
+     */
+    void convertExactly(BigDecimal value) {
+        this.high = value.doubleValue();
+        this.low = Double.isFinite(this.high) && this.high != 0d
+                ? value.subtract(new BigDecimal(this.high)).doubleValue()
+                : 0d;
+    }
+
+    /**
+     * 128bit整数演算により, d = m * 2^binaryShift * 10^q (m は0でない128bitの符号なし整数 (m1, m0))
+     * を変換し, 結果を {@link #high()}, {@link #low()} に格納する. <br>
+     * truncated は, m が真の仮数の切り捨てであり, 真の仮数が m と m + 1 の間にあることを表す
+     * (この場合, m は 2^122 以上でなければならない). <br>
+     * 判定が確定しない場合, または高速な計算が適用できない場合は false を返す.
+     */
+    boolean convert(long m1, long m0, boolean truncated, int binaryShift, int q, boolean negative) {
+        assert m1 != 0L || m0 != 0L;
+        assert !truncated || Long.numberOfLeadingZeros(m1) <= 5;
+
+        if (q < PowersOfTen.MIN_EXPONENT || q > PowersOfTen.MAX_EXPONENT
+                || Math.abs(binaryShift) > MAX_BINARY_SHIFT) {
+            return false;
+        }
+
+        //M = m * 2^mShift (2^127 <= M < 2^128)
+        int mShift = m1 != 0L ? Long.numberOfLeadingZeros(m1) : 64 + Long.numberOfLeadingZeros(m0);
+        if (mShift >= 64) {
+            m1 = m0 << (mShift - 64);
+            m0 = 0L;
+        } else if (mShift > 0) {
+            m1 = (m1 << mShift) | (m0 >>> (64 - mShift));
+            m0 <<= mShift;
+        }
+
+        //z = M * P (P * 2^pe は 10^q の近似) を, 最上位ビットが第255ビットとなるよう正規化する
+        //d ≈ z * 2^(pe - mShift - zShift + binaryShift)
+        int index = q - PowersOfTen.MIN_EXPONENT;
+        long[] z = this.product;
+        WideArithmetic.multiply(m1, m0, PowersOfTen.HIGH[index], PowersOfTen.LOW[index], z);
+        int zShift = Long.numberOfLeadingZeros(z[3]);
+        if (zShift > 0) {
+            z[3] = (z[3] << 1) | (z[2] >>> 63);
+            z[2] = (z[2] << 1) | (z[1] >>> 63);
+            z[1] = (z[1] << 1) | (z[0] >>> 63);
+            z[0] <<= 1;
+        }
+        int binaryExponent = PowersOfTen.BINARY_EXPONENT[index] - mShift - zShift + binaryShift;
+
+        //z の誤差は 2^errorBits 未満 (errorBits < 0 は正確であることを表す)
+        //10^q の近似の誤差は M/2 (< 2^127) 以下,
+        //仮数の切り捨ての誤差は, m >= 2^122 より mShift <= 5 であり 2^mShift * P (< 2^133) 未満
+        int errorBits = truncated
+                ? 134 + zShift
+                : q >= 0 && q <= PowersOfTen.EXACT_MAX ? -1 : 128 + zShift;
+
+        //上位: z の上位53bit (第203ビット以上) を丸める
+        long highSignificand = z[3] >>> 11;
+        int highRounding = roundingDecision(z, 203, errorBits, (highSignificand & 1L) != 0L);
+        if (highRounding == UNDETERMINED) {
+            return false;
+        }
+
+        //残差 r = z - highSignificand' * 2^203 (203bitの符号付き整数の絶対値)
+        z[3] &= 0x7FFL;
+        boolean lowNegative = highRounding == UP;
+        if (lowNegative) {
+            highSignificand++;
+            //r = 2^203 - R
+            z[0] = -z[0];
+            long borrow = z[0] != 0L ? 1L : 0L;
+            z[1] = -z[1] - borrow;
+            borrow = (z[1] != 0L || borrow != 0L) ? 1L : 0L;
+            z[2] = -z[2] - borrow;
+            borrow = (z[2] != 0L || borrow != 0L) ? 1L : 0L;
+            z[3] = (-z[3] - borrow) & 0x7FFL;
+        }
+        int highExponent = binaryExponent + 203 + 52;
+        if (highSignificand == IMPLICIT_BIT << 1) {
+            highSignificand = IMPLICIT_BIT;
+            highExponent++;
+        }
+        if (highExponent > Double.MAX_EXPONENT || highExponent < MIN_NORMAL_EXPONENT) {
+            return false;
+        }
+        this.high = toDouble(negative, highSignificand, highExponent);
+
+        //下位: r の上位53bit を丸める
+        //r の絶対値が誤差に比べて十分に大きくない場合は, d が上位に一致する (下位が0) 場合に限り確定する
+        int rLength = WideArithmetic.bitLength(z);
+        int rTop = rLength - 1;
+        if (rLength == 0 || (errorBits >= 0 && rTop - 55 <= errorBits)) {
+            this.low = 0d;
+            return errorBits < 0
+                    || (!truncated
+                            && this.equalsDouble(m1, m0, mShift, binaryShift, q, highSignificand, highExponent));
+        }
+        int lowPosition = rTop - 52;
+        long lowSignificand;
+        if (lowPosition <= 0) {
+            lowSignificand = z[0] << -lowPosition;
+        } else {
+            lowSignificand = WideArithmetic.word(z, lowPosition);
+            int lowRounding = roundingDecision(z, lowPosition, errorBits, (lowSignificand & 1L) != 0L);
+            if (lowRounding == UNDETERMINED) {
+                return false;
+            }
+            if (lowRounding == UP) {
+                lowSignificand++;
+            }
+        }
+        int lowExponent = binaryExponent + rTop;
+        if (lowSignificand == IMPLICIT_BIT << 1) {
+            lowSignificand = IMPLICIT_BIT;
+            lowExponent++;
+        }
+        if (lowExponent < MIN_NORMAL_EXPONENT) {
+            return false;
+        }
+        this.low = toDouble(negative ^ lowNegative, lowSignificand, lowExponent);
+        return true;
+    }
+
+    /**
+     * z を第 position ビット以上に丸めるときの判定を返す. <br>
+     * z の誤差は 2^errorBits 未満であり (errorBits < 0 の場合は正確),
+     * odd は丸めの対象の最下位ビットが1であるかを表す.
+     */
+    private static int roundingDecision(long[] z, int position, int errorBits, boolean odd) {
+        boolean roundBit = ((WideArithmetic.word(z, position - 1)) & 1L) != 0L;
+        if (errorBits < 0) {
+            return roundBit && (odd || WideArithmetic.hasNonZeroBitBelow(z, position - 1))
+                    ? UP
+                    : DOWN;
+        }
+
+        //第 (errorBits + 1) ビットから第 (position - 2) ビットまでが,
+        //丸めのビットが1なら全て0, 0なら全て1である場合, 端数と1/2の差が誤差を下回り得る
+        int from = errorBits + 1;
+        int to = position - 1;
+        if (from >= to) {
+            return UNDETERMINED;
+        }
+        boolean allSame = true;
+        for (int bit = from; bit < to && allSame; bit += 64) {
+            int count = Math.min(64, to - bit);
+            long mask = count == 64 ? -1L : (1L << count) - 1L;
+            long window = WideArithmetic.word(z, bit) & mask;
+            allSame = roundBit ? window == 0L : window == mask;
+        }
+        if (allSame) {
+            return UNDETERMINED;
+        }
+        return roundBit ? UP : DOWN;
+    }
+
+    /**
+     * d = M * 2^(binaryShift - mShift) * 10^q (q < 0) が, {@code double} 値
+     * H * 2^(highExponent - 52) に正確に一致するかを判定する. <br>
+     * 10^(-q) = 5^(-q) * 2^(-q) の128bit表現が正確である範囲で,
+     * M = H * 10^(-q) * 2^(highExponent - 52 + mShift - binaryShift) を整数演算で確かめる.
+     */
+    private boolean equalsDouble(
+            long m1, long m0, int mShift, int binaryShift, int q, long highSignificand, int highExponent) {
+        if (q >= 0 || -q > PowersOfTen.EXACT_MAX) {
+            return false;
+        }
+        int index = -q - PowersOfTen.MIN_EXPONENT;
+        long[] y = this.product;
+        WideArithmetic.multiply(0L, highSignificand, PowersOfTen.HIGH[index], PowersOfTen.LOW[index], y);
+
+        //M = Y * 2^g, ただし Y = H * P (10^(-q) = P * 2^pe)
+        int shift = -(highExponent - 52 + PowersOfTen.BINARY_EXPONENT[index] + mShift - binaryShift);
+        if (shift <= 0) {
+            return false;
+        }
+        return WideArithmetic.word(y, shift) == m0
+                && WideArithmetic.word(y, shift + 64) == m1
+                && WideArithmetic.word(y, shift + 128) == 0L
+                && !WideArithmetic.hasNonZeroBitBelow(y, shift);
+    }
+
+    /**
+     * 仮数 significand (2^52 以上 2^53 未満) と正規化数の範囲の2進指数から, {@code double} を構成する.
+     */
+    private static double toDouble(boolean negative, long significand, int exponent) {
+        long bits = ((long) (exponent + Double.MAX_EXPONENT) << 52) | (significand & SIGNIFICAND_MASK);
+        return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.17
+ */
+package matsu.num.mathtype;
+
+/**
+ * double-double 精度の総和, 内積を, インスタンスを生成せずに計算するための,
+ * ミュータブルな累積器.
+ * 
+ * <p>
+ * 累積器は内部に double-double 精度の値を保持し, 加算のたびにその値を更新する. <br>
+ * 加算の結果は, 同じ順序で {@link DoubleDoubleFloat#plus(DoubleDoubleFloat)} などを
+ * 繰り返し適用した場合と一致する. <br>
+ * したがって, 無限大, NaN などの特殊値の扱いも {@link DoubleDoubleFloat} と同一である.
+ * </p>
+ * 
+ * <p>
+ * 初期状態 ({@link #reset()} を呼んだ直後を含む) において, 保持する値は正の0である.
+ * </p>
+ * 
+ * <p>
+ * このクラスはスレッドセーフでない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class DoubleDoubleAccumulator {
+
+    private double high;
+    private double low;
+
+    /**
+     * 正の0を保持する累積器を構築する.
+     */
+    public DoubleDoubleAccumulator() {
+        super();
+    }
+
+    /**
+     * 保持する値に {@code value} を加える.
+     * 
+     * @param value 加える値
+     */
+    public void add(double value) {
+        this.addCanonical(value, 0d);
+    }
+
+    /**
+     * 保持する値に {@code value} を加える.
+     * 
+     * @param value 加える値
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public void add(DoubleDoubleFloat value) {
+        this.addCanonical(value.doubleValue(), value.lowValue());
+    }
+
+    /**
+     * 保持する値に {@code x * y} を加える.
+     * 
+     * <p>
+     * 結果は, {@code DoubleDoubleFloat.valueOf(x).times(y)} を
+     * {@link #add(DoubleDoubleFloat)} で加えた場合と一致する.
+     * </p>
+     * 
+     * @param x 積の因子
+     * @param y 積の因子
+     */
+    public void addProduct(double x, double y) {
+        double ph = x * y;
+        double pl = DoubleDoubleMath.two_prod_dd_low(x, 0d, y, 0d, ph);
+        double ch = DoubleDoubleMath.canonicalHigh(ph, pl);
+        this.addCanonical(ch, DoubleDoubleMath.canonicalLow(ph, pl, ch));
+    }
+
+    /**
+     * 保持する値に {@code x * y} を加える.
+     * 
+     * <p>
+     * 結果は, {@code x.times(y)} を
+     * {@link #add(DoubleDoubleFloat)} で加えた場合と一致する.
+     * </p>
+     * 
+     * @param x 積の因子
+     * @param y 積の因子
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public void addProduct(DoubleDoubleFloat x, DoubleDoubleFloat y) {
+        double xh = x.doubleValue();
+        double yh = y.doubleValue();
+        double ph = xh * yh;
+        double pl = DoubleDoubleMath.two_prod_dd_low(xh, x.lowValue(), yh, y.lowValue(), ph);
+        double ch = DoubleDoubleMath.canonicalHigh(ph, pl);
+        this.addCanonical(ch, DoubleDoubleMath.canonicalLow(ph, pl, ch));
+    }
+
+    /**
+     * 正規化された (yh, yl) を保持する値に加える.
+     */
+    private void addCanonical(double yh, double yl) {
+        double xh = this.high;
+        double sh = xh + yh;
+        double sl = DoubleDoubleMath.two_sum_dd_low(xh, this.low, yh, yl, sh);
+
+        double ch = DoubleDoubleMath.canonicalHigh(sh, sl);
+        this.high = ch;
+        this.low = DoubleDoubleMath.canonicalLow(sh, sl, ch);
+    }
+
+    /**
+     * 保持する値を正の0に戻す.
+     */
+    public void reset() {
+        this.high = 0d;
+        this.low = 0d;
+    }
+
+    /**
+     * 保持する値を {@link DoubleDoubleFloat} として返す.
+     * 
+     * @return 保持する値
+     */
+    public DoubleDoubleFloat toDoubleDoubleFloat() {
+        return DoubleDoubleFloat.valueOf(this.high, this.low);
+    }
+
+    /**
+     * 保持する値の文字列表現を返す. <br>
+     * 文字列表現は {@link DoubleDoubleFloat#toString()} に準じる.
+     */
+    @Override
+    public String toString() {
+        return this.toDoubleDoubleFloat().toString();
+    }
+}
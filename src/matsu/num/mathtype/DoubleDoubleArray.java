@@ -0,0 +1,527 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.17
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * double-double 精度の浮動小数点数の, 固定長のミュータブルな配列.
+ * 
+ * <p>
+ * 要素は {@link DoubleDoubleFloat} のインスタンスとしてではなく,
+ * 上位と下位の {@code double} としてプリミティブ配列に格納される
+ * (1要素あたり16 byte). <br>
+ * 格納のレイアウトには, 上位と下位を交互に並べる {@link Layout#INTERLEAVED} と,
+ * 上位と下位をそれぞれ別の配列に格納する {@link Layout#SPLIT} がある.
+ * </p>
+ * 
+ * <p>
+ * 要素ごとの和, 差, 積, 商, スカラー倍の一括演算は,
+ * 要素ごとにインスタンスを生成せずに計算され, 結果は指定した配列に書き込まれる. <br>
+ * 演算結果は, 要素ごとに {@link DoubleDoubleFloat} の演算を行った結果と一致する. <br>
+ * 書き込み先の配列は, 演算の入力の配列と同一であってもよい.
+ * </p>
+ * 
+ * <p>
+ * 実行時に {@code jdk.incubator.vector} モジュールが利用可能であり,
+ * ハードウェアのベクトル長が256bit以上である場合,
+ * すべての配列が {@link Layout#SPLIT} である和と積の一括演算は,
+ * Vector API によりSIMD命令を用いて計算される.
+ * この場合も, 演算結果は上記と一致する.
+ * </p>
+ * 
+ * <p>
+ * 生成直後の要素はすべて正の0である.
+ * </p>
+ * 
+ * <p>
+ * このクラスはスレッドセーフでない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class DoubleDoubleArray {
+
+    /**
+     * 要素の格納のレイアウトを表す.
+     */
+    public static enum Layout {
+
+        /**
+         * 上位と下位を1個の配列に交互に並べるレイアウト.
+         * 要素ごとのアクセスの局所性が高い.
+         */
+        INTERLEAVED,
+
+        /**
+         * 上位と下位をそれぞれ別の配列に格納するレイアウト.
+         * 上位のみを連続して読む処理に適する.
+         */
+        SPLIT;
+    }
+
+    private final int length;
+    private final Layout layout;
+
+    /*
+     * 要素iの上位は highs[highBase + stride * i],
+     * 下位は lows[lowBase + stride * i] に格納される.
+     * INTERLEAVEDの場合, highs と lows は同一の配列である.
+     */
+    private final double[] highs;
+    private final double[] lows;
+    private final int highBase;
+    private final int lowBase;
+    private final int stride;
+
+    private DoubleDoubleArray(int length, Layout layout) {
+        super();
+        this.length = length;
+        this.layout = layout;
+
+        switch (layout) {
+            case INTERLEAVED:
+                this.highs = new double[Math.multiplyExact(length, 2)];
+                this.lows = this.highs;
+                this.highBase = 0;
+                this.lowBase = 1;
+                this.stride = 2;
+                break;
+            case SPLIT:
+                this.highs = new double[length];
+                this.lows = new double[length];
+                this.highBase = 0;
+                this.lowBase = 0;
+                this.stride = 1;
+                break;
+            default:
+                throw new AssertionError("Bug: unreachable");
+        }
+    }
+
+    /**
+     * {@link Layout#INTERLEAVED} のレイアウトによる, 指定した長さの配列を生成する.
+     * 
+     * @param length 長さ
+     * @return 要素が正の0である配列
+     * @throws IllegalArgumentException 長さが負の場合
+     */
+    public static DoubleDoubleArray interleaved(int length) {
+        return create(length, Layout.INTERLEAVED);
+    }
+
+    /**
+     * {@link Layout#SPLIT} のレイアウトによる, 指定した長さの配列を生成する.
+     * 
+     * @param length 長さ
+     * @return 要素が正の0である配列
+     * @throws IllegalArgumentException 長さが負の場合
+     */
+    public static DoubleDoubleArray split(int length) {
+        return create(length, Layout.SPLIT);
+    }
+
+    /**
+     * 指定したレイアウト, 長さの配列を生成する.
+     * 
+     * @param length 長さ
+     * @param layout レイアウト
+     * @return 要素が正の0である配列
+     * @throws IllegalArgumentException 長さが負の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static DoubleDoubleArray create(int length, Layout layout) {
+        Objects.requireNonNull(layout);
+        if (length < 0) {
+            throw new IllegalArgumentException("長さが負: length = " + length);
+        }
+        return new DoubleDoubleArray(length, layout);
+    }
+
+    /**
+     * {@link BigDecimal} の配列の各要素を変換した, 指定したレイアウトの配列を生成する. <br>
+     * 各要素は {@link DoubleDoubleFloat#valueOf(BigDecimal)} と同一の値になる.
+     * 
+     * <p>
+     * 要素ごとに {@link DoubleDoubleFloat} のインスタンスを生成せず,
+     * 変換の作業領域を全要素で共有する.
+     * </p>
+     * 
+     * @param values 値の配列
+     * @param layout レイアウト
+     * @return 変換した値を要素とする配列
+     * @throws NullPointerException 引数または値の配列の要素にnullが含まれる場合
+     */
+    public static DoubleDoubleArray valueOf(BigDecimal[] values, Layout layout) {
+        DoubleDoubleArray result = create(values.length, layout);
+        DecimalToDoubleDouble conversion = new DecimalToDoubleDouble();
+        final double[] zhs = result.highs, zls = result.lows;
+        for (int i = 0; i < values.length; i++) {
+            conversion.convert(values[i]);
+            double h = conversion.high();
+            double l = conversion.low();
+            double ch = DoubleDoubleMath.canonicalHigh(h, l);
+            zhs[result.highBase + result.stride * i] = ch;
+            zls[result.lowBase + result.stride * i] = DoubleDoubleMath.canonicalLow(h, l, ch);
+        }
+        return result;
+    }
+
+    /**
+     * 配列の長さを返す.
+     * 
+     * @return 長さ
+     */
+    public int length() {
+        return this.length;
+    }
+
+    /**
+     * 配列のレイアウトを返す.
+     * 
+     * @return レイアウト
+     */
+    public Layout layout() {
+        return this.layout;
+    }
+
+    /**
+     * 指定した位置の要素を返す.
+     * 
+     * @param index 位置
+     * @return 要素
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     */
+    public DoubleDoubleFloat get(int index) {
+        Objects.checkIndex(index, this.length);
+        return DoubleDoubleFloat.valueOf(
+                this.highs[this.highBase + this.stride * index],
+                this.lows[this.lowBase + this.stride * index]);
+    }
+
+    /**
+     * 指定した位置の要素の上位を返す. <br>
+     * {@code get(index).doubleValue()} と等価である.
+     * 
+     * @param index 位置
+     * @return 要素の上位
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     */
+    public double getHigh(int index) {
+        Objects.checkIndex(index, this.length);
+        return this.highs[this.highBase + this.stride * index];
+    }
+
+    /**
+     * 指定した位置の要素の下位を返す. <br>
+     * {@code get(index).lowValue()} と等価である.
+     * 
+     * @param index 位置
+     * @return 要素の下位
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     */
+    public double getLow(int index) {
+        Objects.checkIndex(index, this.length);
+        return this.lows[this.lowBase + this.stride * index];
+    }
+
+    /**
+     * 指定した位置に要素を書き込む.
+     * 
+     * @param index 位置
+     * @param value 値
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public void set(int index, DoubleDoubleFloat value) {
+        Objects.checkIndex(index, this.length);
+        this.highs[this.highBase + this.stride * index] = value.doubleValue();
+        this.lows[this.lowBase + this.stride * index] = value.lowValue();
+    }
+
+    /**
+     * 指定した位置に要素を書き込む. <br>
+     * {@code set(index, DoubleDoubleFloat.valueOf(value))} と等価である.
+     * 
+     * @param index 位置
+     * @param value 値
+     * @throws IndexOutOfBoundsException 位置が範囲外の場合
+     */
+    public void set(int index, double value) {
+        Objects.checkIndex(index, this.length);
+        double ch = DoubleDoubleMath.canonicalHigh(value, 0d);
+        this.highs[this.highBase + this.stride * index] = ch;
+        this.lows[this.lowBase + this.stride * index] = DoubleDoubleMath.canonicalLow(value, 0d, ch);
+    }
+
+    /**
+     * 各要素の正確な値を {@link BigDecimal} の配列で返す. <br>
+     * 各要素は {@link DoubleDoubleFloat#toBigDecimal()} と等価である.
+     * 
+     * @return 正確な値の配列
+     * @throws ArithmeticException 無限大またはNaNの要素を含む場合
+     */
+    public BigDecimal[] toBigDecimalArray() {
+        BigDecimal[] result = new BigDecimal[this.length];
+        final double[] xhs = this.highs, xls = this.lows;
+        for (int i = 0; i < this.length; i++) {
+            double xh = xhs[this.highBase + this.stride * i];
+            if (!Double.isFinite(xh)) {
+                throw new ArithmeticException(
+                        String.format("有限でない要素: index = %s, value = %s", i, xh));
+            }
+            result[i] = DoubleDoubleDecimal.toBigDecimal(xh, xls[this.lowBase + this.stride * i]);
+        }
+        return result;
+    }
+
+    /**
+     * 要素ごとの和 {@code this[i] + augend[i]} を計算し, {@code dest} に書き込む.
+     * 
+     * @param augend augend
+     * @param dest 書き込み先
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void add(DoubleDoubleArray augend, DoubleDoubleArray dest) {
+        this.requireSameLength(augend, dest);
+
+        final double[] xhs = this.highs, xls = this.lows;
+        final double[] yhs = augend.highs, yls = augend.lows;
+        final double[] zhs = dest.highs, zls = dest.lows;
+        int start = this.isVectorizable(augend, dest)
+                ? DoubleDoubleVectorKernel.add(xhs, xls, yhs, yls, zhs, zls, this.length)
+                : 0;
+        for (int i = start; i < this.length; i++) {
+            double xh = xhs[this.highBase + this.stride * i];
+            double xl = xls[this.lowBase + this.stride * i];
+            double yh = yhs[augend.highBase + augend.stride * i];
+            double yl = yls[augend.lowBase + augend.stride * i];
+
+            double sh = xh + yh;
+            double sl = DoubleDoubleMath.two_sum_dd_low(xh, xl, yh, yl, sh);
+            double ch = DoubleDoubleMath.canonicalHigh(sh, sl);
+            zhs[dest.highBase + dest.stride * i] = ch;
+            zls[dest.lowBase + dest.stride * i] = DoubleDoubleMath.canonicalLow(sh, sl, ch);
+        }
+    }
+
+    /**
+     * 要素ごとの差 {@code this[i] - subtrahend[i]} を計算し, {@code dest} に書き込む.
+     * 
+     * @param subtrahend subtrahend
+     * @param dest 書き込み先
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void subtract(DoubleDoubleArray subtrahend, DoubleDoubleArray dest) {
+        this.requireSameLength(subtrahend, dest);
+
+        final double[] xhs = this.highs, xls = this.lows;
+        final double[] yhs = subtrahend.highs, yls = subtrahend.lows;
+        final double[] zhs = dest.highs, zls = dest.lows;
+        for (int i = 0; i < this.length; i++) {
+            double xh = xhs[this.highBase + this.stride * i];
+            double xl = xls[this.lowBase + this.stride * i];
+            double yh = -yhs[subtrahend.highBase + subtrahend.stride * i];
+            double yl = -yls[subtrahend.lowBase + subtrahend.stride * i];
+
+            double sh = xh + yh;
+            double sl = DoubleDoubleMath.two_sum_dd_low(xh, xl, yh, yl, sh);
+            double ch = DoubleDoubleMath.canonicalHigh(sh, sl);
+            zhs[dest.highBase + dest.stride * i] = ch;
+            zls[dest.lowBase + dest.stride * i] = DoubleDoubleMath.canonicalLow(sh, sl, ch);
+        }
+    }
+
+    /**
+     * 要素ごとの積 {@code this[i] * multiplicand[i]} を計算し, {@code dest} に書き込む.
+     * 
+     * @param multiplicand multiplicand
+     * @param dest 書き込み先
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void multiply(DoubleDoubleArray multiplicand, DoubleDoubleArray dest) {
+        this.requireSameLength(multiplicand, dest);
+
+        final double[] xhs = this.highs, xls = this.lows;
+        final double[] yhs = multiplicand.highs, yls = multiplicand.lows;
+        final double[] zhs = dest.highs, zls = dest.lows;
+        int start = this.isVectorizable(multiplicand, dest)
+                ? DoubleDoubleVectorKernel.multiply(xhs, xls, yhs, yls, zhs, zls, this.length)
+                : 0;
+        for (int i = start; i < this.length; i++) {
+            double xh = xhs[this.highBase + this.stride * i];
+            double xl = xls[this.lowBase + this.stride * i];
+            double yh = yhs[multiplicand.highBase + multiplicand.stride * i];
+            double yl = yls[multiplicand.lowBase + multiplicand.stride * i];
+
+            double ph = xh * yh;
+            double pl = DoubleDoubleMath.two_prod_dd_low(xh, xl, yh, yl, ph);
+            double ch = DoubleDoubleMath.canonicalHigh(ph, pl);
+            zhs[dest.highBase + dest.stride * i] = ch;
+            zls[dest.lowBase + dest.stride * i] = DoubleDoubleMath.canonicalLow(ph, pl, ch);
+        }
+    }
+
+    /**
+     * 要素ごとの商 {@code this[i] / divisor[i]} を計算し, {@code dest} に書き込む.
+     * 
+     * @param divisor divisor
+     * @param dest 書き込み先
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void divide(DoubleDoubleArray divisor, DoubleDoubleArray dest) {
+        this.requireSameLength(divisor, dest);
+
+        final double[] xhs = this.highs, xls = this.lows;
+        final double[] yhs = divisor.highs, yls = divisor.lows;
+        final double[] zhs = dest.highs, zls = dest.lows;
+        for (int i = 0; i < this.length; i++) {
+            double xh = xhs[this.highBase + this.stride * i];
+            double xl = xls[this.lowBase + this.stride * i];
+            double yh = yhs[divisor.highBase + divisor.stride * i];
+            double yl = yls[divisor.lowBase + divisor.stride * i];
+
+            double qh = xh / yh;
+            double ql = DoubleDoubleMath.two_divide_dd_low(xh, xl, yh, yl, qh);
+            double ch = DoubleDoubleMath.canonicalHigh(qh, ql);
+            zhs[dest.highBase + dest.stride * i] = ch;
+            zls[dest.lowBase + dest.stride * i] = DoubleDoubleMath.canonicalLow(qh, ql, ch);
+        }
+    }
+
+    /**
+     * 要素ごとの商 {@code this[i] / divisor} を計算し, {@code dest} に書き込む.
+     * 
+     * <p>
+     * 除数の逆数を一度だけ計算し, 各要素にはそれを乗算する. <br>
+     * このため, 要素ごとに {@link DoubleDoubleFloat#dividedBy(DoubleDoubleFloat)}
+     * を適用した結果とはビット単位で一致しない. <br>
+     * 結果の相対誤差は, {@link DoubleDoubleFloat} と同じ表記で {@code 12u^2} 以下である (商が極端に小さい場合を除く). <br>
+     * 除数の逆数を十分な精度で表現できない場合 (除数が0, 無限大, NaN, 極端な大きさの場合) は,
+     * 要素ごとに除算を行う.
+     * </p>
+     * 
+     * @param divisor divisor
+     * @param dest 書き込み先
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void divide(DoubleDoubleFloat divisor, DoubleDoubleArray dest) {
+        DoubleDoubleFloat reciprocal = divisor.reciprocal();
+        double rh = Math.abs(reciprocal.doubleValue());
+        //逆数の下位が正規化数に収まる範囲に限る
+        if (rh >= 0x1p-969 && rh <= Double.MAX_VALUE) {
+            this.scale(reciprocal.doubleValue(), reciprocal.lowValue(), dest);
+            return;
+        }
+
+        this.requireSameLength(this, dest);
+
+        final double yh = divisor.doubleValue();
+        final double yl = divisor.lowValue();
+        final double[] xhs = this.highs, xls = this.lows;
+        final double[] zhs = dest.highs, zls = dest.lows;
+        for (int i = 0; i < this.length; i++) {
+            double xh = xhs[this.highBase + this.stride * i];
+            double xl = xls[this.lowBase + this.stride * i];
+
+            double qh = xh / yh;
+            double ql = DoubleDoubleMath.two_divide_dd_low(xh, xl, yh, yl, qh);
+            double ch = DoubleDoubleMath.canonicalHigh(qh, ql);
+            zhs[dest.highBase + dest.stride * i] = ch;
+            zls[dest.lowBase + dest.stride * i] = DoubleDoubleMath.canonicalLow(qh, ql, ch);
+        }
+    }
+
+    /**
+     * 要素ごとのスカラー倍 {@code this[i] * factor} を計算し, {@code dest} に書き込む.
+     * 
+     * @param factor スカラー
+     * @param dest 書き込み先
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void scale(DoubleDoubleFloat factor, DoubleDoubleArray dest) {
+        this.scale(factor.doubleValue(), factor.lowValue(), dest);
+    }
+
+    /**
+     * 要素ごとのスカラー倍 {@code this[i] * factor} を計算し, {@code dest} に書き込む.
+     * 
+     * @param factor スカラー
+     * @param dest 書き込み先
+     * @throws IllegalArgumentException 配列の長さが一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public void scale(double factor, DoubleDoubleArray dest) {
+        this.scale(factor, 0d, dest);
+    }
+
+    /**
+     * 要素ごとに正規化された (yh, yl) 倍を計算し, {@code dest} に書き込む.
+     */
+    private void scale(double yh, double yl, DoubleDoubleArray dest) {
+        this.requireSameLength(this, dest);
+
+        final double[] xhs = this.highs, xls = this.lows;
+        final double[] zhs = dest.highs, zls = dest.lows;
+        for (int i = 0; i < this.length; i++) {
+            double xh = xhs[this.highBase + this.stride * i];
+            double xl = xls[this.lowBase + this.stride * i];
+
+            double ph = xh * yh;
+            double pl = DoubleDoubleMath.two_prod_dd_low(xh, xl, yh, yl, ph);
+            double ch = DoubleDoubleMath.canonicalHigh(ph, pl);
+            zhs[dest.highBase + dest.stride * i] = ch;
+            zls[dest.lowBase + dest.stride * i] = DoubleDoubleMath.canonicalLow(ph, pl, ch);
+        }
+    }
+
+    /**
+     * Vector API による一括演算カーネルを適用できるかを判定する. <br>
+     * カーネルが利用可能であり, すべての配列が {@link Layout#SPLIT} である場合に true.
+     */
+    private boolean isVectorizable(DoubleDoubleArray other, DoubleDoubleArray dest) {
+        return DoubleDoubleVectorKernel.AVAILABLE
+                && this.layout == Layout.SPLIT
+                && other.layout == Layout.SPLIT
+                && dest.layout == Layout.SPLIT;
+    }
+
+    /**
+     * 配列の長さが自身と一致することを確かめる.
+     * 
+     * @throws IllegalArgumentException 一致しない場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    private void requireSameLength(DoubleDoubleArray other, DoubleDoubleArray dest) {
+        if (this.length != other.length || this.length != dest.length) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "長さが一致しない: %s, %s, %s",
+                            this.length, other.length, dest.length));
+        }
+    }
+
+    /**
+     * 文字列表現を返す.
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                "DoubleDoubleArray(length = %s, layout = %s)", this.length, this.layout);
+    }
+}
@@ -0,0 +1,843 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * double-double 浮動小数点数の, 10進表現 (10進の仮数と指数) への変換.
+ * 
+ * <p>
+ * 有限かつ0でない値 v = high + low の絶対値を, 128bitの符号なし整数 X と2進指数 e により
+ * {@code |v| = (X + f) * 2^e} ({@code 0 <= f < 1}, {@code 2^125 < X < 2^127}) と表す. <br>
+ * 10<sup>t</sup> の128bitの近似 ({@link PowersOfTen}) との256bitの積から,
+ * {@code |v| * 10^t} の整数部と小数部を取り出し, 最近接偶数丸めにより10進の仮数を得る. <br>
+ * 積の誤差の上限を併せて求めておき, 丸めの判定 (小数部と1/2の大小, 整数であるかどうか) が
+ * 誤差の範囲で確定しない場合に限り, {@link BigDecimal} による正確な計算に切り替える. <br>
+ * 10<sup>t</sup> の近似が正確 ({@code 0 <= t <= 55}) であり, f = 0 の場合は積も正確であり,
+ * 判定は常に確定する.
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスは1回の変換のための作業領域であり, スレッドセーフではない. <br>
+ * 変換の結果は, 10進の仮数の各桁 {@link #digits()} ({@link #digitCount()} 桁)
+ * と指数 {@link #exponent()} により, {@code |v| ≈ digits * 10^exponent} と表される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleDecimal {
+
+    /**
+     * 高速な計算で扱う有効桁数の上限. <br>
+     * 仮数が 2^120 未満に収まる桁数である.
+     */
+    static final int FAST_MAX_DIGITS = 36;
+
+    /**
+     * {@link #toStandard()} における有効桁数.
+     */
+    static final int STANDARD_DIGITS = 32;
+
+    private static final MathContext MC_STANDARD =
+            new MathContext(STANDARD_DIGITS, RoundingMode.HALF_EVEN);
+
+    private static final int NO_RESULT = Integer.MIN_VALUE;
+
+    private static final int INTEGER = 1;
+    private static final int NOT_INTEGER = 0;
+    private static final int UNDETERMINED = -1;
+
+    private static final long SIGNIFICAND_MASK = 0x000F_FFFF_FFFF_FFFFL;
+    private static final long IMPLICIT_BIT = 0x0010_0000_0000_0000L;
+    private static final long MASK_32 = 0xFFFF_FFFFL;
+    private static final long BILLION = 1_000_000_000L;
+
+    /**
+     * 小数部 (2^(-64) 単位) の1/2.
+     */
+    private static final long HALF = Long.MIN_VALUE;
+
+    /**
+     * 最短表現の高速な計算を行う下位の絶対値の下限. <br>
+     * これ以上であれば, 下位およびその近傍の {@code double} の間隔は正規化数の規則に従う.
+     */
+    private static final double SHORTEST_LOW_LOWER = 0x1p-1000;
+
+    /**
+     * 5^n (n = 0, ..., 27) の {@code long} 表現.
+     */
+    private static final long[] LONG_POWERS_OF_FIVE = longPowersOfFive();
+
+    /**
+     * {@link #toBigDecimal(double, double)} で, 上位と下位の和を {@code long} で求める
+     * 2進指数の差の上限 (2^(53 + 9) + 2^53 < 2^63).
+     */
+    private static final int LONG_SUM_MAX_SPAN = 9;
+
+    private static final BigDecimal HALF_DECIMAL = new BigDecimal("0.5");
+    private static final BigDecimal QUARTER_DECIMAL = new BigDecimal("0.25");
+
+    private final double absHigh;
+
+    /**
+     * 下位に上位の符号を掛けたもの (|v| = absHigh + signedLow).
+     */
+    private final double signedLow;
+
+    /**
+     * |v| の128bit表現 X の上位64bit, 下位64bit.
+     */
+    private final long x1;
+    private final long x0;
+
+    /**
+     * |v| = (X + f) * 2^binaryExponent.
+     */
+    private final int binaryExponent;
+
+    /**
+     * f != 0 であるかどうか.
+     */
+    private final boolean sticky;
+
+    /**
+     * |high| の正規化された2進指数.
+     */
+    private final int highExponent;
+
+    /**
+     * signedLow の128bit表現 (X の単位) を得るためのシフト量. <br>
+     * 下位が0の場合は {@link Integer#MIN_VALUE}.
+     */
+    private final int lowShift;
+
+    /*
+     * scale の結果: 整数部 (i1, i0), 小数部の上位64bit, 小数部のそれ以下のビットが0でないか,
+     * 小数部の誤差の上限 (2^(-64) 単位).
+     */
+    private final long[] product = new long[4];
+    private long i1;
+    private long i0;
+    private long fraction;
+    private boolean rest;
+    private long error;
+
+    /*
+     * roundScaled の結果: 丸めた整数 (d1, d0) と, それが丸めを伴わない (正確である) か.
+     */
+    private long d1;
+    private long d0;
+    private boolean exact;
+
+    /*
+     * 変換の結果.
+     */
+    private char[] digits = new char[FAST_MAX_DIGITS + 4];
+    private int digitCount;
+    private int exponent;
+
+    /**
+     * 有限かつ0でない double-double 値 {@code high + low} を与えて, 変換の準備をする.
+     */
+    DoubleDoubleDecimal(double high, double low) {
+        super();
+        assert Double.isFinite(high) && high != 0d;
+
+        this.absHigh = Math.abs(high);
+        this.signedLow = high < 0d ? -low : low;
+
+        long highSignificand = normalizedSignificand(this.absHigh);
+        this.highExponent = normalizedExponent(this.absHigh);
+        this.binaryExponent = this.highExponent - 126;
+
+        //|high| = highSignificand * 2^(highExponent - 52) であり, X の単位では highSignificand * 2^74
+        long xh1 = highSignificand << 10;
+        if (this.signedLow == 0d) {
+            this.x1 = xh1;
+            this.x0 = 0L;
+            this.sticky = false;
+            this.lowShift = Integer.MIN_VALUE;
+            return;
+        }
+
+        double absLow = Math.abs(this.signedLow);
+        long lowSignificand = normalizedSignificand(absLow);
+        int shift = normalizedExponent(absLow) - this.highExponent + 74;
+        this.lowShift = shift;
+
+        //|low| <= ulp(high)/2 より shift <= 21
+        long l1;
+        long l0;
+        boolean remainder;
+        if (shift >= 0) {
+            l1 = shift == 0 ? 0L : lowSignificand >>> (64 - shift);
+            l0 = lowSignificand << shift;
+            remainder = false;
+        } else if (shift > -64) {
+            l1 = 0L;
+            l0 = lowSignificand >>> -shift;
+            remainder = (lowSignificand & ((1L << -shift) - 1L)) != 0L;
+        } else {
+            l1 = 0L;
+            l0 = 0L;
+            remainder = true;
+        }
+
+        if (this.signedLow > 0d) {
+            this.x0 = l0;
+            this.x1 = xh1 + l1;
+        } else {
+            //X = Xh - L - (端数があれば1)
+            long borrowIn = remainder ? 1L : 0L;
+            long diff0 = -l0 - borrowIn;
+            long borrow = (l0 != 0L || borrowIn != 0L) ? 1L : 0L;
+            this.x0 = diff0;
+            this.x1 = xh1 - l1 - borrow;
+        }
+        this.sticky = remainder;
+    }
+
+    /**
+     * 変換結果の10進の仮数の各桁を返す (先頭から {@link #digitCount()} 個が有効).
+     */
+    char[] digits() {
+        return this.digits;
+    }
+
+    /**
+     * 変換結果の10進の仮数の桁数を返す.
+     */
+    int digitCount() {
+        return this.digitCount;
+    }
+
+    /**
+     * 変換結果の10進の指数を返す.
+     */
+    int exponent() {
+        return this.exponent;
+    }
+
+    /**
+     * |v| を有効桁数 n に (最近接偶数丸めで) 丸める. <br>
+     * 仮数はちょうど n 桁となる.
+     */
+    void toSignificantDigits(int n) {
+        assert n >= 1;
+
+        int t = n <= FAST_MAX_DIGITS ? this.fastSignificantDigits(n) : NO_RESULT;
+        if (t != NO_RESULT) {
+            this.writeDigits(this.d1, this.d0);
+            this.exponent = -t;
+            return;
+        }
+
+        BigDecimal rounded = this.exactValue().round(new MathContext(n, RoundingMode.HALF_EVEN));
+        String unscaled = rounded.unscaledValue().toString();
+        int padding = n - unscaled.length();
+        this.setDigits(unscaled, padding);
+        this.exponent = -rounded.scale() - padding;
+    }
+
+    /**
+     * |v| を有効桁数32桁に丸め, {@link BigDecimal} の正確な値を
+     * {@link #STANDARD_DIGITS} 桁に丸めた結果と同一の仮数と指数
+     * (すなわち, 丸めが生じない場合は, 小数部の末尾の0を含まない表現) を得る.
+     */
+    void toStandard() {
+        int t = this.fastSignificantDigits(STANDARD_DIGITS);
+        if (t != NO_RESULT) {
+            this.writeDigits(this.d1, this.d0);
+            this.exponent = -t;
+            if (this.exact) {
+                //正確な値は32桁以下であり, 小数部の末尾の0は持たない
+                while (this.exponent < 0 && this.digits[this.digitCount - 1] == '0') {
+                    this.digitCount--;
+                    this.exponent++;
+                }
+            }
+            return;
+        }
+
+        BigDecimal rounded = this.exactValue().round(MC_STANDARD);
+        this.setDigits(rounded.unscaledValue().toString(), 0);
+        this.exponent = -rounded.scale();
+    }
+
+    /**
+     * |v| を小数点以下 f 桁に (最近接偶数丸めで) 丸める. <br>
+     * 結果が0の場合, 仮数は "0" である.
+     */
+    void toFractionDigits(int f) {
+        assert f >= 0;
+
+        if (this.roundScaled(f)) {
+            this.writeDigits(this.d1, this.d0);
+        } else {
+            BigDecimal rounded = this.exactValue().setScale(f, RoundingMode.HALF_EVEN);
+            this.setDigits(rounded.unscaledValue().toString(), 0);
+        }
+        this.exponent = -f;
+    }
+
+    /**
+     * {@link DoubleDoubleFloat#valueOf(BigDecimal)} の意味で v に戻る10進数のうち,
+     * 桁数が最小であるもの (そのようなものが複数ある場合は, v に最も近いもの) を得る.
+     */
+    void toShortest() {
+        int t = this.fastShortest();
+        if (t != NO_RESULT) {
+            this.writeDigits(this.d1, this.d0);
+            this.exponent = -t;
+            return;
+        }
+        this.exactShortest();
+    }
+
+    /**
+     * 高速な計算により, |v| を有効桁数 n に丸めた整数を (d1, d0) に格納し, 10進の指数の符号反転 t を返す. <br>
+     * 判定が確定しない場合は {@link #NO_RESULT} を返す.
+     */
+    private int fastSignificantDigits(int n) {
+        //floor(log10|v|) は, k - 1, k, k + 1 のいずれかである
+        int k = floorLog10Pow2(this.highExponent);
+        int t = n - 1 - k;
+        if (!this.roundScaled(t)) {
+            return NO_RESULT;
+        }
+        if (compareToPowerOfTen(this.i1, this.i0, n) >= 0) {
+            t--;
+            if (!this.roundScaled(t)) {
+                return NO_RESULT;
+            }
+        } else if (compareToPowerOfTen(this.i1, this.i0, n - 1) < 0) {
+            t++;
+            if (!this.roundScaled(t)) {
+                return NO_RESULT;
+            }
+        }
+
+        if (compareToPowerOfTen(this.d1, this.d0, n) == 0) {
+            //丸めによる繰り上がり
+            this.d1 = PowersOfTen.INTEGER_HIGH[n - 1];
+            this.d0 = PowersOfTen.INTEGER_LOW[n - 1];
+            this.exact = false;
+            t--;
+        }
+        if (compareToPowerOfTen(this.d1, this.d0, n - 1) < 0
+                || compareToPowerOfTen(this.d1, this.d0, n) >= 0) {
+            return NO_RESULT;
+        }
+        return t;
+    }
+
+    /**
+     * 高速な計算により, 最短表現の仮数を (d1, d0) に格納し, 10進の指数の符号反転 t を返す. <br>
+     * 判定が確定しない場合, または高速な計算が適用できない場合は {@link #NO_RESULT} を返す.
+     */
+    private int fastShortest() {
+        //丸めの区間の端点が X の単位で正確に表せる場合に限る
+        if (this.signedLow == 0d || this.sticky || this.lowShift < 2
+                || Math.abs(this.signedLow) < SHORTEST_LOW_LOWER) {
+            return NO_RESULT;
+        }
+
+        //上位の区間: [Xh - highDown, Xh + highUp], 上位の仮数が偶数であれば端点を含む
+        long xh1 = normalizedSignificand(this.absHigh) << 10;
+        long highUp1 = 1L << 9;
+        long highDown1 = isPowerOfTwo(this.absHigh) ? 1L << 8 : 1L << 9;
+        boolean highInclusive = (Double.doubleToRawLongBits(this.absHigh) & 1L) == 0L;
+
+        //下位の区間: [X - lowDown, X + lowUp], 下位の仮数が偶数であれば端点を含む
+        double absLow = Math.abs(this.signedLow);
+        long lowAway = 1L << (this.lowShift - 1);
+        long lowToward = isPowerOfTwo(absLow) ? 1L << (this.lowShift - 2) : lowAway;
+        long lowDown = this.signedLow > 0d ? lowToward : lowAway;
+        long lowUp = this.signedLow > 0d ? lowAway : lowToward;
+        boolean lowInclusive = (Double.doubleToRawLongBits(absLow) & 1L) == 0L;
+
+        //下端 = max(Xh - highDown, X - lowDown)
+        long a1 = xh1 - highDown1;
+        long b0 = this.x0 - lowDown;
+        long b1 = this.x1 - (Long.compareUnsigned(this.x0, lowDown) < 0 ? 1L : 0L);
+        int lowerComparison = WideArithmetic.compareUnsigned(a1, 0L, b1, b0);
+        long lower1 = lowerComparison > 0 ? a1 : b1;
+        long lower0 = lowerComparison > 0 ? 0L : b0;
+        boolean lowerInclusive = lowerComparison > 0
+                ? highInclusive
+                : lowerComparison < 0 ? lowInclusive : highInclusive && lowInclusive;
+
+        //上端 = min(Xh + highUp, X + lowUp)
+        long c1 = xh1 + highUp1;
+        long e0 = this.x0 + lowUp;
+        long e1 = this.x1 + (Long.compareUnsigned(e0, this.x0) < 0 ? 1L : 0L);
+        int upperComparison = WideArithmetic.compareUnsigned(c1, 0L, e1, e0);
+        long upper1 = upperComparison < 0 ? c1 : e1;
+        long upper0 = upperComparison < 0 ? 0L : e0;
+        boolean upperInclusive = upperComparison < 0
+                ? highInclusive
+                : upperComparison > 0 ? lowInclusive : highInclusive && lowInclusive;
+
+        //区間の幅を w として, w * 10^t が10以上となる t から始め, 区間内に整数が存在する最小の t を探す
+        long w0 = upper0 - lower0;
+        long w1 = upper1 - lower1 - (Long.compareUnsigned(upper0, lower0) < 0 ? 1L : 0L);
+        int widthBits = w1 != 0L ? 128 - Long.numberOfLeadingZeros(w1) : 64 - Long.numberOfLeadingZeros(w0);
+        int t = 2 + floorLog10Pow2(1 - widthBits - this.binaryExponent);
+
+        boolean found = false;
+        boolean terminated = false;
+        int foundT = 0;
+        long foundLower1 = 0L;
+        long foundLower0 = 0L;
+        long foundUpper1 = 0L;
+        long foundUpper0 = 0L;
+        for (int count = 0; count <= FAST_MAX_DIGITS; count++, t--) {
+            //区間内の最小の整数 (l1, l0)
+            if (!this.scale(lower1, lower0, true, t)) {
+                return NO_RESULT;
+            }
+            int lowerIsInteger = this.integerState();
+            if (lowerIsInteger == UNDETERMINED) {
+                return NO_RESULT;
+            }
+            long l1 = this.i1;
+            long l0 = this.i0;
+            if (!(lowerIsInteger == INTEGER && lowerInclusive)) {
+                l0++;
+                if (l0 == 0L) {
+                    l1++;
+                }
+            }
+
+            //区間内の最大の整数 (u1, u0) (存在する場合)
+            if (!this.scale(upper1, upper0, true, t)) {
+                return NO_RESULT;
+            }
+            int upperIsInteger = this.integerState();
+            if (upperIsInteger == UNDETERMINED) {
+                return NO_RESULT;
+            }
+            boolean upperExcluded = upperIsInteger == INTEGER && !upperInclusive;
+            int comparison = WideArithmetic.compareUnsigned(l1, l0, this.i1, this.i0);
+            boolean exists = upperExcluded ? comparison < 0 : comparison <= 0;
+            if (!exists) {
+                if (!found) {
+                    return NO_RESULT;
+                }
+                terminated = true;
+                break;
+            }
+            found = true;
+            foundT = t;
+            foundLower1 = l1;
+            foundLower0 = l0;
+            foundUpper1 = this.i1;
+            foundUpper0 = this.i0;
+            if (upperExcluded) {
+                foundUpper0--;
+                if (foundUpper0 == -1L) {
+                    foundUpper1--;
+                }
+            }
+        }
+        if (!terminated) {
+            return NO_RESULT;
+        }
+
+        if (WideArithmetic.compareUnsigned(foundLower1, foundLower0, foundUpper1, foundUpper0) == 0) {
+            this.d1 = foundLower1;
+            this.d0 = foundLower0;
+            return foundT;
+        }
+        //区間内の整数のうち, v に最も近いもの
+        if (!this.roundScaled(foundT)) {
+            return NO_RESULT;
+        }
+        if (WideArithmetic.compareUnsigned(this.d1, this.d0, foundLower1, foundLower0) < 0) {
+            this.d1 = foundLower1;
+            this.d0 = foundLower0;
+        } else if (WideArithmetic.compareUnsigned(this.d1, this.d0, foundUpper1, foundUpper0) > 0) {
+            this.d1 = foundUpper1;
+            this.d0 = foundUpper0;
+        }
+        return foundT;
+    }
+
+    /**
+     * 直前の {@link #scale} の結果が整数であるかを,
+     * {@link #INTEGER}, {@link #NOT_INTEGER}, {@link #UNDETERMINED} (誤差の範囲で確定しない) で返す.
+     */
+    private int integerState() {
+        if (this.error == 0L) {
+            return this.fraction == 0L && !this.rest ? INTEGER : NOT_INTEGER;
+        }
+        if (Long.compareUnsigned(this.fraction, this.error) <= 0
+                || Long.compareUnsigned(this.fraction, -this.error) >= 0) {
+            return UNDETERMINED;
+        }
+        return NOT_INTEGER;
+    }
+
+    /**
+     * |v| * 10^t を最近接偶数丸めした整数を (d1, d0) に格納する. <br>
+     * 丸めの前の整数部は (i1, i0) に残る. <br>
+     * 表の範囲外, 整数部が 2^120 以上, 丸めの判定が確定しない場合は false を返す.
+     */
+    private boolean roundScaled(int t) {
+        if (!this.scale(this.x1, this.x0, !this.sticky, t)) {
+            return false;
+        }
+
+        boolean up;
+        if (this.error == 0L) {
+            int comparison = Long.compareUnsigned(this.fraction, HALF);
+            up = comparison > 0
+                    || (comparison == 0 && (this.rest || (this.i0 & 1L) != 0L));
+            this.exact = this.fraction == 0L && !this.rest;
+        } else {
+            //fraction - 1/2 (2^(-64) 単位の符号付き整数)
+            long deviation = this.fraction ^ Long.MIN_VALUE;
+            if (deviation != Long.MIN_VALUE && Math.abs(deviation) <= this.error) {
+                return false;
+            }
+            up = deviation > 0L;
+            this.exact = false;
+        }
+
+        this.d1 = this.i1;
+        this.d0 = this.i0;
+        if (up) {
+            this.d0++;
+            if (this.d0 == 0L) {
+                this.d1++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A * 2^binaryExponent * 10^t の整数部, 小数部, 誤差の上限を求める. <br>
+     * A は128bitの符号なし整数 (a1, a0) であり, exactInput は A が正確な値であるか
+     * (X の場合は f = 0 であるか) を表す. <br>
+     * 表の範囲外, または整数部が 2^120 以上の場合は false を返す.
+     */
+    private boolean scale(long a1, long a0, boolean exactInput, int t) {
+        if (t < PowersOfTen.MIN_EXPONENT || t > PowersOfTen.MAX_EXPONENT) {
+            return false;
+        }
+        int index = t - PowersOfTen.MIN_EXPONENT;
+        long[] z = this.product;
+        WideArithmetic.multiply(a1, a0, PowersOfTen.HIGH[index], PowersOfTen.LOW[index], z);
+
+        int shift = -(this.binaryExponent + PowersOfTen.BINARY_EXPONENT[index]);
+        if (WideArithmetic.bitLength(z) > shift + 120) {
+            return false;
+        }
+        this.i1 = WideArithmetic.word(z, shift + 64);
+        this.i0 = WideArithmetic.word(z, shift);
+        this.fraction = WideArithmetic.word(z, shift - 64);
+        this.rest = WideArithmetic.hasNonZeroBitBelow(z, shift - 64);
+
+        //相対誤差は, 表の近似の 2^(-128) と f の寄与 2^(-124) の和以下であり,
+        //小数部の単位 (2^(-64)) では (整数部 + 1) * 2^(-59) 以下である (切り捨てた小数部の寄与を含む)
+        this.error = exactInput && t >= 0 && t <= PowersOfTen.EXACT_MAX
+                ? 0L
+                : ((this.i1 << 5) | (this.i0 >>> 59)) + 2L;
+        return true;
+    }
+
+    /**
+     * BigDecimal による正確な計算で, 最短表現を求める.
+     */
+    private void exactShortest() {
+        BigDecimal high = new BigDecimal(this.absHigh);
+        BigDecimal value = high.add(new BigDecimal(this.signedLow));
+
+        //round(d) = high となる d の区間
+        BigDecimal highUlp = new BigDecimal(Math.ulp(this.absHigh));
+        BigDecimal highUp = highUlp.multiply(HALF_DECIMAL);
+        BigDecimal highDown = isPowerOfTwo(this.absHigh) ? highUlp.multiply(QUARTER_DECIMAL) : highUp;
+        boolean highInclusive = (Double.doubleToRawLongBits(this.absHigh) & 1L) == 0L;
+
+        //round(d - high) = low となる d の区間 (下位が0の場合は, 最小の非正規化数の半分以内)
+        double absLow = Math.abs(this.signedLow);
+        BigDecimal lowUlp = new BigDecimal(Math.ulp(absLow));
+        BigDecimal lowAway = lowUlp.multiply(HALF_DECIMAL);
+        BigDecimal lowToward = isPowerOfTwo(absLow) ? lowUlp.multiply(QUARTER_DECIMAL) : lowAway;
+        BigDecimal lowDown = this.signedLow > 0d ? lowToward : lowAway;
+        BigDecimal lowUp = this.signedLow > 0d ? lowAway : lowToward;
+        boolean lowInclusive = (Double.doubleToRawLongBits(absLow) & 1L) == 0L;
+
+        BigDecimal lowerByHigh = high.subtract(highDown);
+        BigDecimal lowerByLow = value.subtract(lowDown);
+        int lowerComparison = lowerByHigh.compareTo(lowerByLow);
+        BigDecimal lower = lowerComparison > 0 ? lowerByHigh : lowerByLow;
+        boolean lowerInclusive = lowerComparison > 0
+                ? highInclusive
+                : lowerComparison < 0 ? lowInclusive : highInclusive && lowInclusive;
+
+        BigDecimal upperByHigh = high.add(highUp);
+        BigDecimal upperByLow = value.add(lowUp);
+        int upperComparison = upperByHigh.compareTo(upperByLow);
+        BigDecimal upper = upperComparison < 0 ? upperByHigh : upperByLow;
+        boolean upperInclusive = upperComparison < 0
+                ? highInclusive
+                : upperComparison > 0 ? lowInclusive : highInclusive && lowInclusive;
+
+        //区間内に 10^(-t) の整数倍が存在するかは t について単調であるので, 最小の t を二分探索する
+        //t = value.scale() では value 自身が区間内にある
+        int tLower = -(value.precision() - value.scale() - 1) - 1;
+        int tUpper = Math.max(value.scale(), tLower);
+        while (tLower < tUpper) {
+            int t = Math.floorDiv(tLower + tUpper, 2);
+            BigInteger[] range = integerRange(lower, lowerInclusive, upper, upperInclusive, t);
+            if (range[0].compareTo(range[1]) <= 0) {
+                tUpper = t;
+            } else {
+                tLower = t + 1;
+            }
+        }
+
+        int t = tUpper;
+        BigInteger[] range = integerRange(lower, lowerInclusive, upper, upperInclusive, t);
+        BigInteger nearest = value.movePointRight(t).setScale(0, RoundingMode.HALF_EVEN).toBigInteger();
+        if (nearest.compareTo(range[0]) < 0) {
+            nearest = range[0];
+        } else if (nearest.compareTo(range[1]) > 0) {
+            nearest = range[1];
+        }
+        this.setDigits(nearest.toString(), 0);
+        this.exponent = -t;
+    }
+
+    /**
+     * 区間 [lower, upper] (端点を含むかは引数による) を 10^t 倍したものに含まれる
+     * 最小の整数と最大の整数を返す.
+     */
+    private static BigInteger[] integerRange(
+            BigDecimal lower, boolean lowerInclusive,
+            BigDecimal upper, boolean upperInclusive, int t) {
+        BigDecimal scaledLower = lower.movePointRight(t);
+        BigInteger min = scaledLower.setScale(0, RoundingMode.CEILING).toBigInteger();
+        if (!lowerInclusive && scaledLower.compareTo(new BigDecimal(min)) == 0) {
+            min = min.add(BigInteger.ONE);
+        }
+        BigDecimal scaledUpper = upper.movePointRight(t);
+        BigInteger max = scaledUpper.setScale(0, RoundingMode.FLOOR).toBigInteger();
+        if (!upperInclusive && scaledUpper.compareTo(new BigDecimal(max)) == 0) {
+            max = max.subtract(BigInteger.ONE);
+        }
+        return new BigInteger[] { min, max };
+    }
+
+    /**
+     * 有限の double-double 値 {@code high + low} の正確な値を返す. <br>
+     * {@code new BigDecimal(high).add(new BigDecimal(low))} と (スケールを含めて) 同一である.
+     * 
+     * <p>
+     * 上位と下位を, それぞれ奇数の整数と2進指数の積 a * 2^ea, b * 2^eb で表し,
+     * e = min(ea, eb) として和を整数 N * 2^e にまとめる. <br>
+     * e < 0 の場合は, 値は N * 5^(-e) * 10^e であるので, 仮数 N * 5^(-e), スケール -e となる.
+     * e >= 0 の場合は, 仮数 N * 2^e, スケール 0 となる.
+     * </p>
+     */
+    static BigDecimal toBigDecimal(double high, double low) {
+        assert Double.isFinite(high) && Double.isFinite(low);
+
+        if (low == 0d) {
+            return new BigDecimal(high);
+        }
+
+        long highBits = Double.doubleToRawLongBits(high);
+        long lowBits = Double.doubleToRawLongBits(low);
+        long a = oddSignificand(highBits);
+        long b = oddSignificand(lowBits);
+        int ea = oddExponent(highBits);
+        int eb = oddExponent(lowBits);
+        a = highBits < 0L ? -a : a;
+        b = lowBits < 0L ? -b : b;
+
+        //a * 2^ea + b * 2^eb = N * 2^e
+        int e = Math.min(ea, eb);
+        int span = Math.max(ea, eb) - e;
+        long upper = ea >= eb ? a : b;
+        long lower = ea >= eb ? b : a;
+        if (span <= LONG_SUM_MAX_SPAN) {
+            long n = (upper << span) + lower;
+            if (e >= 0) {
+                return new BigDecimal(BigInteger.valueOf(n).shiftLeft(e));
+            }
+            int scale = -e;
+            if (scale < LONG_POWERS_OF_FIVE.length) {
+                long power = LONG_POWERS_OF_FIVE[scale];
+                long unscaled = n * power;
+                if (Math.multiplyHigh(n, power) == (unscaled >> 63)) {
+                    return BigDecimal.valueOf(unscaled, scale);
+                }
+            }
+            return new BigDecimal(BigInteger.valueOf(n).multiply(BigInteger.valueOf(5L).pow(scale)), scale);
+        }
+
+        BigInteger n = BigInteger.valueOf(upper).shiftLeft(span).add(BigInteger.valueOf(lower));
+        return e >= 0
+                ? new BigDecimal(n.shiftLeft(e))
+                : new BigDecimal(n.multiply(BigInteger.valueOf(5L).pow(-e)), -e);
+    }
+
+    /**
+     * 0でない有限の {@code double} のビット表現から, 絶対値を a * 2^ea (a は奇数) と表したときの a を返す.
+     */
+    private static long oddSignificand(long bits) {
+        long significand = bits & SIGNIFICAND_MASK;
+        if ((bits & ~Long.MIN_VALUE) >= IMPLICIT_BIT) {
+            significand |= IMPLICIT_BIT;
+        }
+        return significand >>> Long.numberOfTrailingZeros(significand);
+    }
+
+    /**
+     * 0でない有限の {@code double} のビット表現から, 絶対値を a * 2^ea (a は奇数) と表したときの ea を返す.
+     */
+    private static int oddExponent(long bits) {
+        int biased = (int) ((bits >>> 52) & 0x7FFL);
+        long significand = bits & SIGNIFICAND_MASK;
+        if (biased != 0) {
+            significand |= IMPLICIT_BIT;
+        }
+        return Math.max(biased, 1) - 1075 + Long.numberOfTrailingZeros(significand);
+    }
+
+    /**
+     * |v| の正確な値を返す.
+     */
+    private BigDecimal exactValue() {
+        return new BigDecimal(this.absHigh).add(new BigDecimal(this.signedLow));
+    }
+
+    /**
+     * 10進の文字列の後に padding 個の0を付けたものを, 変換結果の仮数とする.
+     */
+    private void setDigits(String decimal, int padding) {
+        int length = decimal.length() + padding;
+        if (this.digits.length < length) {
+            this.digits = new char[length];
+        }
+        decimal.getChars(0, decimal.length(), this.digits, 0);
+        for (int i = decimal.length(); i < length; i++) {
+            this.digits[i] = '0';
+        }
+        this.digitCount = length;
+    }
+
+    /**
+     * 128bitの符号なし整数 (hi, lo) (2^120 未満) の10進表記を, 変換結果の仮数とする.
+     */
+    private void writeDigits(long hi, long lo) {
+        char[] buffer = this.digits;
+        int position = buffer.length;
+
+        //64bitに収まるまで, 10^9 で割りながら下位から9桁ずつ書き出す
+        while (hi != 0L || lo < 0L) {
+            long c3 = hi >>> 32;
+            long c2 = hi & MASK_32;
+            long c1 = lo >>> 32;
+            long c0 = lo & MASK_32;
+            long q3 = c3 / BILLION;
+            long r = c3 % BILLION;
+            long current = (r << 32) | c2;
+            long q2 = current / BILLION;
+            r = current % BILLION;
+            current = (r << 32) | c1;
+            long q1 = current / BILLION;
+            r = current % BILLION;
+            current = (r << 32) | c0;
+            long q0 = current / BILLION;
+            r = current % BILLION;
+
+            hi = (q3 << 32) | q2;
+            lo = (q1 << 32) | q0;
+            for (int i = 0; i < 9; i++) {
+                buffer[--position] = (char) ('0' + r % 10);
+                r /= 10;
+            }
+        }
+        do {
+            buffer[--position] = (char) ('0' + lo % 10);
+            lo /= 10;
+        } while (lo != 0L);
+
+        //先頭の0を除く
+        while (position < buffer.length - 1 && buffer[position] == '0') {
+            position++;
+        }
+        this.digitCount = buffer.length - position;
+        System.arraycopy(buffer, position, buffer, 0, this.digitCount);
+    }
+
+    /**
+     * 正の有限の {@code double} を m * 2^(e - 52) (2^52 <= m < 2^53) と表したときの m を返す.
+     */
+    private static long normalizedSignificand(double x) {
+        long bits = Double.doubleToRawLongBits(x) & SIGNIFICAND_MASK;
+        if (Math.getExponent(x) == Double.MIN_EXPONENT - 1) {
+            return bits << (Long.numberOfLeadingZeros(bits) - 11);
+        }
+        return bits | IMPLICIT_BIT;
+    }
+
+    /**
+     * 正の有限の {@code double} を m * 2^(e - 52) (2^52 <= m < 2^53) と表したときの e を返す.
+     */
+    private static int normalizedExponent(double x) {
+        int exponent = Math.getExponent(x);
+        if (exponent == Double.MIN_EXPONENT - 1) {
+            long bits = Double.doubleToRawLongBits(x) & SIGNIFICAND_MASK;
+            return Double.MIN_EXPONENT - (Long.numberOfLeadingZeros(bits) - 11);
+        }
+        return exponent;
+    }
+
+    /**
+     * 正の {@code double} が2の累乗であり, かつ直下の {@code double} との間隔が
+     * ulp の半分であるかを判定する.
+     */
+    private static boolean isPowerOfTwo(double x) {
+        return x > Double.MIN_NORMAL
+                && (Double.doubleToRawLongBits(x) & SIGNIFICAND_MASK) == 0L;
+    }
+
+    /**
+     * floor(e * log10(2)) を返す ({@code |e| <= 1650}).
+     */
+    private static int floorLog10Pow2(int e) {
+        return (int) (((long) e * 78913L) >> 18);
+    }
+
+    /**
+     * 128bitの符号なし整数 (hi, lo) と 10^n を比較する.
+     */
+    private static int compareToPowerOfTen(long hi, long lo, int n) {
+        return WideArithmetic.compareUnsigned(hi, lo, PowersOfTen.INTEGER_HIGH[n], PowersOfTen.INTEGER_LOW[n]);
+    }
+
+    private static long[] longPowersOfFive() {
+        long[] powers = new long[28];
+        powers[0] = 1L;
+        for (int n = 1; n < powers.length; n++) {
+            powers[n] = powers[n - 1] * 5L;
+        }
+        return powers;
+    }
+}
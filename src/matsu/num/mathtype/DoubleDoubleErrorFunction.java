@@ -0,0 +1,321 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * double-double 精度の誤差関数と相補誤差関数の計算.
+ * 
+ * <p>
+ * 引数の絶対値 a により, 次の3通りで計算する.
+ * </p>
+ * 
+ * <ul>
+ * <li>{@code a < 1/2}: erf の Taylor 級数
+ * {@code erf(x) = 2/sqrt(π) sum_n (-1)^n x^(2n+1) / (n!(2n+1))}.</li>
+ * <li>{@code 1/2 <= a < 6}: 1/8 刻みの格子点 x0 における erfc(x0) の定数表からの Taylor 展開.
+ * erfc の n 階導関数は Hermite 多項式と exp(-x0^2) の積であり, 係数は3項漸化式で得られる.</li>
+ * <li>{@code a >= 6}: Laplace の連分数
+ * {@code erfc(x) = exp(-x^2)/sqrt(π) / (x + (1/2)/(x + 1/(x + (3/2)/(x + ...))))}.
+ * 必要な段数は x^2 にほぼ反比例する.</li>
+ * </ul>
+ * 
+ * <p>
+ * erf と erfc のうち絶対値が1/2以下となる方を直接計算し, 他方は1 (あるいは2) との差として得るため,
+ * 差をとる際の桁落ちは生じない. <br>
+ * 定数表は最初の参照時に {@link BigDecimal} による計算で初期化される ({@link Table}).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleErrorFunction {
+
+    /**
+     * 1/sqrt(π) の double-double 近似 (最近接への丸め).
+     */
+    private static final DoubleDoubleFloat INV_SQRT_PI =
+            DoubleDoubleFloat.valueOf(0x1.20dd750429b6dp-1, 0x1.1ae3a914fed80p-57);
+
+    /**
+     * 級数を用いる絶対値の上限 (これを含まない).
+     */
+    private static final double SERIES_UPPER = 0.5;
+
+    /**
+     * 連分数を用いる絶対値の下限.
+     */
+    private static final double CONTINUED_FRACTION_LOWER = 6d;
+
+    /**
+     * 連分数の段数を (CONTINUED_FRACTION_SCALE / x^2 + CONTINUED_FRACTION_OFFSET) とする. <br>
+     * x &ge; 6 において, 打ち切りによる相対誤差は 10^(-34) 未満である.
+     */
+    private static final double CONTINUED_FRACTION_SCALE = 2000d;
+    private static final int CONTINUED_FRACTION_OFFSET = 14;
+
+    /**
+     * 絶対値がこれ以上ならば, erfc(x) は0にアンダーフローする (erf(x) は ±1 となる).
+     */
+    private static final double ERFC_UNDERFLOW = 27.5;
+
+    /**
+     * 格子点上の Taylor 展開で, 項の打ち切りを判定する相対的な大きさ.
+     */
+    private static final double TAYLOR_TOLERANCE = 0x1p-112;
+
+    private DoubleDoubleErrorFunction() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * erf(x) を返す.
+     */
+    static DoubleDoubleFloat erf(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        double abs = Math.abs(xh);
+        if (abs < SERIES_UPPER) {
+            //0を含み, 符号付きの0はそのまま返される
+            return xh == 0d ? x : erfSeries(x);
+        }
+        if (abs >= ERFC_UNDERFLOW) {
+            //無限大を含む
+            return xh > 0d ? DoubleDoubleFloat.POSITIVE_1 : DoubleDoubleFloat.NEGATIVE_1;
+        }
+
+        DoubleDoubleFloat value = DoubleDoubleFloat.POSITIVE_1.minus(
+                erfcOfLarge(xh < 0d ? x.negated() : x));
+        return xh < 0d ? value.negated() : value;
+    }
+
+    /**
+     * erfc(x) を返す.
+     */
+    static DoubleDoubleFloat erfc(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        double abs = Math.abs(xh);
+        if (abs < SERIES_UPPER) {
+            return DoubleDoubleFloat.POSITIVE_1.minus(erfSeries(x));
+        }
+        if (abs >= ERFC_UNDERFLOW) {
+            //無限大を含む
+            return xh > 0d ? DoubleDoubleFloat.POSITIVE_0 : DoubleDoubleFloat.valueOf(2d);
+        }
+
+        //erfc(-a) = 2 - erfc(a)
+        return xh > 0d
+                ? erfcOfLarge(x)
+                : DoubleDoubleFloat.valueOf(2d).minus(erfcOfLarge(x.negated()));
+    }
+
+    /**
+     * |x| &lt; 1/2 に対し, Taylor 級数により erf(x) を返す.
+     */
+    private static DoubleDoubleFloat erfSeries(DoubleDoubleFloat x) {
+        DoubleDoubleFloat square = x.square();
+        DoubleDoubleFloat[] c = Table.SERIES;
+        DoubleDoubleFloat sum = c[c.length - 1];
+        for (int n = c.length - 2; n >= 0; n--) {
+            sum = sum.times(square).plus(c[n]);
+        }
+        return sum.times(x);
+    }
+
+    /**
+     * 1/2 &le; a &lt; 27.5 に対し, erfc(a) を返す.
+     */
+    private static DoubleDoubleFloat erfcOfLarge(DoubleDoubleFloat a) {
+        double ah = a.doubleValue();
+        return ah < CONTINUED_FRACTION_LOWER
+                ? erfcTaylor(a)
+                : erfcContinuedFraction(a);
+    }
+
+    /**
+     * 1/2 &le; a &lt; 6 に対し, 格子点上の Taylor 展開により erfc(a) を返す.
+     */
+    private static DoubleDoubleFloat erfcTaylor(DoubleDoubleFloat a) {
+        //x0 = k/8, h = a - x0 (|h| <= 1/16) として,
+        //erfc(x0 + h) = erfc(x0) - 2/sqrt(π) exp(-x0^2) h sum_{j>=0} A_j / (j + 1),
+        //A_j = H_j(x0) (-h)^j / j! (H_j は Hermite 多項式) であり,
+        //A_j = -(2x0 h A_{j-1} + 2h^2 A_{j-2}) / j が成り立つ
+        int k = Math.min((int) Math.rint(a.doubleValue() * Table.STEPS_PER_UNIT), Table.LAST);
+        double x0 = (double) k / Table.STEPS_PER_UNIT;
+        DoubleDoubleFloat h = a.minus(x0);
+        DoubleDoubleFloat p = h.times(2 * x0);
+        DoubleDoubleFloat q = h.square().times(2d);
+
+        DoubleDoubleFloat previous = DoubleDoubleFloat.POSITIVE_1;
+        DoubleDoubleFloat current = p.negated();
+        DoubleDoubleFloat sum = DoubleDoubleFloat.POSITIVE_1.plus(current.times(0.5));
+        for (int j = 2;; j++) {
+            DoubleDoubleFloat next = p.times(current).plus(q.times(previous)).dividedBy(-j);
+            DoubleDoubleFloat term = next.dividedBy(j + 1);
+            sum = sum.plus(term);
+            previous = current;
+            current = next;
+            double bound = TAYLOR_TOLERANCE * Math.abs(sum.doubleValue());
+            if (Math.abs(current.doubleValue()) <= bound && Math.abs(previous.doubleValue()) <= bound) {
+                break;
+            }
+        }
+
+        int index = k - Table.FIRST;
+        return Table.ERFC[index].minus(Table.DERIVATIVE[index].times(h).times(sum));
+    }
+
+    /**
+     * 6 &le; a &lt; 27.5 に対し, 連分数により erfc(a) を返す.
+     */
+    private static DoubleDoubleFloat erfcContinuedFraction(DoubleDoubleFloat a) {
+        double ah = a.doubleValue();
+        int n = (int) (CONTINUED_FRACTION_SCALE / (ah * ah)) + CONTINUED_FRACTION_OFFSET;
+
+        //後ろから t <- a + (m/2)/t を評価する
+        DoubleDoubleFloat t = a;
+        for (int m = n; m >= 1; m--) {
+            t = a.plus(DoubleDoubleFloat.valueOf(0.5 * m).dividedBy(t));
+        }
+        return expOfNegatedSquare(a).times(INV_SQRT_PI).dividedBy(t);
+    }
+
+    /**
+     * exp(-a^2) を返す.
+     */
+    private static DoubleDoubleFloat expOfNegatedSquare(DoubleDoubleFloat a) {
+        //a^2 を double-double に丸めると, 指数関数の引数の絶対誤差 (a^2 u^2 程度) が
+        //そのまま相対誤差となる. そこで a^2 = s + r (s = ah^2 の double への丸め) と正確に分け,
+        //exp(-a^2) = exp(-s) (1 - r + r^2/2) とする (|r| < 2^(-42) であり, 3次以降は無視できる)
+        double ah = a.doubleValue();
+        double al = a.lowValue();
+        double s = ah * ah;
+        DoubleDoubleFloat r = DoubleDoubleFloat.valueOf(TwoProduct.squareError(ah, s))
+                .plus(DoubleDoubleFloat.valueOf(2 * ah).times(al))
+                .plus(al * al);
+        DoubleDoubleFloat correction = DoubleDoubleFloat.POSITIVE_1.minus(r)
+                .plus(r.square().times(0.5));
+        return DoubleDoubleExponential.exp(DoubleDoubleFloat.valueOf(-s)).times(correction);
+    }
+
+    /**
+     * 級数の係数と, 格子点上の erfc の定数表. <br>
+     * 最初の参照時に, {@link BigDecimal} による計算で初期化される.
+     */
+    private static final class Table {
+
+        /**
+         * 格子点の間隔の逆数.
+         */
+        static final int STEPS_PER_UNIT = 8;
+
+        /**
+         * 格子点 k/8 の k の最小値と最大値.
+         */
+        static final int FIRST = 4;
+        static final int LAST = 48;
+
+        /**
+         * SERIES[n] が 2/sqrt(π) (-1)^n / (n!(2n+1)) を表す (0 &le; n &le; 22).
+         */
+        static final DoubleDoubleFloat[] SERIES;
+
+        /**
+         * ERFC[k - FIRST] が erfc(k/8) を表す.
+         */
+        static final DoubleDoubleFloat[] ERFC;
+
+        /**
+         * DERIVATIVE[k - FIRST] が 2/sqrt(π) exp(-(k/8)^2) (erfc の導関数の絶対値) を表す.
+         */
+        static final DoubleDoubleFloat[] DERIVATIVE;
+
+        /**
+         * 格子点上の erfc の計算に用いる精度. <br>
+         * 交代級数の桁落ち (最大で約16桁) を見込んでいる.
+         */
+        private static final MathContext MC_TABLE = new MathContext(80);
+
+        /**
+         * π (十分な桁数).
+         */
+        private static final BigDecimal PI = new BigDecimal(
+                "3.14159265358979323846264338327950288419716939937510"
+                        + "58209749445923078164062862089986280348253421170679");
+
+        static {
+            MathContext mc = MC_TABLE;
+            BigDecimal twoOverSqrtPi = BigDecimal.valueOf(2).divide(PI.sqrt(mc), mc);
+
+            SERIES = new DoubleDoubleFloat[23];
+            BigDecimal factorial = BigDecimal.ONE;
+            for (int n = 0; n < SERIES.length; n++) {
+                if (n > 0) {
+                    factorial = factorial.multiply(BigDecimal.valueOf(n));
+                }
+                BigDecimal c = twoOverSqrtPi.divide(
+                        factorial.multiply(BigDecimal.valueOf(2 * n + 1)), mc);
+                SERIES[n] = DoubleDoubleFloat.valueOf((n & 1) == 0 ? c : c.negate());
+            }
+
+            ERFC = new DoubleDoubleFloat[LAST - FIRST + 1];
+            DERIVATIVE = new DoubleDoubleFloat[LAST - FIRST + 1];
+            for (int k = FIRST; k <= LAST; k++) {
+                BigDecimal x0 = BigDecimal.valueOf(k).divide(BigDecimal.valueOf(STEPS_PER_UNIT));
+                BigDecimal erf = erfSeries(x0, mc).multiply(twoOverSqrtPi, mc);
+                ERFC[k - FIRST] = DoubleDoubleFloat.valueOf(BigDecimal.ONE.subtract(erf, mc));
+                DERIVATIVE[k - FIRST] = DoubleDoubleFloat.valueOf(
+                        expOfNegative(x0.multiply(x0), mc).multiply(twoOverSqrtPi, mc));
+            }
+        }
+
+        /**
+         * sum_n (-1)^n x^(2n+1) / (n!(2n+1)) を返す.
+         */
+        private static BigDecimal erfSeries(BigDecimal x, MathContext mc) {
+            BigDecimal square = x.multiply(x, mc);
+            BigDecimal threshold = BigDecimal.ONE.movePointLeft(mc.getPrecision() + 5);
+            BigDecimal sum = BigDecimal.ZERO;
+            BigDecimal power = x;
+            for (int n = 0; power.compareTo(threshold) > 0; n++) {
+                BigDecimal term = power.divide(BigDecimal.valueOf(2 * n + 1), mc);
+                sum = (n & 1) == 0 ? sum.add(term, mc) : sum.subtract(term, mc);
+                power = power.multiply(square, mc).divide(BigDecimal.valueOf(n + 1), mc);
+            }
+            return sum;
+        }
+
+        /**
+         * 正の y に対し, exp(-y) を返す.
+         */
+        private static BigDecimal expOfNegative(BigDecimal y, MathContext mc) {
+            //y を 2^(-10) 倍して Taylor 級数を計算し, 2乗を10回繰り返す
+            BigDecimal r = y.divide(BigDecimal.valueOf(1024), mc).negate();
+            BigDecimal threshold = BigDecimal.ONE.movePointLeft(mc.getPrecision() + 5);
+            BigDecimal sum = BigDecimal.ONE;
+            BigDecimal term = BigDecimal.ONE;
+            for (int n = 1; term.abs().compareTo(threshold) > 0; n++) {
+                term = term.multiply(r, mc).divide(BigDecimal.valueOf(n), mc);
+                sum = sum.add(term, mc);
+            }
+            for (int i = 0; i < 10; i++) {
+                sum = sum.multiply(sum, mc);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * double-double 精度の指数関数と対数関数の計算.
+ * 
+ * <p>
+ * 指数関数は, 引数 x を {@code x = (64m + j) * ln2/64 + r} ({@code -32 <= j < 32},
+ * {@code |r| <= ln2/128}) と分解し,
+ * {@code exp(x) = 2^m * 2^(j/64) * exp(r)} として計算する. <br>
+ * {@code 2^(j/64)} は double-double の定数表 ({@link Table}) から引き,
+ * {@code exp(r) - 1} は短い多項式で計算する.
+ * </p>
+ * 
+ * <p>
+ * 対数関数は, 引数 x を {@code x = 2^k * f} ({@code sqrt(1/2) <= f < sqrt(2)}) と分解し,
+ * {@code log(x) = k * ln2 + log1p(f - 1)} として計算する. <br>
+ * {@code log1p} は, {@link Math#log1p(double)} による初期値に,
+ * {@link #expm1(DoubleDoubleFloat)} を用いた Newton 法の補正を1回加えて計算する.
+ * </p>
+ * 
+ * <p>
+ * 累乗 x^y は, x = 2^k * f と分解し, ky の整数部を2進指数として正確に分離したうえで,
+ * 残りを指数関数と対数関数の核により計算する.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleExponential {
+
+    /**
+     * ln2/64 を3個の {@code double} の和で表したもの. <br>
+     * 第1項と第2項は仮数部の下位ビットが0であり,
+     * 絶対値が 2^17 未満の整数との積が誤差なく計算される.
+     */
+    private static final double LN2_64_1 = 0x1.62e42fefa0000p-7;
+    private static final double LN2_64_2 = 0x1.cf79abc9e0000p-46;
+    private static final double LN2_64_3 = 0x1.d9cc01f97b57ap-85;
+
+    /**
+     * 64/ln2 の {@code double} 近似 (分解の整数部の決定に用いる).
+     */
+    private static final double INV_LN2_64 = 64 / 0x1.62e42fefa39efp-1;
+
+    /**
+     * ln2 の double-double 近似 (最近接への丸め).
+     */
+    static final DoubleDoubleFloat LN2 =
+            DoubleDoubleFloat.valueOf(0x1.62e42fefa39efp-1, 0x1.abc9e3b39803fp-56);
+
+    /**
+     * ln10 の double-double 近似 (最近接への丸め).
+     */
+    static final DoubleDoubleFloat LN10 =
+            DoubleDoubleFloat.valueOf(0x1.26bb1bbb55516p+1, -0x1.f48ad494ea3e9p-53);
+
+    /**
+     * 1/ln2 の double-double 近似 (最近接への丸め).
+     */
+    private static final DoubleDoubleFloat INV_LN2 =
+            DoubleDoubleFloat.valueOf(0x1.71547652b82fep+0, 0x1.777d0ffda0d24p-56);
+
+    /**
+     * 1/ln10 の double-double 近似 (最近接への丸め).
+     */
+    private static final DoubleDoubleFloat INV_LN10 =
+            DoubleDoubleFloat.valueOf(0x1.bcb7b1526e50ep-2, 0x1.95355baaafad3p-57);
+
+    /**
+     * 対数関数の引数還元に用いる, sqrt(2) の {@code double} 近似.
+     */
+    private static final double SQRT_2 = 0x1.6a09e667f3bcdp0;
+
+    /**
+     * log1p を引数還元なしに計算する範囲, -1/2 &lt; x &lt; 1. <br>
+     * x &lt;= -1/2 では 1 + x が正確に計算され, x &gt;= 1 では log(1 + x) &gt;= ln2 であるから,
+     * 範囲外で 1 + x を経由しても, その丸め誤差は拡大されない.
+     */
+    private static final double LOG1P_LOWER = -0.5;
+    private static final double LOG1P_UPPER = 1d;
+
+    /**
+     * これより大きい x に対して exp(x) はオーバーフローする
+     * (ln({@link Double#MAX_VALUE}) = 709.78...).
+     */
+    private static final double EXP_UPPER = 710d;
+
+    /**
+     * これより小さい x に対して exp(x) は0にアンダーフローする
+     * (ln({@link Double#MIN_VALUE}) = -744.44...).
+     */
+    private static final double EXP_LOWER = -746d;
+
+    /**
+     * 累乗 x^y において, 絶対値がこれ以下の整数 y は整数乗として計算する. <br>
+     * 整数乗の誤差は |y| に比例して増大するため, 小さい指数に限る.
+     */
+    private static final double INTEGER_POWER_LIMIT = 4d;
+
+    /**
+     * 累乗 x^y = 2^(ky) * f^y において, |ky| がこれを超えれば
+     * 結果はオーバーフローまたは0にアンダーフローする.
+     */
+    private static final double POW_EXPONENT_LIMIT = 2400d;
+
+    /**
+     * 多項式の係数 1/k! (k = 2, ..., 6), double-double で保持する.
+     */
+    private static final DoubleDoubleFloat INV_FACT_2 = DoubleDoubleFloat.valueOf(0.5);
+    private static final DoubleDoubleFloat INV_FACT_3 = DoubleDoubleFloat.POSITIVE_1.dividedBy(6d);
+    private static final DoubleDoubleFloat INV_FACT_4 = DoubleDoubleFloat.POSITIVE_1.dividedBy(24d);
+    private static final DoubleDoubleFloat INV_FACT_5 = DoubleDoubleFloat.POSITIVE_1.dividedBy(120d);
+    private static final DoubleDoubleFloat INV_FACT_6 = DoubleDoubleFloat.POSITIVE_1.dividedBy(720d);
+
+    /**
+     * 多項式の係数 1/k! (k = 7, ..., 11). <br>
+     * {@code |r| <= ln2/128} において, これらの項の寄与は2^(-57)程度以下であるので,
+     * {@code double} で計算すれば十分である.
+     */
+    private static final double INV_FACT_7 = 1d / 5040;
+    private static final double INV_FACT_8 = 1d / 40320;
+    private static final double INV_FACT_9 = 1d / 362880;
+    private static final double INV_FACT_10 = 1d / 3628800;
+    private static final double INV_FACT_11 = 1d / 39916800;
+
+    private DoubleDoubleExponential() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * exp(x) を返す.
+     */
+    static DoubleDoubleFloat exp(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (xh > EXP_UPPER) {
+            return DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (xh < EXP_LOWER) {
+            return DoubleDoubleFloat.POSITIVE_0;
+        }
+
+        int n = (int) Math.rint(xh * INV_LN2_64);
+        DoubleDoubleFloat r = x.minus(n * LN2_64_1).minus(n * LN2_64_2).minus(n * LN2_64_3);
+        return scaledPowerOf2(n, expm1Kernel(r));
+    }
+
+    /**
+     * exp(x) - 1 を返す.
+     */
+    static DoubleDoubleFloat expm1(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh) || xh == 0d) {
+            return x;
+        }
+
+        int n = (int) Math.rint(xh * INV_LN2_64);
+        if (n < -Table.HALF_SIZE || n >= Table.HALF_SIZE) {
+            //|x| > 0.34 程度であり, exp(x) - 1 の桁落ちは小さい
+            return exp(x).minus(DoubleDoubleFloat.POSITIVE_1);
+        }
+
+        //m = 0 であり, expm1(x) = (2^(j/64) - 1) + 2^(j/64) * expm1(r) と計算する
+        DoubleDoubleFloat r = x.minus(n * LN2_64_1).minus(n * LN2_64_2).minus(n * LN2_64_3);
+        DoubleDoubleFloat em1 = expm1Kernel(r);
+        if (n == 0) {
+            return em1;
+        }
+        return Table.POWERS_MINUS_1[n + Table.HALF_SIZE]
+                .plus(Table.POWERS[n + Table.HALF_SIZE].times(em1));
+    }
+
+    /**
+     * 2^x を返す.
+     */
+    static DoubleDoubleFloat exp2(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (xh > Double.MAX_EXPONENT + 1) {
+            return DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (xh < Double.MIN_EXPONENT - 54) {
+            return DoubleDoubleFloat.POSITIVE_0;
+        }
+
+        //x = n/64 + r と分解する (n/64 との差は誤差なく計算される)
+        int n = (int) Math.rint(xh * 64);
+        DoubleDoubleFloat r = x.minus(n / 64d);
+        return scaledPowerOf2(n, expm1Kernel(r.times(LN2)));
+    }
+
+    /**
+     * log(x) (自然対数) を返す.
+     */
+    static DoubleDoubleFloat log(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (!(xh > 0d && xh < Double.POSITIVE_INFINITY)) {
+            //NaN, 0, 負の数, 正の無限大は Math.log に従う
+            return DoubleDoubleFloat.valueOf(Math.log(xh));
+        }
+
+        int k = reductionExponent(xh);
+        DoubleDoubleFloat y = log1pKernel(reducedMinus1(x, k));
+        if (k == 0) {
+            return y;
+        }
+
+        //k * ln2 は ln2/64 の3項への分解を用いて計算する (|k| < 2^11 であり, 第1項, 第2項との積は正確)
+        //k * ln2 と y は異符号となりうるので, 和は高精度な加算による
+        DoubleDoubleFloat kLn2 = DoubleDoubleFloat.valueOf(64 * k * LN2_64_1, 64 * k * LN2_64_2)
+                .plus(64 * k * LN2_64_3);
+        return kLn2.plusAccurate(y);
+    }
+
+    /**
+     * log(1 + x) を返す.
+     */
+    static DoubleDoubleFloat log1p(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (xh > LOG1P_LOWER && xh < LOG1P_UPPER) {
+            //0を含み, 符号付きの0はそのまま返される
+            return xh == 0d ? x : log1pKernel(x);
+        }
+        if (!(xh >= -1d)) {
+            //NaN, -1未満はNaN
+            return DoubleDoubleFloat.NaN;
+        }
+        return log(x.plus(DoubleDoubleFloat.POSITIVE_1));
+    }
+
+    /**
+     * log_2(x) を返す.
+     */
+    static DoubleDoubleFloat log2(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (!(xh > 0d && xh < Double.POSITIVE_INFINITY)) {
+            return DoubleDoubleFloat.valueOf(Math.log(xh));
+        }
+
+        //2の累乗に対しては, 還元後の対数が0になり正確な整数を返す
+        int k = reductionExponent(xh);
+        DoubleDoubleFloat y = log1pKernel(reducedMinus1(x, k)).times(INV_LN2);
+        return y.plus(k);
+    }
+
+    /**
+     * log_10(x) を返す.
+     */
+    static DoubleDoubleFloat log10(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (!(xh > 0d && xh < Double.POSITIVE_INFINITY)) {
+            return DoubleDoubleFloat.valueOf(Math.log(xh));
+        }
+
+        //10の累乗 (double-doubleで正確に表せるもの) に対しては正確な整数を返す
+        long n = Math.round(Math.log10(xh));
+        if (n >= 0 && n < TenPowers.POWERS.length && x.equals(TenPowers.POWERS[(int) n])) {
+            return DoubleDoubleFloat.valueOf(n);
+        }
+        return log(x).times(INV_LN10);
+    }
+
+    /**
+     * x^y を返す.
+     */
+    static DoubleDoubleFloat pow(DoubleDoubleFloat x, DoubleDoubleFloat y) {
+        double yh = y.doubleValue();
+        double yl = y.lowValue();
+        boolean integer = yh == Math.rint(yh) && yl == Math.rint(yl);
+        if (integer && Math.abs(yh) <= INTEGER_POWER_LIMIT) {
+            //0乗 (NaN の0乗を含む) と, x の特殊値はここで扱われる
+            return x.pow((long) yh);
+        }
+
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh) || Double.isNaN(yh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (Double.isInfinite(yh)) {
+            //|x| と1の大小で決まる (|x| - 1 の符号は誤差なく求まる)
+            double d = x.abs().minus(1d).doubleValue();
+            if (d == 0d) {
+                return DoubleDoubleFloat.NaN;
+            }
+            return (d > 0d) == (yh > 0d)
+                    ? DoubleDoubleFloat.POSITIVE_INFINITY
+                    : DoubleDoubleFloat.POSITIVE_0;
+        }
+
+        boolean negative = Math.copySign(1d, xh) < 0d;
+        DoubleDoubleFloat value;
+        if (xh == 0d || Double.isInfinite(xh)) {
+            value = (xh == 0d) == (yh > 0d)
+                    ? DoubleDoubleFloat.POSITIVE_0
+                    : DoubleDoubleFloat.POSITIVE_INFINITY;
+        } else if (negative && !integer) {
+            return DoubleDoubleFloat.NaN;
+        } else {
+            value = powOfPositive(negative ? x.negated() : x, y);
+        }
+
+        //整数の偶奇は上位と下位の偶奇の排他的論理和である
+        boolean oddInteger = integer && (DoubleDoubleMath.isOdd(yh) != DoubleDoubleMath.isOdd(yl));
+        return negative && oddInteger ? value.negated() : value;
+    }
+
+    /**
+     * 正の有限値 x と有限値 y に対し, x^y を返す.
+     * 
+     * <p>
+     * x = 2^k * f と分解し, ky = N + g (N は整数, |g| &le; 1/2 程度) として,
+     * {@code x^y = 2^N * exp(g * ln2 + y * log(f))} と計算する. <br>
+     * ky を double-double で表すと絶対誤差が |ky| に比例するため,
+     * 整数部 N を誤差なく分離する.
+     * </p>
+     */
+    private static DoubleDoubleFloat powOfPositive(DoubleDoubleFloat x, DoubleDoubleFloat y) {
+        double yh = y.doubleValue();
+        int k = reductionExponent(x.doubleValue());
+
+        //k != 0 ならば |log2(x^y)| >= |ky|/2 であるので, |ky| が大きければオーバーフローまたはアンダーフローする
+        double ph = k * yh;
+        if (Math.abs(ph) > POW_EXPONENT_LIMIT) {
+            return ph > 0d ? DoubleDoubleFloat.POSITIVE_INFINITY : DoubleDoubleFloat.POSITIVE_0;
+        }
+        double n = Math.rint(ph);
+
+        //g = ky - N は |ky| に比べて小さいので, k と y の上位, 下位との積はいずれも誤差なく分解して加える
+        double yl = y.lowValue();
+        double ql = k * yl;
+        DoubleDoubleFloat g = DoubleDoubleFloat.valueOf(ph - n)
+                .plus(TwoProduct.error(k, yh, ph))
+                .plus(ql)
+                .plus(TwoProduct.error(k, yl, ql));
+
+        //2つの項は異符号となりうるので, 和は高精度な加算による
+        DoubleDoubleFloat logF = log1pKernel(reducedMinus1(x, k));
+        DoubleDoubleFloat arg = g.times(LN2).plusAccurate(y.times(logF));
+
+        //結果の2進指数の概算により, オーバーフローとアンダーフローを判定する
+        //(ここを通過すれば |arg| は 900 程度以下であり, 以降の整数演算は溢れない)
+        double exponent = n + arg.doubleValue() * INV_LN2.doubleValue();
+        if (exponent > Double.MAX_EXPONENT + 2) {
+            return DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (exponent < Double.MIN_EXPONENT - 56) {
+            return DoubleDoubleFloat.POSITIVE_0;
+        }
+
+        int j = (int) Math.rint(arg.doubleValue() * INV_LN2_64);
+        DoubleDoubleFloat r = arg.minus(j * LN2_64_1).minus(j * LN2_64_2).minus(j * LN2_64_3);
+        return scaledPowerOf2(j + 64 * (int) n, expm1Kernel(r));
+    }
+
+    /**
+     * 正の有限値 xh に対し, {@code xh * 2^(-k)} が [sqrt(1/2), sqrt(2)) に入る k を返す.
+     */
+    private static int reductionExponent(double xh) {
+        int k = Math.getExponent(xh);
+        if (k < Double.MIN_EXPONENT) {
+            //非正規化数
+            k = Math.getExponent(xh * 0x1p54) - 54;
+        }
+        if (Math.scalb(xh, -k) >= SQRT_2) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * {@code x * 2^(-k) - 1} を返す. <br>
+     * {@code x * 2^(-k)} は1に近いので, 1との差は誤差なく計算される.
+     */
+    private static DoubleDoubleFloat reducedMinus1(DoubleDoubleFloat x, int k) {
+        double fh = Math.scalb(x.doubleValue(), -k);
+        double fl = Math.scalb(x.lowValue(), -k);
+        return DoubleDoubleFloat.valueOf(fh - 1d).plus(fl);
+    }
+
+    /**
+     * {@code -1/2 < t < 1} に対し, log(1 + t) を返す.
+     * 
+     * <p>
+     * 初期値 y0 を {@link Math#log1p(double)} (と下位による1次の補正) で求め,
+     * Newton 法 {@code y1 = y0 + (t - expm1(y0)) / (1 + expm1(y0))} を1回適用する. <br>
+     * t - expm1(y0) の絶対誤差は |t| に比例するので, 0に近い t に対しても相対精度が保たれる.
+     * </p>
+     */
+    private static DoubleDoubleFloat log1pKernel(DoubleDoubleFloat t) {
+        double th = t.doubleValue();
+        double y0 = Math.log1p(th) + t.lowValue() / (1d + th);
+
+        DoubleDoubleFloat e = expm1(DoubleDoubleFloat.valueOf(y0));
+        return t.minus(e).dividedBy(e.plus(1d)).plus(y0);
+    }
+
+    /**
+     * n = 64m + j ({@code -32 <= j < 32}) として,
+     * {@code 2^m * 2^(j/64) * (1 + em1)} を返す.
+     */
+    private static DoubleDoubleFloat scaledPowerOf2(int n, DoubleDoubleFloat em1) {
+        int m = (n + Table.HALF_SIZE) >> 6;
+        int j = n - (m << 6);
+        DoubleDoubleFloat power = Table.POWERS[j + Table.HALF_SIZE];
+        DoubleDoubleFloat value = power.plus(power.times(em1));
+
+        //2^m 倍は上位と下位に別々に適用する
+        //オーバーフローした場合は上位が無限大になり, 正規化により無限大になる
+        return DoubleDoubleMath.scalb(value, m);
+    }
+
+    /**
+     * {@code |r| <= ln2/128} に対し, exp(r) - 1 を返す. <br>
+     * 11次までの Taylor 多項式であり, 打ち切り誤差は相対的に 2^(-111) 程度以下である.
+     */
+    private static DoubleDoubleFloat expm1Kernel(DoubleDoubleFloat r) {
+        double rh = r.doubleValue();
+        double tail = INV_FACT_7 + rh * (INV_FACT_8 + rh * (INV_FACT_9 + rh * (INV_FACT_10 + rh * INV_FACT_11)));
+
+        DoubleDoubleFloat q = r.times(tail).plus(INV_FACT_6);
+        q = r.times(q).plus(INV_FACT_5);
+        q = r.times(q).plus(INV_FACT_4);
+        q = r.times(q).plus(INV_FACT_3);
+        q = r.times(q).plus(INV_FACT_2);
+        return r.plus(r.times(r).times(q));
+    }
+
+    /**
+     * 指数関数の定数表. <br>
+     * 最初の参照時に, {@link BigDecimal} による計算で初期化される.
+     */
+    private static final class Table {
+
+        static final int HALF_SIZE = 32;
+
+        /**
+         * POWERS[j + HALF_SIZE] が 2^(j/64) を表す (-32 &le; j &le; 32).
+         */
+        static final DoubleDoubleFloat[] POWERS;
+
+        /**
+         * POWERS_MINUS_1[j + HALF_SIZE] が 2^(j/64) - 1 を表す (-32 &le; j &le; 32).
+         */
+        static final DoubleDoubleFloat[] POWERS_MINUS_1;
+
+        static {
+            //double-double の精度 (約32桁) に対して十分な桁数で計算する
+            MathContext mc = new MathContext(50);
+            BigDecimal root = BigDecimal.valueOf(2);
+            for (int i = 0; i < 6; i++) {
+                root = root.sqrt(mc);
+            }
+
+            POWERS = new DoubleDoubleFloat[2 * HALF_SIZE + 1];
+            POWERS_MINUS_1 = new DoubleDoubleFloat[2 * HALF_SIZE + 1];
+            for (int j = -HALF_SIZE; j <= HALF_SIZE; j++) {
+                BigDecimal power = root.pow(j, mc);
+                POWERS[j + HALF_SIZE] = DoubleDoubleFloat.valueOf(power);
+                POWERS_MINUS_1[j + HALF_SIZE] = DoubleDoubleFloat.valueOf(power.subtract(BigDecimal.ONE));
+            }
+        }
+    }
+
+    /**
+     * double-double で正確に表すことができる10の累乗. <br>
+     * 最初の参照時に初期化される.
+     */
+    private static final class TenPowers {
+
+        /**
+         * POWERS[n] が 10^n を表す (10^n &lt; 2^106 となる範囲).
+         */
+        static final DoubleDoubleFloat[] POWERS;
+
+        static {
+            POWERS = new DoubleDoubleFloat[32];
+            for (int n = 0; n < POWERS.length; n++) {
+                POWERS[n] = DoubleDoubleFloat.valueOf(BigDecimal.TEN.pow(n));
+            }
+        }
+    }
+}
@@ -6,13 +6,11 @@
  */
 
 /*
- * 2024.12.25
+ * 2026.10.18
  */
 package matsu.num.mathtype;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
-import java.math.RoundingMode;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -30,16 +28,38 @@ import java.util.stream.IntStream;
  * comparability と equality は整合する.
  * </p>
  * 
+ * <p>
+ * 絶対値が小さい整数と, 2の冪 (符号付き) を表すインスタンスは,
+ * ファクトリメソッドおよび演算の結果においてキャッシュされたものが共有される. <br>
+ * キャッシュされる範囲は, 次のシステムプロパティにより変更できる
+ * (プロパティはこのクラスの最初の使用時に読み込まれる).
+ * </p>
+ * 
+ * <ul>
+ * <li>{@code matsu.num.mathtype.DoubleDoubleFloat.cache.integerHigh}:
+ * 整数 {@code n} について, {@code |n| <= integerHigh} をキャッシュする
+ * (既定値は256, 0以上65536以下に丸められる).</li>
+ * <li>{@code matsu.num.mathtype.DoubleDoubleFloat.cache.maxExponent}:
+ * 整数 {@code k} について, {@code |k| <= maxExponent} である
+ * {@code +-2^k} をキャッシュする
+ * (既定値は64, 0以上1022以下に丸められる).</li>
+ * </ul>
+ * 
+ * <p>
+ * 演算の精度は, 結果の相対誤差の上限を {@code 3u^2} のように示す.
+ * ここで u = 2<sup>-53</sup> は {@code double} の単位丸め誤差である. <br>
+ * 「おおむね」を付したものは厳密な上限ではなく, 目安である. <br>
+ * 結果が非正規化数に近い場合は, 下位がアンダーフローするため, これらの上限は成り立たない.
+ * </p>
+ * 
+ * <p>
+ * インスタンスの同一性 ({@code ==}) に依存したプログラムを書いてはならない.
+ * </p>
+ * 
  * @author Matsuura Y.
  */
 public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
 
-    /**
-     * 文字列表現を得るときに使う特殊なMathContext.
-     */
-    private static final MathContext MC_TO_STRING =
-            new MathContext(32, RoundingMode.HALF_EVEN);
-
     /**
      * 正の0を表す定数.
      */
@@ -101,17 +121,18 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
     private final double high;
     private final double low;
 
-    /**
-     * このインスタンスのハッシュコード.
-     * イミュータブルオブジェクトなので計算結果を使いまわせる.
+    /*
+     * 遅延初期化されるフィールド.
+     * 
+     * 単一チェックイディオムにより, ロックおよびvolatileを用いずに初期化する.
+     * 参照先のインスタンスのフィールドはすべてfinalであるため,
+     * データ競合を介して参照を得ても, 完全に構築されたインスタンスが見える.
+     * 競合時に同値のインスタンスが複数生成されうるが, 等価であるので問題ない.
+     * 
+     * オブジェクトヘッダとdouble2個の後のアラインメントの余白に収まるため,
+     * (圧縮参照が有効な場合) このフィールドはインスタンスのサイズを増やさない.
      */
-    private final int immutableHashCode;
-
-    // 遅延初期化で使うロック用オブジェクト.
-    private final Object lock = new Object();
-    //遅延初期化されるフィールド
-    private volatile DoubleDoubleFloat negated;
-    private volatile DoubleDoubleFloat abs;
+    private DoubleDoubleFloat negated;
 
     /**
      * 唯一のコンストラクタ.
@@ -123,8 +144,6 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
         super();
         this.high = high;
         this.low = low;
-
-        this.immutableHashCode = this.calcHashCode();
     }
 
     /**
@@ -136,6 +155,39 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
         return this.high;
     }
 
+    /**
+     * 自身の下位の {@code double} 値を返す.
+     * 
+     * <p>
+     * 自身が有限である場合, {@link #doubleValue()} との和 (実数演算) が自身の値に等しい. <br>
+     * 自身が無限大の場合は0, NaN の場合はNaNである.
+     * </p>
+     * 
+     * @return 下位の {@code double} 値
+     */
+    public double lowValue() {
+        return this.low;
+    }
+
+    /**
+     * 自身の正確な値を {@link BigDecimal} で返す.
+     * 
+     * <p>
+     * 戻り値は, {@code new BigDecimal(doubleValue()).add(new BigDecimal(lowValue()))}
+     * と (スケールを含めて) 等価である. <br>
+     * 0は, 符号によらず {@link BigDecimal#ZERO} と等価な値になる.
+     * </p>
+     * 
+     * @return 正確な値
+     * @throws ArithmeticException 自身が無限大またはNaNの場合
+     */
+    public BigDecimal toBigDecimal() {
+        if (!this.isFinite()) {
+            throw new ArithmeticException("有限でない値: " + this.high);
+        }
+        return DoubleDoubleDecimal.toBigDecimal(this.high, this.low);
+    }
+
     /**
      * 自身が有限の値かどうかを判定する.
      * 
@@ -185,13 +237,6 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
      */
     @Override
     public int hashCode() {
-        return this.immutableHashCode;
-    }
-
-    /**
-     * このインスタンスのハッシュコードを計算する.
-     */
-    private int calcHashCode() {
         int result = 1;
         result = 31 * result + Double.hashCode(this.high);
         result = 31 * result + Double.hashCode(this.low);
@@ -221,45 +266,53 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
      * 
      * <p>
      * この文字列表現は,
-     * double-double 精度に相当する32桁程度の10進表示である. <br>
+     * double-double 精度に相当する32桁程度の10進表示であり,
+     * 上位と下位の和の正確な値を有効数字32桁に最近接偶数丸めしたものを,
+     * {@link BigDecimal#toString()} と同じ形式で表したものである. <br>
+     * 桁数や形式を指定する場合は, {@link DoubleDoubleFormat} を用いる. <br>
      * 文字列表現は参考情報であり,
      * 自身とこの文字列のequalityが一致することは保証されない. <br>
      * また, この文字列をもとに {@code new BigDecimal(String)} 経由で
      * {@link #valueOf(BigDecimal)} によるインスタンスの生成を行った場合,
-     * 自身と等価であることは保証されない.
+     * 自身と等価であることは保証されない. <br>
+     * 自身と等価なインスタンスに戻せる文字列表現には, {@link #toExactString()} を用いる.
      * </p>
      */
     @Override
     public String toString() {
         return this.isFinite() && this.high != 0d
-                ? new BigDecimal(this.high, MathContext.DECIMAL128)
-                        .add(
-                                new BigDecimal(this.low, MathContext.DECIMAL128),
-                                MC_TO_STRING)
-                        .toString()
+                ? DoubleDoubleFormat.standardString(this.high, this.low)
                 : Double.toString(this.high);
     }
 
+    /**
+     * このインスタンスの, 上位と下位のビット表現による可逆な文字列表現 (16進ペア表現) を返す.
+     * 
+     * <p>
+     * 文字列は, 上位の {@link Double#doubleToLongBits(double)} の16進表記16桁,
+     * 区切り文字 {@code ':'}, 下位の同様の16進表記16桁をこの順に並べた33文字であり,
+     * 英字は小文字である. <br>
+     * 例えば, 1/3 は {@code 3fd5555555555555:3c75555555555555} と表される. <br>
+     * この文字列を {@link #parseExact(CharSequence)} で読み込むと,
+     * 自身と等価なインスタンスが得られる.
+     * </p>
+     * 
+     * @return 16進ペア表現
+     */
+    public String toExactString() {
+        return DoubleDoubleHexPair.encode(this.high, this.low);
+    }
+
     /**
      * 自身の絶対値を返す.
      * 
      * @return 絶対値
      */
     public DoubleDoubleFloat abs() {
-
-        DoubleDoubleFloat out = this.abs;
-        if (Objects.nonNull(out)) {
-            return out;
-        }
-
-        //単一チェックイディオム
-        //nageted()は無駄なインスタンスを生成しないので,
-        //複数回の呼び出しは問題ない
-        out = this.compareTo(POSITIVE_0) >= 0
+        //負の場合はnegated()のキャッシュが使われるため, 絶対値自体はキャッシュしない
+        return this.compareTo(POSITIVE_0) >= 0
                 ? this
                 : this.negated();
-        this.abs = out;
-        return out;
     }
 
     /**
@@ -273,50 +326,62 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
             return out;
         }
 
-        //二重チェックイディオム
-        synchronized (this.lock) {
-            out = this.negated;
-            if (Objects.nonNull(out)) {
-                return out;
-            }
-
-            out = canonicalized(-this.high, -this.low);
-            this.negated = out;
-
-            /*
-             * 特殊値の定数は必ずnegatedが登録されているので, 書き換えられない.
-             * canonicalizedで新しいインスタンスを生成した場合は外部に参照が漏れていないので,
-             * このチェックで問題ない.
-             */
-            if (Objects.isNull(out.negated)) {
-                out.negated = this;
-            }
-
-            return out;
+        //単一チェックイディオム
+        out = canonicalized(-this.high, -this.low);
+
+        /*
+         * 特殊値の定数は必ずnegatedが登録されているので, 書き換えられない.
+         * canonicalizedで新しいインスタンスを生成した場合は外部に参照が漏れていないので,
+         * このチェックで問題ない.
+         */
+        if (Objects.isNull(out.negated)) {
+            out.negated = this;
         }
+        this.negated = out;
+        return out;
     }
 
     /**
      * 自身の乗法逆元 (逆数) を返す.
      * 
+     * <p>
+     * 剰余の補正を乗算で行う専用の計算であり, {@code POSITIVE_1.dividedBy(this)} より高速である. <br>
+     * 相対誤差は {@code 6u^2} 以下である
+     * (逆数が極端に小さい場合を除く). <br>
+     * 結果は除算によるものとビット単位で一致するとは限らない.
+     * </p>
+     * 
      * @return 乗法逆元
      */
     public DoubleDoubleFloat reciprocal() {
-        return POSITIVE_1.dividedBy(this);
+        double yh = this.high;
+        double zh = 1d / yh;
+        double zl = DoubleDoubleMath.two_reciprocal_dd_low(yh, this.low, zh);
+
+        return canonicalized(zh, zl);
     }
 
     /**
      * 和を返す.
      * 
+     * <p>
+     * 上位同士の和の誤差のみを補償し, 下位同士は単純に加える. <br>
+     * 符号が等しい値の和の相対誤差は {@code 3u^2} 以下であるが,
+     * 符号が異なる値の和 (桁落ち) では相対誤差が大きくなりうる. <br>
+     * 桁落ちにおいても精度が必要な場合は {@link #plusAccurate(DoubleDoubleFloat)} を用いる.
+     * </p>
+     * 
      * @param augend augend
      * @return 和
      * @throws NullPointerException 引数がnullの場合
      */
     public DoubleDoubleFloat plus(DoubleDoubleFloat augend) {
-        double[] arr = new double[2];
-        two_sum_dd(this.high, this.low, augend.high, augend.low, arr);
+        double xh = this.high;
+        double yh = augend.high;
+        double sh = xh + yh;
+        double sl = DoubleDoubleMath.two_sum_dd_low(xh, this.low, yh, augend.low, sh);
 
-        return canonicalized(arr[0], arr[1]);
+        return canonicalized(sh, sl);
     }
 
     /**
@@ -326,24 +391,28 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
      * @return 和
      */
     public DoubleDoubleFloat plus(double augend) {
-        double[] arr = new double[2];
-        two_sum_dd(this.high, this.low, augend, 0d, arr);
+        double xh = this.high;
+        double sh = xh + augend;
+        double sl = DoubleDoubleMath.two_sum_dd_low(xh, this.low, augend, 0d, sh);
 
-        return canonicalized(arr[0], arr[1]);
+        return canonicalized(sh, sl);
     }
 
     /**
-     * 差を返す.
+     * 差を返す. <br>
+     * 精度は {@link #plus(DoubleDoubleFloat)} に準じる.
      * 
      * @param subtrahend subtrahend
      * @return 差
      * @throws NullPointerException 引数がnullの場合
      */
     public DoubleDoubleFloat minus(DoubleDoubleFloat subtrahend) {
-        double[] arr = new double[2];
-        two_sum_dd(this.high, this.low, -subtrahend.high, -subtrahend.low, arr);
+        double xh = this.high;
+        double yh = -subtrahend.high;
+        double sh = xh + yh;
+        double sl = DoubleDoubleMath.two_sum_dd_low(xh, this.low, yh, -subtrahend.low, sh);
 
-        return canonicalized(arr[0], arr[1]);
+        return canonicalized(sh, sl);
     }
 
     /**
@@ -353,45 +422,103 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
      * @return 差
      */
     public DoubleDoubleFloat minus(double subtrahend) {
-        double[] arr = new double[2];
-        two_sum_dd(this.high, this.low, -subtrahend, 0d, arr);
+        double xh = this.high;
+        double yh = -subtrahend;
+        double sh = xh + yh;
+        double sl = DoubleDoubleMath.two_sum_dd_low(xh, this.low, yh, 0d, sh);
+
+        return canonicalized(sh, sl);
+    }
 
-        return canonicalized(arr[0], arr[1]);
+    /**
+     * 和を高精度に計算して返す.
+     * 
+     * <p>
+     * {@link #plus(DoubleDoubleFloat)} と異なり, 上位と下位の双方の和の誤差を補償するため,
+     * 符号が異なる値の和 (桁落ち) においても,
+     * 相対誤差は {@code 3u^2} 以下である. <br>
+     * 演算量は {@link #plus(DoubleDoubleFloat)} のおよそ2倍である. <br>
+     * 特殊値の扱いは {@link #plus(DoubleDoubleFloat)} と同一である.
+     * </p>
+     * 
+     * @param augend augend
+     * @return 和
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public DoubleDoubleFloat plusAccurate(DoubleDoubleFloat augend) {
+        double xh = this.high;
+        double xl = this.low;
+        double yh = augend.high;
+        double yl = augend.low;
 
+        return accurateSum(xh, xl, yh, yl);
     }
 
     /**
-     * double-doubleの文脈でx+yを計算しresultに格納する. <br>
-     * resultはサイズ2以上が必要.
+     * 差を高精度に計算して返す. <br>
+     * 精度は {@link #plusAccurate(DoubleDoubleFloat)} に準じる.
+     * 
+     * @param subtrahend subtrahend
+     * @return 差
+     * @throws NullPointerException 引数がnullの場合
      */
-    private static void two_sum_dd(
-            double xh, double xl, double yh, double yl, double[] result) {
-        two_sum(xh, yh, result);
-        result[1] += xl + yl;
+    public DoubleDoubleFloat minusAccurate(DoubleDoubleFloat subtrahend) {
+        double xh = this.high;
+        double xl = this.low;
+        double yh = -subtrahend.high;
+        double yl = -subtrahend.low;
+
+        return accurateSum(xh, xl, yh, yl);
     }
 
     /**
-     * x+yを計算し, double-doubleとしてresultに格納する. <br>
-     * resultはサイズ2以上が必要.
+     * 和 x + y を, 上位と下位の双方の two-sum で誤差を補償して計算する. <br>
+     * {@link DoubleDoubleMath#addAccurate(double, double, double, double, DoubleDoubleMath.Holder)}
+     * と同一の計算である.
      */
-    private static void two_sum(double x, double y, double[] result) {
-        double s = x + y;
-        double v = s - x;
-        result[0] = s;
-        result[1] = (x - (s - v)) + (y - v);
+    private static DoubleDoubleFloat accurateSum(double xh, double xl, double yh, double yl) {
+        double s1 = xh + yh;
+        double t1 = xl + yl;
+        double sh;
+        double sl;
+        if (!Double.isFinite(s1)) {
+            sh = s1;
+            sl = 0d;
+        } else if (s1 == 0d) {
+            //上位が相殺した場合, 和は下位の和に正確に一致する; 0の符号はs1に従う
+            sh = t1 == 0d ? s1 : t1;
+            sl = DoubleDoubleMath.two_sum_low(xl, yl, t1);
+        } else {
+            double m = DoubleDoubleMath.two_sum_low(xh, yh, s1) + t1;
+            double u1 = s1 + m;
+            double u2 = Double.isFinite(u1)
+                    ? DoubleDoubleMath.two_sum_low(s1, m, u1) + DoubleDoubleMath.two_sum_low(xl, yl, t1)
+                    : 0d;
+            sh = u1 + u2;
+            sl = Double.isFinite(sh) ? DoubleDoubleMath.two_sum_low(u1, u2, sh) : 0d;
+        }
+        return canonicalized(sh, sl);
     }
 
     /**
      * 積を返す.
      * 
+     * <p>
+     * 下位同士の積を省略した高速な計算であり,
+     * 相対誤差は {@code 7u^2} 以下である.
+     * </p>
+     * 
      * @param multiplicand multiplicand
      * @return 積
      * @throws NullPointerException 引数がnullの場合
      */
     public DoubleDoubleFloat times(DoubleDoubleFloat multiplicand) {
-        double[] arr = new double[2];
-        two_prod_dd(this.high, this.low, multiplicand.high, multiplicand.low, arr);
-        return canonicalized(arr[0], arr[1]);
+        double xh = this.high;
+        double yh = multiplicand.high;
+        double ph = xh * yh;
+        double pl = DoubleDoubleMath.two_prod_dd_low(xh, this.low, yh, multiplicand.low, ph);
+
+        return canonicalized(ph, pl);
     }
 
     /**
@@ -401,266 +528,1176 @@ public final class DoubleDoubleFloat implements Comparable<DoubleDoubleFloat> {
      * @return 積
      */
     public DoubleDoubleFloat times(double multiplicand) {
-        double[] arr = new double[2];
-        two_prod_dd(this.high, this.low, multiplicand, 0d, arr);
-        return canonicalized(arr[0], arr[1]);
-    }
+        double xh = this.high;
+        double ph = xh * multiplicand;
+        double pl = DoubleDoubleMath.two_prod_dd_low(xh, this.low, multiplicand, 0d, ph);
 
-    /**
-     * double-doubleの文脈でx*yを計算しresultに格納する. <br>
-     * resultはサイズ2以上が必要.
-     */
-    private static void two_prod_dd(
-            double xh, double xl, double yh, double yl, double[] result) {
-        two_prod(xh, yh, result);
-        result[1] += xl * yh + xh * yl;
+        return canonicalized(ph, pl);
     }
 
     /**
-     * x*yを計算し, double-doubleとしてresultに格納する. <br>
-     * resultはサイズ2以上が必要.
+     * 積を高精度に計算して返す.
+     * 
+     * <p>
+     * {@link #times(DoubleDoubleFloat)} が省略する下位同士の積を含めて計算し,
+     * FMA命令が使える場合は交差項をFMAで累積し,
+     * 相対誤差は {@code 5u^2} 以下である. <br>
+     * FMA命令が使えない場合の精度は {@link #times(DoubleDoubleFloat)} と同程度である. <br>
+     * 特殊値の扱いは {@link #times(DoubleDoubleFloat)} と同一である.
+     * </p>
+     * 
+     * @param multiplicand multiplicand
+     * @return 積
+     * @throws NullPointerException 引数がnullの場合
      */
-    private static void two_prod(double x, double y, double[] result) {
-        double p = x * y;
-
-        //split x,y: xを上位26bitと下位26bitに分ける
-        doubleSplit(x, result);
-        double xh = result[0];
-        double xl = result[1];
-        doubleSplit(y, result);
-        double yh = result[0];
-        double yl = result[1];
+    public DoubleDoubleFloat timesAccurate(DoubleDoubleFloat multiplicand) {
+        double xh = this.high;
+        double yh = multiplicand.high;
+        double ph = xh * yh;
+        double pl = DoubleDoubleMath.accurate_prod_dd_low(xh, this.low, yh, multiplicand.low, ph);
 
-        result[0] = p;
-        result[1] = ((xh * yh - p) + xh * yl + xl * yh) + xl * yl;
+        return canonicalized(ph, pl);
     }
 
     /**
-     * 与えられた値を上位25bit(本当は26bit, ケチ表現)と下位に分け, resultに格納する. <br>
-     * resultはサイズ2以上が必要.
+     * 自身の2乗を返す.
+     * 
+     * <p>
+     * 上位の2乗の誤差を, 分割を1回で済ませる専用の計算で求めるため,
+     * {@code this.times(this)} より高速である. <br>
+     * 結果は {@code this.times(this)} とビット単位で一致する.
+     * </p>
+     * 
+     * @return 2乗
      */
-    private static void doubleSplit(double x, double[] result) {
-
-        //0でない非正規数と正規数以外を排除
-        if (!Double.isFinite(x) || x == 0d) {
-            result[0] = x;
-            result[1] = 0d;
-            return;
-        }
-
-        final double scale = ((double) 0x1000_0000L) * 0x1000_0000L;
-        final double unscale = (1d / 0x1000_0000L / 0x1000_0000L);
-        boolean scaling = false;
-        //非正規数の場合は定数倍して正規化する
-        if (Math.abs(x) < Double.MIN_NORMAL) {
-            scaling = true;
-            x *= scale;
-        }
-
-        //xの下位27bitを0埋めしたものをxhとする
-        double xh = Double.longBitsToDouble(
-                Double.doubleToLongBits(x) & 0xFFFF_FFFF_F800_0000L);
-        double xl = x - xh;
-
-        //正規化を行った場合は元に戻す
-        if (scaling) {
-            xh *= unscale;
-            xl *= unscale;
-        }
+    public DoubleDoubleFloat square() {
+        double xh = this.high;
+        double ph = xh * xh;
+        double pl = DoubleDoubleMath.two_sqr_dd_low(xh, this.low, ph);
 
-        result[0] = xh;
-        result[1] = xl;
+        return canonicalized(ph, pl);
     }
 
     /**
      * 商を返す.
      * 
+     * <p>
+     * 上位同士の商に, 剰余による補正を1回加える計算であり,
+     * 相対誤差は {@code 10u^2} 以下である. <br>
+     * ただし, 商の絶対値が 2<sup>-969</sup> 程度より小さい場合は,
+     * 下位がアンダーフローするため精度が低下する.
+     * </p>
+     * 
      * @param divisor divisor
      * @return 商
      * @throws NullPointerException 引数がnullの場合
      */
     public DoubleDoubleFloat dividedBy(DoubleDoubleFloat divisor) {
-        double[] arr = new double[2];
-        two_divide_dd(this.high, this.low, divisor.high, divisor.low, arr);
-        return canonicalized(arr[0], arr[1]);
+        double xh = this.high;
+        double yh = divisor.high;
+        double zh = xh / yh;
+        double zl = DoubleDoubleMath.two_divide_dd_low(xh, this.low, yh, divisor.low, zh);
+
+        return canonicalized(zh, zl);
     }
 
     /**
      * 商を返す.
      * 
+     * <p>
+     * 除数の下位が0であることを利用した計算であり,
+     * 相対誤差は {@code 4u^2} 以下である
+     * (商が極端に小さい場合を除く).
+     * </p>
+     * 
      * @param divisor divisor
      * @return 商
      */
     public DoubleDoubleFloat dividedBy(double divisor) {
-        double[] arr = new double[2];
-        two_divide_dd(this.high, this.low, divisor, 0d, arr);
-        return canonicalized(arr[0], arr[1]);
-    }
-
-    /**
-     * double-doubleの文脈でx/yを計算しresultに格納する. <br>
-     * resultはサイズ2以上が必要.
-     */
-    private static void two_divide_dd(
-            double xh, double xl, double yh, double yl, double[] result) {
-
-        double zh = xh / yh;
-        if (!Double.isFinite(zh) || zh == 0d) {
-            result[0] = zh;
-            result[1] = 0d;
-            return;
-        }
+        double xh = this.high;
+        double zh = xh / divisor;
+        double zl = DoubleDoubleMath.two_divide_d_low(xh, this.low, divisor, zh);
 
-        //極端な値の場合は適切にスケールする
-        if (Math.abs(xh) > 1E300 || Math.abs(yh) > 1E300) {
-            final double scale = 1d / 0x1000_0000L / 0x1000_0000L;
-            xh *= scale;
-            xl *= scale;
-            yh *= scale;
-            yl *= scale;
-        } else if (Math.abs(xh) < 1E-300 || Math.abs(yh) < 1E-300) {
-            final double scale = (double) 0x1000_0000L * 0x1000_0000L;
-            xh *= scale;
-            xl *= scale;
-            yh *= scale;
-            yl *= scale;
-        }
-
-        //x-y*zhを計算する
-        //r = y*zh
-        two_prod_dd(zh, 0, yh, yl, result);
-        //x-r
-        two_sum_dd(xh, xl, -result[0], -result[1], result);
-
-        double zl = (result[0] + result[1]) / yh;
-
-        result[0] = zh;
-        result[1] = zl;
+        return canonicalized(zh, zl);
     }
 
     /**
-     * デバッグ用, doubleの64bit表現を得る.
+     * 整数乗 x<sup>n</sup> を返す. <br>
+     * {@link #pow(long)} と同一である.
+     * 
+     * @param exponent 指数
+     * @return this<sup>exponent</sup>
      */
-    @SuppressWarnings("unused")
-    private static String toBinaryString(double d) {
-        String raw = Long.toBinaryString(Double.doubleToLongBits(d));
-        return IntStream.range(0, 64 - raw.length())
-                .mapToObj(i -> "0").collect(Collectors.joining(""))
-                + raw;
+    public DoubleDoubleFloat pow(int exponent) {
+        return this.pow((long) exponent);
     }
 
     /**
-     * 与えた high, low を正規化した物に相当するインスタンスを返す. <br>
-     * 通常はabs(high) >= abs(low) でなければならない, ただしhigh=0なら問題ない.
+     * 整数乗 x<sup>n</sup> を返す.
+     * 
+     * <p>
+     * 2乗と乗算による2進展開 (binary exponentiation) で計算し,
+     * 乗算の回数は 2 log<sub>2</sub>|n| 回程度以下である. <br>
+     * 負の指数に対しては, |n| 乗を計算した後に1回だけ逆数をとる
+     * (|n| 乗がオーバーフローする場合などは, 先に逆数をとる). <br>
+     * 相対誤差はおおむね {@code 4|n|u^2} 以下であり,
+     * 負の指数では逆数の誤差 {@code 6u^2} が加わる. <br>
+     * 0乗は, NaN を含めて常に1を返す. <br>
+     * その他の特殊値 (0, 無限大) の扱いは {@link Math#pow(double, double)} に準じる.
+     * </p>
+     * 
+     * @param exponent 指数
+     * @return this<sup>exponent</sup>
      */
-    private static DoubleDoubleFloat canonicalized(double high, double low) {
-        assert (!Double.isFinite(high) || Double.isFinite(low)) : String.format(
-                "highが有限であるのにlowが+-infまたはNaN: high = %s, low = %s", high, low);
-
-        //有限数でない場合は別処理
-        if (!Double.isFinite(high)) {
-            return notFiniteValue(high);
+    public DoubleDoubleFloat pow(long exponent) {
+        if (exponent == 0L) {
+            return POSITIVE_1;
         }
-
-        assert (high == 0d || Math.abs(high) >= Math.abs(low)) : String.format(
-                "high != 0d であり, かつ|high| >= |low|を満たさない: high = %s, low = %s", high, low);
-
-        if (high == 0d) {
-            if (low != 0d) {
-                return new DoubleDoubleFloat(low, 0d);
-            }
-            return Double.compare(high, -0d) == 0
-                    ? NEGATIVE_0
-                    : POSITIVE_0;
+        if (exponent > 0L) {
+            return unsignedPow(this, exponent);
         }
 
-        double s = high + low;
-        double e = low - (s - high);
-
-        if (!Double.isFinite(s)) {
-            return notFiniteValue(s);
+        //Long.MIN_VALUE の符号反転はそれ自身であるが, 符号なし整数として 2^63 を表す
+        long n = -exponent;
+        DoubleDoubleFloat power = unsignedPow(this, n);
+        double abs = Math.abs(power.high);
+        if (abs >= 0x1p-960 && abs <= 0x1p960) {
+            return power.reciprocal();
         }
+        //|n| 乗が有限でない, またはその下位や逆数の下位が正規化数で表現できない場合
+        return unsignedPow(this.reciprocal(), n);
+    }
 
-        //Double.MAX_VALUEを超える場合は無限大に置き換える
-        if (Math.abs(s) == Double.MAX_VALUE) {
-            if (s > 0d && e > 0d) {
-                return notFiniteValue(Double.POSITIVE_INFINITY);
+    /**
+     * n を符号なし整数とみなして, base<sup>n</sup> を返す. <br>
+     * n は0であってはならない.
+     */
+    private static DoubleDoubleFloat unsignedPow(DoubleDoubleFloat base, long n) {
+        assert n != 0L;
+
+        DoubleDoubleFloat result = null;
+        while (true) {
+            if ((n & 1L) != 0L) {
+                result = Objects.isNull(result) ? base : result.times(base);
             }
-            if (s < 0d && e < 0d) {
-                return notFiniteValue(Double.NEGATIVE_INFINITY);
+            n >>>= 1;
+            if (n == 0L) {
+                return result;
             }
+            base = base.square();
         }
+    }
 
-        assert 0.5 * Math.ulp(s) >= Math.abs(e) : String.format(
-                "正規化条件が満たされていない: s = %s, e = %s", s, e);
+    /**
+     * 累乗 x<sup>y</sup> を返す.
+     * 
+     * <p>
+     * 絶対値が4以下の整数の指数に対しては {@link #pow(long)} による. <br>
+     * それ以外では, x = 2<sup>k</sup>f (sqrt(1/2) &le; f &lt; sqrt(2)) と分解し,
+     * ky の整数部を指数部として正確に分離したうえで, 残りを exp と log により計算する. <br>
+     * 相対誤差はおおむね {@code (8 + 4|y log f|)u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#pow(double, double)} に準じる
+     * (y が0の場合は1, 負の x に対しては y が整数の場合に限り符号付きの値, それ以外はNaN).
+     * </p>
+     * 
+     * @param exponent 指数 y
+     * @return this<sup>exponent</sup>
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public DoubleDoubleFloat pow(DoubleDoubleFloat exponent) {
+        return DoubleDoubleExponential.pow(this, exponent);
+    }
+
+    /**
+     * 平方根を返す.
+     * 
+     * <p>
+     * {@link Math#sqrt(double)} による初期値に, Newton 法の補正を1回加える. <br>
+     * 相対誤差は {@code 3u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#sqrt(double)} に準じる
+     * (負の数, NaN に対してNaN, 負の0に対して負の0, 正の無限大に対して正の無限大).
+     * </p>
+     * 
+     * @return 平方根
+     */
+    public DoubleDoubleFloat sqrt() {
+        return DoubleDoubleRoots.sqrt(this);
+    }
 
-        return new DoubleDoubleFloat(s, e);
+    /**
+     * 立方根を返す.
+     * 
+     * <p>
+     * {@link Math#cbrt(double)} による初期値に, Newton 法の補正を1回加える. <br>
+     * 相対誤差は {@code 5u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#cbrt(double)} に準じ, 負の数の立方根は負である.
+     * </p>
+     * 
+     * @return 立方根
+     */
+    public DoubleDoubleFloat cbrt() {
+        return DoubleDoubleRoots.cbrt(this);
     }
 
     /**
-     * 有限でない値について, 対応するインスタンスを返す.
+     * n乗根を返す.
+     * 
+     * <p>
+     * {@code n} が1, 2, 3 の場合はそれぞれ自身, {@link #sqrt()}, {@link #cbrt()} と同一である. <br>
+     * {@code n} が負の場合は, {@code -n} 乗根の逆数を返す. <br>
+     * {@code n} が偶数の場合, 負の数 (負の無限大を含む) に対してはNaNを返す
+     * (ただし, 負の0に対しては負の0を返す). <br>
+     * {@code n} が奇数の場合, 負の数のn乗根は負である.
+     * </p>
+     * 
+     * <p>
+     * 4以上の {@code n} に対しては, {@link Math#pow(double, double)} による初期値に
+     * Newton 法の補正を2回加える. <br>
+     * 相対誤差はおおむね {@code 16u^2} 以下である.
+     * </p>
+     * 
+     * @param n 次数
+     * @return n乗根
+     * @throws IllegalArgumentException {@code n} が0の場合
      */
-    private static DoubleDoubleFloat notFiniteValue(double value) {
-        assert !Double.isFinite(value) : "有限値である";
+    public DoubleDoubleFloat root(int n) {
+        return DoubleDoubleRoots.root(this, n);
+    }
 
-        if (value == Double.POSITIVE_INFINITY) {
-            return POSITIVE_INFINITY;
-        }
-        if (value == Double.NEGATIVE_INFINITY) {
-            return NEGATIVE_INFINITY;
-        }
-        return NaN;
+    /**
+     * 指数関数 exp(x) の値を返す.
+     * 
+     * <p>
+     * 表引きによる引数還元と短い多項式により計算する. <br>
+     * 相対誤差は {@code 3u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#exp(double)} に準じる. <br>
+     * 結果が {@link Double#MAX_VALUE} を超える場合は正の無限大を,
+     * 表現できる最小の正の値を下回る場合は正の0を返す.
+     * </p>
+     * 
+     * @return exp(this)
+     */
+    public DoubleDoubleFloat exp() {
+        return DoubleDoubleExponential.exp(this);
     }
 
     /**
-     * 与えられた {@code double} 値に対応する
-     * double-double 浮動小数点数のインスタンスを返す.
+     * exp(x) - 1 の値を返す.
      * 
      * <p>
-     * {@code dd = valueOf(value)} について,
-     * {@code dd.doubleValue()} と {@code value}
-     * が ({@link Double} の文脈で) 等価であることが保証されている.
+     * 0に近い x に対しても桁落ちを起こさず,
+     * 相対誤差は {@code 5u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#expm1(double)} に準じる
+     * (正の0, 負の0に対してはそれ自身を, 負の無限大に対しては-1を返す).
      * </p>
      * 
-     * @param value 値
-     * @return valueと同等のインスタンス
+     * @return exp(this) - 1
      */
-    public static DoubleDoubleFloat valueOf(double value) {
-        return canonicalized(value, 0d);
+    public DoubleDoubleFloat expm1() {
+        return DoubleDoubleExponential.expm1(this);
     }
 
     /**
-     * 与えられた {@link BigDecimal} 値に対応する
-     * double-double 浮動小数点数のインスタンスを返す.
+     * 2を底とする指数関数 2<sup>x</sup> の値を返す.
      * 
-     * @param value 値
-     * @return valueと同等のインスタンス
-     * @throws NullPointerException 引数がnullの場合
+     * <p>
+     * 相対誤差は {@code 3u^2} 以下であり,
+     * x が整数の場合, 結果は (表現できる限り) 正確である. <br>
+     * 特殊値の扱いは {@link #exp()} と同様である.
+     * </p>
+     * 
+     * @return 2<sup>this</sup>
      */
-    public static DoubleDoubleFloat valueOf(BigDecimal value) {
-        double high = value.doubleValue();
-        if (!Double.isFinite(high)) {
-            return canonicalized(high, 0d);
-        }
-        double low = value
-                .subtract(
-                        new BigDecimal(high, MathContext.DECIMAL128),
-                        MathContext.DECIMAL128)
-                .doubleValue();
-        return canonicalized(high, low);
+    public DoubleDoubleFloat exp2() {
+        return DoubleDoubleExponential.exp2(this);
     }
 
     /**
-     * テスト用であり非公開.
-     * 与えられた {@code double} 値に対応する
-     * double-double 浮動小数点数のインスタンスを返す.
+     * 自然対数 log(x) の値を返す.
      * 
      * <p>
-     * 十分にバリデーションされていない.
+     * {@link Math#log1p(double)} による初期値に, Newton 法の補正を1回加えて計算する. <br>
+     * 相対誤差は {@code 5u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#log(double)} に準じる
+     * (負の数, NaN に対してNaN, 0に対して負の無限大, 正の無限大に対して正の無限大, 1に対して正の0).
      * </p>
+     * 
+     * @return log(this)
      */
-    static DoubleDoubleFloat valueOf(double high, double low) {
-        return canonicalized(high, low);
+    public DoubleDoubleFloat log() {
+        return DoubleDoubleExponential.log(this);
+    }
+
+    /**
+     * log(1 + x) の値を返す.
+     * 
+     * <p>
+     * 0に近い x に対しても桁落ちを起こさず,
+     * 相対誤差は {@code 5u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#log1p(double)} に準じる
+     * (-1未満, NaN に対してNaN, -1に対して負の無限大, 正の0, 負の0に対してはそれ自身).
+     * </p>
+     * 
+     * @return log(1 + this)
+     */
+    public DoubleDoubleFloat log1p() {
+        return DoubleDoubleExponential.log1p(this);
+    }
+
+    /**
+     * 2を底とする対数 log<sub>2</sub>(x) の値を返す.
+     * 
+     * <p>
+     * 相対誤差は {@code 8u^2} 以下であり,
+     * x が2の累乗の場合, 結果は正確である. <br>
+     * 特殊値の扱いは {@link #log()} と同様である.
+     * </p>
+     * 
+     * @return log<sub>2</sub>(this)
+     */
+    public DoubleDoubleFloat log2() {
+        return DoubleDoubleExponential.log2(this);
+    }
+
+    /**
+     * 10を底とする対数 log<sub>10</sub>(x) の値を返す.
+     * 
+     * <p>
+     * 相対誤差は {@code 8u^2} 以下であり,
+     * x が 10<sup>n</sup> (0 &le; n &le; 31) の場合, 結果は正確に n である. <br>
+     * 特殊値の扱いは {@link #log()} と同様である.
+     * </p>
+     * 
+     * @return log<sub>10</sub>(this)
+     */
+    public DoubleDoubleFloat log10() {
+        return DoubleDoubleExponential.log10(this);
+    }
+
+    /**
+     * 正弦 sin(x) の値を返す.
+     * 
+     * <p>
+     * 引数は π/2 を法として還元され, 巨大な引数 (10<sup>20</sup> 以上など) に対しても
+     * 還元による精度の低下は生じない. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である
+     * (ただし, sin(x) が0に近い場合は絶対誤差として評価される). <br>
+     * 特殊値の扱いは {@link Math#sin(double)} に準じる
+     * (無限大, NaN に対してNaN, 符号付きの0に対してはそれ自身).
+     * </p>
+     * 
+     * @return sin(this)
+     */
+    public DoubleDoubleFloat sin() {
+        return DoubleDoubleTrigonometric.sin(this);
+    }
+
+    /**
+     * 余弦 cos(x) の値を返す.
+     * 
+     * <p>
+     * 精度は {@link #sin()} に準じる. <br>
+     * 特殊値の扱いは {@link Math#cos(double)} に準じる
+     * (無限大, NaN に対してNaN).
+     * </p>
+     * 
+     * @return cos(this)
+     */
+    public DoubleDoubleFloat cos() {
+        return DoubleDoubleTrigonometric.cos(this);
+    }
+
+    /**
+     * 正接 tan(x) の値を返す.
+     * 
+     * <p>
+     * sin(x), cos(x) を同時に計算し, その商として計算する. <br>
+     * 相対誤差はおおむね {@code 12u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#tan(double)} に準じる
+     * (無限大, NaN に対してNaN, 符号付きの0に対してはそれ自身).
+     * </p>
+     * 
+     * @return tan(this)
+     */
+    public DoubleDoubleFloat tan() {
+        return DoubleDoubleTrigonometric.tan(this);
+    }
+
+    /**
+     * 正弦と余弦の値を同時に計算し, 長さ2の配列 {sin(x), cos(x)} として返す.
+     * 
+     * <p>
+     * {@link #sin()}, {@link #cos()} を個別に呼ぶ場合と比べて,
+     * 引数の還元と定数表の参照が1回で済む. <br>
+     * 各要素の値は {@link #sin()}, {@link #cos()} の結果と一致する.
+     * </p>
+     * 
+     * @return {sin(this), cos(this)}
+     */
+    public DoubleDoubleFloat[] sinCos() {
+        return DoubleDoubleTrigonometric.sinCos(this);
+    }
+
+    /**
+     * 逆正接 atan(x) の値を返す. <br>
+     * 値は -π/2 以上 π/2 以下である.
+     * 
+     * <p>
+     * {@link Math#atan(double)} による初期値に, Newton 法の補正を1回加えて計算する. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#atan(double)} に準じる
+     * (NaN に対してNaN, 符号付きの0に対してはそれ自身, 無限大に対しては符号付きの π/2).
+     * </p>
+     * 
+     * @return atan(this)
+     */
+    public DoubleDoubleFloat atan() {
+        return DoubleDoubleTrigonometric.atan(this);
+    }
+
+    /**
+     * 逆正弦 asin(x) の値を返す. <br>
+     * 値は -π/2 以上 π/2 以下である.
+     * 
+     * <p>
+     * {@code atan2(x, sqrt(1 - x^2))} と同等の方法で計算する. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#asin(double)} に準じる
+     * (絶対値が1より大きい場合, NaN に対してNaN, 符号付きの0に対してはそれ自身).
+     * </p>
+     * 
+     * @return asin(this)
+     */
+    public DoubleDoubleFloat asin() {
+        return DoubleDoubleTrigonometric.asin(this);
+    }
+
+    /**
+     * 逆余弦 acos(x) の値を返す. <br>
+     * 値は0以上 π 以下である.
+     * 
+     * <p>
+     * {@code atan2(sqrt(1 - x^2), x)} と同等の方法で計算する. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#acos(double)} に準じる
+     * (絶対値が1より大きい場合, NaN に対してNaN, 1に対して正の0).
+     * </p>
+     * 
+     * @return acos(this)
+     */
+    public DoubleDoubleFloat acos() {
+        return DoubleDoubleTrigonometric.acos(this);
+    }
+
+    /**
+     * 双曲線正弦 sinh(x) の値を返す.
+     * 
+     * <p>
+     * 0に近い x に対しては expm1 を用いて桁落ちを避ける. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#sinh(double)} に準じる
+     * (NaN に対してNaN, 無限大, 符号付きの0に対してはそれ自身).
+     * </p>
+     * 
+     * @return sinh(this)
+     */
+    public DoubleDoubleFloat sinh() {
+        return DoubleDoubleHyperbolic.sinh(this);
+    }
+
+    /**
+     * 双曲線余弦 cosh(x) の値を返す.
+     * 
+     * <p>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#cosh(double)} に準じる
+     * (NaN に対してNaN, 無限大に対して正の無限大, 0に対して1).
+     * </p>
+     * 
+     * @return cosh(this)
+     */
+    public DoubleDoubleFloat cosh() {
+        return DoubleDoubleHyperbolic.cosh(this);
+    }
+
+    /**
+     * 双曲線正接 tanh(x) の値を返す.
+     * 
+     * <p>
+     * expm1(2x) / (expm1(2x) + 2) として計算する. <br>
+     * 相対誤差はおおむね {@code 12u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#tanh(double)} に準じる
+     * (NaN に対してNaN, 無限大に対して ±1, 符号付きの0に対してはそれ自身).
+     * </p>
+     * 
+     * @return tanh(this)
+     */
+    public DoubleDoubleFloat tanh() {
+        return DoubleDoubleHyperbolic.tanh(this);
+    }
+
+    /**
+     * 双曲線正弦と双曲線余弦の値を同時に計算し, 長さ2の配列 {sinh(x), cosh(x)} として返す.
+     * 
+     * <p>
+     * {@link #sinh()}, {@link #cosh()} を個別に呼ぶ場合と比べて,
+     * 指数関数の計算が1回で済む. <br>
+     * 各要素の値は {@link #sinh()}, {@link #cosh()} の結果と一致する.
+     * </p>
+     * 
+     * @return {sinh(this), cosh(this)}
+     */
+    public DoubleDoubleFloat[] sinhCosh() {
+        return DoubleDoubleHyperbolic.sinhCosh(this);
+    }
+
+    /**
+     * 逆双曲線正弦 asinh(x) の値を返す.
+     * 
+     * <p>
+     * 0に近い x に対しては log1p を用いて桁落ちを避ける. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * NaN に対してNaN, 無限大, 符号付きの0に対してはそれ自身を返す.
+     * </p>
+     * 
+     * @return asinh(this)
+     */
+    public DoubleDoubleFloat asinh() {
+        return DoubleDoubleHyperbolic.asinh(this);
+    }
+
+    /**
+     * 逆双曲線余弦 acosh(x) の値を返す.
+     * 
+     * <p>
+     * 1に近い x に対しては log1p を用いて桁落ちを避ける. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 1未満, NaN に対してNaN, 1に対して正の0, 正の無限大に対して正の無限大を返す.
+     * </p>
+     * 
+     * @return acosh(this)
+     */
+    public DoubleDoubleFloat acosh() {
+        return DoubleDoubleHyperbolic.acosh(this);
+    }
+
+    /**
+     * 逆双曲線正接 atanh(x) の値を返す.
+     * 
+     * <p>
+     * log1p(2x / (1 - x)) / 2 として計算する. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 絶対値が1より大きい場合, NaN に対してNaN, ±1 に対して ±∞,
+     * 符号付きの0に対してはそれ自身を返す.
+     * </p>
+     * 
+     * @return atanh(this)
+     */
+    public DoubleDoubleFloat atanh() {
+        return DoubleDoubleHyperbolic.atanh(this);
+    }
+
+    /**
+     * ガンマ関数 Γ(x) の値を返す.
+     * 
+     * <p>
+     * 正の x に対しては, 漸化式により2の近傍の級数に帰着させて計算する. <br>
+     * 負の x に対しては, 相反公式 Γ(x)Γ(1 - x) = π / sin(πx) を用いる. <br>
+     * 漸化式の積の誤差が累積するため,
+     * 相対誤差はおおむね {@code (8 + |x|/8)u^2} 以下である. <br>
+     * 負の整数, 負の無限大, NaN に対してNaN, 符号付きの0に対して同符号の無限大,
+     * 正の無限大に対して正の無限大を返す.
+     * </p>
+     * 
+     * @return Γ(this)
+     */
+    public DoubleDoubleFloat gamma() {
+        return DoubleDoubleGamma.gamma(this);
+    }
+
+    /**
+     * ガンマ関数の絶対値の自然対数 log|Γ(x)| の値を返す.
+     * 
+     * <p>
+     * 20以上の x に対しては Stirling の漸近展開を, それ未満の正の x に対しては
+     * 漸化式と1, 2の近傍の級数を用いる. <br>
+     * 正の x に対して, 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 負の x に対しては相反公式を用いるため, 結果が0に近い場合 (零点の近傍) に相対誤差が大きくなる. <br>
+     * 非正の整数, 無限大に対して正の無限大, NaN に対してNaNを返す.
+     * </p>
+     * 
+     * @return log|Γ(this)|
+     */
+    public DoubleDoubleFloat lgamma() {
+        return DoubleDoubleGamma.lgamma(this);
+    }
+
+    /**
+     * 誤差関数 erf(x) の値を返す.
+     * 
+     * <p>
+     * 0に近い x に対しては Taylor 級数を, 絶対値が大きい x に対しては
+     * 1 - erfc(|x|) を用いる. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * NaN に対してNaN, ±∞ に対して ±1, 符号付きの0に対してはそれ自身を返す.
+     * </p>
+     * 
+     * @return erf(this)
+     */
+    public DoubleDoubleFloat erf() {
+        return DoubleDoubleErrorFunction.erf(this);
+    }
+
+    /**
+     * 相補誤差関数 erfc(x) = 1 - erf(x) の値を返す.
+     * 
+     * <p>
+     * 大きい x に対しても桁落ちせず, 連分数などにより直接計算する. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * NaN に対してNaN, 正の無限大に対して正の0, 負の無限大に対して2を返す.
+     * </p>
+     * 
+     * @return erfc(this)
+     */
+    public DoubleDoubleFloat erfc() {
+        return DoubleDoubleErrorFunction.erfc(this);
+    }
+
+    /**
+     * デバッグ用, doubleの64bit表現を得る.
+     */
+    @SuppressWarnings("unused")
+    private static String toBinaryString(double d) {
+        String raw = Long.toBinaryString(Double.doubleToLongBits(d));
+        return IntStream.range(0, 64 - raw.length())
+                .mapToObj(i -> "0").collect(Collectors.joining(""))
+                + raw;
+    }
+
+    /**
+     * 与えた high, low を正規化した物に相当するインスタンスを返す. <br>
+     * 通常はabs(high) >= abs(low) でなければならない, ただしhigh=0なら問題ない.
+     * 
+     * <p>
+     * すべての演算から呼ばれるため, 呼び出し元へのインライン展開を妨げないよう,
+     * 頻出する有限の場合のみをここで扱い,
+     * 特殊値 (0, 無限大, NaN, オーバーフロー) の処理は {@link #canonicalizedSlow(double, double)}
+     * に分離している. <br>
+     * 検証のアサーションもバイトコードを小さく保つため別メソッドにしている.
+     * </p>
+     */
+    private static DoubleDoubleFloat canonicalized(double high, double low) {
+        double s = high + low;
+
+        //highが0でなく, sが有限でDouble.MAX_VALUE未満 (highがinf, NaNなら偽となる)
+        if (high != 0d && Math.abs(s) < Double.MAX_VALUE) {
+            double e = low - (s - high);
+            assert assertCanonical(high, low, s, e);
+
+            //下位が負の0の場合は (s, +0) と区別されるため, キャッシュの対象外である
+            return Double.doubleToRawLongBits(e) == 0L
+                    ? cachedOrNew(s)
+                    : new DoubleDoubleFloat(s, e);
+        }
+        return canonicalizedSlow(high, low);
+    }
+
+    /**
+     * 有限かつ0でない上位と, 下位の組が, 正規化の結果として現れるものであるかを判定する. <br>
+     * 上位と下位の和を丸めた値が上位に一致し, かつ {@link #MAX_VALUE} を超えない場合に true.
+     */
+    private static boolean isCanonical(double high, double low) {
+        assert Double.isFinite(high) && high != 0d;
+
+        if (!Double.isFinite(low) || high + low != high) {
+            return false;
+        }
+        return Math.abs(high) < Double.MAX_VALUE
+                || low == 0d
+                || (high > 0d) != (low > 0d);
+    }
+
+    /**
+     * 正規化において, 入力と結果が満たすべき条件を検証する. <br>
+     * アサーション用であり, 条件を満たさない場合は {@link AssertionError} をスローする.
+     * 
+     * @return true
+     */
+    private static boolean assertCanonical(double high, double low, double s, double e) {
+        assert (!Double.isFinite(high) || Double.isFinite(low)) : String.format(
+                "highが有限であるのにlowが+-infまたはNaN: high = %s, low = %s", high, low);
+        assert (high == 0d || Math.abs(high) >= Math.abs(low)) : String.format(
+                "high != 0d であり, かつ|high| >= |low|を満たさない: high = %s, low = %s", high, low);
+        assert 0.5 * Math.ulp(s) >= Math.abs(e) : String.format(
+                "正規化条件が満たされていない: s = %s, e = %s", s, e);
+        return true;
+    }
+
+    /**
+     * {@link #canonicalized(double, double)} の, 頻出しない場合の処理. <br>
+     * 正規化の規約のすべてを扱う.
+     */
+    private static DoubleDoubleFloat canonicalizedSlow(double high, double low) {
+        assert (!Double.isFinite(high) || Double.isFinite(low)) : String.format(
+                "highが有限であるのにlowが+-infまたはNaN: high = %s, low = %s", high, low);
+
+        //有限数でない場合は別処理
+        if (!Double.isFinite(high)) {
+            return notFiniteValue(high);
+        }
+
+        assert (high == 0d || Math.abs(high) >= Math.abs(low)) : String.format(
+                "high != 0d であり, かつ|high| >= |low|を満たさない: high = %s, low = %s", high, low);
+
+        if (high == 0d) {
+            if (low != 0d) {
+                return cachedOrNew(low);
+            }
+            return Double.compare(high, -0d) == 0
+                    ? NEGATIVE_0
+                    : POSITIVE_0;
+        }
+
+        double s = high + low;
+        double e = low - (s - high);
+
+        if (!Double.isFinite(s)) {
+            return notFiniteValue(s);
+        }
+
+        //Double.MAX_VALUEを超える場合は無限大に置き換える
+        if (Math.abs(s) == Double.MAX_VALUE) {
+            if (s > 0d && e > 0d) {
+                return notFiniteValue(Double.POSITIVE_INFINITY);
+            }
+            if (s < 0d && e < 0d) {
+                return notFiniteValue(Double.NEGATIVE_INFINITY);
+            }
+        }
+
+        assert assertCanonical(high, low, s, e);
+
+        //下位が負の0の場合は (s, +0) と区別されるため, キャッシュの対象外である
+        return Double.doubleToRawLongBits(e) == 0L
+                ? cachedOrNew(s)
+                : new DoubleDoubleFloat(s, e);
+    }
+
+    /**
+     * 有限かつ0でない値 (value, 0) に相当するインスタンスを,
+     * キャッシュにあればそれを, なければ新しく生成して返す.
+     */
+    private static DoubleDoubleFloat cachedOrNew(double value) {
+        DoubleDoubleFloat cached = ValueCache.get(value);
+        return Objects.nonNull(cached)
+                ? cached
+                : new DoubleDoubleFloat(value, 0d);
+    }
+
+    /**
+     * 有限でない値について, 対応するインスタンスを返す.
+     */
+    private static DoubleDoubleFloat notFiniteValue(double value) {
+        assert !Double.isFinite(value) : "有限値である";
+
+        if (value == Double.POSITIVE_INFINITY) {
+            return POSITIVE_INFINITY;
+        }
+        if (value == Double.NEGATIVE_INFINITY) {
+            return NEGATIVE_INFINITY;
+        }
+        return NaN;
+    }
+
+    /**
+     * 与えられた {@code double} 値に対応する
+     * double-double 浮動小数点数のインスタンスを返す.
+     * 
+     * <p>
+     * {@code dd = valueOf(value)} について,
+     * {@code dd.doubleValue()} と {@code value}
+     * が ({@link Double} の文脈で) 等価であることが保証されている.
+     * </p>
+     * 
+     * @param value 値
+     * @return valueと同等のインスタンス
+     */
+    public static DoubleDoubleFloat valueOf(double value) {
+        return canonicalized(value, 0d);
+    }
+
+    /**
+     * 与えられた {@code int} 値に対応する
+     * double-double 浮動小数点数のインスタンスを返す.
+     * 
+     * <p>
+     * {@code int} 値は正確に表現される. <br>
+     * 0は正の0になる.
+     * </p>
+     * 
+     * @param value 値
+     * @return valueと同等のインスタンス
+     */
+    public static DoubleDoubleFloat valueOf(int value) {
+        return canonicalized(value, 0d);
+    }
+
+    /**
+     * 与えられた {@code long} 値に対応する
+     * double-double 浮動小数点数のインスタンスを返す.
+     * 
+     * <p>
+     * {@code long} 値は (53ビットを超える場合も) 正確に表現される. <br>
+     * 0は正の0になる.
+     * </p>
+     * 
+     * @param value 値
+     * @return valueと同等のインスタンス
+     */
+    public static DoubleDoubleFloat valueOf(long value) {
+        double high = value;
+
+        /*
+         * |value - high| <= ulp(high)/2 <= 2^10 であるため, 差は long で正確に計算でき,
+         * double に正確に変換される.
+         * high = 2^63 の場合は (long) high が飽和するため,
+         * 2^63 と法 2^64 で合同な Long.MIN_VALUE を用いる.
+         */
+        long highAsLong = high == 0x1p63 ? Long.MIN_VALUE : (long) high;
+        double low = value - highAsLong;
+        return canonicalized(high, low);
+    }
+
+    /**
+     * 与えられた {@link BigDecimal} 値に対応する
+     * double-double 浮動小数点数のインスタンスを返す.
+     * 
+     * <p>
+     * 値を d として, d を {@code double} に最近接偶数丸めした値を上位,
+     * d と上位の差を {@code double} に最近接偶数丸めした値を下位とし,
+     * それを正規化したインスタンスを返す. <br>
+     * 正規化した値が {@link #MAX_VALUE} を超える場合は無限大に, 絶対値が小さすぎる場合は0になる.
+     * </p>
+     * 
+     * <p>
+     * 多くの場合, 仮数 ({@link BigDecimal#unscaledValue()}) の2進表現とスケールから,
+     * {@link BigDecimal} の演算を行わずに変換する.
+     * </p>
+     * 
+     * @param value 値
+     * @return valueと同等のインスタンス
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static DoubleDoubleFloat valueOf(BigDecimal value) {
+        DecimalToDoubleDouble conversion = new DecimalToDoubleDouble();
+        conversion.convert(value);
+        return canonicalized(conversion.high(), conversion.low());
+    }
+
+    /**
+     * 10進数の文字列表現に対応する
+     * double-double 浮動小数点数のインスタンスを返す.
+     * 
+     * <p>
+     * 文字列が表す10進数を d として, d を {@code double} に最近接偶数丸めした値を上位,
+     * d と上位の差を {@code double} に最近接偶数丸めした値を下位とし,
+     * それを正規化したインスタンスを返す. <br>
+     * 受け付ける書式は, {@link BigDecimal#BigDecimal(String)} が受け付ける10進数
+     * (符号, 小数点, 指数部を含んでよい), 符号付きの {@code Infinity}, および {@code NaN} である.
+     * 前後の空白は受け付けない. <br>
+     * 0は, 負号が付いている場合は負の0, そうでない場合は正の0になる. <br>
+     * 正規化した値が {@link #MAX_VALUE} を超える場合は無限大に, 絶対値が小さすぎる場合は0になる.
+     * </p>
+     * 
+     * <p>
+     * 多くの場合, {@link BigDecimal} を生成せずに変換する. <br>
+     * {@link DoubleDoubleFormat#shortest()} で得た文字列はこのメソッドにより元の値に戻る.
+     * </p>
+     * 
+     * @param value 10進数の文字列表現
+     * @return valueが表す値に対応するインスタンス
+     * @throws NumberFormatException 10進数として解釈できない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static DoubleDoubleFloat valueOf(CharSequence value) {
+        return DoubleDoubleParser.parse(value);
+    }
+
+    /**
+     * 文字の配列の範囲 {@code value[offset]}, ..., {@code value[offset + length - 1]}
+     * が表す10進数に対応する double-double 浮動小数点数のインスタンスを返す.
+     * 
+     * <p>
+     * 書式と変換の規則は {@link #valueOf(CharSequence)} と同一である.
+     * </p>
+     * 
+     * @param value 文字の配列
+     * @param offset 開始位置
+     * @param length 文字数
+     * @return 範囲が表す値に対応するインスタンス
+     * @throws NumberFormatException 10進数として解釈できない場合
+     * @throws IndexOutOfBoundsException 範囲が配列の外にある場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static DoubleDoubleFloat valueOf(char[] value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length);
+        return DoubleDoubleParser.parse(value, offset, length);
+    }
+
+    /**
+     * ASCII文字のバイト列の範囲 {@code value[offset]}, ..., {@code value[offset + length - 1]}
+     * が表す10進数に対応する double-double 浮動小数点数のインスタンスを返す.
+     * 
+     * <p>
+     * 書式と変換の規則は {@link #valueOf(CharSequence)} と同一である.
+     * </p>
+     * 
+     * @param value バイト列
+     * @param offset 開始位置
+     * @param length バイト数
+     * @return 範囲が表す値に対応するインスタンス
+     * @throws NumberFormatException 10進数として解釈できない場合
+     * @throws IndexOutOfBoundsException 範囲が配列の外にある場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static DoubleDoubleFloat valueOf(byte[] value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length);
+        return DoubleDoubleParser.parse(value, offset, length);
+    }
+
+    /**
+     * {@link #toExactString()} による16進ペア表現から, インスタンスを復元する.
+     * 
+     * <p>
+     * 上位と下位はビット表現から直接構成され, 正規化の計算は行われない. <br>
+     * 英字は大文字でもよい. <br>
+     * 上位と下位の組が, このクラスのインスタンスが取り得るもの
+     * (上位と下位の和を {@code double} に丸めた値が上位に一致する, など) でない場合は,
+     * 例外をスローする.
+     * </p>
+     * 
+     * @param value 16進ペア表現
+     * @return valueが表すインスタンス
+     * @throws NumberFormatException 16進ペア表現として解釈できない場合,
+     *             または上位と下位の組が正規化されていない場合
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static DoubleDoubleFloat parseExact(CharSequence value) {
+        DoubleDoubleHexPair.requireFormat(value);
+        double high = Double.longBitsToDouble(DoubleDoubleHexPair.highBits(value));
+        long lowBits = DoubleDoubleHexPair.lowBits(value);
+        double low = Double.longBitsToDouble(lowBits);
+
+        if (Double.isNaN(high)) {
+            if (Double.isNaN(low)) {
+                return NaN;
+            }
+        } else if (!Double.isFinite(high)) {
+            if (lowBits == 0L) {
+                return notFiniteValue(high);
+            }
+        } else if (high == 0d) {
+            if (lowBits == 0L) {
+                return Double.compare(high, -0d) == 0
+                        ? NEGATIVE_0
+                        : POSITIVE_0;
+            }
+        } else if (isCanonical(high, low)) {
+            //下位が負の0の場合は (high, +0) と区別されるため, キャッシュの対象外である
+            return lowBits == 0L
+                    ? cachedOrNew(high)
+                    : new DoubleDoubleFloat(high, low);
+        }
+        throw new NumberFormatException(
+                String.format("正規化されていない上位と下位の組: \"%s\"", value));
+    }
+
+    /**
+     * 直交座標 (x, y) を極座標 (r, θ) に変換したときの偏角 θ を返す. <br>
+     * 値は -π 以上 π 以下である.
+     * 
+     * <p>
+     * {@link Math#atan2(double, double)} による初期値に, Newton 法の補正を1回加えて計算する.
+     * y/x の商は計算しないので, 商の丸めによる誤差は生じない. <br>
+     * 相対誤差はおおむね {@code 8u^2} 以下である. <br>
+     * 象限, 符号付きの0, 無限大, NaN の扱いは {@link Math#atan2(double, double)} に従う. <br>
+     * (例えば, {@code atan2(+0, -0)} は π, {@code atan2(-0, +0)} は -0 である.)
+     * </p>
+     * 
+     * @param y 縦座標
+     * @param x 横座標
+     * @return atan2(y, x)
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static DoubleDoubleFloat atan2(DoubleDoubleFloat y, DoubleDoubleFloat x) {
+        return DoubleDoubleTrigonometric.atan2(y, x);
+    }
+
+    /**
+     * sqrt(x<sup>2</sup> + y<sup>2</sup>) を, 途中でのオーバーフローやアンダーフローなしに返す.
+     * 
+     * <p>
+     * 引数の2進指数が極端な場合に限り, 2の累乗でスケーリングしてから2乗和を計算する. <br>
+     * 相対誤差はおおむね {@code 4u^2} 以下である. <br>
+     * 特殊値の扱いは {@link Math#hypot(double, double)} に従う
+     * (いずれかが無限大なら, 他方が NaN であっても正の無限大).
+     * </p>
+     * 
+     * @param x x
+     * @param y y
+     * @return sqrt(x<sup>2</sup> + y<sup>2</sup>)
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static DoubleDoubleFloat hypot(DoubleDoubleFloat x, DoubleDoubleFloat y) {
+        return DoubleDoubleNorm.hypot(x, y);
+    }
+
+    /**
+     * ベクトルのユークリッドノルム (2-ノルム) を, 途中でのオーバーフローやアンダーフローなしに返す.
+     * 
+     * <p>
+     * 各要素の2乗 (誤差なく double-double で表される) を double-double 精度で累積する. <br>
+     * 絶対値最大の要素の2進指数が極端な場合に限り, 全要素を2の累乗でスケーリングする. <br>
+     * 2乗和の累積の誤差は要素数に比例しうるが, 20要素程度までの
+     * 相対誤差はおおむね {@code 4u^2} 以下である. <br>
+     * 特殊値の扱いは {@link #hypot(DoubleDoubleFloat, DoubleDoubleFloat)} と同様であり,
+     * 空の配列に対しては正の0を返す.
+     * </p>
+     * 
+     * @param values ベクトルの成分
+     * @return ユークリッドノルム
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public static DoubleDoubleFloat norm(double[] values) {
+        return DoubleDoubleNorm.norm(values);
+    }
+
+    /**
+     * ベクトルのユークリッドノルム (2-ノルム) を, 途中でのオーバーフローやアンダーフローなしに返す.
+     * 
+     * <p>
+     * 計算方法と特殊値の扱いは {@link #norm(double[])} と同様である.
+     * </p>
+     * 
+     * @param values ベクトルの成分
+     * @return ユークリッドノルム
+     * @throws NullPointerException 引数がnull, またはnullの要素を含む場合
+     */
+    public static DoubleDoubleFloat norm(DoubleDoubleFloat[] values) {
+        return DoubleDoubleNorm.norm(values);
+    }
+
+    /**
+     * パッケージ内部およびテスト用であり非公開.
+     * 与えられた {@code double} 値に対応する
+     * double-double 浮動小数点数のインスタンスを返す.
+     * 
+     * <p>
+     * 十分にバリデーションされていない.
+     * </p>
+     */
+    static DoubleDoubleFloat valueOf(double high, double low) {
+        return canonicalized(high, low);
+    }
+
+    /**
+     * 小さい整数と2の冪のインスタンスのキャッシュ. <br>
+     * 最初の参照時に初期化される.
+     */
+    private static final class ValueCache {
+
+        private static final int DEFAULT_INTEGER_HIGH = 256;
+        private static final int MAX_INTEGER_HIGH = 65536;
+        private static final int DEFAULT_MAX_EXPONENT = 64;
+        private static final int MAX_MAX_EXPONENT = 1022;
+
+        private static final long SIGNIFICAND_MASK = 0x000F_FFFF_FFFF_FFFFL;
+
+        private static final int INTEGER_HIGH = clamp(
+                Integer.getInteger(
+                        "matsu.num.mathtype.DoubleDoubleFloat.cache.integerHigh",
+                        DEFAULT_INTEGER_HIGH),
+                MAX_INTEGER_HIGH);
+        private static final int MAX_EXPONENT = clamp(
+                Integer.getInteger(
+                        "matsu.num.mathtype.DoubleDoubleFloat.cache.maxExponent",
+                        DEFAULT_MAX_EXPONENT),
+                MAX_MAX_EXPONENT);
+
+        /**
+         * INTEGERS[n + INTEGER_HIGH] が整数nを表す. n = 0 の要素は使わない.
+         */
+        private static final DoubleDoubleFloat[] INTEGERS;
+
+        /**
+         * POSITIVE_POWERS[k + MAX_EXPONENT] が 2^k を,
+         * NEGATIVE_POWERS[k + MAX_EXPONENT] が -2^k を表す.
+         */
+        private static final DoubleDoubleFloat[] POSITIVE_POWERS;
+        private static final DoubleDoubleFloat[] NEGATIVE_POWERS;
+
+        static {
+            INTEGERS = new DoubleDoubleFloat[2 * INTEGER_HIGH + 1];
+            INTEGERS[INTEGER_HIGH] = POSITIVE_0;
+            for (int n = 1; n <= INTEGER_HIGH; n++) {
+                DoubleDoubleFloat positive = n == 1 ? POSITIVE_1 : new DoubleDoubleFloat(n, 0d);
+                DoubleDoubleFloat negative = n == 1 ? NEGATIVE_1 : new DoubleDoubleFloat(-n, 0d);
+                positive.negated = negative;
+                negative.negated = positive;
+                INTEGERS[INTEGER_HIGH + n] = positive;
+                INTEGERS[INTEGER_HIGH - n] = negative;
+            }
+
+            POSITIVE_POWERS = new DoubleDoubleFloat[2 * MAX_EXPONENT + 1];
+            NEGATIVE_POWERS = new DoubleDoubleFloat[2 * MAX_EXPONENT + 1];
+            for (int k = -MAX_EXPONENT; k <= MAX_EXPONENT; k++) {
+                double power = Math.scalb(1d, k);
+                DoubleDoubleFloat positive;
+                DoubleDoubleFloat negative;
+                if (k >= 0 && power <= INTEGER_HIGH) {
+                    //整数のキャッシュと同一のインスタンスを共有する
+                    positive = INTEGERS[INTEGER_HIGH + (int) power];
+                    negative = INTEGERS[INTEGER_HIGH - (int) power];
+                } else {
+                    positive = new DoubleDoubleFloat(power, 0d);
+                    negative = new DoubleDoubleFloat(-power, 0d);
+                    positive.negated = negative;
+                    negative.negated = positive;
+                }
+                POSITIVE_POWERS[k + MAX_EXPONENT] = positive;
+                NEGATIVE_POWERS[k + MAX_EXPONENT] = negative;
+            }
+        }
+
+        private ValueCache() {
+            throw new AssertionError("インスタンス化不可");
+        }
+
+        private static int clamp(int value, int max) {
+            return Math.min(Math.max(value, 0), max);
+        }
+
+        /**
+         * 値 (value, 0) に相当するキャッシュされたインスタンスを返す. <br>
+         * キャッシュされていない場合はnullを返す. <br>
+         * 0はキャッシュの対象外 (符号の扱いは呼び出し側で行う).
+         */
+        static DoubleDoubleFloat get(double value) {
+            int n = (int) value;
+            if (n == value && n != 0 && -INTEGER_HIGH <= n && n <= INTEGER_HIGH) {
+                return INTEGERS[INTEGER_HIGH + n];
+            }
+
+            //仮数部が0である正規化数は2の冪 (0, 非正規化数, 無限大は指数で除外される)
+            long bits = Double.doubleToRawLongBits(value);
+            if ((bits & SIGNIFICAND_MASK) == 0L) {
+                int exponent = Math.getExponent(value);
+                if (-MAX_EXPONENT <= exponent && exponent <= MAX_EXPONENT) {
+                    return (bits < 0L ? NEGATIVE_POWERS : POSITIVE_POWERS)[exponent + MAX_EXPONENT];
+                }
+            }
+            return null;
+        }
     }
 
 }
@@ -0,0 +1,466 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * {@link DoubleDoubleFloat} の10進の文字列表現を生成する, イミュータブルな書式.
+ * 
+ * <p>
+ * 次の3種類の書式がある. <br>
+ * いずれも, 値 (上位と下位の和) の正確な値に基づいて最近接偶数丸めを行い,
+ * {@link BigDecimal} を経由した変換と同一の結果を返す.
+ * </p>
+ * 
+ * <ul>
+ * <li>{@link #shortest()}:
+ * 読み戻したときに元の値に戻る (10進数 d に対して,
+ * {@code high = round(d)}, {@code low = round(d - high)} となる) 10進数のうち,
+ * 桁数が最小のもの (複数ある場合は値に最も近いもの).
+ * レイアウトは {@link Double#toString(double)} に準じ,
+ * 絶対値が 10<sup>-3</sup> 以上 10<sup>7</sup> 未満の場合は小数点表記 (例: {@code 123.25}),
+ * それ以外は指数表記 (例: {@code 1.25E-5}) である.
+ * 下位が0である (すなわち {@code double} で表せる) 値については,
+ * 元の値に戻る10進数は {@code double} の正確な10進表記に限られるので, 一般に長い文字列になる.</li>
+ * <li>{@link #scientific(int)}:
+ * 指定した有効桁数の指数表記 (例: 有効桁数4で {@code 1.250E-5}).</li>
+ * <li>{@link #fixed(int)}:
+ * 指定した小数点以下の桁数の小数点表記 (例: 小数点以下2桁で {@code 123.25}).
+ * {@code new BigDecimal(high).add(new BigDecimal(low)).setScale(digits, RoundingMode.HALF_EVEN).toPlainString()}
+ * と同一であり, 0に丸められた場合は負号を付けない.</li>
+ * </ul>
+ * 
+ * <p>
+ * 非数は {@code NaN}, 無限大は {@code Infinity}, {@code -Infinity} と表記する. <br>
+ * 0は, {@link #shortest()} では {@code 0.0}, {@code -0.0},
+ * {@link #scientific(int)} では (有効桁数3の場合) {@code 0.00E0}, {@code -0.00E0} と表記する.
+ * </p>
+ * 
+ * <p>
+ * 変換は, 多くの場合, {@link BigDecimal} を用いない128bit整数演算により行われる. <br>
+ * 結果は {@link StringBuilder} や {@link Appendable} に直接書き込むことができる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class DoubleDoubleFormat {
+
+    private static final int SHORTEST = 0;
+    private static final int SCIENTIFIC = 1;
+    private static final int FIXED = 2;
+
+    private static final DoubleDoubleFormat SHORTEST_FORMAT = new DoubleDoubleFormat(SHORTEST, 0);
+
+    /**
+     * 最短表現の小数点表記の範囲 (先頭の桁の10進指数).
+     */
+    private static final int PLAIN_EXPONENT_LOWER = -3;
+    private static final int PLAIN_EXPONENT_UPPER = 7;
+
+    /**
+     * {@link DoubleDoubleFloat#toString()} の小数点表記の下限 ({@link BigDecimal#toString()} に準じる).
+     */
+    private static final int STANDARD_PLAIN_EXPONENT_LOWER = -6;
+
+    /**
+     * 文字列表現の長さのうち, 仮数の桁数と書式の桁数を除いた部分
+     * (符号, 小数点, 補う0, 指数部) の上限.
+     */
+    private static final int LAYOUT_MARGIN = 16;
+
+    private final int mode;
+    private final int digits;
+
+    private DoubleDoubleFormat(int mode, int digits) {
+        super();
+        this.mode = mode;
+        this.digits = digits;
+    }
+
+    /**
+     * 元の値に戻る最短の10進表現の書式を返す.
+     * 
+     * @return 最短表現の書式
+     */
+    public static DoubleDoubleFormat shortest() {
+        return SHORTEST_FORMAT;
+    }
+
+    /**
+     * 指定した有効桁数の指数表記の書式を返す.
+     * 
+     * @param significantDigits 有効桁数
+     * @return 指数表記の書式
+     * @throws IllegalArgumentException 有効桁数が1未満の場合
+     */
+    public static DoubleDoubleFormat scientific(int significantDigits) {
+        if (significantDigits < 1) {
+            throw new IllegalArgumentException(
+                    String.format("有効桁数が1未満: significantDigits = %s", significantDigits));
+        }
+        return new DoubleDoubleFormat(SCIENTIFIC, significantDigits);
+    }
+
+    /**
+     * 指定した小数点以下の桁数の小数点表記の書式を返す.
+     * 
+     * @param fractionDigits 小数点以下の桁数
+     * @return 小数点表記の書式
+     * @throws IllegalArgumentException 桁数が負の場合
+     */
+    public static DoubleDoubleFormat fixed(int fractionDigits) {
+        if (fractionDigits < 0) {
+            throw new IllegalArgumentException(
+                    String.format("小数点以下の桁数が負: fractionDigits = %s", fractionDigits));
+        }
+        return new DoubleDoubleFormat(FIXED, fractionDigits);
+    }
+
+    /**
+     * 値の文字列表現を返す.
+     * 
+     * @param value 値
+     * @return 文字列表現
+     * @throws NullPointerException 引数がnullの場合
+     */
+    public String format(DoubleDoubleFloat value) {
+        return this.appendTo(value, new StringBuilder()).toString();
+    }
+
+    /**
+     * 値の文字列表現を {@link StringBuilder} に追加する.
+     * 
+     * @param value 値
+     * @param dest 追加先
+     * @return {@code dest}
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public StringBuilder appendTo(DoubleDoubleFloat value, StringBuilder dest) {
+        Objects.requireNonNull(dest);
+        try {
+            this.write(value, dest);
+        } catch (IOException e) {
+            //StringBuilder は IOException をスローしない
+            throw new AssertionError("Bug", e);
+        }
+        return dest;
+    }
+
+    /**
+     * 値の文字列表現を {@link Appendable} に追加する. <br>
+     * 文字列表現は中間の {@link String} を経由せず,
+     * 文字配列に構築したうえで1回の呼び出しで追加先に書き込まれる.
+     * 
+     * @param value 値
+     * @param dest 追加先
+     * @return {@code dest}
+     * @throws IOException 追加先への書き込みで例外が発生した場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public Appendable appendTo(DoubleDoubleFloat value, Appendable dest) throws IOException {
+        Objects.requireNonNull(dest);
+        this.write(value, dest);
+        return dest;
+    }
+
+    /**
+     * 値の文字列表現を追加先に書き込む.
+     */
+    private void write(DoubleDoubleFloat value, Appendable dest) throws IOException {
+        double high = value.doubleValue();
+        if (!Double.isFinite(high)) {
+            dest.append(Double.toString(high));
+            return;
+        }
+        boolean negative = Double.doubleToRawLongBits(high) < 0L;
+        if (high == 0d) {
+            char[] buffer = new char[this.digits + LAYOUT_MARGIN];
+            appendChars(buffer, this.writeZero(negative, buffer), dest);
+            return;
+        }
+
+        DoubleDoubleDecimal decimal = new DoubleDoubleDecimal(high, value.lowValue());
+        char[] buffer;
+        int length;
+        switch (this.mode) {
+            case SHORTEST:
+                decimal.toShortest();
+                buffer = new char[decimal.digitCount() + LAYOUT_MARGIN];
+                length = writeShortest(negative, decimal, buffer);
+                break;
+            case SCIENTIFIC:
+                decimal.toSignificantDigits(this.digits);
+                buffer = new char[decimal.digitCount() + LAYOUT_MARGIN];
+                length = writeScientific(negative, decimal, buffer);
+                break;
+            case FIXED:
+                decimal.toFractionDigits(this.digits);
+                buffer = new char[decimal.digitCount() + this.digits + LAYOUT_MARGIN];
+                length = writeFixed(negative, decimal, buffer);
+                break;
+            default:
+                throw new AssertionError("Bug");
+        }
+        appendChars(buffer, length, dest);
+    }
+
+    /**
+     * この書式の文字列表現を返す.
+     */
+    @Override
+    public String toString() {
+        switch (this.mode) {
+            case SHORTEST:
+                return "DoubleDoubleFormat(shortest)";
+            case SCIENTIFIC:
+                return String.format("DoubleDoubleFormat(scientific, %s)", this.digits);
+            case FIXED:
+                return String.format("DoubleDoubleFormat(fixed, %s)", this.digits);
+            default:
+                throw new AssertionError("Bug");
+        }
+    }
+
+    /**
+     * {@link DoubleDoubleFloat#toString()} の文字列表現を返す. <br>
+     * 有限かつ0でない値に対して,
+     * {@code new BigDecimal(high).add(new BigDecimal(low)).round(new MathContext(32, RoundingMode.HALF_EVEN)).toString()}
+     * と同一である.
+     */
+    static String standardString(double high, double low) {
+        assert Double.isFinite(high) && high != 0d;
+
+        DoubleDoubleDecimal decimal = new DoubleDoubleDecimal(high, low);
+        decimal.toStandard();
+        char[] digits = decimal.digits();
+        int count = decimal.digitCount();
+        char[] buffer = new char[count + LAYOUT_MARGIN];
+        int position = 0;
+        if (high < 0d) {
+            buffer[position++] = '-';
+        }
+        int scale = -decimal.exponent();
+        int adjusted = count - 1 - scale;
+        if (scale == 0) {
+            position = writeChars(digits, 0, count, buffer, position);
+            return new String(buffer, 0, position);
+        }
+        if (scale > 0 && adjusted >= STANDARD_PLAIN_EXPONENT_LOWER) {
+            position = writePlain(digits, count, scale, buffer, position);
+            return new String(buffer, 0, position);
+        }
+        buffer[position++] = digits[0];
+        if (count > 1) {
+            buffer[position++] = '.';
+            position = writeChars(digits, 1, count - 1, buffer, position);
+        }
+        if (adjusted != 0) {
+            buffer[position++] = 'E';
+            if (adjusted > 0) {
+                buffer[position++] = '+';
+            }
+            position = writeInt(adjusted, buffer, position);
+        }
+        return new String(buffer, 0, position);
+    }
+
+    /**
+     * 0の文字列表現を書き込み, その長さを返す.
+     */
+    private int writeZero(boolean negative, char[] buffer) {
+        int position = 0;
+        switch (this.mode) {
+            case SHORTEST:
+                if (negative) {
+                    buffer[position++] = '-';
+                }
+                buffer[position++] = '0';
+                buffer[position++] = '.';
+                buffer[position++] = '0';
+                return position;
+            case SCIENTIFIC:
+                if (negative) {
+                    buffer[position++] = '-';
+                }
+                buffer[position++] = '0';
+                if (this.digits > 1) {
+                    buffer[position++] = '.';
+                    position = writeZeros(this.digits - 1, buffer, position);
+                }
+                buffer[position++] = 'E';
+                buffer[position++] = '0';
+                return position;
+            case FIXED:
+                buffer[position++] = '0';
+                if (this.digits > 0) {
+                    buffer[position++] = '.';
+                    position = writeZeros(this.digits, buffer, position);
+                }
+                return position;
+            default:
+                throw new AssertionError("Bug");
+        }
+    }
+
+    /**
+     * 最短表現を, {@link Double#toString(double)} に準じたレイアウトで書き込み, その長さを返す.
+     */
+    private static int writeShortest(boolean negative, DoubleDoubleDecimal decimal, char[] buffer) {
+        int position = 0;
+        if (negative) {
+            buffer[position++] = '-';
+        }
+        char[] digits = decimal.digits();
+        int count = decimal.digitCount();
+        int leading = decimal.exponent() + count - 1;
+        if (leading >= PLAIN_EXPONENT_LOWER && leading < PLAIN_EXPONENT_UPPER) {
+            int scale = -decimal.exponent();
+            if (scale <= 0) {
+                //整数
+                position = writeChars(digits, 0, count, buffer, position);
+                position = writeZeros(-scale, buffer, position);
+                buffer[position++] = '.';
+                buffer[position++] = '0';
+                return position;
+            }
+            return writePlain(digits, count, scale, buffer, position);
+        }
+        buffer[position++] = digits[0];
+        buffer[position++] = '.';
+        if (count > 1) {
+            position = writeChars(digits, 1, count - 1, buffer, position);
+        } else {
+            buffer[position++] = '0';
+        }
+        buffer[position++] = 'E';
+        return writeInt(leading, buffer, position);
+    }
+
+    /**
+     * 指数表記を書き込み, その長さを返す.
+     */
+    private static int writeScientific(boolean negative, DoubleDoubleDecimal decimal, char[] buffer) {
+        int position = 0;
+        if (negative) {
+            buffer[position++] = '-';
+        }
+        char[] digits = decimal.digits();
+        int count = decimal.digitCount();
+        buffer[position++] = digits[0];
+        if (count > 1) {
+            buffer[position++] = '.';
+            position = writeChars(digits, 1, count - 1, buffer, position);
+        }
+        buffer[position++] = 'E';
+        return writeInt(decimal.exponent() + count - 1, buffer, position);
+    }
+
+    /**
+     * 小数点表記を書き込み, その長さを返す.
+     */
+    private static int writeFixed(boolean negative, DoubleDoubleDecimal decimal, char[] buffer) {
+        int position = 0;
+        char[] digits = decimal.digits();
+        int count = decimal.digitCount();
+        if (negative && !(count == 1 && digits[0] == '0')) {
+            buffer[position++] = '-';
+        }
+        int scale = -decimal.exponent();
+        if (scale == 0) {
+            return writeChars(digits, 0, count, buffer, position);
+        }
+        return writePlain(digits, count, scale, buffer, position);
+    }
+
+    /**
+     * 仮数 digits と正のスケール scale が表す値 digits * 10^(-scale) を, 小数点表記で書き込む.
+     * 
+     * @return 書き込んだ後の位置
+     */
+    private static int writePlain(char[] digits, int count, int scale, char[] buffer, int position) {
+        assert scale > 0;
+
+        if (count > scale) {
+            position = writeChars(digits, 0, count - scale, buffer, position);
+            buffer[position++] = '.';
+            return writeChars(digits, count - scale, scale, buffer, position);
+        }
+        buffer[position++] = '0';
+        buffer[position++] = '.';
+        position = writeZeros(scale - count, buffer, position);
+        return writeChars(digits, 0, count, buffer, position);
+    }
+
+    /**
+     * 文字配列 chars の {@code [offset, offset + length)} を書き込む.
+     * 
+     * @return 書き込んだ後の位置
+     */
+    private static int writeChars(char[] chars, int offset, int length, char[] buffer, int position) {
+        System.arraycopy(chars, offset, buffer, position, length);
+        return position + length;
+    }
+
+    /**
+     * 整数の10進表記を書き込む.
+     * 
+     * @return 書き込んだ後の位置
+     */
+    private static int writeInt(int value, char[] buffer, int position) {
+        long remaining = value;
+        if (remaining < 0L) {
+            buffer[position++] = '-';
+            remaining = -remaining;
+        }
+        int end = position + 1;
+        for (long r = remaining / 10L; r != 0L; r /= 10L) {
+            end++;
+        }
+        for (int p = end; p > position;) {
+            buffer[--p] = (char) ('0' + remaining % 10L);
+            remaining /= 10L;
+        }
+        return end;
+    }
+
+    /**
+     * 0を count 個書き込む.
+     * 
+     * @return 書き込んだ後の位置
+     */
+    private static int writeZeros(int count, char[] buffer, int position) {
+        Arrays.fill(buffer, position, position + count, '0');
+        return position + count;
+    }
+
+    /**
+     * 構築した文字列表現 {@code buffer[0, length)} を, 1回の呼び出しで追加する. <br>
+     * {@link Appendable} には文字配列を追加するメソッドがないため,
+     * {@link StringBuilder}, {@link Writer} 以外には複製を伴わない {@link CharBuffer} のビューとして追加する.
+     */
+    private static void appendChars(char[] buffer, int length, Appendable dest) throws IOException {
+        if (dest instanceof StringBuilder) {
+            ((StringBuilder) dest).append(buffer, 0, length);
+            return;
+        }
+        if (dest instanceof Writer) {
+            ((Writer) dest).write(buffer, 0, length);
+            return;
+        }
+        dest.append(CharBuffer.wrap(buffer, 0, length));
+    }
+}
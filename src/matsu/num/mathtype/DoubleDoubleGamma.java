@@ -0,0 +1,382 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * double-double 精度のガンマ関数と対数ガンマ関数の計算.
+ * 
+ * <p>
+ * 1, 2 の近傍 ({@code |z| <= 1/2}) では, 次の級数で log Γ を計算する.
+ * </p>
+ * 
+ * <pre>
+ * log Γ(1 + z) = z(1 - γ) - log(1 + z) + sum_{k &ge; 2} (-1)^k ζ(k, 2) z^k / k
+ * log Γ(2 + z) = z(1 - γ) + sum_{k &ge; 2} (-1)^k ζ(k, 2) z^k / k
+ * </pre>
+ * 
+ * <p>
+ * ここで, γ はEulerの定数, ζ(k, a) はHurwitzのゼータ関数である. <br>
+ * Taylor 級数 log Γ(1 + z) = -γz + sum_{k &ge; 2} (-1)^k ζ(k) z^k / k から
+ * 特異点 z = -1 の寄与を log(1 + z) として分離しているため,
+ * 係数は ζ(k, 2) ≈ 2^(-k) により減衰する. <br>
+ * 零点 x = 1, 2 の近傍でも主要項どうしの桁落ちは小さい. <br>
+ * 20以上の引数では Stirling の漸近展開を用い, その間は漸化式 Γ(x + 1) = xΓ(x) で
+ * 2の近傍に帰着させる. <br>
+ * 負の引数は相反公式 Γ(x)Γ(1 - x) = π / sin(πx) と Γ(1 - x) = -xΓ(-x) による.
+ * </p>
+ * 
+ * <p>
+ * 級数と漸近展開の係数は, 最初の参照時に {@link BigDecimal} による計算で初期化される
+ * ({@link Coefficients}).
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleGamma {
+
+    /**
+     * 1 - γ の double-double 近似 (最近接への丸め, γ はEulerの定数).
+     */
+    private static final DoubleDoubleFloat ONE_MINUS_EULER =
+            DoubleDoubleFloat.valueOf(0x1.b0ee6072093cep-2, 0x1.6cb90701fbfabp-58);
+
+    /**
+     * log(2π)/2 - 1/2 の double-double 近似 (最近接への丸め).
+     */
+    private static final DoubleDoubleFloat HALF_LOG_2PI_MINUS_HALF =
+            DoubleDoubleFloat.valueOf(0x1.acfe390c97d69p-2, 0x1.3494bc9001442p-56);
+
+    /**
+     * log(π) の double-double 近似 (最近接への丸め).
+     */
+    private static final DoubleDoubleFloat LOG_PI =
+            DoubleDoubleFloat.valueOf(0x1.250d048e7a1bdp+0, 0x1.7abf2ad8d5088p-57);
+
+    /**
+     * Stirling の漸近展開を用いる引数の下限.
+     */
+    private static final double STIRLING_LOWER = 20d;
+
+    /**
+     * 引数がこれ以上ならば, Γ(x) はオーバーフローする.
+     */
+    private static final double GAMMA_OVERFLOW = 172d;
+
+    /**
+     * 引数がこれ未満ならば, Γ(x) は ±0 にアンダーフローする.
+     */
+    private static final double GAMMA_UNDERFLOW = -200d;
+
+    /**
+     * 相反公式において Γ(-x) がオーバーフローする場合に,
+     * 漸化式により分離する因子の個数.
+     */
+    private static final int REFLECTION_SPLIT = 30;
+
+    private DoubleDoubleGamma() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * log|Γ(x)| を返す.
+     */
+    static DoubleDoubleFloat lgamma(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (Double.isInfinite(xh) || xh == 0d) {
+            return DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (xh > 0d) {
+            return lgammaOfPositive(x);
+        }
+        if (xh > -0.5) {
+            //log|Γ(x)| = log Γ(1 + x) - log|x|
+            return kernel(x, 1).minus(DoubleDoubleExponential.log(x.negated()));
+        }
+
+        //log|Γ(x)| = log(π) - log|x sin(πx)| - log Γ(-x)
+        //(1 - x は double-double で正確に表せるとは限らないため, Γ(1 - x) = -xΓ(-x) とする)
+        DoubleDoubleFloat sin = sinPi(x);
+        if (sin.doubleValue() == 0d) {
+            //非正の整数
+            return DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        DoubleDoubleFloat y = x.negated();
+        return LOG_PI.minus(DoubleDoubleExponential.log(y.times(sin.abs())))
+                .minus(lgammaOfPositive(y));
+    }
+
+    /**
+     * Γ(x) を返す.
+     */
+    static DoubleDoubleFloat gamma(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh) || xh == Double.NEGATIVE_INFINITY) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (xh == 0d) {
+            return 1d / xh > 0d
+                    ? DoubleDoubleFloat.POSITIVE_INFINITY
+                    : DoubleDoubleFloat.NEGATIVE_INFINITY;
+        }
+        if (xh >= GAMMA_OVERFLOW) {
+            //正の無限大を含む
+            return DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (xh > 0d) {
+            return gammaOfPositive(x);
+        }
+        if (xh > -0.5) {
+            //Γ(x) = Γ(1 + x) / x
+            return DoubleDoubleExponential.exp(kernel(x, 1)).dividedBy(x);
+        }
+
+        //Γ(x) = π / (sin(πx) Γ(1 - x)) = -π / (x sin(πx) Γ(-x))
+        DoubleDoubleFloat sin = sinPi(x);
+        if (sin.doubleValue() == 0d) {
+            //負の整数
+            return DoubleDoubleFloat.NaN;
+        }
+        if (xh < GAMMA_UNDERFLOW) {
+            return sin.doubleValue() > 0d
+                    ? DoubleDoubleFloat.POSITIVE_0
+                    : DoubleDoubleFloat.NEGATIVE_0;
+        }
+        DoubleDoubleFloat y = x.negated();
+        if (y.doubleValue() < GAMMA_OVERFLOW) {
+            return DoubleDoubleTrigonometric.PI.dividedBy(sin.times(gammaOfPositive(y))).dividedBy(y);
+        }
+        //Γ(-x) がオーバーフローするため, Γ(y) = Γ(y - n)(y - 1)...(y - n) と分離して除算する
+        DoubleDoubleFloat shifted = y.minus(REFLECTION_SPLIT);
+        return DoubleDoubleTrigonometric.PI.dividedBy(sin.times(gammaOfPositive(shifted)))
+                .dividedBy(shiftedProduct(y, REFLECTION_SPLIT)).dividedBy(y);
+    }
+
+    /**
+     * 正の有限の x に対し, log Γ(x) を返す.
+     */
+    private static DoubleDoubleFloat lgammaOfPositive(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (xh < 0.5) {
+            //log Γ(x) = log Γ(1 + x) - log(x)
+            return kernel(x, 1).minus(DoubleDoubleExponential.log(x));
+        }
+        if (xh < 1.5) {
+            return kernel(x.minus(1d), 1);
+        }
+        if (xh < 2.5) {
+            return kernel(x.minus(2d), 2);
+        }
+        if (xh < STIRLING_LOWER) {
+            //log Γ(x) = log((x - 1)...(x - m)) + log Γ(x - m), 1.5 <= x - m < 2.5
+            //両項とも正またはその絶対値が小さいため, 和は桁落ちしない
+            int m = (int) (xh - 1.5);
+            return DoubleDoubleExponential.log(shiftedProduct(x, m))
+                    .plus(kernel(x.minus(m + 2), 2));
+        }
+        return stirling(x);
+    }
+
+    /**
+     * 172未満の正の有限の x に対し, Γ(x) を返す.
+     */
+    private static DoubleDoubleFloat gammaOfPositive(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (xh < 0.5) {
+            //Γ(x) = Γ(1 + x) / x
+            return DoubleDoubleExponential.exp(kernel(x, 1)).dividedBy(x);
+        }
+        if (xh < 1.5) {
+            return DoubleDoubleExponential.exp(kernel(x.minus(1d), 1));
+        }
+
+        //Γ(x) = (x - 1)...(x - m) Γ(x - m), 1.5 <= x - m < 2.5
+        //log Γ の指数関数をとると引数の絶対誤差が相対誤差に拡大されるため,
+        //指数関数は |log Γ| の小さい 2 の近傍でのみ用いる
+        int m = (int) (xh - 1.5);
+        DoubleDoubleFloat value = DoubleDoubleExponential.exp(kernel(x.minus(m + 2), 2));
+        return m == 0 ? value : value.times(shiftedProduct(x, m));
+    }
+
+    /**
+     * (x - 1)(x - 2)...(x - m) を返す (m &ge; 1).
+     */
+    private static DoubleDoubleFloat shiftedProduct(DoubleDoubleFloat x, int m) {
+        DoubleDoubleFloat product = x.minus(1d);
+        for (int i = 2; i <= m; i++) {
+            product = product.times(x.minus(i));
+        }
+        return product;
+    }
+
+    /**
+     * |z| &le; 1/2 程度の z に対し, log Γ(1 + z) (start = 1) または log Γ(2 + z) (start = 2) を返す.
+     */
+    private static DoubleDoubleFloat kernel(DoubleDoubleFloat z, int start) {
+        DoubleDoubleFloat[] c = Coefficients.SERIES;
+        DoubleDoubleFloat series = c[c.length - 1];
+        for (int k = c.length - 2; k >= 0; k--) {
+            series = series.times(z).plus(c[k]);
+        }
+        DoubleDoubleFloat value = z.times(ONE_MINUS_EULER).plus(series.times(z.square()));
+        return start == 1
+                ? value.minus(DoubleDoubleExponential.log1p(z))
+                : value;
+    }
+
+    /**
+     * 20以上の x に対し, Stirling の漸近展開により log Γ(x) を返す.
+     */
+    private static DoubleDoubleFloat stirling(DoubleDoubleFloat x) {
+        //log Γ(x) = (x - 1/2)(log(x) - 1) + log(2π)/2 - 1/2 + sum_k S_k / x^(2k-1)
+        DoubleDoubleFloat r = x.reciprocal();
+        DoubleDoubleFloat r2 = r.square();
+        DoubleDoubleFloat[] c = Coefficients.STIRLING;
+        DoubleDoubleFloat series = c[c.length - 1];
+        for (int k = c.length - 2; k >= 0; k--) {
+            series = series.times(r2).plus(c[k]);
+        }
+        series = series.times(r);
+
+        return x.minus(0.5).times(DoubleDoubleExponential.log(x).minus(1d))
+                .plus(HALF_LOG_2PI_MINUS_HALF.plus(series));
+    }
+
+    /**
+     * 有限の x に対し, sin(πx) を返す. <br>
+     * x を最も近い整数 n と端数 f に分けて, (-1)^n sin(πf) として計算する
+     * (x が整数の場合は符号付きの0).
+     */
+    private static DoubleDoubleFloat sinPi(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        double xl = x.lowValue();
+        double nh = Math.rint(xh);
+        DoubleDoubleFloat fraction;
+        boolean odd;
+        if (nh != xh) {
+            //|xh| < 2^52 であり, xh - nh は正確に計算される
+            fraction = DoubleDoubleFloat.valueOf(xh - nh).plus(xl);
+            odd = DoubleDoubleMath.isOdd(nh);
+        } else {
+            double nl = Math.rint(xl);
+            fraction = DoubleDoubleFloat.valueOf(xl - nl);
+            odd = DoubleDoubleMath.isOdd(nh) ^ DoubleDoubleMath.isOdd(nl);
+        }
+        DoubleDoubleFloat value = DoubleDoubleTrigonometric.sin(
+                DoubleDoubleTrigonometric.PI.times(fraction));
+        return odd ? value.negated() : value;
+    }
+
+    /**
+     * 級数と漸近展開の係数. <br>
+     * 最初の参照時に, {@link BigDecimal} による計算で初期化される.
+     */
+    private static final class Coefficients {
+
+        /**
+         * SERIES[k - 2] が (-1)^k ζ(k, 2) / k を表す (2 &le; k &le; 54). <br>
+         * |z| = 1/2 において, 打ち切った項の寄与は 10^(-34) 未満である.
+         */
+        static final DoubleDoubleFloat[] SERIES;
+
+        /**
+         * STIRLING[k - 1] が B_{2k} / (2k(2k - 1)) を表す (1 &le; k &le; 16, B はBernoulli数). <br>
+         * x &ge; 20 において, 打ち切った項の寄与は 10^(-33) 未満である.
+         */
+        static final DoubleDoubleFloat[] STIRLING;
+
+        /**
+         * Hurwitzのゼータ関数を Euler-Maclaurin の和公式で計算する際に,
+         * 直接和をとる項の上限 (これを含まない).
+         */
+        private static final int EULER_MACLAURIN_START = 25;
+
+        /**
+         * Euler-Maclaurin の和公式の補正項の個数.
+         */
+        private static final int EULER_MACLAURIN_TERMS = 20;
+
+        static {
+            //double-double の精度 (約32桁) に対して十分な桁数で計算する
+            MathContext mc = new MathContext(60);
+            BigDecimal[] bernoulli = bernoulliNumbers(2 * EULER_MACLAURIN_TERMS, new MathContext(100));
+
+            SERIES = new DoubleDoubleFloat[53];
+            for (int k = 2; k < SERIES.length + 2; k++) {
+                BigDecimal c = hurwitzZeta(k, 2, bernoulli, mc)
+                        .divide(BigDecimal.valueOf(k), mc);
+                SERIES[k - 2] = DoubleDoubleFloat.valueOf((k & 1) == 0 ? c : c.negate());
+            }
+
+            STIRLING = new DoubleDoubleFloat[16];
+            for (int k = 1; k <= STIRLING.length; k++) {
+                STIRLING[k - 1] = DoubleDoubleFloat.valueOf(
+                        bernoulli[2 * k].divide(BigDecimal.valueOf(2L * k * (2 * k - 1)), mc));
+            }
+        }
+
+        /**
+         * B_0, ..., B_n を返す.
+         */
+        private static BigDecimal[] bernoulliNumbers(int n, MathContext mc) {
+            //B_m = -1/(m + 1) sum_{k=0}^{m-1} C(m + 1, k) B_k
+            BigDecimal[] b = new BigDecimal[n + 1];
+            b[0] = BigDecimal.ONE;
+            for (int m = 1; m <= n; m++) {
+                BigDecimal sum = BigDecimal.ZERO;
+                BigInteger binomial = BigInteger.ONE;
+                for (int k = 0; k < m; k++) {
+                    sum = sum.add(new BigDecimal(binomial).multiply(b[k]), mc);
+                    binomial = binomial.multiply(BigInteger.valueOf(m + 1 - k))
+                            .divide(BigInteger.valueOf(k + 1));
+                }
+                b[m] = sum.divide(BigDecimal.valueOf(m + 1), mc).negate();
+            }
+            return b;
+        }
+
+        /**
+         * 整数 s &ge; 2, a &ge; 1 に対し, ζ(s, a) を返す.
+         */
+        private static BigDecimal hurwitzZeta(
+                int s, int a, BigDecimal[] bernoulli, MathContext mc) {
+            //ζ(s, a) = sum_{n=a}^{N-1} n^(-s) + N^(1-s)/(s - 1) + N^(-s)/2
+            //          + sum_{j=1}^{J} B_{2j}/(2j)! s(s + 1)...(s + 2j - 2) N^(-s-2j+1)
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int n = a; n < EULER_MACLAURIN_START; n++) {
+                sum = sum.add(BigDecimal.ONE.divide(BigDecimal.valueOf(n).pow(s), mc), mc);
+            }
+            BigDecimal bigN = BigDecimal.valueOf(EULER_MACLAURIN_START);
+            BigDecimal powerN = BigDecimal.ONE.divide(bigN.pow(s - 1), mc);
+            sum = sum.add(powerN.divide(BigDecimal.valueOf(s - 1), mc), mc);
+            powerN = powerN.divide(bigN, mc);
+            sum = sum.add(powerN.divide(BigDecimal.valueOf(2), mc), mc);
+
+            //factor = s(s + 1)...(s + 2j - 2) / (2j)!
+            BigDecimal factor = BigDecimal.valueOf(s).divide(BigDecimal.valueOf(2), mc);
+            BigDecimal inverseN2 = BigDecimal.ONE.divide(bigN.multiply(bigN), mc);
+            powerN = powerN.multiply(bigN, mc);
+            for (int j = 1; j <= EULER_MACLAURIN_TERMS; j++) {
+                powerN = powerN.multiply(inverseN2, mc);
+                sum = sum.add(bernoulli[2 * j].multiply(factor, mc).multiply(powerN, mc), mc);
+                factor = factor.multiply(BigDecimal.valueOf((long) (s + 2 * j - 1) * (s + 2 * j)), mc)
+                        .divide(BigDecimal.valueOf((long) (2 * j + 1) * (2 * j + 2)), mc);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.util.Arrays;
+
+/**
+ * double-double 浮動小数点数の, 上位と下位のビット表現による可逆な文字列表現 (16進ペア表現).
+ * 
+ * <p>
+ * 文字列は, 上位の {@link Double#doubleToLongBits(double)} の16進表記16桁,
+ * 区切り文字 {@code ':'}, 下位の同様の16進表記16桁をこの順に並べた33文字である
+ * (例: 1/3 は {@code 3fd5555555555555:3c75555555555555}). <br>
+ * 出力では英字を小文字とし, 読み込みでは大文字も受け付ける.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleHexPair {
+
+    /**
+     * 文字列表現の長さ.
+     */
+    static final int LENGTH = 33;
+
+    /**
+     * 上位と下位の区切り文字.
+     */
+    private static final char SEPARATOR = ':';
+
+    /**
+     * {@code long} 1語の16進表記の桁数.
+     */
+    private static final int WORD_DIGITS = 16;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * 文字から16進数字の値への表 (16進数字でない場合は -1).
+     */
+    private static final byte[] HEX_VALUES = hexValues();
+
+    private DoubleDoubleHexPair() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * 上位と下位の16進ペア表現を返す.
+     */
+    static String encode(double high, double low) {
+        char[] chars = new char[LENGTH];
+        writeBits(Double.doubleToLongBits(high), chars, 0);
+        chars[WORD_DIGITS] = SEPARATOR;
+        writeBits(Double.doubleToLongBits(low), chars, WORD_DIGITS + 1);
+        return new String(chars);
+    }
+
+    /**
+     * 文字列の長さと区切り文字を検証する.
+     * 
+     * @throws NumberFormatException 16進ペア表現として解釈できない場合
+     */
+    static void requireFormat(CharSequence text) {
+        if (text.length() != LENGTH || text.charAt(WORD_DIGITS) != SEPARATOR) {
+            throw formatException(text);
+        }
+    }
+
+    /**
+     * {@link #requireFormat(CharSequence)} で検証した16進ペア表現から, 上位のビット表現を読み込む.
+     * 
+     * @throws NumberFormatException 16進数字でない文字を含む場合
+     */
+    static long highBits(CharSequence text) {
+        return readBits(text, 0);
+    }
+
+    /**
+     * {@link #requireFormat(CharSequence)} で検証した16進ペア表現から, 下位のビット表現を読み込む.
+     * 
+     * @throws NumberFormatException 16進数字でない文字を含む場合
+     */
+    static long lowBits(CharSequence text) {
+        return readBits(text, WORD_DIGITS + 1);
+    }
+
+    /**
+     * 文字列表現として解釈できない場合の例外を返す.
+     */
+    static NumberFormatException formatException(CharSequence text) {
+        return new NumberFormatException(
+                String.format("double-double の16進ペア表現として解釈できない: \"%s\"", text));
+    }
+
+    private static void writeBits(long bits, char[] dest, int offset) {
+        for (int i = WORD_DIGITS - 1; i >= 0; i--) {
+            dest[offset + i] = HEX_DIGITS[(int) (bits & 0xFL)];
+            bits >>>= 4;
+        }
+    }
+
+    private static long readBits(CharSequence text, int offset) {
+        long bits = 0L;
+        int invalid = 0;
+        for (int i = 0; i < WORD_DIGITS; i++) {
+            char c = text.charAt(offset + i);
+            int digit = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+            invalid |= digit;
+            bits = (bits << 4) | (digit & 0xF);
+        }
+        if (invalid < 0) {
+            throw formatException(text);
+        }
+        return bits;
+    }
+
+    private static byte[] hexValues() {
+        byte[] values = new byte['f' + 1];
+        Arrays.fill(values, (byte) -1);
+        for (int digit = 0; digit < 16; digit++) {
+            values[HEX_DIGITS[digit]] = (byte) digit;
+            values[Character.toUpperCase(HEX_DIGITS[digit])] = (byte) digit;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+/**
+ * double-double 精度の双曲線関数と逆双曲線関数の計算.
+ * 
+ * <p>
+ * いずれも {@link DoubleDoubleExponential} の指数関数, 対数関数に帰着させる. <br>
+ * 0に近い引数では, exp(x) - exp(-x) や log(1 + t) の桁落ちを避けるため,
+ * expm1, log1p による表現を用いる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleHyperbolic {
+
+    /**
+     * 絶対値がこれ未満の x に対して, sinh(x), tanh(x), asinh(x), atanh(x) は x に丸められる
+     * (3次の項の相対的な大きさが 2^(-108) 未満である).
+     */
+    private static final double SMALL_ARGUMENT = 0x1p-54;
+
+    /**
+     * sinh, cosh において, expm1 による表現を用いる絶対値の上限 (これを含まない).
+     */
+    private static final double EXPM1_UPPER = 1d;
+
+    /**
+     * sinh, cosh において, exp(|x|) がオーバーフローしうるため
+     * exp(|x|/2) の2乗として計算する絶対値の下限 (これを含まない).
+     */
+    private static final double HALVED_EXP_LOWER = 709d;
+
+    /**
+     * 絶対値がこれ以上の x に対して, tanh(x) は ±1 に丸められる
+     * (1 - |tanh(x)| は 2exp(-2|x|) 程度であり, 2^(-107) 未満である).
+     */
+    private static final double TANH_SATURATION = 40d;
+
+    /**
+     * 絶対値がこれ以上の x に対して, asinh(x), acosh(x) は log(2|x|) として計算する
+     * (1/(2x)^2 の寄与が 2^(-108) 未満である).
+     */
+    private static final double LOG_2X_LOWER = 0x1p54;
+
+    private DoubleDoubleHyperbolic() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * sinh(x) を返す.
+     */
+    static DoubleDoubleFloat sinh(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (Math.abs(xh) < SMALL_ARGUMENT) {
+            //0を含み, 符号付きの0はそのまま返される
+            return x;
+        }
+        DoubleDoubleFloat[] out = new DoubleDoubleFloat[2];
+        sinhCoshOfAbs(xh < 0d ? x.negated() : x, out);
+        return xh < 0d ? out[0].negated() : out[0];
+    }
+
+    /**
+     * cosh(x) を返す.
+     */
+    static DoubleDoubleFloat cosh(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (Math.abs(xh) < SMALL_ARGUMENT) {
+            return DoubleDoubleFloat.POSITIVE_1;
+        }
+        DoubleDoubleFloat[] out = new DoubleDoubleFloat[2];
+        sinhCoshOfAbs(xh < 0d ? x.negated() : x, out);
+        return out[1];
+    }
+
+    /**
+     * {sinh(x), cosh(x)} を返す. <br>
+     * 指数関数の計算は1回のみ行われる.
+     */
+    static DoubleDoubleFloat[] sinhCosh(DoubleDoubleFloat x) {
+        DoubleDoubleFloat[] out = new DoubleDoubleFloat[2];
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            out[0] = DoubleDoubleFloat.NaN;
+            out[1] = DoubleDoubleFloat.NaN;
+            return out;
+        }
+        if (Math.abs(xh) < SMALL_ARGUMENT) {
+            out[0] = x;
+            out[1] = DoubleDoubleFloat.POSITIVE_1;
+            return out;
+        }
+        sinhCoshOfAbs(xh < 0d ? x.negated() : x, out);
+        if (xh < 0d) {
+            out[0] = out[0].negated();
+        }
+        return out;
+    }
+
+    /**
+     * tanh(x) を返す.
+     */
+    static DoubleDoubleFloat tanh(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        double abs = Math.abs(xh);
+        if (abs < SMALL_ARGUMENT) {
+            return x;
+        }
+        if (abs >= TANH_SATURATION) {
+            return xh > 0d ? DoubleDoubleFloat.POSITIVE_1 : DoubleDoubleFloat.NEGATIVE_1;
+        }
+
+        //tanh(|x|) = E / (E + 2), E = expm1(2|x|)
+        DoubleDoubleFloat e = DoubleDoubleExponential.expm1((xh < 0d ? x.negated() : x).times(2d));
+        DoubleDoubleFloat value = e.dividedBy(e.plus(2d));
+        return xh < 0d ? value.negated() : value;
+    }
+
+    /**
+     * asinh(x) を返す.
+     */
+    static DoubleDoubleFloat asinh(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        double abs = Math.abs(xh);
+        if (abs < SMALL_ARGUMENT) {
+            return x;
+        }
+
+        DoubleDoubleFloat a = xh < 0d ? x.negated() : x;
+        DoubleDoubleFloat value;
+        if (abs >= LOG_2X_LOWER) {
+            //無限大を含む
+            value = DoubleDoubleExponential.log(a).plus(DoubleDoubleExponential.LN2);
+        } else if (abs >= 1d) {
+            //log(a + sqrt(a^2 + 1))
+            DoubleDoubleFloat root = DoubleDoubleRoots.sqrt(a.times(a).plus(1d));
+            value = DoubleDoubleExponential.log(a.plus(root));
+        } else {
+            //log1p(a + a^2 / (1 + sqrt(1 + a^2)))
+            DoubleDoubleFloat square = a.times(a);
+            DoubleDoubleFloat root = DoubleDoubleRoots.sqrt(square.plus(1d));
+            value = DoubleDoubleExponential.log1p(a.plus(square.dividedBy(root.plus(1d))));
+        }
+        return xh < 0d ? value.negated() : value;
+    }
+
+    /**
+     * acosh(x) を返す.
+     */
+    static DoubleDoubleFloat acosh(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (!(xh >= 1d)) {
+            //NaN, 1未満
+            return DoubleDoubleFloat.NaN;
+        }
+        if (xh >= LOG_2X_LOWER) {
+            //無限大を含む
+            return DoubleDoubleExponential.log(x).plus(DoubleDoubleExponential.LN2);
+        }
+
+        //t = x - 1 は正確に計算される (上位が1以上であり, 下位が負の場合は1未満となりうる)
+        DoubleDoubleFloat t = x.minus(1d);
+        if (t.doubleValue() < 0d) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (xh < 2d) {
+            //log1p(t + sqrt(2t + t^2))
+            DoubleDoubleFloat root = DoubleDoubleRoots.sqrt(t.times(t.plus(2d)));
+            return DoubleDoubleExponential.log1p(t.plus(root));
+        }
+        //log(x + sqrt((x - 1)(x + 1)))
+        DoubleDoubleFloat root = DoubleDoubleRoots.sqrt(t.times(x.plus(1d)));
+        return DoubleDoubleExponential.log(x.plus(root));
+    }
+
+    /**
+     * atanh(x) を返す.
+     */
+    static DoubleDoubleFloat atanh(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        double abs = Math.abs(xh);
+        if (abs < SMALL_ARGUMENT) {
+            return x;
+        }
+        if (!(abs <= 1d)) {
+            //NaN, 絶対値が1より大きい
+            return DoubleDoubleFloat.NaN;
+        }
+
+        //atanh(a) = log1p(2a / (1 - a)) / 2
+        //1 - a は上位が1に近いので正確に計算される
+        DoubleDoubleFloat a = xh < 0d ? x.negated() : x;
+        DoubleDoubleFloat complement = DoubleDoubleFloat.POSITIVE_1.minus(a);
+        double ch = complement.doubleValue();
+        if (ch < 0d) {
+            return DoubleDoubleFloat.NaN;
+        }
+        DoubleDoubleFloat value = ch == 0d
+                ? DoubleDoubleFloat.POSITIVE_INFINITY
+                : DoubleDoubleExponential.log1p(a.times(2d).dividedBy(complement)).times(0.5);
+        return xh < 0d ? value.negated() : value;
+    }
+
+    /**
+     * 正の a (無限大を含む) に対し, {sinh(a), cosh(a)} を dest に格納する.
+     */
+    private static void sinhCoshOfAbs(DoubleDoubleFloat a, DoubleDoubleFloat[] dest) {
+        double ah = a.doubleValue();
+        if (ah < EXPM1_UPPER) {
+            //E = expm1(a), q = E / (E + 1) として,
+            //sinh(a) = (E + q) / 2, cosh(a) = 1 + E * q / 2
+            DoubleDoubleFloat e = DoubleDoubleExponential.expm1(a);
+            DoubleDoubleFloat q = e.dividedBy(e.plus(1d));
+            dest[0] = e.plus(q).times(0.5);
+            dest[1] = e.times(q).times(0.5).plus(1d);
+            return;
+        }
+        if (ah <= HALVED_EXP_LOWER) {
+            //t = exp(a) として, sinh(a) = (t - 1/t) / 2, cosh(a) = (t + 1/t) / 2
+            DoubleDoubleFloat t = DoubleDoubleExponential.exp(a);
+            DoubleDoubleFloat r = t.reciprocal();
+            dest[0] = t.minus(r).times(0.5);
+            dest[1] = t.plus(r).times(0.5);
+            return;
+        }
+
+        //exp(-a) は無視でき, w = exp(a/2) として sinh(a) = cosh(a) = w * (w / 2)
+        //(exp(a) / 2 が有限でも exp(a) はオーバーフローしうる)
+        DoubleDoubleFloat w = DoubleDoubleExponential.exp(a.times(0.5));
+        DoubleDoubleFloat value = w.times(w.times(0.5));
+        dest[0] = value;
+        dest[1] = value;
+    }
+}
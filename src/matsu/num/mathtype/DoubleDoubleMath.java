@@ -0,0 +1,817 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.17
+ */
+package matsu.num.mathtype;
+
+import java.util.Objects;
+
+/**
+ * double-double 精度の演算を, 上位と下位の {@code double} の組
+ * {@code (high, low)} に対して行う, プリミティブな演算カーネル.
+ * 
+ * <p>
+ * {@link DoubleDoubleFloat} はイミュータブルであり, 演算のたびにインスタンスが生成される. <br>
+ * このクラスは, インスタンスを生成せずに double-double 演算を行うための手段を提供する. <br>
+ * 演算結果は, 呼び出し側が用意した {@code double[]} の指定位置
+ * ({@code dest[offset]} に上位, {@code dest[offset + 1]} に下位)
+ * か, ミュータブルな {@link Holder} に書き込まれる.
+ * </p>
+ * 
+ * <p>
+ * 演算の入力となる {@code (high, low)} は,
+ * {@link DoubleDoubleFloat#doubleValue()}, {@link DoubleDoubleFloat#lowValue()}
+ * で得られる組, またはこのクラスの演算結果でなければならない. <br>
+ * そうでない組を与えた場合の結果は保証されない.
+ * </p>
+ * 
+ * <p>
+ * 演算結果は, 同じ演算を {@link DoubleDoubleFloat} で行った結果
+ * (すなわち, 正規化されたもの) の上位と下位に一致する. <br>
+ * 特に, 正の0と負の0の区別, 無限大, NaN の扱い,
+ * および {@link Double#MAX_VALUE} を超える値が無限大になる規約は
+ * {@link DoubleDoubleFloat} と同一である. <br>
+ * NaN は, 上位と下位がともに {@link Double#NaN} である組で表される.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+public final class DoubleDoubleMath {
+
+    /**
+     * 除算において, 剰余をスケーリングせずに計算できる被除数の絶対値の下限. <br>
+     * 剰余の計算に現れる, 被除数の2^(-53)倍程度の量が正規化数に収まる範囲とする.
+     */
+    private static final double DIVIDEND_LOWER = 0x1p-969;
+
+    /**
+     * 除算において, 剰余をスケーリングせずに計算できる被除数の絶対値の上限 (これを含まない). <br>
+     * {@code y*zh} がオーバーフローしない範囲とする.
+     */
+    private static final double DIVIDEND_UPPER = 0x1p1023;
+
+    /**
+     * 被除数が {@link #DIVIDEND_LOWER} 未満の場合にかける2の累乗の指数. <br>
+     * 非正規化数の最小値 2^(-1074) を {@link #DIVIDEND_LOWER} 以上に移す.
+     */
+    private static final int DIVIDEND_UP_SCALE = 110;
+
+    private DoubleDoubleMath() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * 和 {@code x + y} を計算し, {@code dest} に書き込む.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void add(double xh, double xl, double yh, double yl, double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dest.length);
+
+        double sh = xh + yh;
+        double sl = two_sum_dd_low(xh, xl, yh, yl, sh);
+        double ch = canonicalHigh(sh, sl);
+        dest[offset] = ch;
+        dest[offset + 1] = canonicalLow(sh, sl, ch);
+    }
+
+    /**
+     * 和 {@code x + y} を計算し, {@code dest} に書き込む.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void add(double xh, double xl, double yh, double yl, Holder dest) {
+        double sh = xh + yh;
+        double sl = two_sum_dd_low(xh, xl, yh, yl, sh);
+        dest.setCanonicalized(sh, sl);
+    }
+
+    /**
+     * 差 {@code x - y} を計算し, {@code dest} に書き込む.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void subtract(double xh, double xl, double yh, double yl, double[] dest, int offset) {
+        add(xh, xl, -yh, -yl, dest, offset);
+    }
+
+    /**
+     * 差 {@code x - y} を計算し, {@code dest} に書き込む.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void subtract(double xh, double xl, double yh, double yl, Holder dest) {
+        add(xh, xl, -yh, -yl, dest);
+    }
+
+    /**
+     * 和 {@code x + y} を高精度に計算し, {@code dest} に書き込む. <br>
+     * 結果は {@link DoubleDoubleFloat#plusAccurate(DoubleDoubleFloat)} に一致する.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void addAccurate(double xh, double xl, double yh, double yl, double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dest.length);
+
+        double s1 = xh + yh;
+        double t1 = xl + yl;
+        double sh;
+        double sl;
+        if (!Double.isFinite(s1)) {
+            sh = s1;
+            sl = 0d;
+        } else if (s1 == 0d) {
+            //上位が相殺した場合, 和は下位の和に正確に一致する; 0の符号はs1に従う
+            sh = t1 == 0d ? s1 : t1;
+            sl = two_sum_low(xl, yl, t1);
+        } else {
+            //上位と下位の双方について two-sum を行い, 誤差を補償する
+            double m = two_sum_low(xh, yh, s1) + t1;
+            double u1 = s1 + m;
+            double u2 = Double.isFinite(u1)
+                    ? two_sum_low(s1, m, u1) + two_sum_low(xl, yl, t1)
+                    : 0d;
+            sh = u1 + u2;
+            sl = Double.isFinite(sh) ? two_sum_low(u1, u2, sh) : 0d;
+        }
+        double ch = canonicalHigh(sh, sl);
+        dest[offset] = ch;
+        dest[offset + 1] = canonicalLow(sh, sl, ch);
+    }
+
+    /**
+     * 和 {@code x + y} を高精度に計算し, {@code dest} に書き込む. <br>
+     * 結果は {@link DoubleDoubleFloat#plusAccurate(DoubleDoubleFloat)} に一致する.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void addAccurate(double xh, double xl, double yh, double yl, Holder dest) {
+        double s1 = xh + yh;
+        double t1 = xl + yl;
+        double sh;
+        double sl;
+        if (!Double.isFinite(s1)) {
+            sh = s1;
+            sl = 0d;
+        } else if (s1 == 0d) {
+            //上位が相殺した場合, 和は下位の和に正確に一致する; 0の符号はs1に従う
+            sh = t1 == 0d ? s1 : t1;
+            sl = two_sum_low(xl, yl, t1);
+        } else {
+            //上位と下位の双方について two-sum を行い, 誤差を補償する
+            double m = two_sum_low(xh, yh, s1) + t1;
+            double u1 = s1 + m;
+            double u2 = Double.isFinite(u1)
+                    ? two_sum_low(s1, m, u1) + two_sum_low(xl, yl, t1)
+                    : 0d;
+            sh = u1 + u2;
+            sl = Double.isFinite(sh) ? two_sum_low(u1, u2, sh) : 0d;
+        }
+        dest.setCanonicalized(sh, sl);
+    }
+
+    /**
+     * 差 {@code x - y} を高精度に計算し, {@code dest} に書き込む. <br>
+     * 結果は {@link DoubleDoubleFloat#minusAccurate(DoubleDoubleFloat)} に一致する.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void subtractAccurate(
+            double xh, double xl, double yh, double yl, double[] dest, int offset) {
+        addAccurate(xh, xl, -yh, -yl, dest, offset);
+    }
+
+    /**
+     * 差 {@code x - y} を高精度に計算し, {@code dest} に書き込む. <br>
+     * 結果は {@link DoubleDoubleFloat#minusAccurate(DoubleDoubleFloat)} に一致する.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void subtractAccurate(double xh, double xl, double yh, double yl, Holder dest) {
+        addAccurate(xh, xl, -yh, -yl, dest);
+    }
+
+    /**
+     * 積 {@code x * y} を計算し, {@code dest} に書き込む.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void multiply(double xh, double xl, double yh, double yl, double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dest.length);
+
+        double ph = xh * yh;
+        double pl = two_prod_dd_low(xh, xl, yh, yl, ph);
+        double ch = canonicalHigh(ph, pl);
+        dest[offset] = ch;
+        dest[offset + 1] = canonicalLow(ph, pl, ch);
+    }
+
+    /**
+     * 積 {@code x * y} を計算し, {@code dest} に書き込む.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void multiply(double xh, double xl, double yh, double yl, Holder dest) {
+        double ph = xh * yh;
+        double pl = two_prod_dd_low(xh, xl, yh, yl, ph);
+        dest.setCanonicalized(ph, pl);
+    }
+
+    /**
+     * 積 {@code x * y} を高精度に計算し, {@code dest} に書き込む. <br>
+     * 結果は {@link DoubleDoubleFloat#timesAccurate(DoubleDoubleFloat)} に一致する.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void multiplyAccurate(
+            double xh, double xl, double yh, double yl, double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dest.length);
+
+        double ph = xh * yh;
+        double pl = accurate_prod_dd_low(xh, xl, yh, yl, ph);
+        double ch = canonicalHigh(ph, pl);
+        dest[offset] = ch;
+        dest[offset + 1] = canonicalLow(ph, pl, ch);
+    }
+
+    /**
+     * 積 {@code x * y} を高精度に計算し, {@code dest} に書き込む. <br>
+     * 結果は {@link DoubleDoubleFloat#timesAccurate(DoubleDoubleFloat)} に一致する.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void multiplyAccurate(double xh, double xl, double yh, double yl, Holder dest) {
+        double ph = xh * yh;
+        double pl = accurate_prod_dd_low(xh, xl, yh, yl, ph);
+        dest.setCanonicalized(ph, pl);
+    }
+
+    /**
+     * 商 {@code x / y} を計算し, {@code dest} に書き込む.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void divide(double xh, double xl, double yh, double yl, double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dest.length);
+
+        double zh = xh / yh;
+        double zl = two_divide_dd_low(xh, xl, yh, yl, zh);
+        double ch = canonicalHigh(zh, zl);
+        dest[offset] = ch;
+        dest[offset + 1] = canonicalLow(zh, zl, ch);
+    }
+
+    /**
+     * 商 {@code x / y} を計算し, {@code dest} に書き込む.
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void divide(double xh, double xl, double yh, double yl, Holder dest) {
+        double zh = xh / yh;
+        double zl = two_divide_dd_low(xh, xl, yh, yl, zh);
+        dest.setCanonicalized(zh, zl);
+    }
+
+    /**
+     * 逆数 {@code 1 / x} を計算し, {@code dest} に書き込む.
+     * 
+     * <p>
+     * 除算の専用版であり, {@link #divide(double, double, double, double, double[], int)}
+     * で {@code x = 1} とするよりも高速である. <br>
+     * 結果は除算によるものとビット単位で一致するとは限らないが, 誤差の大きさは同程度である.
+     * </p>
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void reciprocal(double xh, double xl, double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dest.length);
+
+        double zh = 1d / xh;
+        double zl = two_reciprocal_dd_low(xh, xl, zh);
+        double ch = canonicalHigh(zh, zl);
+        dest[offset] = ch;
+        dest[offset + 1] = canonicalLow(zh, zl, ch);
+    }
+
+    /**
+     * 逆数 {@code 1 / x} を計算し, {@code dest} に書き込む.
+     * 
+     * <p>
+     * 除算の専用版であり, {@link #divide(double, double, double, double, Holder)}
+     * で {@code x = 1} とするよりも高速である. <br>
+     * 結果は除算によるものとビット単位で一致するとは限らないが, 誤差の大きさは同程度である.
+     * </p>
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void reciprocal(double xh, double xl, Holder dest) {
+        double zh = 1d / xh;
+        double zl = two_reciprocal_dd_low(xh, xl, zh);
+        dest.setCanonicalized(zh, zl);
+    }
+
+    /**
+     * 平方 {@code x * x} を計算し, {@code dest} に書き込む.
+     * 
+     * <p>
+     * {@link #multiply(double, double, double, double, double[], int)}
+     * に同一の値を与えた場合と同じ結果を返すが, 分割の計算を共有するため高速である.
+     * </p>
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void square(double xh, double xl, double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dest.length);
+
+        double ph = xh * xh;
+        double pl = two_sqr_dd_low(xh, xl, ph);
+        double ch = canonicalHigh(ph, pl);
+        dest[offset] = ch;
+        dest[offset + 1] = canonicalLow(ph, pl, ch);
+    }
+
+    /**
+     * 平方 {@code x * x} を計算し, {@code dest} に書き込む.
+     * 
+     * <p>
+     * {@link #multiply(double, double, double, double, Holder)}
+     * に同一の値を与えた場合と同じ結果を返すが, 分割の計算を共有するため高速である.
+     * </p>
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void square(double xh, double xl, Holder dest) {
+        double ph = xh * xh;
+        double pl = two_sqr_dd_low(xh, xl, ph);
+        dest.setCanonicalized(ph, pl);
+    }
+
+    /**
+     * 積和 {@code x * y + z} を計算し, {@code dest} に書き込む.
+     * 
+     * <p>
+     * 積を正規化せずに和を計算するため,
+     * 積と和を順に計算した場合とは結果が一致するとは限らない.
+     * </p>
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param zh z の上位
+     * @param zl z の下位
+     * @param dest 結果の書き込み先
+     * @param offset 書き込み位置
+     * @throws IndexOutOfBoundsException {@code dest[offset]}, {@code dest[offset + 1]}
+     *             が範囲外の場合
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void fma(
+            double xh, double xl, double yh, double yl, double zh, double zl,
+            double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dest.length);
+
+        double ph = xh * yh;
+        double pl = two_prod_dd_low(xh, xl, yh, yl, ph);
+        double sh = ph + zh;
+        double sl = two_sum_dd_low(ph, pl, zh, zl, sh);
+        double ch = canonicalHigh(sh, sl);
+        dest[offset] = ch;
+        dest[offset + 1] = canonicalLow(sh, sl, ch);
+    }
+
+    /**
+     * 積和 {@code x * y + z} を計算し, {@code dest} に書き込む.
+     * 
+     * <p>
+     * 積を正規化せずに和を計算するため,
+     * 積と和を順に計算した場合とは結果が一致するとは限らない.
+     * </p>
+     * 
+     * @param xh x の上位
+     * @param xl x の下位
+     * @param yh y の上位
+     * @param yl y の下位
+     * @param zh z の上位
+     * @param zl z の下位
+     * @param dest 結果の書き込み先
+     * @throws NullPointerException 引数にnullが含まれる場合
+     */
+    public static void fma(
+            double xh, double xl, double yh, double yl, double zh, double zl,
+            Holder dest) {
+        double ph = xh * yh;
+        double pl = two_prod_dd_low(xh, xl, yh, yl, ph);
+        double sh = ph + zh;
+        double sl = two_sum_dd_low(ph, pl, zh, zl, sh);
+        dest.setCanonicalized(sh, sl);
+    }
+
+    /**
+     * {@code high + low} (実数演算) に相当する
+     * {@link DoubleDoubleFloat} のインスタンスを返す.
+     * 
+     * <p>
+     * このメソッドは任意の {@code (high, low)} を受け付ける. <br>
+     * {@code high + low} が有限でない場合, 対応する無限大またはNaNが返る.
+     * </p>
+     * 
+     * @param high 上位
+     * @param low 下位
+     * @return {@code high + low} に相当するインスタンス
+     */
+    public static DoubleDoubleFloat toDoubleDoubleFloat(double high, double low) {
+        if (!Double.isFinite(high) || !Double.isFinite(low)) {
+            return DoubleDoubleFloat.valueOf(high + low);
+        }
+        double s = high + low;
+        return DoubleDoubleFloat.valueOf(s, two_sum_low(high, low, s));
+    }
+
+    /**
+     * x * 2^k を返す. <br>
+     * 上位と下位に別々に {@link Math#scalb(double, int)} を適用するため,
+     * 下位は非正規化数の範囲で丸められうる.
+     */
+    static DoubleDoubleFloat scalb(DoubleDoubleFloat x, int k) {
+        return DoubleDoubleFloat.valueOf(
+                Math.scalb(x.doubleValue(), k), Math.scalb(x.lowValue(), k));
+    }
+
+    /**
+     * 整数値 v が奇数であるかを判定する. <br>
+     * |v| &ge; 2^53 の整数値は偶数である.
+     */
+    static boolean isOdd(double v) {
+        return Math.abs(v) < 0x1p53 && (((long) v) & 1L) != 0L;
+    }
+
+    /**
+     * double-doubleの文脈でx+yを計算したときの下位を返す. <br>
+     * 上位は {@code sh = xh + yh} であり, 呼び出し側で計算して与える.
+     */
+    static double two_sum_dd_low(
+            double xh, double xl, double yh, double yl, double sh) {
+        return two_sum_low(xh, yh, sh) + (xl + yl);
+    }
+
+    /**
+     * x+yをdouble-doubleとして表したときの下位を返す. <br>
+     * 上位は {@code s = x + y} であり, 呼び出し側で計算して与える.
+     */
+    static double two_sum_low(double x, double y, double s) {
+        double v = s - x;
+        return (x - (s - v)) + (y - v);
+    }
+
+    /**
+     * double-doubleの文脈でx*yを計算したときの下位を返す. <br>
+     * 上位は {@code ph = xh * yh} であり, 呼び出し側で計算して与える.
+     */
+    static double two_prod_dd_low(
+            double xh, double xl, double yh, double yl, double ph) {
+        return TwoProduct.error(xh, yh, ph) + (xl * yh + xh * yl);
+    }
+
+    /**
+     * double-doubleの文脈でx*yを, 下位同士の積 {@code xl * yl} も含めて計算したときの下位を返す. <br>
+     * 上位は {@code ph = xh * yh} であり, 呼び出し側で計算して与える. <br>
+     * FMA命令が使える場合は, 交差項をFMAで累積する.
+     */
+    static double accurate_prod_dd_low(
+            double xh, double xl, double yh, double yl, double ph) {
+        double cross = TwoProduct.USE_FMA
+                ? Math.fma(xl, yh, Math.fma(xh, yl, xl * yl))
+                : xh * yl + (xl * yh + xl * yl);
+        return TwoProduct.error(xh, yh, ph) + cross;
+    }
+
+    /**
+     * double-doubleの文脈でx*xを計算したときの下位を返す. <br>
+     * 上位は {@code ph = xh * xh} であり, 呼び出し側で計算して与える.
+     */
+    static double two_sqr_dd_low(double xh, double xl, double ph) {
+        return TwoProduct.squareError(xh, ph) + (xl * xh + xh * xl);
+    }
+
+    /**
+     * double-doubleの文脈でx/yを計算したときの下位を返す. <br>
+     * 上位は {@code zh = xh / yh} であり, 呼び出し側で計算して与える.
+     * 
+     * <p>
+     * 剰余 {@code x - y*zh} を計算し, これを {@code yh} で割った値を下位とする. <br>
+     * {@code zh} が非正規化数の場合, 下位は表現できないので0を返す.
+     * </p>
+     */
+    static double two_divide_dd_low(
+            double xh, double xl, double yh, double yl, double zh) {
+
+        if (!(Math.abs(zh) >= Double.MIN_NORMAL && Math.abs(zh) <= Double.MAX_VALUE)) {
+            return 0d;
+        }
+        if (!(Math.abs(xh) >= DIVIDEND_LOWER && Math.abs(xh) < DIVIDEND_UPPER)) {
+            return two_divide_dd_low_scaled(xh, xl, yh, yl, zh);
+        }
+
+        //x-y*zhを計算する
+        //rh = yh*zh はxhとの比が1に十分近いので, xh - rh は誤差なく計算される
+        double rh = zh * yh;
+        double rl = TwoProduct.error(zh, yh, rh) + zh * yl;
+
+        return ((xh - rh) + (xl - rl)) / yh;
+    }
+
+    /**
+     * {@link #two_divide_dd_low(double, double, double, double, double)} の,
+     * 被除数が極端な大きさの場合の実装. <br>
+     * 剰余の計算でオーバーフロー, アンダーフローが起きないよう,
+     * 被除数と除数に同一の2の累乗をかけてから計算する (商は変わらない).
+     */
+    private static double two_divide_dd_low_scaled(
+            double xh, double xl, double yh, double yl, double zh) {
+        int scale = Math.abs(xh) < DIVIDEND_LOWER ? DIVIDEND_UP_SCALE : -1;
+        xh = Math.scalb(xh, scale);
+        xl = Math.scalb(xl, scale);
+        yh = Math.scalb(yh, scale);
+        yl = Math.scalb(yl, scale);
+
+        double rh = zh * yh;
+        double rl = TwoProduct.error(zh, yh, rh) + zh * yl;
+
+        return ((xh - rh) + (xl - rl)) / yh;
+    }
+
+    /**
+     * double-doubleの文脈でx/yを計算したときの下位を返す, ただしyはdoubleである. <br>
+     * 上位は {@code zh = xh / y} であり, 呼び出し側で計算して与える.
+     * 
+     * <p>
+     * {@link #two_divide_dd_low(double, double, double, double, double)} で
+     * {@code yl = 0} としたものと同等である.
+     * </p>
+     */
+    static double two_divide_d_low(double xh, double xl, double y, double zh) {
+
+        if (!(Math.abs(zh) >= Double.MIN_NORMAL && Math.abs(zh) <= Double.MAX_VALUE)) {
+            return 0d;
+        }
+        if (!(Math.abs(xh) >= DIVIDEND_LOWER && Math.abs(xh) < DIVIDEND_UPPER)) {
+            return two_divide_dd_low_scaled(xh, xl, y, 0d, zh);
+        }
+
+        double rh = zh * y;
+        return ((xh - rh) + (xl - TwoProduct.error(zh, y, rh))) / y;
+    }
+
+    /**
+     * double-doubleの文脈で1/yを計算したときの下位を返す. <br>
+     * 上位は {@code zh = 1 / yh} であり, 呼び出し側で計算して与える.
+     * 
+     * <p>
+     * 剰余 {@code 1 - y*zh} に {@code zh} をかけて下位とする (Newton法の1ステップ). <br>
+     * {@code zh} が正規化数ならば {@code y*zh} はほぼ1であり, スケーリングは不要である.
+     * </p>
+     */
+    static double two_reciprocal_dd_low(double yh, double yl, double zh) {
+
+        if (!(Math.abs(zh) >= Double.MIN_NORMAL && Math.abs(zh) <= Double.MAX_VALUE)) {
+            return 0d;
+        }
+
+        double rh = zh * yh;
+        double rl = TwoProduct.error(zh, yh, rh) + zh * yl;
+
+        return ((1d - rh) - rl) * zh;
+    }
+
+    /**
+     * 与えた high, low を正規化したときの上位を返す. <br>
+     * 規約は {@link DoubleDoubleFloat} の正規化と同一である. <br>
+     * 通常はabs(high) >= abs(low) でなければならない, ただしhigh=0なら問題ない.
+     * 
+     * <p>
+     * インライン展開されやすいよう, 頻出する有限の場合のみをここで扱い,
+     * それ以外は {@link #canonicalHighSlow(double, double)} に分離している.
+     * </p>
+     */
+    static double canonicalHigh(double high, double low) {
+        double s = high + low;
+
+        //highが0でなく, sが有限でDouble.MAX_VALUE未満 (highがinf, NaNなら偽となる)
+        if (high != 0d && Math.abs(s) < Double.MAX_VALUE) {
+            return s;
+        }
+        return canonicalHighSlow(high, low);
+    }
+
+    /**
+     * {@link #canonicalHigh(double, double)} の, 頻出しない場合の処理.
+     */
+    private static double canonicalHighSlow(double high, double low) {
+        if (!Double.isFinite(high)) {
+            return Double.isNaN(high) ? Double.NaN : high;
+        }
+        if (high == 0d) {
+            return low != 0d ? low : high;
+        }
+
+        double s = high + low;
+
+        //Double.MAX_VALUEを超える場合は無限大に置き換える
+        if (Math.abs(s) == Double.MAX_VALUE) {
+            double e = low - (s - high);
+            if (s > 0d && e > 0d) {
+                return Double.POSITIVE_INFINITY;
+            }
+            if (s < 0d && e < 0d) {
+                return Double.NEGATIVE_INFINITY;
+            }
+        }
+        return s;
+    }
+
+    /**
+     * 与えた high, low を正規化したときの下位を返す. <br>
+     * canonicalHigh は {@link #canonicalHigh(double, double)} により計算した上位である.
+     */
+    static double canonicalLow(double high, double low, double canonicalHigh) {
+        if (!Double.isFinite(canonicalHigh)) {
+            return Double.isNaN(canonicalHigh) ? Double.NaN : 0d;
+        }
+        if (high == 0d) {
+            return 0d;
+        }
+        return low - (canonicalHigh - high);
+    }
+
+    /**
+     * double-double 演算の結果を保持する, ミュータブルなオブジェクト.
+     * 
+     * <p>
+     * このクラスはスレッドセーフでない.
+     * </p>
+     */
+    public static final class Holder {
+
+        private double high;
+        private double low;
+
+        /**
+         * 正の0を保持するインスタンスを構築する.
+         */
+        public Holder() {
+            super();
+        }
+
+        /**
+         * 保持している値の上位を返す.
+         * 
+         * @return 上位
+         */
+        public double high() {
+            return this.high;
+        }
+
+        /**
+         * 保持している値の下位を返す.
+         * 
+         * @return 下位
+         */
+        public double low() {
+            return this.low;
+        }
+
+        /**
+         * 保持している値を {@link DoubleDoubleFloat} に変換する.
+         * 
+         * @return 保持している値
+         */
+        public DoubleDoubleFloat toDoubleDoubleFloat() {
+            return DoubleDoubleFloat.valueOf(this.high, this.low);
+        }
+
+        /**
+         * 与えた high, low を正規化して保持する.
+         */
+        void setCanonicalized(double high, double low) {
+            double ch = canonicalHigh(high, low);
+            this.high = ch;
+            this.low = canonicalLow(high, low, ch);
+        }
+    }
+}
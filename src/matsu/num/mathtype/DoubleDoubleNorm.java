@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.util.Objects;
+
+/**
+ * double-double 精度の, オーバーフローしないユークリッドノルムの計算.
+ * 
+ * <p>
+ * 2乗和を素朴に計算すると, 結果が表現可能であっても2乗の途中でオーバーフロー
+ * (あるいは, 下位が非正規化数となって精度が低下) する. <br>
+ * そこで, 絶対値最大の要素の2進指数が通常の範囲を外れる場合に限り,
+ * 全要素を共通の2の累乗でスケーリングしてから2乗和をとる. <br>
+ * 2の累乗によるスケーリングは (非正規化数にならない限り) 誤差を生じない. <br>
+ * 最大値の探索は2乗和の累積と同じ走査で行うため,
+ * 通常の範囲の入力では, 配列の走査は1回のみである.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleNorm {
+
+    /**
+     * 絶対値最大の要素の上位の2進指数の絶対値がこれ以下であれば, スケーリングせずに2乗和を計算する. <br>
+     * 2乗の下位が正規化数に収まり, 要素数が 2^100 程度までの2乗和がオーバーフローしない.
+     */
+    private static final int UNSCALED_EXPONENT = 450;
+
+    /**
+     * 小さい方の絶対値が, 大きい方の絶対値のこの倍率以下であれば,
+     * hypot は大きい方の絶対値に丸められる (相対的な寄与が 2^(-109) 以下である).
+     */
+    private static final double NEGLIGIBLE_RATIO = 0x1p-54;
+
+    private DoubleDoubleNorm() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * sqrt(x^2 + y^2) を返す.
+     */
+    static DoubleDoubleFloat hypot(DoubleDoubleFloat x, DoubleDoubleFloat y) {
+        double xh = Math.abs(x.doubleValue());
+        double yh = Math.abs(y.doubleValue());
+        if (Double.isInfinite(xh) || Double.isInfinite(yh)) {
+            //NaN を含んでいても正の無限大とする
+            return DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (Double.isNaN(xh) || Double.isNaN(yh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+
+        DoubleDoubleFloat larger = (xh >= yh ? x : y).abs();
+        DoubleDoubleFloat smaller = (xh >= yh ? y : x).abs();
+        double lh = Math.max(xh, yh);
+        if (Math.min(xh, yh) <= lh * NEGLIGIBLE_RATIO) {
+            //0を含む
+            return larger;
+        }
+
+        int exponent = Math.getExponent(lh);
+        if (Math.abs(exponent) <= UNSCALED_EXPONENT) {
+            return larger.square().plus(smaller.square()).sqrt();
+        }
+        DoubleDoubleFloat a = DoubleDoubleMath.scalb(larger, -exponent);
+        DoubleDoubleFloat b = DoubleDoubleMath.scalb(smaller, -exponent);
+        return DoubleDoubleMath.scalb(a.square().plus(b.square()).sqrt(), exponent);
+    }
+
+    /**
+     * sqrt(sum values[i]^2) を返す.
+     */
+    static DoubleDoubleFloat norm(double[] values) {
+        //スケーリングせずに2乗和をとりつつ, 絶対値の最大値を求める
+        //(最大値の指数が通常の範囲を外れる場合のみ, 2回目の走査を行う)
+        DoubleDoubleAccumulator sum = new DoubleDoubleAccumulator();
+        double max = 0d;
+        boolean nan = false;
+        for (double v : values) {
+            double abs = Math.abs(v);
+            if (abs > max) {
+                max = abs;
+            } else if (Double.isNaN(abs)) {
+                nan = true;
+            }
+            sum.addProduct(v, v);
+        }
+        DoubleDoubleFloat special = specialNorm(max, nan);
+        if (Objects.nonNull(special)) {
+            return special;
+        }
+
+        int exponent = Math.getExponent(max);
+        if (Math.abs(exponent) <= UNSCALED_EXPONENT) {
+            return sum.toDoubleDoubleFloat().sqrt();
+        }
+        sum.reset();
+        for (double v : values) {
+            double scaled = Math.scalb(v, -exponent);
+            sum.addProduct(scaled, scaled);
+        }
+        return DoubleDoubleMath.scalb(sum.toDoubleDoubleFloat().sqrt(), exponent);
+    }
+
+    /**
+     * sqrt(sum values[i]^2) を返す.
+     */
+    static DoubleDoubleFloat norm(DoubleDoubleFloat[] values) {
+        //計算の手順は norm(double[]) と同様
+        DoubleDoubleAccumulator sum = new DoubleDoubleAccumulator();
+        double max = 0d;
+        boolean nan = false;
+        for (DoubleDoubleFloat v : values) {
+            double abs = Math.abs(v.doubleValue());
+            if (abs > max) {
+                max = abs;
+            } else if (Double.isNaN(abs)) {
+                nan = true;
+            }
+            sum.addProduct(v, v);
+        }
+        DoubleDoubleFloat special = specialNorm(max, nan);
+        if (Objects.nonNull(special)) {
+            return special;
+        }
+
+        int exponent = Math.getExponent(max);
+        if (Math.abs(exponent) <= UNSCALED_EXPONENT) {
+            return sum.toDoubleDoubleFloat().sqrt();
+        }
+        sum.reset();
+        for (DoubleDoubleFloat v : values) {
+            DoubleDoubleFloat scaled = DoubleDoubleMath.scalb(v, -exponent);
+            sum.addProduct(scaled, scaled);
+        }
+        return DoubleDoubleMath.scalb(sum.toDoubleDoubleFloat().sqrt(), exponent);
+    }
+
+    /**
+     * 絶対値の最大値と NaN の有無から結果が定まる場合はその値を, そうでない場合はnullを返す. <br>
+     * 無限大は NaN に優先する ({@link Math#hypot(double, double)} と同様).
+     */
+    private static DoubleDoubleFloat specialNorm(double max, boolean nan) {
+        if (max == Double.POSITIVE_INFINITY) {
+            return DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (nan) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (max == 0d) {
+            //空の配列を含む
+            return DoubleDoubleFloat.POSITIVE_0;
+        }
+        return null;
+    }
+}
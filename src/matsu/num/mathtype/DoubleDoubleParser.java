@@ -0,0 +1,305 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 10進の文字列から double-double 浮動小数点数への変換.
+ * 
+ * <p>
+ * 文字列が表す10進数 d に対し, {@code high = round(d)}, {@code low = round(d - high)}
+ * (いずれも {@code double} への最近接偶数丸め) となる値を返す. <br>
+ * 10進の仮数の先頭38桁を128bitの整数 m とし, d = m * 10^q の変換を
+ * {@link DecimalToDoubleDouble} に委ねる.
+ * </p>
+ * 
+ * <p>
+ * 受け付ける書式は, 符号 ({@code +}, {@code -}) に続く
+ * {@link BigDecimal#BigDecimal(String)} の書式の10進数,
+ * {@code Infinity}, または (符号の無い) {@code NaN} である. <br>
+ * 前後の空白は受け付けない.
+ * </p>
+ * 
+ * <p>
+ * このクラスのインスタンスは1回の変換のための作業領域であり, スレッドセーフではない.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleParser {
+
+    /**
+     * 128bitの仮数に蓄える10進の桁数の上限 (10^38 < 2^127).
+     */
+    private static final int MAX_SIGNIFICANT_DIGITS = 38;
+
+    /**
+     * {@code long} 1語に蓄える10進の桁数.
+     */
+    private static final int WORD_DIGITS = 19;
+
+    /**
+     * 10^n (n = 0, ..., 19) の {@code long} 表現 (10^19 は符号なしとして扱う).
+     */
+    private static final long[] LONG_POWERS_OF_TEN = longPowersOfTen();
+
+    /**
+     * 先頭の桁の10進指数がこれより大きい場合は, 無限大になる (10^309 > MAX_VALUE).
+     */
+    private static final long OVERFLOW_EXPONENT = 308;
+
+    /**
+     * 先頭の桁の10進指数がこれより小さい場合は, 0になる (10^(-325) < MIN_VALUE/2).
+     */
+    private static final long UNDERFLOW_EXPONENT = -325;
+
+    /**
+     * 指数部の絶対値の飽和値 (これを超える指数部は, 結果に影響しない).
+     */
+    private static final long EXPONENT_SATURATION = 1_000_000_000L;
+
+    /*
+     * 文字の並び (いずれか1つが非null).
+     */
+    private final CharSequence sequence;
+    private final char[] chars;
+    private final byte[] bytes;
+    private final int offset;
+    private final int end;
+
+    private DoubleDoubleParser(CharSequence sequence, char[] chars, byte[] bytes, int offset, int length) {
+        super();
+        this.sequence = sequence;
+        this.chars = chars;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * 文字列を変換する.
+     */
+    static DoubleDoubleFloat parse(CharSequence value) {
+        return new DoubleDoubleParser(value, null, null, 0, value.length()).parse();
+    }
+
+    /**
+     * 文字の配列の範囲を変換する.
+     */
+    static DoubleDoubleFloat parse(char[] value, int offset, int length) {
+        return new DoubleDoubleParser(null, value, null, offset, length).parse();
+    }
+
+    /**
+     * ASCIIのバイト列の範囲を変換する.
+     */
+    static DoubleDoubleFloat parse(byte[] value, int offset, int length) {
+        return new DoubleDoubleParser(null, null, value, offset, length).parse();
+    }
+
+    private char charAt(int index) {
+        if (this.chars != null) {
+            return this.chars[index];
+        }
+        if (this.bytes != null) {
+            return (char) (this.bytes[index] & 0xFF);
+        }
+        return this.sequence.charAt(index);
+    }
+
+    /**
+     * 位置 index から文字列 word が続くかを判定する.
+     */
+    private boolean matches(int index, String word) {
+        if (this.end - index != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (this.charAt(index + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private DoubleDoubleFloat parse() {
+        int index = this.offset;
+        if (index >= this.end) {
+            throw this.formatException();
+        }
+
+        boolean negative = false;
+        char c = this.charAt(index);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            index++;
+        }
+        if (this.matches(index, "Infinity")) {
+            return negative ? DoubleDoubleFloat.NEGATIVE_INFINITY : DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (index == this.offset && this.matches(index, "NaN")) {
+            return DoubleDoubleFloat.NaN;
+        }
+
+        //仮数: 先頭の0を除いた最初の19桁を head に, 続く19桁を tail に蓄える
+        long head = 0L;
+        long tail = 0L;
+        int significantDigits = 0;
+        boolean truncated = false;
+        boolean anyDigit = false;
+        long scale = 0L;
+        for (; index < this.end; index++) {
+            c = this.charAt(index);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            anyDigit = true;
+            int digit = c - '0';
+            if (significantDigits == 0 && digit == 0) {
+                continue;
+            }
+            if (significantDigits < WORD_DIGITS) {
+                head = head * 10 + digit;
+                significantDigits++;
+            } else if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                tail = tail * 10 + digit;
+                significantDigits++;
+            } else {
+                scale--;
+                truncated |= digit != 0;
+            }
+        }
+        if (index < this.end && this.charAt(index) == '.') {
+            for (index++; index < this.end; index++) {
+                c = this.charAt(index);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                anyDigit = true;
+                int digit = c - '0';
+                if (significantDigits == 0 && digit == 0) {
+                    scale++;
+                    continue;
+                }
+                if (significantDigits < WORD_DIGITS) {
+                    head = head * 10 + digit;
+                    significantDigits++;
+                    scale++;
+                } else if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    tail = tail * 10 + digit;
+                    significantDigits++;
+                    scale++;
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+        }
+        if (!anyDigit) {
+            throw this.formatException();
+        }
+
+        //指数部
+        long exponent = 0L;
+        if (index < this.end && (this.charAt(index) == 'e' || this.charAt(index) == 'E')) {
+            index++;
+            boolean negativeExponent = false;
+            if (index < this.end && (this.charAt(index) == '-' || this.charAt(index) == '+')) {
+                negativeExponent = this.charAt(index) == '-';
+                index++;
+            }
+            if (index >= this.end) {
+                throw this.formatException();
+            }
+            for (; index < this.end; index++) {
+                c = this.charAt(index);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                exponent = Math.min(exponent * 10 + (c - '0'), EXPONENT_SATURATION);
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        if (index != this.end) {
+            throw this.formatException();
+        }
+
+        if (significantDigits == 0) {
+            return negative ? DoubleDoubleFloat.NEGATIVE_0 : DoubleDoubleFloat.POSITIVE_0;
+        }
+
+        //d = m * 10^q, 先頭の桁の10進指数は q + significantDigits - 1
+        long q = exponent - scale;
+        long leadingExponent = q + significantDigits - 1;
+        if (leadingExponent > OVERFLOW_EXPONENT) {
+            return negative ? DoubleDoubleFloat.NEGATIVE_INFINITY : DoubleDoubleFloat.POSITIVE_INFINITY;
+        }
+        if (leadingExponent < UNDERFLOW_EXPONENT) {
+            return negative ? DoubleDoubleFloat.NEGATIVE_0 : DoubleDoubleFloat.POSITIVE_0;
+        }
+
+        //m = head * 10^(tail の桁数) + tail
+        long m1;
+        long m0;
+        if (significantDigits <= WORD_DIGITS) {
+            m1 = 0L;
+            m0 = head;
+        } else {
+            long power = LONG_POWERS_OF_TEN[significantDigits - WORD_DIGITS];
+            m0 = head * power;
+            m1 = WideArithmetic.unsignedMultiplyHigh(head, power);
+            long sum = m0 + tail;
+            m1 += Long.compareUnsigned(sum, m0) < 0 ? 1L : 0L;
+            m0 = sum;
+        }
+
+        //切り捨てが生じるのは38桁を蓄えた場合であり, m >= 10^37 > 2^122 である
+        DecimalToDoubleDouble conversion = new DecimalToDoubleDouble();
+        if (!conversion.convert(m1, m0, truncated, 0, (int) q, negative)) {
+            conversion.convertExactly(new BigDecimal(this.text()));
+        }
+        double high = conversion.high();
+        if (high == 0d) {
+            return negative ? DoubleDoubleFloat.NEGATIVE_0 : DoubleDoubleFloat.POSITIVE_0;
+        }
+        return DoubleDoubleFloat.valueOf(high, conversion.low());
+    }
+
+    /**
+     * 変換対象の文字列を返す.
+     */
+    private String text() {
+        if (this.chars != null) {
+            return new String(this.chars, this.offset, this.end - this.offset);
+        }
+        if (this.bytes != null) {
+            return new String(this.bytes, this.offset, this.end - this.offset, StandardCharsets.ISO_8859_1);
+        }
+        return this.sequence.subSequence(this.offset, this.end).toString();
+    }
+
+    private NumberFormatException formatException() {
+        return new NumberFormatException(
+                String.format("10進数として解釈できない: \"%s\"", this.text()));
+    }
+
+    private static long[] longPowersOfTen() {
+        long[] powers = new long[WORD_DIGITS + 1];
+        powers[0] = 1L;
+        for (int n = 1; n < powers.length; n++) {
+            powers[n] = powers[n - 1] * 10L;
+        }
+        return powers;
+    }
+}
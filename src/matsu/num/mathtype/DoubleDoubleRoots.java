@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+/**
+ * double-double 精度の累乗根 (平方根, 立方根, n乗根) の計算.
+ * 
+ * <p>
+ * いずれも, {@code double} の値による初期値から Newton 法 (Karp の方法) で精度を上げる. <br>
+ * 特殊値の扱いは {@link Math#sqrt(double)}, {@link Math#cbrt(double)} に準じる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleRoots {
+
+    /**
+     * 平方根, 立方根の計算において, スケーリングせずに計算できる絶対値の下限. <br>
+     * 補正項の計算に現れる量が正規化数に収まる範囲とする.
+     */
+    private static final double UNSCALED_LOWER = 0x1p-900;
+
+    /**
+     * 平方根, 立方根の計算において, スケーリングせずに計算できる絶対値の上限 (これを含まない). <br>
+     * 初期値の累乗がオーバーフローしない範囲とする.
+     */
+    private static final double UNSCALED_UPPER = 0x1p900;
+
+    /**
+     * スケーリングにおいて, 結果にかける2の累乗の指数の絶対値.
+     */
+    private static final int SCALE = 300;
+
+    private DoubleDoubleRoots() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * 平方根を返す.
+     */
+    static DoubleDoubleFloat sqrt(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (!(xh > 0d && xh < Double.POSITIVE_INFINITY)) {
+            //NaN, 0, 負の数, 正の無限大は Math.sqrt に従う
+            return DoubleDoubleFloat.valueOf(Math.sqrt(xh));
+        }
+        double xl = x.lowValue();
+
+        //結果に 2^scale をかけて戻すため, xには 2^(-2*scale) をかける
+        int scale = 0;
+        if (xh < UNSCALED_LOWER) {
+            scale = -SCALE;
+        } else if (xh >= UNSCALED_UPPER) {
+            scale = SCALE;
+        }
+        if (scale != 0) {
+            xh = Math.scalb(xh, -2 * scale);
+            xl = Math.scalb(xl, -2 * scale);
+        }
+
+        //s = sqrt(xh) に対し, s + (x - s^2)/(2s) を計算する
+        //p = s^2 はxhとの比が1に十分近いので, xh - p は誤差なく計算される
+        double s = Math.sqrt(xh);
+        double p = s * s;
+        double r = ((xh - p) - TwoProduct.squareError(s, p)) + xl;
+        double zl = r / (2d * s);
+
+        return scaled(s, zl, scale);
+    }
+
+    /**
+     * 立方根を返す.
+     */
+    static DoubleDoubleFloat cbrt(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (!(Double.isFinite(xh) && xh != 0d)) {
+            //NaN, 0, 無限大は Math.cbrt に従う
+            return DoubleDoubleFloat.valueOf(Math.cbrt(xh));
+        }
+        if (xh < 0d) {
+            return cbrt(x.negated()).negated();
+        }
+        double xl = x.lowValue();
+
+        //結果に 2^scale をかけて戻すため, xには 2^(-3*scale) をかける
+        int scale = 0;
+        if (xh < UNSCALED_LOWER) {
+            scale = -SCALE;
+        } else if (xh >= UNSCALED_UPPER) {
+            scale = SCALE;
+        }
+        if (scale != 0) {
+            xh = Math.scalb(xh, -3 * scale);
+            xl = Math.scalb(xl, -3 * scale);
+        }
+
+        //c = cbrt(xh) に対し, c + (x - c^3)/(3c^2) を計算する
+        //c^3 = (q, ql) はxhとの比が1に十分近いので, xh - q は誤差なく計算される
+        double c = Math.cbrt(xh);
+        double p = c * c;
+        double pl = TwoProduct.squareError(c, p);
+        double q = c * p;
+        double ql = TwoProduct.error(c, p, q) + c * pl;
+        double r = (xh - q) + (xl - ql);
+        double zl = r / (3d * p);
+
+        return scaled(c, zl, scale);
+    }
+
+    /**
+     * n乗根を返す.
+     * 
+     * <p>
+     * {@code n} が負の場合は, {@code -n} 乗根の逆数を返す. <br>
+     * {@code n} が偶数の場合, 負の数に対してはNaNを返す
+     * (ただし, 負の0に対しては {@link Math#sqrt(double)} と同様に負の0を返す). <br>
+     * {@code n} が奇数の場合, 負の数に対しては絶対値のn乗根に負号を付けたものを返す.
+     * </p>
+     * 
+     * @throws IllegalArgumentException {@code n} が0の場合
+     */
+    static DoubleDoubleFloat root(DoubleDoubleFloat x, int n) {
+        if (n == 0) {
+            throw new IllegalArgumentException("0乗根は定義されない");
+        }
+        if (n < 0) {
+            //-n のオーバーフローを避けるため long で扱う
+            return rootOfPositiveOrder(x, -(long) n).reciprocal();
+        }
+        return rootOfPositiveOrder(x, n);
+    }
+
+    /**
+     * n &ge; 1 に対し, n乗根を返す.
+     */
+    private static DoubleDoubleFloat rootOfPositiveOrder(DoubleDoubleFloat x, long n) {
+        if (n == 1L) {
+            return x;
+        }
+        if (n == 2L) {
+            return sqrt(x);
+        }
+        if (n == 3L) {
+            return cbrt(x);
+        }
+
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh) || xh == 0d) {
+            return x;
+        }
+        if (xh < 0d) {
+            return (n & 1L) == 0L
+                    ? DoubleDoubleFloat.NaN
+                    : rootOfPositiveOrder(x.negated(), n).negated();
+        }
+        if (xh == Double.POSITIVE_INFINITY) {
+            return x;
+        }
+
+        //初期値はMath.powによる
+        //1/nの丸めのため初期値の相対誤差はuの数百倍になりうるので, Newton法を2回適用する
+        DoubleDoubleFloat y = DoubleDoubleFloat.valueOf(Math.pow(xh, 1d / n));
+        for (int i = 0; i < 2; i++) {
+            y = newtonStepOfRoot(x, n, y);
+        }
+        return y;
+    }
+
+    /**
+     * n乗根に対する Newton 法の1ステップ, {@code y + y(x/y^n - 1)/n} を返す. <br>
+     * x, y は正の正規化数でなければならない.
+     * 
+     * <p>
+     * {@code y^n} はオーバーフロー, アンダーフローしうるので,
+     * 仮数部と指数部を分けて計算する.
+     * </p>
+     */
+    private static DoubleDoubleFloat newtonStepOfRoot(DoubleDoubleFloat x, long n, DoubleDoubleFloat y) {
+        int ex = exponent(x.doubleValue());
+        int ey = exponent(y.doubleValue());
+        DoubleDoubleFloat fx = DoubleDoubleMath.scalb(x, -ex);
+        DoubleDoubleFloat fy = DoubleDoubleMath.scalb(y, -ey);
+
+        //fy^n = power * 2^powerExponent
+        DoubleDoubleFloat power = DoubleDoubleFloat.POSITIVE_1;
+        long powerExponent = 0L;
+        DoubleDoubleFloat base = fy;
+        long baseExponent = 0L;
+        for (long m = n; m > 0L; m >>>= 1) {
+            if ((m & 1L) != 0L) {
+                power = power.times(base);
+                int e = exponent(power.doubleValue());
+                power = DoubleDoubleMath.scalb(power, -e);
+                powerExponent += baseExponent + e;
+            }
+            if (m > 1L) {
+                base = base.times(base);
+                int e = exponent(base.doubleValue());
+                base = DoubleDoubleMath.scalb(base, -e);
+                baseExponent = 2 * baseExponent + e;
+            }
+        }
+
+        //x/y^n は1に近いので, 2の累乗の指数の差は小さい
+        long ratioExponent = ex - (n * ey + powerExponent);
+        DoubleDoubleFloat ratio = DoubleDoubleMath.scalb(fx.dividedBy(power), (int) ratioExponent);
+
+        return y.plus(y.times(ratio.minus(DoubleDoubleFloat.POSITIVE_1)).dividedBy(n));
+    }
+
+    /**
+     * 有限で0でない値 v について, 2^e &le; |v| &lt; 2^(e+1) となる e を返す. <br>
+     * {@link Math#getExponent(double)} と異なり, 非正規化数に対しても正しい値を返す.
+     */
+    private static int exponent(double v) {
+        int e = Math.getExponent(v);
+        if (e < Double.MIN_EXPONENT) {
+            return Math.getExponent(v * 0x1p54) - 54;
+        }
+        return e;
+    }
+
+    /**
+     * (high, low) * 2^k を正規化して返す.
+     */
+    private static DoubleDoubleFloat scaled(double high, double low, int k) {
+        if (k == 0) {
+            return DoubleDoubleFloat.valueOf(high, low);
+        }
+        return DoubleDoubleFloat.valueOf(Math.scalb(high, k), Math.scalb(low, k));
+    }
+}
@@ -0,0 +1,710 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * double-double 精度の三角関数と逆三角関数の計算.
+ * 
+ * <p>
+ * 引数 x を {@code x = q * π/2 + r} ({@code |r| <= π/4}) と還元し,
+ * q mod 4 に応じて sin(r), cos(r) を組み合わせる. <br>
+ * 還元は, {@code |x| < 2^20} では π/2 の多項分解 (Cody-Waite) により,
+ * それ以上では 2/π の多語の表を用いた整数演算 (Payne-Hanek) による. <br>
+ * Payne-Hanek の還元では x * 2/π の小数部を直接計算するので,
+ * 巨大な引数に対しても r の相対精度が保たれる.
+ * </p>
+ * 
+ * <p>
+ * sin(r), cos(r) は, {@code r = a + s} ({@code a = k/64}, {@code |s| <= 1/128}) と分解し,
+ * sin(a), cos(a) の定数表 ({@link Table}) と sin(s), cos(s) - 1 の短い多項式から加法定理により計算する.
+ * </p>
+ * 
+ * <p>
+ * 逆三角関数は, 角度 θ を {@code y cos θ - x sin θ = 0} の解として,
+ * {@link Math#atan2(double, double)} などによる初期値に Newton 法の補正を1回加えて計算する. <br>
+ * この関数の2階導関数は自身の符号を反転したものであり, 解において0となるので,
+ * Newton 法は3次収束し, {@code double} の初期値から1回の補正で十分な精度となる.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleTrigonometric {
+
+    /**
+     * π/4 の {@code double} 近似. <br>
+     * 絶対値がこれ以下の引数は還元しない.
+     */
+    private static final double PI_4_DOUBLE = 0x1.921fb54442d18p-1;
+
+    /**
+     * 2/π の {@code double} 近似.
+     */
+    private static final double TWO_OVER_PI = 0x1.45f306dc9c883p-1;
+
+    /**
+     * π/2 の double-double 近似 (最近接への丸め).
+     */
+    private static final DoubleDoubleFloat PI_2 =
+            DoubleDoubleFloat.valueOf(0x1.921fb54442d18p+0, 0x1.1a62633145c07p-54);
+
+    /**
+     * π, π/4, 3π/4 の double-double 近似 (最近接への丸め).
+     */
+    static final DoubleDoubleFloat PI =
+            DoubleDoubleFloat.valueOf(0x1.921fb54442d18p+1, 0x1.1a62633145c07p-53);
+    private static final DoubleDoubleFloat PI_4 =
+            DoubleDoubleFloat.valueOf(0x1.921fb54442d18p-1, 0x1.1a62633145c07p-55);
+    private static final DoubleDoubleFloat THREE_PI_4 =
+            DoubleDoubleFloat.valueOf(0x1.2d97c7f3321d2p+1, 0x1.a79394c9e8a0ap-54);
+
+    /**
+     * 絶対値がこれ未満の x に対して, atan(x), asin(x) は x に丸められる
+     * (3次の項の相対的な大きさが 2^(-108) 未満である).
+     */
+    private static final double INVERSE_SMALL_ARGUMENT = 0x1p-54;
+
+    /**
+     * atan2 において, スケーリングせずに計算できる引数の指数の絶対値の上限.
+     */
+    private static final int ATAN2_UNSCALED_EXPONENT = 500;
+
+    /**
+     * Cody-Waite の還元に用いる π/2 の分解. <br>
+     * 第1項から第4項までは仮数部が33bit以下であり, {@code |q| <= 2^20} との積は正確である.
+     */
+    private static final double PI_2_1 = 0x1.921fb54400000p+0;
+    private static final double PI_2_2 = 0x1.0b4611a600000p-34;
+    private static final double PI_2_3 = 0x1.3198a2e000000p-69;
+    private static final double PI_2_4 = 0x1.b839a25200000p-104;
+    private static final double PI_2_5 = 0x1.27044533e63a0p-142;
+
+    /**
+     * Cody-Waite の還元を用いる引数の絶対値の上限 (これを含まない).
+     */
+    private static final double CODY_WAITE_UPPER = 0x1p20;
+
+    /**
+     * 2/π の2進展開を24bitずつ区切った表. <br>
+     * {@code 2/π = sum_i TWO_OVER_PI_CHUNKS[i] * 2^(-24(i+1))} である. <br>
+     * {@code double} の最大の指数に対して, Payne-Hanek の還元に必要な語数
+     * (最大の添え字が {@code FRACTION_DIGITS + 42} 以上) を持つ.
+     */
+    private static final int[] TWO_OVER_PI_CHUNKS = {
+            0xA2F983, 0x6E4E44, 0x1529FC, 0x2757D1, 0xF534DD, 0xC0DB62,
+            0x95993C, 0x439041, 0xFE5163, 0xABDEBB, 0xC561B7, 0x246E3A,
+            0x424DD2, 0xE00649, 0x2EEA09, 0xD1921C, 0xFE1DEB, 0x1CB129,
+            0xA73EE8, 0x8235F5, 0x2EBB44, 0x84E99C, 0x7026B4, 0x5F7E41,
+            0x3991D6, 0x398353, 0x39F49C, 0x845F8B, 0xBDF928, 0x3B1FF8,
+            0x97FFDE, 0x05980F, 0xEF2F11, 0x8B5A0A, 0x6D1F6D, 0x367ECF,
+            0x27CB09, 0xB74F46, 0x3F669E, 0x5FEA2D, 0x7527BA, 0xC7EBE5,
+            0xF17B3D, 0x0739F7, 0x8A5292, 0xEA6BFB, 0x5FB11F, 0x8D5D08,
+            0x560330, 0x46FC7B, 0x6BABF0, 0xCFBC20, 0x9AF436, 0x1DA9E3,
+            0x91615E, 0xE61B08, 0x659985, 0x5F14A0, 0x68408D, 0xFFD880
+    };
+
+    private static final int CHUNK_BITS = 24;
+    private static final long CHUNK_MASK = 0xFF_FFFFL;
+
+    /**
+     * Payne-Hanek の還元で計算する, x * 2/π の小数部の桁数 (1桁24bit). <br>
+     * 小数部は240bitまで計算され, double-double の引数が
+     * π/2 の整数倍に極めて近い場合にも十分な相対精度を持つ.
+     */
+    private static final int FRACTION_DIGITS = 10;
+
+    private static final long SIGNIFICAND_MASK = 0x000F_FFFF_FFFF_FFFFL;
+    private static final long IMPLICIT_BIT = 0x0010_0000_0000_0000L;
+
+    /**
+     * sin(s), cos(s) - 1 の多項式の係数 1/k! (k = 3, 4, 5), double-double で保持する.
+     */
+    private static final DoubleDoubleFloat INV_FACT_3 = DoubleDoubleFloat.POSITIVE_1.dividedBy(6d);
+    private static final DoubleDoubleFloat INV_FACT_4 = DoubleDoubleFloat.POSITIVE_1.dividedBy(24d);
+    private static final DoubleDoubleFloat INV_FACT_5 = DoubleDoubleFloat.POSITIVE_1.dividedBy(120d);
+
+    /**
+     * 多項式の係数 1/k! (k = 6, ..., 11). <br>
+     * {@code |s| <= 1/128} において, これらの項の寄与は2^(-60)程度以下であるので,
+     * {@code double} で計算すれば十分である.
+     */
+    private static final double INV_FACT_6 = 1d / 720;
+    private static final double INV_FACT_7 = 1d / 5040;
+    private static final double INV_FACT_8 = 1d / 40320;
+    private static final double INV_FACT_9 = 1d / 362880;
+    private static final double INV_FACT_10 = 1d / 3628800;
+    private static final double INV_FACT_11 = 1d / 39916800;
+
+    private DoubleDoubleTrigonometric() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * sin(x) を返す.
+     */
+    static DoubleDoubleFloat sin(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Math.abs(xh) <= PI_4_DOUBLE) {
+            //0を含み, 符号付きの0はそのまま返される
+            return xh == 0d ? x : sinKernel(x);
+        }
+        if (!Double.isFinite(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+
+        Reduction reduction = reduce(x);
+        DoubleDoubleFloat r = reduction.remainder;
+        switch (reduction.quadrant) {
+            case 0:
+                return sinKernel(r);
+            case 1:
+                return cosKernel(r);
+            case 2:
+                return sinKernel(r).negated();
+            default:
+                return cosKernel(r).negated();
+        }
+    }
+
+    /**
+     * cos(x) を返す.
+     */
+    static DoubleDoubleFloat cos(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Math.abs(xh) <= PI_4_DOUBLE) {
+            return cosKernel(x);
+        }
+        if (!Double.isFinite(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+
+        Reduction reduction = reduce(x);
+        DoubleDoubleFloat r = reduction.remainder;
+        switch (reduction.quadrant) {
+            case 0:
+                return cosKernel(r);
+            case 1:
+                return sinKernel(r).negated();
+            case 2:
+                return cosKernel(r).negated();
+            default:
+                return sinKernel(r);
+        }
+    }
+
+    /**
+     * tan(x) を返す.
+     */
+    static DoubleDoubleFloat tan(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (xh == 0d) {
+            return x;
+        }
+        if (!Double.isFinite(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+
+        DoubleDoubleFloat[] sc = new DoubleDoubleFloat[2];
+        if (Math.abs(xh) <= PI_4_DOUBLE) {
+            sinCosKernel(x, sc);
+            return sc[0].dividedBy(sc[1]);
+        }
+        Reduction reduction = reduce(x);
+        sinCosKernel(reduction.remainder, sc);
+
+        //tan は周期 π であり, 奇数の象限では -cos(r)/sin(r) となる
+        return (reduction.quadrant & 1) == 0
+                ? sc[0].dividedBy(sc[1])
+                : sc[1].dividedBy(sc[0]).negated();
+    }
+
+    /**
+     * {sin(x), cos(x)} を返す. <br>
+     * 引数の還元と定数表の参照は1回のみ行われる.
+     */
+    static DoubleDoubleFloat[] sinCos(DoubleDoubleFloat x) {
+        DoubleDoubleFloat[] out = new DoubleDoubleFloat[2];
+        double xh = x.doubleValue();
+        if (Math.abs(xh) <= PI_4_DOUBLE) {
+            sinCosKernel(x, out);
+            if (xh == 0d) {
+                //符号付きの0は sin でそのまま返される
+                out[0] = x;
+            }
+            return out;
+        }
+        if (!Double.isFinite(xh)) {
+            out[0] = DoubleDoubleFloat.NaN;
+            out[1] = DoubleDoubleFloat.NaN;
+            return out;
+        }
+
+        Reduction reduction = reduce(x);
+        sinCosKernel(reduction.remainder, out);
+        DoubleDoubleFloat s = out[0];
+        DoubleDoubleFloat c = out[1];
+        switch (reduction.quadrant) {
+            case 0:
+                break;
+            case 1:
+                out[0] = c;
+                out[1] = s.negated();
+                break;
+            case 2:
+                out[0] = s.negated();
+                out[1] = c.negated();
+                break;
+            default:
+                out[0] = c.negated();
+                out[1] = s;
+                break;
+        }
+        return out;
+    }
+
+    /**
+     * atan(x) を返す.
+     */
+    static DoubleDoubleFloat atan(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (Math.abs(xh) < INVERSE_SMALL_ARGUMENT) {
+            //0を含み, 符号付きの0はそのまま返される
+            return x;
+        }
+        if (Double.isInfinite(xh)) {
+            return xh > 0d ? PI_2 : PI_2.negated();
+        }
+        return refinedAngle(x, DoubleDoubleFloat.POSITIVE_1, Math.atan(xh));
+    }
+
+    /**
+     * atan2(y, x) を返す.
+     */
+    static DoubleDoubleFloat atan2(DoubleDoubleFloat y, DoubleDoubleFloat x) {
+        double yh = y.doubleValue();
+        double xh = x.doubleValue();
+        if (Double.isNaN(yh) || Double.isNaN(xh)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (yh == 0d || xh == 0d || Double.isInfinite(yh) || Double.isInfinite(xh)) {
+            //符号付きの0, 無限大の扱いは Math.atan2 に従い, その結果を double-double の定数に置き換える
+            return specialAngle(Math.atan2(yh, xh));
+        }
+
+        if (Math.abs(yh / xh) < INVERSE_SMALL_ARGUMENT) {
+            //|y/x| が小さい場合は atan(y/x) = y/x であり, x < 0 では ±π を加える
+            //Newton 法では, 指数の大きく異なる y, x の下位がスケーリングで失われうる
+            DoubleDoubleFloat ratio = y.dividedBy(x);
+            return xh > 0d
+                    ? signedLikeY(ratio, yh)
+                    : (yh > 0d ? PI : PI.negated()).plus(ratio);
+        }
+
+        //積がオーバーフロー, アンダーフローしないよう, 共通の2の累乗でスケーリングする
+        //(|y/x| >= 2^(-54) であるから, 小さい方の引数もアンダーフローしない)
+        int exponent = Math.getExponent(Math.max(Math.abs(yh), Math.abs(xh)));
+        if (Math.abs(exponent) > ATAN2_UNSCALED_EXPONENT) {
+            y = DoubleDoubleMath.scalb(y, -exponent);
+            x = DoubleDoubleMath.scalb(x, -exponent);
+        }
+        return signedLikeY(refinedAngle(y, x, Math.atan2(y.doubleValue(), x.doubleValue())), yh);
+    }
+
+    /**
+     * 角度が0 (アンダーフロー) の場合, Math.atan2 に従い y の符号を持つ0に置き換える.
+     */
+    private static DoubleDoubleFloat signedLikeY(DoubleDoubleFloat angle, double yh) {
+        if (angle.doubleValue() != 0d) {
+            return angle;
+        }
+        return DoubleDoubleFloat.valueOf(Math.copySign(0d, yh));
+    }
+
+    /**
+     * asin(x) を返す.
+     */
+    static DoubleDoubleFloat asin(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Math.abs(xh) < INVERSE_SMALL_ARGUMENT) {
+            return x;
+        }
+
+        //asin(x) = atan2(x, sqrt(1 - x^2)), |x| > 1 と NaN は c が NaN となる
+        DoubleDoubleFloat c = complementaryRoot(x);
+        double ch = c.doubleValue();
+        if (Double.isNaN(ch)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (ch == 0d) {
+            return xh > 0d ? PI_2 : PI_2.negated();
+        }
+        return refinedAngle(x, c, Math.atan2(xh, ch));
+    }
+
+    /**
+     * acos(x) を返す.
+     */
+    static DoubleDoubleFloat acos(DoubleDoubleFloat x) {
+        //acos(x) = atan2(sqrt(1 - x^2), x), |x| > 1 と NaN は c が NaN となる
+        DoubleDoubleFloat c = complementaryRoot(x);
+        double ch = c.doubleValue();
+        if (Double.isNaN(ch)) {
+            return DoubleDoubleFloat.NaN;
+        }
+        if (ch == 0d) {
+            return x.doubleValue() > 0d ? DoubleDoubleFloat.POSITIVE_0 : PI;
+        }
+        return refinedAngle(c, x, Math.atan2(ch, x.doubleValue()));
+    }
+
+    /**
+     * 初期値 theta0 に対し, {@code y cos θ - x sin θ = 0} の Newton 法の1ステップ
+     * {@code θ0 + (y cos θ0 - x sin θ0) / (x cos θ0 + y sin θ0)} を返す. <br>
+     * 分母は {@code sqrt(x^2 + y^2)} に近く, 打ち消しは生じない.
+     */
+    private static DoubleDoubleFloat refinedAngle(DoubleDoubleFloat y, DoubleDoubleFloat x, double theta0) {
+        DoubleDoubleFloat[] sc = sinCos(DoubleDoubleFloat.valueOf(theta0));
+        DoubleDoubleFloat numerator = y.times(sc[1]).minus(x.times(sc[0]));
+        DoubleDoubleFloat denominator = x.times(sc[1]).plus(y.times(sc[0]));
+        return numerator.dividedBy(denominator).plus(theta0);
+    }
+
+    /**
+     * {@code sqrt(1 - x^2)} を返す. <br>
+     * {@code 1 - x^2} は {@code (1 - x)(1 + x)} として, 1に近い |x| に対する桁落ちを避ける.
+     */
+    private static DoubleDoubleFloat complementaryRoot(DoubleDoubleFloat x) {
+        DoubleDoubleFloat one = DoubleDoubleFloat.POSITIVE_1;
+        return DoubleDoubleRoots.sqrt(one.minus(x).times(one.plus(x)));
+    }
+
+    /**
+     * {@link Math#atan2(double, double)} の特殊値 (0, ±π/4, ±π/2, ±3π/4, ±π) を
+     * double-double の値に置き換える.
+     */
+    private static DoubleDoubleFloat specialAngle(double angle) {
+        double abs = Math.abs(angle);
+        DoubleDoubleFloat value;
+        if (abs == PI.doubleValue()) {
+            value = PI;
+        } else if (abs == PI_2.doubleValue()) {
+            value = PI_2;
+        } else if (abs == PI_4.doubleValue()) {
+            value = PI_4;
+        } else if (abs == THREE_PI_4.doubleValue()) {
+            value = THREE_PI_4;
+        } else {
+            //符号付きの0
+            return DoubleDoubleFloat.valueOf(angle);
+        }
+        return angle > 0d ? value : value.negated();
+    }
+
+    /**
+     * 有限の x を, {@code x = q * π/2 + r} ({@code |r| <= π/4}, ただし丸めによりわずかに超えうる)
+     * と還元する.
+     */
+    private static Reduction reduce(DoubleDoubleFloat x) {
+        double xh = x.doubleValue();
+        if (Math.abs(xh) < CODY_WAITE_UPPER) {
+            double q = Math.rint(xh * TWO_OVER_PI);
+
+            //xh - q * PI_2_1 は Sterbenz の補題により正確であり,
+            //q * PI_2_2 との和も double-double として正確である
+            DoubleDoubleFloat r = DoubleDoubleFloat.valueOf(xh - q * PI_2_1)
+                    .minus(q * PI_2_2)
+                    .plus(x.lowValue())
+                    .minus(q * PI_2_3)
+                    .minus(q * PI_2_4)
+                    .minus(q * PI_2_5);
+            return new Reduction((int) q & 3, r);
+        }
+        return reduceByPayneHanek(xh, x.lowValue());
+    }
+
+    /**
+     * x = xh + xl を Payne-Hanek の方法で還元する. <br>
+     * 上位と下位のそれぞれと 2/π の積を共通の固定小数点の桁に足し込み,
+     * 和の小数部を {@code [-1/2, 1/2]} にとって π/2 をかける. <br>
+     * 上位と下位の小数部の和は整数演算で正確に計算されるので,
+     * 両者が打ち消し合う場合にも r の相対精度が保たれる.
+     */
+    private static Reduction reduceByPayneHanek(double xh, double xl) {
+        long[] digits = new long[FRACTION_DIGITS + 1];
+        accumulateTimesTwoOverPi(xh, digits);
+        if (xl != 0d) {
+            accumulateTimesTwoOverPi(xl, digits);
+        }
+
+        //繰り上がりを処理する (負の桁は算術シフトにより下からの借りとなる)
+        for (int j = FRACTION_DIGITS; j > 0; j--) {
+            long carry = digits[j] >> CHUNK_BITS;
+            digits[j] &= CHUNK_MASK;
+            digits[j - 1] += carry;
+        }
+        int quadrant = (int) (digits[0] & 3L);
+
+        //小数部 f が 1/2 以上の場合は f - 1 とし, 1 - f を2の補数として計算する
+        boolean negative = (digits[1] >>> (CHUNK_BITS - 1)) != 0L;
+        if (negative) {
+            quadrant++;
+            long carry = 1L;
+            for (int j = FRACTION_DIGITS; j > 0; j--) {
+                long d = (~digits[j] & CHUNK_MASK) + carry;
+                digits[j] = d & CHUNK_MASK;
+                carry = d >>> CHUNK_BITS;
+            }
+        }
+
+        //2桁 (48bit) ずつ double に変換して和をとる
+        DoubleDoubleFloat fraction = DoubleDoubleFloat.POSITIVE_0;
+        for (int j = 1; j < FRACTION_DIGITS; j += 2) {
+            long pair = (digits[j] << CHUNK_BITS) | digits[j + 1];
+            fraction = fraction.plus(Math.scalb((double) pair, -CHUNK_BITS * (j + 1)));
+        }
+        if (negative) {
+            fraction = fraction.negated();
+        }
+        return new Reduction(quadrant & 3, fraction.times(PI_2));
+    }
+
+    /**
+     * 有限の v に対し, {@code v * 2/π} (4を法とする) を固定小数点の桁 digits に足し込む. <br>
+     * digits[0] は整数部 (下位2bitのみが意味を持つ),
+     * digits[j] ({@code j >= 1}) は 2^(-24j) の重みの桁である.
+     * 
+     * <p>
+     * {@code |v| = m * 2^(24b + a)} ({@code 0 <= a < 24}) とすると,
+     * {@code |v| * 2/π = sum_i (m * 2^a) * chunk[i] * 2^(24(b - i - 1))} である. <br>
+     * 整数部の 2^24 以上の桁は4の倍数であるので捨て,
+     * 小数部の {@link #FRACTION_DIGITS} 桁より下も捨てる.
+     * </p>
+     */
+    private static void accumulateTimesTwoOverPi(double v, long[] digits) {
+        long bits = Double.doubleToRawLongBits(v);
+        int biasedExponent = (int) ((bits >>> 52) & 0x7FFL);
+        long m = bits & SIGNIFICAND_MASK;
+        if (biasedExponent == 0) {
+            //非正規化数
+            biasedExponent = 1;
+        } else {
+            m |= IMPLICIT_BIT;
+        }
+        int e = biasedExponent - 1075;
+        int a = Math.floorMod(e, CHUNK_BITS);
+        int b = Math.floorDiv(e, CHUNK_BITS);
+
+        //m * 2^a (77bit未満) を24bitずつの4桁に分ける
+        long m0 = (m << a) & CHUNK_MASK;
+        long m1 = (m >>> (CHUNK_BITS - a)) & CHUNK_MASK;
+        long m2 = (m >>> (2 * CHUNK_BITS - a)) & CHUNK_MASK;
+        //m < 2^53 であるので, シフト量が64以上 (Java では64を法とされる) の場合は0である
+        long m3 = 3 * CHUNK_BITS - a < Long.SIZE ? m >>> (3 * CHUNK_BITS - a) : 0L;
+
+        long sign = v < 0d ? -1L : 1L;
+        int last = Math.min(TWO_OVER_PI_CHUNKS.length - 1, FRACTION_DIGITS + b + 2);
+        for (int i = Math.max(0, b - 1); i <= last; i++) {
+            long p = sign * TWO_OVER_PI_CHUNKS[i];
+
+            //(m * 2^a) の t 桁目と chunk[i] の積は, 小数部の (i + 1 - b - t) 桁目に入る
+            int j = i + 1 - b;
+            addToDigit(digits, j, m0 * p);
+            addToDigit(digits, j - 1, m1 * p);
+            addToDigit(digits, j - 2, m2 * p);
+            addToDigit(digits, j - 3, m3 * p);
+        }
+    }
+
+    /**
+     * 添え字が範囲内であれば, digits[j] に value を加える.
+     */
+    private static void addToDigit(long[] digits, int j, long value) {
+        if (j >= 0 && j < digits.length) {
+            digits[j] += value;
+        }
+    }
+
+    /**
+     * {@code |r| <= π/4} に対し, sin(r) を返す.
+     */
+    private static DoubleDoubleFloat sinKernel(DoubleDoubleFloat r) {
+        double rh = r.doubleValue();
+        int k = (int) Math.rint(Math.abs(rh) * Table.INV_STEP);
+        if (k == 0) {
+            return sinPolynomial(r, r.times(r));
+        }
+
+        //r >= 0 として計算し, 符号を戻す
+        DoubleDoubleFloat abs = rh < 0d ? r.negated() : r;
+        DoubleDoubleFloat s = offset(abs, k);
+        DoubleDoubleFloat z = s.times(s);
+        DoubleDoubleFloat sinA = Table.SIN[k];
+        DoubleDoubleFloat cosA = Table.COS[k];
+
+        //sin(a + s) = sin(a) + (sin(a)(cos(s) - 1) + cos(a)sin(s))
+        DoubleDoubleFloat value = sinA.plus(
+                sinA.times(cosMinus1Polynomial(z)).plus(cosA.times(sinPolynomial(s, z))));
+        return rh < 0d ? value.negated() : value;
+    }
+
+    /**
+     * {@code |r| <= π/4} に対し, cos(r) を返す.
+     */
+    private static DoubleDoubleFloat cosKernel(DoubleDoubleFloat r) {
+        double rh = r.doubleValue();
+        int k = (int) Math.rint(Math.abs(rh) * Table.INV_STEP);
+        if (k == 0) {
+            return cosMinus1Polynomial(r.times(r)).plus(1d);
+        }
+
+        DoubleDoubleFloat abs = rh < 0d ? r.negated() : r;
+        DoubleDoubleFloat s = offset(abs, k);
+        DoubleDoubleFloat z = s.times(s);
+        DoubleDoubleFloat sinA = Table.SIN[k];
+        DoubleDoubleFloat cosA = Table.COS[k];
+
+        //cos(a + s) = cos(a) + (cos(a)(cos(s) - 1) - sin(a)sin(s))
+        return cosA.plus(
+                cosA.times(cosMinus1Polynomial(z)).minus(sinA.times(sinPolynomial(s, z))));
+    }
+
+    /**
+     * {@code |r| <= π/4} に対し, {sin(r), cos(r)} を dest に格納する.
+     */
+    private static void sinCosKernel(DoubleDoubleFloat r, DoubleDoubleFloat[] dest) {
+        double rh = r.doubleValue();
+        int k = (int) Math.rint(Math.abs(rh) * Table.INV_STEP);
+        if (k == 0) {
+            DoubleDoubleFloat z = r.times(r);
+            dest[0] = sinPolynomial(r, z);
+            dest[1] = cosMinus1Polynomial(z).plus(1d);
+            return;
+        }
+
+        DoubleDoubleFloat abs = rh < 0d ? r.negated() : r;
+        DoubleDoubleFloat s = offset(abs, k);
+        DoubleDoubleFloat z = s.times(s);
+        DoubleDoubleFloat sinA = Table.SIN[k];
+        DoubleDoubleFloat cosA = Table.COS[k];
+        DoubleDoubleFloat sinS = sinPolynomial(s, z);
+        DoubleDoubleFloat cosSm1 = cosMinus1Polynomial(z);
+
+        DoubleDoubleFloat sin = sinA.plus(sinA.times(cosSm1).plus(cosA.times(sinS)));
+        dest[0] = rh < 0d ? sin.negated() : sin;
+        dest[1] = cosA.plus(cosA.times(cosSm1).minus(sinA.times(sinS)));
+    }
+
+    /**
+     * 正の r と {@code k = rint(64r)} に対し, {@code s = r - k/64} を返す. <br>
+     * r の上位と k/64 は比が2倍以内であるので, 差は誤差なく計算される.
+     */
+    private static DoubleDoubleFloat offset(DoubleDoubleFloat r, int k) {
+        return DoubleDoubleFloat.valueOf(r.doubleValue() - k * Table.STEP, r.lowValue());
+    }
+
+    /**
+     * {@code |s| <= 1/128}, {@code z = s^2} に対し, sin(s) を返す. <br>
+     * 11次までの Taylor 多項式であり, 打ち切り誤差は相対的に 2^(-116) 程度以下である.
+     */
+    private static DoubleDoubleFloat sinPolynomial(DoubleDoubleFloat s, DoubleDoubleFloat z) {
+        double zh = z.doubleValue();
+        double tail = -INV_FACT_7 + zh * (INV_FACT_9 - zh * INV_FACT_11);
+
+        DoubleDoubleFloat q = z.times(tail).plus(INV_FACT_5);
+        q = z.times(q).minus(INV_FACT_3);
+        return s.plus(s.times(z).times(q));
+    }
+
+    /**
+     * {@code z = s^2} ({@code |s| <= 1/128}) に対し, cos(s) - 1 を返す. <br>
+     * 10次までの Taylor 多項式であり, 打ち切り誤差は 2^(-112) 程度以下である.
+     */
+    private static DoubleDoubleFloat cosMinus1Polynomial(DoubleDoubleFloat z) {
+        double zh = z.doubleValue();
+        double tail = -INV_FACT_6 + zh * (INV_FACT_8 - zh * INV_FACT_10);
+
+        DoubleDoubleFloat q = z.times(tail).plus(INV_FACT_4);
+        return z.times(z.times(q).minus(0.5));
+    }
+
+    /**
+     * 引数還元の結果 {@code x = q * π/2 + r} を表す.
+     */
+    private static final class Reduction {
+
+        /**
+         * q mod 4.
+         */
+        final int quadrant;
+
+        /**
+         * r.
+         */
+        final DoubleDoubleFloat remainder;
+
+        Reduction(int quadrant, DoubleDoubleFloat remainder) {
+            this.quadrant = quadrant;
+            this.remainder = remainder;
+        }
+    }
+
+    /**
+     * 三角関数の定数表. <br>
+     * 最初の参照時に, {@link BigDecimal} による計算で初期化される.
+     */
+    private static final class Table {
+
+        static final double STEP = 1d / 64;
+        static final double INV_STEP = 64d;
+
+        /**
+         * 表の最大の添え字, π/4 * 64 = 50.26... に還元の丸めの余裕を加えたもの.
+         */
+        static final int MAX_INDEX = 51;
+
+        /**
+         * SIN[k], COS[k] がそれぞれ sin(k/64), cos(k/64) を表す (0 &le; k &le; 51).
+         */
+        static final DoubleDoubleFloat[] SIN;
+        static final DoubleDoubleFloat[] COS;
+
+        static {
+            //double-double の精度 (約32桁) に対して十分な桁数で計算する
+            MathContext mc = new MathContext(50);
+            SIN = new DoubleDoubleFloat[MAX_INDEX + 1];
+            COS = new DoubleDoubleFloat[MAX_INDEX + 1];
+            for (int k = 0; k <= MAX_INDEX; k++) {
+                BigDecimal a = BigDecimal.valueOf(k).divide(BigDecimal.valueOf(64));
+
+                //sin, cos の Taylor 級数を同時に計算する (a <= 0.8 であり, 60項で十分収束する)
+                BigDecimal sin = BigDecimal.ZERO;
+                BigDecimal cos = BigDecimal.ZERO;
+                BigDecimal term = BigDecimal.ONE;
+                for (int i = 0; i < 60; i++) {
+                    BigDecimal signed = (i & 2) == 0 ? term : term.negate();
+                    if ((i & 1) == 0) {
+                        cos = cos.add(signed, mc);
+                    } else {
+                        sin = sin.add(signed, mc);
+                    }
+                    term = term.multiply(a, mc).divide(BigDecimal.valueOf(i + 1), mc);
+                }
+                SIN[k] = DoubleDoubleFloat.valueOf(sin);
+                COS[k] = DoubleDoubleFloat.valueOf(cos);
+            }
+        }
+    }
+}
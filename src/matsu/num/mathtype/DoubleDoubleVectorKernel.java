@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.17
+ */
+package matsu.num.mathtype;
+
+/**
+ * 上位と下位が別の配列に格納された double-double の配列に対する, SIMDによる一括演算カーネル
+ * (ベースの実装).
+ * 
+ * <p>
+ * このクラスはSIMD化を行わず, {@link #AVAILABLE} は常に false である. <br>
+ * Vector API ({@code jdk.incubator.vector}) による実装は, ソースフォルダ
+ * {@code src-versions/17} で別途コンパイルされ, マルチリリースJARの
+ * {@code META-INF/versions/17} のエントリとしてこのクラスを置き換える.
+ * 両者のパッケージプライベートなAPIは同一である.
+ * </p>
+ * 
+ * <p>
+ * 各メソッドは, 先頭からベクトル長の倍数の要素までを処理し, 処理した要素数を返す. <br>
+ * 残りの要素の処理は呼び出し側が行う.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class DoubleDoubleVectorKernel {
+
+    /**
+     * 使用するベクトルのビット長を指定するシステムプロパティ (このクラスでは参照しない).
+     */
+    static final String VECTOR_BIT_SIZE_PROPERTY = "matsu.num.mathtype.vectorBitSize";
+
+    /**
+     * Vector API が利用可能かどうか (常に false). <br>
+     * 定数式にすると呼び出し側のクラスに埋め込まれ,
+     * バージョン付きのエントリによる置き換えが効かなくなるため, メソッドの戻り値で初期化する.
+     */
+    static final boolean AVAILABLE = isAvailable();
+
+    private DoubleDoubleVectorKernel() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    private static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * 使用するベクトルのビット長を返す (利用不可の場合は0).
+     */
+    static int vectorBitSize() {
+        return 0;
+    }
+
+    /**
+     * 要素ごとの和を計算する.
+     * 
+     * @return 処理した要素数 (常に0)
+     */
+    static int add(
+            double[] xhs, double[] xls, double[] yhs, double[] yls,
+            double[] zhs, double[] zls, int length) {
+        return 0;
+    }
+
+    /**
+     * 要素ごとの積を計算する.
+     * 
+     * @return 処理した要素数 (常に0)
+     */
+    static int multiply(
+            double[] xhs, double[] xls, double[] yhs, double[] yls,
+            double[] zhs, double[] zls, int length) {
+        return 0;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+import java.math.BigInteger;
+
+/**
+ * 10の累乗の表. <br>
+ * 10進と2進の変換 ({@link DoubleDoubleDecimal}, {@link DecimalToDoubleDouble}) で用いる.
+ * 
+ * @author Matsuura Y.
+ */
+final class PowersOfTen {
+
+    /**
+     * 10^t の近似を保持する t の範囲. <br>
+     * 有効桁数 {@link DoubleDoubleDecimal#FAST_MAX_DIGITS} 以下の変換
+     * (t は -310 から 360 程度), 小数点以下400桁までの丸め,
+     * 128bitの仮数による10進数の {@link DecimalToDoubleDouble} の変換
+     * (t は -330 から 308) に対応する.
+     */
+    static final int MIN_EXPONENT = -330;
+    static final int MAX_EXPONENT = 400;
+
+    /**
+     * 10^t の近似が正確である t の上限 (5^55 < 2^128).
+     */
+    static final int EXACT_MAX = 55;
+
+    /**
+     * 10^t ≈ (HIGH * 2^64 + LOW) * 2^BINARY_EXPONENT (添え字は t - MIN_EXPONENT). <br>
+     * 仮数は 2^127 以上 2^128 未満であり, 最近接に丸められている.
+     */
+    static final long[] HIGH;
+    static final long[] LOW;
+    static final int[] BINARY_EXPONENT;
+
+    /**
+     * 10^n (n = 0, ..., 37) の128bit表現.
+     */
+    static final long[] INTEGER_HIGH;
+    static final long[] INTEGER_LOW;
+
+    static {
+        int size = MAX_EXPONENT - MIN_EXPONENT + 1;
+        HIGH = new long[size];
+        LOW = new long[size];
+        BINARY_EXPONENT = new int[size];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int t = MIN_EXPONENT; t <= MAX_EXPONENT; t++) {
+            BigInteger significand;
+            int binaryExponent;
+            if (t >= 0) {
+                //10^t = 5^t * 2^t
+                BigInteger power = five.pow(t);
+                int bits = power.bitLength();
+                significand = roundedShift(power, bits - 128);
+                binaryExponent = t + bits - 128;
+            } else {
+                //10^t = 2^t / 5^(-t) ≈ round(2^(127 + bits) / 5^(-t)) * 2^(t - 127 - bits)
+                BigInteger power = five.pow(-t);
+                int bits = power.bitLength();
+                BigInteger[] qr = BigInteger.ONE.shiftLeft(127 + bits).divideAndRemainder(power);
+                significand = qr[1].shiftLeft(1).compareTo(power) >= 0
+                        ? qr[0].add(BigInteger.ONE)
+                        : qr[0];
+                binaryExponent = t - 127 - bits;
+            }
+            if (significand.bitLength() > 128) {
+                significand = significand.shiftRight(1);
+                binaryExponent++;
+            }
+            int index = t - MIN_EXPONENT;
+            HIGH[index] = significand.shiftRight(64).longValue();
+            LOW[index] = significand.longValue();
+            BINARY_EXPONENT[index] = binaryExponent;
+        }
+
+        INTEGER_HIGH = new long[DoubleDoubleDecimal.FAST_MAX_DIGITS + 2];
+        INTEGER_LOW = new long[DoubleDoubleDecimal.FAST_MAX_DIGITS + 2];
+        for (int n = 0; n < INTEGER_HIGH.length; n++) {
+            BigInteger power = BigInteger.TEN.pow(n);
+            INTEGER_HIGH[n] = power.shiftRight(64).longValue();
+            INTEGER_LOW[n] = power.longValue();
+        }
+    }
+
+    private PowersOfTen() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * value * 2^(-shift) を最近接に丸めた整数を返す (shift が負の場合は正確な左シフト).
+     */
+    private static BigInteger roundedShift(BigInteger value, int shift) {
+        if (shift <= 0) {
+            return value.shiftLeft(-shift);
+        }
+        BigInteger shifted = value.shiftRight(shift);
+        return value.testBit(shift - 1) ? shifted.add(BigInteger.ONE) : shifted;
+    }
+}
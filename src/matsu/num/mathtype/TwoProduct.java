@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.17
+ */
+package matsu.num.mathtype;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * 2個の {@code double} の積の丸め誤差を, 誤差なしに計算する (error-free transformation).
+ * 
+ * <p>
+ * {@code p = x * y} ({@code double} 演算) に対して,
+ * {@code x * y - p} (実数演算) を返す. <br>
+ * 計算方法には, {@link Math#fma(double, double, double)} によるものと,
+ * Dekker の方法 (Veltkamp の分割) によるものがある. <br>
+ * {@code Math.fma} はハードウェアによる支援がない場合は極めて遅いので,
+ * クラスの初期化時に1度だけ, JVMがFMA命令を使用するかどうかを調べ,
+ * 使用する場合に限り {@code Math.fma} による計算を採用する.
+ * </p>
+ * 
+ * <p>
+ * 2つの方法は, {@code p} が有限である限り, ビット単位で同一の結果を返す.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class TwoProduct {
+
+    /**
+     * FMAによる計算を使うかどうか.
+     */
+    static final boolean USE_FMA = isFmaIntrinsic();
+
+    /**
+     * Veltkamp の分割に使う定数, 2^27 + 1.
+     */
+    private static final double SPLITTER = 0x1p27 + 1d;
+
+    private TwoProduct() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * {@code x * y - p} を返す. <br>
+     * ただし, {@code p = x * y} でなければならない.
+     * 
+     * <p>
+     * {@code p} が有限でない場合, 戻り値は意味を持たない.
+     * </p>
+     */
+    static double error(double x, double y, double p) {
+        return USE_FMA
+                ? errorByFma(x, y, p)
+                : errorBySplit(x, y, p);
+    }
+
+    /**
+     * {@link #error(double, double, double)} の,
+     * {@link Math#fma(double, double, double)} による実装.
+     */
+    static double errorByFma(double x, double y, double p) {
+        return Math.fma(x, y, -p);
+    }
+
+    /**
+     * {@link #error(double, double, double)} の, Dekker の方法による実装.
+     */
+    static double errorBySplit(double x, double y, double p) {
+        int ex = Math.getExponent(x);
+        int ey = Math.getExponent(y);
+        int exy = ex + ey;
+
+        /*
+         * 次の場合は部分積が誤差なく計算される.
+         * - x, yが正規数であり, 分割時にオーバーフローしない.
+         * - 部分積の最下位ビットが非正規数の範囲に入らず, かつ上位の部分積がオーバーフローしない.
+         */
+        if (ex > Double.MIN_EXPONENT - 1 && ey > Double.MIN_EXPONENT - 1
+                && ex < 996 && ey < 996
+                && exy >= -970 && exy <= 1021) {
+            return dekker(x, y, p);
+        }
+
+        if (!Double.isFinite(p)) {
+            return x * y - p;
+        }
+
+        //2の累乗でスケールして計算し, 元に戻す
+        //スケール後の計算は誤差を生じず, 戻す操作での丸めは1回である
+        return Math.scalb(
+                dekker(Math.scalb(x, -ex), Math.scalb(y, -ey), Math.scalb(p, -exy)),
+                exy);
+    }
+
+    /**
+     * {@code x * x - p} を返す. <br>
+     * ただし, {@code p = x * x} でなければならない.
+     * 
+     * <p>
+     * {@link #error(double, double, double)} に同一の値を与えたものと同じ結果を返すが,
+     * 分割を1回で済ませるため高速である. <br>
+     * {@code p} が有限でない場合, 戻り値は意味を持たない.
+     * </p>
+     */
+    static double squareError(double x, double p) {
+        return USE_FMA
+                ? errorByFma(x, x, p)
+                : squareErrorBySplit(x, p);
+    }
+
+    /**
+     * {@link #squareError(double, double)} の, Dekker の方法による実装.
+     */
+    static double squareErrorBySplit(double x, double p) {
+        int ex = Math.getExponent(x);
+        int exx = 2 * ex;
+
+        //条件は errorBySplit と同様
+        if (ex > Double.MIN_EXPONENT - 1
+                && exx >= -970 && exx <= 1021) {
+            return dekkerSquare(x, p);
+        }
+
+        if (!Double.isFinite(p)) {
+            return x * x - p;
+        }
+
+        return Math.scalb(
+                dekkerSquare(Math.scalb(x, -ex), Math.scalb(p, -exx)),
+                exx);
+    }
+
+    /**
+     * Dekker の方法により {@code x * y - p} を計算する. <br>
+     * 分割や部分積がオーバーフロー, アンダーフローしないことは呼び出し側で保証する.
+     */
+    private static double dekker(double x, double y, double p) {
+        //split x,y: 符号を含めて上位26bitと下位26bitに分ける
+        double cx = SPLITTER * x;
+        double xh = cx - (cx - x);
+        double xl = x - xh;
+        double cy = SPLITTER * y;
+        double yh = cy - (cy - y);
+        double yl = y - yh;
+
+        return ((xh * yh - p) + xh * yl + xl * yh) + xl * yl;
+    }
+
+    /**
+     * Dekker の方法により {@code x * x - p} を計算する. <br>
+     * 分割や部分積がオーバーフロー, アンダーフローしないことは呼び出し側で保証する.
+     */
+    private static double dekkerSquare(double x, double p) {
+        double cx = SPLITTER * x;
+        double xh = cx - (cx - x);
+        double xl = x - xh;
+
+        return ((xh * xh - p) + 2d * (xh * xl)) + xl * xl;
+    }
+
+    /**
+     * JVMがFMA命令を使用するかどうかを調べる. <br>
+     * 判定できない場合は false とする.
+     */
+    private static boolean isFmaIntrinsic() {
+        try {
+            HotSpotDiagnosticMXBean bean =
+                    ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return bean != null
+                    && Boolean.parseBoolean(bean.getVMOption("UseFMA").getValue());
+        } catch (LinkageError | RuntimeException e) {
+            //jdk.management モジュールが存在しない, オプションが存在しない, など
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+
+/*
+ * 2026.10.18
+ */
+package matsu.num.mathtype;
+
+/**
+ * 128bit, 256bitの符号なし整数 ({@code long} の語の並び) の演算. <br>
+ * 10進と2進の変換 ({@link DoubleDoubleDecimal}, {@link DecimalToDoubleDouble}) で用いる.
+ * 
+ * <p>
+ * 128bitの整数は上位の語と下位の語の組 (hi, lo) で,
+ * 256bitの整数は下位の語から並べた長さ4の配列で表す.
+ * </p>
+ * 
+ * @author Matsuura Y.
+ */
+final class WideArithmetic {
+
+    private WideArithmetic() {
+        throw new AssertionError("インスタンス化不可");
+    }
+
+    /**
+     * 128bitの符号なし整数を比較する.
+     */
+    static int compareUnsigned(long a1, long a0, long b1, long b0) {
+        int comparison = Long.compareUnsigned(a1, b1);
+        return comparison != 0 ? comparison : Long.compareUnsigned(a0, b0);
+    }
+
+    /**
+     * 128bitの符号なし整数の積 (256bit) を z (下位の語から) に書き込む.
+     */
+    static void multiply(long a1, long a0, long b1, long b0, long[] z) {
+        long p00Low = a0 * b0;
+        long p00High = unsignedMultiplyHigh(a0, b0);
+        long p01Low = a0 * b1;
+        long p01High = unsignedMultiplyHigh(a0, b1);
+        long p10Low = a1 * b0;
+        long p10High = unsignedMultiplyHigh(a1, b0);
+        long p11Low = a1 * b1;
+        long p11High = unsignedMultiplyHigh(a1, b1);
+
+        long s1 = p00High + p01Low;
+        long carry1 = Long.compareUnsigned(s1, p00High) < 0 ? 1L : 0L;
+        long z1 = s1 + p10Low;
+        carry1 += Long.compareUnsigned(z1, s1) < 0 ? 1L : 0L;
+
+        long s2 = p01High + p10High;
+        long carry2 = Long.compareUnsigned(s2, p01High) < 0 ? 1L : 0L;
+        long s2b = s2 + p11Low;
+        carry2 += Long.compareUnsigned(s2b, s2) < 0 ? 1L : 0L;
+        long z2 = s2b + carry1;
+        carry2 += Long.compareUnsigned(z2, s2b) < 0 ? 1L : 0L;
+
+        z[0] = p00Low;
+        z[1] = z1;
+        z[2] = z2;
+        z[3] = p11High + carry2;
+    }
+
+    /**
+     * 64bitの符号なし整数の積の上位64bitを返す.
+     */
+    static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * 256bitの符号なし整数 z のビット長を返す.
+     */
+    static int bitLength(long[] z) {
+        for (int i = z.length - 1; i >= 0; i--) {
+            if (z[i] != 0L) {
+                return 64 * i + 64 - Long.numberOfLeadingZeros(z[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 256bitの符号なし整数 z の, 第 offset ビットから始まる64bitを返す
+     * (範囲外のビットは0とする).
+     */
+    static long word(long[] z, int offset) {
+        if (offset >= 64 * z.length || offset <= -64) {
+            return 0L;
+        }
+        int index = Math.floorDiv(offset, 64);
+        int bit = Math.floorMod(offset, 64);
+        long lower = index >= 0 ? z[index] : 0L;
+        long upper = index + 1 < z.length ? z[index + 1] : 0L;
+        return bit == 0 ? lower : (lower >>> bit) | (upper << (64 - bit));
+    }
+
+    /**
+     * 256bitの符号なし整数 z の, 第 offset ビット未満に0でないビットがあるかを判定する.
+     */
+    static boolean hasNonZeroBitBelow(long[] z, int offset) {
+        for (int i = 0; i < z.length && 64 * i < offset; i++) {
+            int bits = offset - 64 * i;
+            long w = bits < 64 ? z[i] & ((1L << bits) - 1L) : z[i];
+            if (w != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -13,9 +13,27 @@
  * (無し)
  * </p>
  * 
+ * <p>
+ * <i>任意の依存モジュール:</i> <br>
+ * {@code jdk.management}
+ * (double-double 演算においてハードウェアのFMA命令が使えるかどうかの判定に使用する.
+ * 存在しない場合は, FMA命令を使わない計算方法が選ばれる.)
+ * </p>
+ * 
+ * <p>
+ * マルチリリースJARの {@code META-INF/versions/17} のエントリには,
+ * {@code jdk.incubator.vector} を任意の依存モジュールに加えたモジュール記述子と,
+ * double-double 配列の一括演算をSIMD化するクラスが含まれる.
+ * 実行時に {@code --add-modules jdk.incubator.vector} が指定されていない場合,
+ * またはハードウェアのベクトル長が256bit未満の場合は,
+ * SIMD化されない計算方法が選ばれる.
+ * </p>
+ * 
  * @author Matsuura Y.
  * @version 4.0.0
  */
 module matsu.num.MathType {
+    requires static jdk.management;
+
     exports matsu.num.mathtype;
 }
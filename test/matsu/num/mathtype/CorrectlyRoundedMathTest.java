@@ -0,0 +1,226 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.UnaryOperator;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link CorrectlyRoundedMath} クラス (および {@link BigDecimalMath} クラス) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class CorrectlyRoundedMathTest {
+
+    public static final Class<?> TEST_CLASS = CorrectlyRoundedMath.class;
+
+    /**
+     * 関数の値が, 参照値を丸めた値と一致することを検証する.
+     */
+    private static void assertCorrectlyRounded(
+            double x, DoubleUnaryOperator function, UnaryOperator<BigDecimal> reference) {
+        double expected = reference.apply(new BigDecimal(x)).doubleValue();
+        assertThat("x = " + x, function.applyAsDouble(x), is(expected));
+    }
+
+    private static BigDecimal powReference(double x, double y) {
+        return expReference(new BigDecimal(y).multiply(logReference(new BigDecimal(x)), MC_EVALUATION));
+    }
+
+    public static class 丸めの検証 {
+
+        @Test
+        public void test_expは正しく丸められる() {
+            Random random = new Random(1L);
+            for (int i = 0; i < 1000; i++) {
+                double x = 1400 * random.nextDouble() - 700;
+                assertCorrectlyRounded(x, CorrectlyRoundedMath::exp, DoubleDoubleFloatUtil::expReference);
+            }
+        }
+
+        @Test
+        public void test_logは正しく丸められる() {
+            Random random = new Random(2L);
+            for (int i = 0; i < 1000; i++) {
+                double x = Math.scalb(1 + random.nextDouble(), random.nextInt(2000) - 1000);
+                assertCorrectlyRounded(x, CorrectlyRoundedMath::log, DoubleDoubleFloatUtil::logReference);
+            }
+            for (int i = 0; i < 200; i++) {
+                double x = 1 + Math.scalb(random.nextDouble() - 0.5, -random.nextInt(40));
+                assertCorrectlyRounded(x, CorrectlyRoundedMath::log, DoubleDoubleFloatUtil::logReference);
+            }
+        }
+
+        @Test
+        public void test_sinとcosは正しく丸められる() {
+            Random random = new Random(3L);
+            for (int i = 0; i < 1000; i++) {
+                double x = (i & 1) == 0
+                        ? 200 * random.nextDouble() - 100
+                        : Math.scalb(random.nextDouble(), random.nextInt(100));
+                assertCorrectlyRounded(x, CorrectlyRoundedMath::sin, DoubleDoubleFloatUtil::sinReference);
+                assertCorrectlyRounded(x, CorrectlyRoundedMath::cos, DoubleDoubleFloatUtil::cosReference);
+            }
+        }
+
+        @Test
+        public void test_powは正しく丸められる() {
+            Random random = new Random(4L);
+            for (int i = 0; i < 1000; i++) {
+                double x = 100 * random.nextDouble();
+                double y = 100 * random.nextDouble() - 50;
+                double expected = powReference(x, y).doubleValue();
+                assertThat("x = " + x + ", y = " + y, CorrectlyRoundedMath.pow(x, y), is(expected));
+            }
+        }
+
+        @Test
+        public void test_負の底の整数乗は符号付きで正しく丸められる() {
+            Random random = new Random(5L);
+            for (int i = 0; i < 200; i++) {
+                double x = -10 * random.nextDouble();
+                int n = random.nextInt(61) - 30;
+                double expected = powReference(-x, n).doubleValue();
+                expected = (n & 1) == 0 ? expected : -expected;
+                assertThat("x = " + x + ", n = " + n, CorrectlyRoundedMath.pow(x, n), is(expected));
+            }
+        }
+    }
+
+    public static class 代替経路の検証 {
+
+        @Test
+        public void test_powの2乗が中点となる場合は偶数側に丸められる() {
+            //94906267^2 = 9007199515875289 は, 2^53 以上の隣り合う偶数の中点
+            CorrectlyRoundedMath.resetStatistics();
+            assertThat(CorrectlyRoundedMath.pow(94906267d, 2d), is(9007199515875288d));
+            assertThat(CorrectlyRoundedMath.fallbackCount(), is(1L));
+        }
+
+        @Test
+        public void test_powの非整数乗が中点となる場合は偶数側に丸められる() {
+            //43291044225 = 208065^2 であり, 208065^3 = 9007351116674625 は中点
+            CorrectlyRoundedMath.resetStatistics();
+            assertThat(CorrectlyRoundedMath.pow(43291044225d, 1.5), is(9007351116674624d));
+            assertThat(CorrectlyRoundedMath.pow(-94906267d, 2d), is(9007199515875288d));
+            assertThat(CorrectlyRoundedMath.fallbackCount(), is(2L));
+        }
+
+        @Test
+        public void test_結果が非正規化数となるexpは正しく丸められる() {
+            Random random = new Random(6L);
+            for (int i = 0; i < 20; i++) {
+                double x = -745 + 40 * random.nextDouble();
+                assertCorrectlyRounded(x, CorrectlyRoundedMath::exp, DoubleDoubleFloatUtil::expReference);
+            }
+        }
+
+        @Test
+        public void test_結果が0に近いsinとcosは正しく丸められる() {
+            double[] xs = { Math.PI, 2 * Math.PI, 10 * Math.PI, Math.PI / 2, 3 * Math.PI / 2 };
+            for (double x : xs) {
+                assertCorrectlyRounded(x, CorrectlyRoundedMath::sin, DoubleDoubleFloatUtil::sinReference);
+                assertCorrectlyRounded(x, CorrectlyRoundedMath::cos, DoubleDoubleFloatUtil::cosReference);
+            }
+        }
+
+        @Test
+        public void test_BigDecimalMathの結果は指定の桁数の精度を持つ() {
+            Random random = new Random(7L);
+            BigDecimal tolerance = BigDecimal.ONE.movePointLeft(60);
+            for (int i = 0; i < 50; i++) {
+                BigDecimal x = new BigDecimal(Math.scalb(random.nextDouble() + 0.5, random.nextInt(20) - 10));
+                BigDecimal[][] pairs = {
+                        { BigDecimalMath.exp(x, 60), expReference(x) },
+                        { BigDecimalMath.log(x, 60), logReference(x) },
+                        { BigDecimalMath.sin(x, 60), sinReference(x) },
+                        { BigDecimalMath.cos(x, 60), cosReference(x) } };
+                for (BigDecimal[] pair : pairs) {
+                    BigDecimal error = pair[0].subtract(pair[1]).abs();
+                    assertThat(error.compareTo(pair[1].abs().multiply(tolerance)), is(lessThanOrEqualTo(0)));
+                }
+            }
+        }
+    }
+
+    public static class 代替経路の割合の検証 {
+
+        @Test
+        public void test_代替経路に切り替わる割合は1万分の1未満() {
+            Random random = new Random(8L);
+            CorrectlyRoundedMath.resetStatistics();
+            for (int i = 0; i < 50000; i++) {
+                double x = 100 * random.nextDouble() - 50;
+                CorrectlyRoundedMath.exp(x);
+                CorrectlyRoundedMath.log(Math.abs(x));
+                CorrectlyRoundedMath.sin(x);
+                CorrectlyRoundedMath.cos(x);
+                CorrectlyRoundedMath.pow(Math.abs(x), x / 4);
+            }
+            assertThat(CorrectlyRoundedMath.callCount(), is(250000L));
+            assertThat(
+                    (double) CorrectlyRoundedMath.fallbackCount() / CorrectlyRoundedMath.callCount(),
+                    is(lessThan(1E-4)));
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_expの特殊値() {
+            assertThat(CorrectlyRoundedMath.exp(Double.NaN), is(Double.NaN));
+            assertThat(CorrectlyRoundedMath.exp(Double.POSITIVE_INFINITY), is(Double.POSITIVE_INFINITY));
+            assertThat(CorrectlyRoundedMath.exp(Double.NEGATIVE_INFINITY), is(0d));
+            assertThat(CorrectlyRoundedMath.exp(-0d), is(1d));
+            assertThat(CorrectlyRoundedMath.exp(710d), is(Double.POSITIVE_INFINITY));
+            assertThat(CorrectlyRoundedMath.exp(709.78d), is(Math.exp(709.78d)));
+            assertThat(CorrectlyRoundedMath.exp(-746d), is(0d));
+            assertThat(CorrectlyRoundedMath.exp(-745d), is(Double.MIN_VALUE));
+        }
+
+        @Test
+        public void test_logの特殊値() {
+            assertThat(CorrectlyRoundedMath.log(Double.NaN), is(Double.NaN));
+            assertThat(CorrectlyRoundedMath.log(-1d), is(Double.NaN));
+            assertThat(CorrectlyRoundedMath.log(-0d), is(Double.NEGATIVE_INFINITY));
+            assertThat(CorrectlyRoundedMath.log(Double.POSITIVE_INFINITY), is(Double.POSITIVE_INFINITY));
+            assertThat(Double.doubleToLongBits(CorrectlyRoundedMath.log(1d)), is(0L));
+        }
+
+        @Test
+        public void test_sinとcosの特殊値() {
+            assertThat(CorrectlyRoundedMath.sin(Double.POSITIVE_INFINITY), is(Double.NaN));
+            assertThat(CorrectlyRoundedMath.cos(Double.NaN), is(Double.NaN));
+            assertThat(Double.doubleToLongBits(CorrectlyRoundedMath.sin(-0d)),
+                    is(Double.doubleToLongBits(-0d)));
+            assertThat(CorrectlyRoundedMath.sin(0x1p-30), is(0x1p-30));
+            assertThat(CorrectlyRoundedMath.cos(-0d), is(1d));
+        }
+
+        @Test
+        public void test_powの特殊値() {
+            assertThat(CorrectlyRoundedMath.pow(Double.NaN, 0d), is(1d));
+            assertThat(CorrectlyRoundedMath.pow(1d, Double.NaN), is(Double.NaN));
+            assertThat(CorrectlyRoundedMath.pow(-2d, 0.5), is(Double.NaN));
+            assertThat(CorrectlyRoundedMath.pow(-2d, 3d), is(-8d));
+            assertThat(CorrectlyRoundedMath.pow(4d, 0.5), is(2d));
+            assertThat(CorrectlyRoundedMath.pow(-0d, -1d), is(Double.NEGATIVE_INFINITY));
+            assertThat(CorrectlyRoundedMath.pow(10d, 400d), is(Double.POSITIVE_INFINITY));
+            assertThat(CorrectlyRoundedMath.pow(-10d, 401d), is(Double.NEGATIVE_INFINITY));
+            assertThat(CorrectlyRoundedMath.pow(10d, -400d), is(0d));
+        }
+    }
+}
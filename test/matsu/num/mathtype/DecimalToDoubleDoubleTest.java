@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DecimalToDoubleDouble} クラス ({@link DoubleDoubleFloat#valueOf(BigDecimal)},
+ * {@link DoubleDoubleFloat#toBigDecimal()}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DecimalToDoubleDoubleTest {
+
+    public static final Class<?> TEST_CLASS = DecimalToDoubleDouble.class;
+
+    /**
+     * BigDecimal による正確な変換 (上位, 下位の順に最近接偶数丸めし, 正規化する) の結果と一致することを検証する.
+     */
+    private static void assertConvertedExactly(BigDecimal decimal) {
+        double high = decimal.doubleValue();
+        double low = Double.isFinite(high) && high != 0d
+                ? decimal.subtract(new BigDecimal(high)).doubleValue()
+                : 0d;
+
+        assertThat(decimal.toString(), DoubleDoubleFloat.valueOf(decimal), is(DoubleDoubleFloat.valueOf(high, low)));
+    }
+
+    /**
+     * 桁数とスケールが乱数で与えられる10進数を返す.
+     */
+    private static BigDecimal randomDecimal(Random random, int maxDigits, int minScale, int maxScale) {
+        int digits = 1 + random.nextInt(maxDigits);
+        BigInteger unscaled = new BigInteger(digits * 4, random)
+                .mod(BigInteger.TEN.pow(digits))
+                .add(BigInteger.ONE);
+        if (random.nextBoolean()) {
+            unscaled = unscaled.negate();
+        }
+        return new BigDecimal(unscaled, minScale + random.nextInt(maxScale - minScale + 1));
+    }
+
+    public static class BigDecimalからの変換の検証 {
+
+        @Test
+        public void test_10から40桁の10進数() {
+            Random random = new Random(1L);
+            for (int i = 0; i < 50000; i++) {
+                assertConvertedExactly(randomDecimal(random, 40, -30, 60));
+            }
+        }
+
+        @Test
+        public void test_広いスケールと長い仮数() {
+            Random random = new Random(2L);
+            for (int i = 0; i < 20000; i++) {
+                assertConvertedExactly(randomDecimal(random, 80, -340, 360));
+            }
+            for (int i = 0; i < 200; i++) {
+                assertConvertedExactly(randomDecimal(random, 600, -20, 900));
+            }
+        }
+
+        @Test
+        public void test_doubleやdouble_doubleで表せる値() {
+            Random random = new Random(3L);
+            for (int i = 0; i < 5000; i++) {
+                DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(
+                        Math.scalb(1 + random.nextDouble(), random.nextInt(400) - 200)).dividedBy(3d);
+                BigDecimal exact = exactValue(value);
+                assertThat(DoubleDoubleFloat.valueOf(exact), is(value));
+                assertConvertedExactly(exact);
+                assertConvertedExactly(new BigDecimal(value.doubleValue()));
+                assertConvertedExactly(exact.add(new BigDecimal(Math.ulp(value.lowValue())).divide(BigDecimal.valueOf(2))));
+            }
+            assertThat(DoubleDoubleFloat.valueOf(new BigDecimal("0.5")).lowValue(), is(0d));
+            assertThat(DoubleDoubleFloat.valueOf(new BigDecimal("1024.000")).lowValue(), is(0d));
+            assertThat(DoubleDoubleFloat.valueOf(new BigDecimal("0.1")).lowValue(), is(not(0d)));
+        }
+
+        @Test
+        public void test_特殊な範囲() {
+            assertThat(DoubleDoubleFloat.valueOf(BigDecimal.ZERO), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf(new BigDecimal("-0E-50")), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf(new BigDecimal("1E400")), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(new BigDecimal("-1E-400")), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertConvertedExactly(new BigDecimal("1.7976931348623157E308"));
+            assertConvertedExactly(new BigDecimal("1.7976931348623158E308"));
+            assertConvertedExactly(new BigDecimal("4.9E-324"));
+            assertConvertedExactly(new BigDecimal(Long.MIN_VALUE));
+            assertConvertedExactly(new BigDecimal(BigInteger.ONE.shiftLeft(127).negate(), 20));
+            assertConvertedExactly(new BigDecimal(BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE), -5));
+            Random random = new Random(4L);
+            for (int i = 0; i < 1000; i++) {
+                assertConvertedExactly(randomDecimal(random, 40, 290, 360));
+            }
+        }
+    }
+
+    public static class BigDecimalへの変換の検証 {
+
+        @Test
+        public void test_上位と下位の和とスケールを含めて一致する() {
+            Random random = new Random(5L);
+            for (int i = 0; i < 20000; i++) {
+                int exponent = i % 10 == 0
+                        ? random.nextInt(2100) - 1070
+                        : random.nextInt(240) - 120;
+                DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(Math.scalb(1 + random.nextDouble(), exponent))
+                        .dividedBy(1 + 9 * random.nextDouble());
+                if (!value.isFinite()) {
+                    continue;
+                }
+                value = random.nextBoolean() ? value : value.negated();
+                assertThat(value.toBigDecimal(), is(exactValue(value)));
+                assertThat(DoubleDoubleFloat.valueOf(value.toBigDecimal()).toBigDecimal(), is(value.toBigDecimal()));
+            }
+        }
+
+        @Test
+        public void test_下位が0や整数の値() {
+            DoubleDoubleFloat[] values = {
+                    DoubleDoubleFloat.POSITIVE_0, DoubleDoubleFloat.NEGATIVE_0,
+                    DoubleDoubleFloat.valueOf(0.1), DoubleDoubleFloat.valueOf(Long.MAX_VALUE),
+                    DoubleDoubleFloat.valueOf(Long.MIN_VALUE + 1), DoubleDoubleFloat.valueOf(0x1p100).plus(1d),
+                    DoubleDoubleFloat.valueOf(1d).plus(Double.MIN_VALUE), DoubleDoubleFloat.MAX_VALUE };
+            for (DoubleDoubleFloat value : values) {
+                assertThat(value.toBigDecimal(), is(exactValue(value)));
+            }
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void test_無限大は例外() {
+            DoubleDoubleFloat.POSITIVE_INFINITY.toBigDecimal();
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void test_NaNは例外() {
+            DoubleDoubleFloat.NaN.toBigDecimal();
+        }
+    }
+}
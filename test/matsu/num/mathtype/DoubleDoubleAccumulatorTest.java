@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assume.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * {@link DoubleDoubleAccumulator} クラスのテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleAccumulatorTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleAccumulator.class;
+
+    public static class 累積の検証 {
+
+        @Test
+        public void test_初期値は正の0() {
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            assertThat(acc.toDoubleDoubleFloat(), is(DoubleDoubleFloat.POSITIVE_0));
+        }
+
+        @Test
+        public void test_和はDoubleDoubleFloatの繰り返しと一致する() {
+            Random random = new Random(271_828L);
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            DoubleDoubleFloat expected = DoubleDoubleFloat.POSITIVE_0;
+            for (int i = 0; i < 10_000; i++) {
+                double v = Math.scalb(random.nextDouble() - 0.5, random.nextInt(100) - 50);
+                DoubleDoubleFloat w = DoubleDoubleFloat.valueOf(v).dividedBy(3d);
+
+                acc.add(v);
+                expected = expected.plus(v);
+                acc.add(w);
+                expected = expected.plus(w);
+            }
+            assertThat(acc.toDoubleDoubleFloat().doubleValue(), is(expected.doubleValue()));
+            assertThat(acc.toDoubleDoubleFloat().lowValue(), is(expected.lowValue()));
+        }
+
+        @Test
+        public void test_積和はDoubleDoubleFloatの繰り返しと一致する() {
+            Random random = new Random(314_159L);
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            DoubleDoubleFloat expected = DoubleDoubleFloat.POSITIVE_0;
+            for (int i = 0; i < 10_000; i++) {
+                double x = random.nextDouble() - 0.5;
+                double y = random.nextDouble() - 0.5;
+                DoubleDoubleFloat dx = DoubleDoubleFloat.valueOf(x).dividedBy(7d);
+                DoubleDoubleFloat dy = DoubleDoubleFloat.valueOf(y).dividedBy(11d);
+
+                acc.addProduct(x, y);
+                expected = expected.plus(DoubleDoubleFloat.valueOf(x).times(y));
+                acc.addProduct(dx, dy);
+                expected = expected.plus(dx.times(dy));
+            }
+            assertThat(acc.toDoubleDoubleFloat().doubleValue(), is(expected.doubleValue()));
+            assertThat(acc.toDoubleDoubleFloat().lowValue(), is(expected.lowValue()));
+        }
+
+        @Test
+        public void test_相殺する和は正確に計算される() {
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            acc.add(1E20);
+            acc.add(1d);
+            acc.add(-1E20);
+            assertThat(acc.toDoubleDoubleFloat(), is(DoubleDoubleFloat.POSITIVE_1));
+        }
+
+        @Test
+        public void test_リセットにより正の0に戻る() {
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            acc.add(-3d);
+            acc.reset();
+            assertThat(acc.toDoubleDoubleFloat(), is(DoubleDoubleFloat.POSITIVE_0));
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_オーバーフローは無限大になる() {
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            acc.add(Double.MAX_VALUE);
+            acc.add(Double.MAX_VALUE);
+            assertThat(acc.toDoubleDoubleFloat(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+        }
+
+        @Test
+        public void test_正負の無限大の和はNaN() {
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            acc.add(DoubleDoubleFloat.POSITIVE_INFINITY);
+            acc.addProduct(Double.NEGATIVE_INFINITY, 2d);
+            assertThat(acc.toDoubleDoubleFloat(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_負の0の和は正の0() {
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            acc.add(-0d);
+            assertThat(acc.toDoubleDoubleFloat(), is(DoubleDoubleFloat.POSITIVE_0));
+        }
+    }
+
+    public static class メモリ割り当ての検証 {
+
+        @Test
+        public void test_累積はメモリを割り当てない() {
+            assumeThat(
+                    ManagementFactory.getThreadMXBean() instanceof ThreadMXBean,
+                    is(true));
+            ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            assumeThat(bean.isThreadAllocatedMemorySupported(), is(true));
+            bean.setThreadAllocatedMemoryEnabled(true);
+
+            DoubleDoubleAccumulator acc = new DoubleDoubleAccumulator();
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(0.1, 1E-18);
+            long threadId = Thread.currentThread().getId();
+            bean.getThreadAllocatedBytes(threadId);
+
+            final int iteration = 100_000;
+            long start = bean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < iteration; i++) {
+                acc.add(0.1 * i);
+                acc.add(x);
+                acc.addProduct(0.3, 0.1 * i);
+                acc.addProduct(x, x);
+            }
+            long end = bean.getThreadAllocatedBytes(threadId);
+
+            //計測自体による割り当てを考慮し, 反復回数に比べて十分に小さいことを確かめる
+            assertThat(end - start, is(lessThan((long) iteration)));
+        }
+    }
+}
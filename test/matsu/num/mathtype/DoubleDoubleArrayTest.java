@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleArray} クラスのテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleArrayTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleArray.class;
+
+    /**
+     * 特殊値と乱数を要素に持つ配列を生成する.
+     */
+    private static DoubleDoubleArray randomArray(DoubleDoubleArray.Layout layout, long seed) {
+        DoubleDoubleFloat[] specials = {
+                DoubleDoubleFloat.POSITIVE_0,
+                DoubleDoubleFloat.NEGATIVE_0,
+                DoubleDoubleFloat.POSITIVE_INFINITY,
+                DoubleDoubleFloat.NEGATIVE_INFINITY,
+                DoubleDoubleFloat.NaN,
+                DoubleDoubleFloat.MAX_VALUE,
+        };
+
+        Random random = new Random(seed);
+        DoubleDoubleArray out = DoubleDoubleArray.create(200, layout);
+        for (int i = 0; i < out.length(); i++) {
+            if (random.nextInt(10) == 0) {
+                out.set(i, specials[random.nextInt(specials.length)]);
+                continue;
+            }
+            double high = Math.scalb(random.nextDouble() - 0.5, random.nextInt(200) - 100);
+            double low = high * 0x1p-54 * (random.nextDouble() - 0.5);
+            out.set(i, DoubleDoubleFloat.valueOf(high, low));
+        }
+        return out;
+    }
+
+    @RunWith(Theories.class)
+    public static class 一括演算の検証 {
+
+        @DataPoints
+        public static DoubleDoubleArray.Layout[] layouts = DoubleDoubleArray.Layout.values();
+
+        /**
+         * 一括演算の結果が要素ごとの演算結果とビット単位で一致することを確かめる.
+         */
+        private static void assertElementwise(
+                DoubleDoubleArray x, DoubleDoubleArray y, DoubleDoubleArray result,
+                BinaryOperator<DoubleDoubleFloat> operator) {
+            for (int i = 0; i < x.length(); i++) {
+                DoubleDoubleFloat expected = operator.apply(x.get(i), y.get(i));
+                assertThat(result.getHigh(i), is(expected.doubleValue()));
+                assertThat(result.getLow(i), is(expected.lowValue()));
+            }
+        }
+
+        @Theory
+        public void test_和は要素ごとの和に一致する(
+                DoubleDoubleArray.Layout lx, DoubleDoubleArray.Layout ly, DoubleDoubleArray.Layout lz) {
+            DoubleDoubleArray x = randomArray(lx, 1L);
+            DoubleDoubleArray y = randomArray(ly, 2L);
+            DoubleDoubleArray z = DoubleDoubleArray.create(x.length(), lz);
+            x.add(y, z);
+            assertElementwise(x, y, z, DoubleDoubleFloat::plus);
+        }
+
+        @Theory
+        public void test_差は要素ごとの差に一致する(
+                DoubleDoubleArray.Layout lx, DoubleDoubleArray.Layout ly, DoubleDoubleArray.Layout lz) {
+            DoubleDoubleArray x = randomArray(lx, 3L);
+            DoubleDoubleArray y = randomArray(ly, 4L);
+            DoubleDoubleArray z = DoubleDoubleArray.create(x.length(), lz);
+            x.subtract(y, z);
+            assertElementwise(x, y, z, DoubleDoubleFloat::minus);
+        }
+
+        @Theory
+        public void test_積は要素ごとの積に一致する(
+                DoubleDoubleArray.Layout lx, DoubleDoubleArray.Layout ly, DoubleDoubleArray.Layout lz) {
+            DoubleDoubleArray x = randomArray(lx, 5L);
+            DoubleDoubleArray y = randomArray(ly, 6L);
+            DoubleDoubleArray z = DoubleDoubleArray.create(x.length(), lz);
+            x.multiply(y, z);
+            assertElementwise(x, y, z, DoubleDoubleFloat::times);
+        }
+
+        @Theory
+        public void test_商は要素ごとの商に一致する(
+                DoubleDoubleArray.Layout lx, DoubleDoubleArray.Layout ly, DoubleDoubleArray.Layout lz) {
+            DoubleDoubleArray x = randomArray(lx, 7L);
+            DoubleDoubleArray y = randomArray(ly, 8L);
+            DoubleDoubleArray z = DoubleDoubleArray.create(x.length(), lz);
+            x.divide(y, z);
+            assertElementwise(x, y, z, DoubleDoubleFloat::dividedBy);
+        }
+
+        @Theory
+        public void test_スカラーによる商は要素ごとの商に近い(DoubleDoubleArray.Layout lx) {
+            DoubleDoubleArray x = randomArray(lx, 11L);
+            DoubleDoubleFloat divisor = DoubleDoubleFloat.valueOf(7d).plus(0x1p-60);
+
+            DoubleDoubleArray z = DoubleDoubleArray.create(x.length(), lx);
+            x.divide(divisor, z);
+            for (int i = 0; i < x.length(); i++) {
+                DoubleDoubleFloat expected = x.get(i).dividedBy(divisor);
+                DoubleDoubleFloat actual = z.get(i);
+                if (!expected.isFinite() || expected.doubleValue() == 0d) {
+                    assertThat(actual, is(expected));
+                    continue;
+                }
+                double relativeError = Math.abs(
+                        actual.minus(expected).dividedBy(expected).doubleValue());
+                assertThat(relativeError, is(lessThanOrEqualTo(0x1p-100)));
+            }
+        }
+
+        @Theory
+        public void test_逆数を使えない除数では要素ごとの商に一致する(DoubleDoubleArray.Layout lx) {
+            DoubleDoubleArray x = randomArray(lx, 12L);
+            DoubleDoubleFloat[] divisors = {
+                    DoubleDoubleFloat.POSITIVE_0,
+                    DoubleDoubleFloat.NEGATIVE_0,
+                    DoubleDoubleFloat.POSITIVE_INFINITY,
+                    DoubleDoubleFloat.NaN,
+                    DoubleDoubleFloat.MAX_VALUE,
+                    DoubleDoubleFloat.valueOf(Double.MIN_VALUE),
+            };
+
+            DoubleDoubleArray z = DoubleDoubleArray.create(x.length(), lx);
+            for (DoubleDoubleFloat divisor : divisors) {
+                x.divide(divisor, z);
+                for (int i = 0; i < x.length(); i++) {
+                    assertThat(z.get(i), is(x.get(i).dividedBy(divisor)));
+                }
+            }
+        }
+
+        @Theory
+        public void test_スカラー倍は要素ごとの積に一致する(DoubleDoubleArray.Layout lx) {
+            DoubleDoubleArray x = randomArray(lx, 9L);
+            DoubleDoubleFloat factor = DoubleDoubleFloat.valueOf(1d).dividedBy(3d);
+
+            DoubleDoubleArray z = DoubleDoubleArray.create(x.length(), lx);
+            x.scale(factor, z);
+            for (int i = 0; i < x.length(); i++) {
+                assertThat(z.get(i), is(x.get(i).times(factor)));
+            }
+
+            x.scale(-2.5, z);
+            for (int i = 0; i < x.length(); i++) {
+                assertThat(z.get(i), is(x.get(i).times(-2.5)));
+            }
+        }
+
+        @Theory
+        public void test_書き込み先が入力と同一でもよい(DoubleDoubleArray.Layout lx) {
+            DoubleDoubleArray x = randomArray(lx, 10L);
+            DoubleDoubleArray expected = DoubleDoubleArray.create(x.length(), lx);
+            x.add(x, expected);
+
+            x.add(x, x);
+            for (int i = 0; i < x.length(); i++) {
+                assertThat(x.get(i), is(expected.get(i)));
+            }
+        }
+    }
+
+    public static class 要素の読み書きの検証 {
+
+        @Test
+        public void test_生成直後は正の0() {
+            DoubleDoubleArray array = DoubleDoubleArray.split(3);
+            assertThat(array.get(2), is(DoubleDoubleFloat.POSITIVE_0));
+        }
+
+        @Test
+        public void test_書き込んだ値が読み出される() {
+            DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(1d).dividedBy(7d);
+            for (DoubleDoubleArray.Layout layout : DoubleDoubleArray.Layout.values()) {
+                DoubleDoubleArray array = DoubleDoubleArray.create(4, layout);
+                array.set(1, value);
+                array.set(2, -0d);
+                assertThat(array.get(0), is(DoubleDoubleFloat.POSITIVE_0));
+                assertThat(array.get(1), is(value));
+                assertThat(array.get(2), is(DoubleDoubleFloat.NEGATIVE_0));
+                assertThat(array.getHigh(1), is(value.doubleValue()));
+                assertThat(array.getLow(1), is(value.lowValue()));
+            }
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_範囲外の読み出しは例外() {
+            DoubleDoubleArray.interleaved(3).get(3);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_長さが一致しない演算は例外() {
+            DoubleDoubleArray.interleaved(3).add(
+                    DoubleDoubleArray.interleaved(3), DoubleDoubleArray.interleaved(2));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_負の長さは例外() {
+            DoubleDoubleArray.split(-1);
+        }
+    }
+
+    public static class BigDecimalとの一括変換の検証 {
+
+        @Test
+        public void test_要素ごとの変換と一致する() {
+            Random random = new Random(11L);
+            BigDecimal[] values = new BigDecimal[200];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = new BigDecimal(random.nextLong()).scaleByPowerOfTen(random.nextInt(80) - 60)
+                        .add(new BigDecimal(random.nextInt()).scaleByPowerOfTen(-70));
+            }
+            for (DoubleDoubleArray.Layout layout : DoubleDoubleArray.Layout.values()) {
+                DoubleDoubleArray array = DoubleDoubleArray.valueOf(values, layout);
+                assertThat(array.layout(), is(layout));
+                BigDecimal[] exacts = array.toBigDecimalArray();
+                for (int i = 0; i < values.length; i++) {
+                    DoubleDoubleFloat expected = DoubleDoubleFloat.valueOf(values[i]);
+                    assertThat(array.get(i), is(expected));
+                    assertThat(exacts[i], is(expected.toBigDecimal()));
+                }
+            }
+        }
+
+        @Test(expected = ArithmeticException.class)
+        public void test_有限でない要素は例外() {
+            DoubleDoubleArray array = DoubleDoubleArray.split(2);
+            array.set(1, Double.NaN);
+            array.toBigDecimalArray();
+        }
+    }
+}
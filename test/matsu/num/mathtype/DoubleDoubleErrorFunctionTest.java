@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleErrorFunction} クラス
+ * ({@link DoubleDoubleFloat#erf()}, {@link DoubleDoubleFloat#erfc()}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleErrorFunctionTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleErrorFunction.class;
+
+    /**
+     * [lower, upper) の一様乱数に, 下位の乱数を加えたものを返す.
+     */
+    private static DoubleDoubleFloat randomArgument(Random random, double lower, double upper) {
+        double high = lower + (upper - lower) * random.nextDouble();
+        return DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+    }
+
+    public static class 精度の検証 {
+
+        /**
+         * 級数, 格子点上の展開, 連分数のそれぞれの範囲を含む.
+         */
+        private static final double[][] RANGES = {
+                { -6d, -0.5 }, { 0x1p-30, 0.5 }, { 0.5, 3d }, { 3d, 6d }, { 6d, 10d }, { 10d, 25.5 } };
+
+        @Test
+        public void test_erfの最大相対誤差は8u2以下() {
+            Random random = new Random(1L);
+            double maxError = 0d;
+            for (double[] range : RANGES) {
+                for (int i = 0; i < 100; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range[0], range[1]);
+                    BigDecimal expected = erfReference(exactValue(x));
+                    maxError = Math.max(maxError, relativeError(x.erf(), expected));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_erfcの最大相対誤差は8u2以下() {
+            Random random = new Random(2L);
+            double maxError = 0d;
+            for (double[] range : RANGES) {
+                for (int i = 0; i < 100; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range[0], range[1]);
+                    BigDecimal expected = erfcReference(exactValue(x));
+                    maxError = Math.max(maxError, relativeError(x.erfc(), expected));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_erfは奇関数であり_erfcと整合する() {
+            Random random = new Random(3L);
+            for (int i = 0; i < 500; i++) {
+                DoubleDoubleFloat x = randomArgument(random, -8d, 8d);
+                assertThat(x.negated().erf(), is(x.erf().negated()));
+                DoubleDoubleFloat sum = x.erf().plus(x.erfc());
+                assertThat(sum.minus(1d).doubleValue(), is(closeTo(0d, 4 * U2)));
+            }
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_erfの特殊値() {
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.erf(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.erf(), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.erf(), is(DoubleDoubleFloat.NEGATIVE_1));
+            assertThat(DoubleDoubleFloat.NaN.erf(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_erfcの特殊値() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.erfc(), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.erfc(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.erfc(), is(DoubleDoubleFloat.valueOf(2d)));
+            assertThat(DoubleDoubleFloat.valueOf(30d).erfc(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NaN.erfc(), is(DoubleDoubleFloat.NaN));
+        }
+    }
+}
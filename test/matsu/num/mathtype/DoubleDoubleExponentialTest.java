@@ -0,0 +1,425 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleExponential} クラス
+ * ({@link DoubleDoubleFloat#exp()}, {@link DoubleDoubleFloat#expm1()},
+ * {@link DoubleDoubleFloat#exp2()}, {@link DoubleDoubleFloat#log()},
+ * {@link DoubleDoubleFloat#log1p()}, {@link DoubleDoubleFloat#log2()},
+ * {@link DoubleDoubleFloat#log10()}, {@link DoubleDoubleFloat#pow(DoubleDoubleFloat)}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleExponentialTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleExponential.class;
+
+    private static final BigDecimal LN2 = new BigDecimal(
+            "0.69314718055994530941723212145817656807550013436025525412068000949339362196969471560586332699641868754");
+
+    /**
+     * [-range, range] の乱数, または0に近い乱数を返す.
+     */
+    private static DoubleDoubleFloat randomArgument(Random random, double range) {
+        double high = random.nextInt(3) == 0
+                ? Math.scalb(random.nextDouble() - 0.5, -random.nextInt(60))
+                : (2 * random.nextDouble() - 1) * range;
+        return DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+    }
+
+    /**
+     * 結果の上位が, 下位まで正規化数で表現できる範囲にあるかを判定する.
+     */
+    private static boolean isAccurateRange(DoubleDoubleFloat y) {
+        double abs = Math.abs(y.doubleValue());
+        return abs >= 0x1p-960 && abs <= Double.MAX_VALUE;
+    }
+
+    public static class 精度の検証 {
+
+        @Test
+        public void test_expの最大相対誤差は3u2以下() {
+            Random random = new Random(1L);
+            double maxError = 0d;
+            for (double range : new double[] { 1d, 745d }) {
+                for (int i = 0; i < 3_000; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range);
+                    DoubleDoubleFloat y = x.exp();
+                    if (!isAccurateRange(y)) {
+                        continue;
+                    }
+                    maxError = Math.max(maxError, relativeError(y, expReference(exactValue(x))));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(3 * U2)));
+        }
+
+        @Test
+        public void test_expm1の最大相対誤差は5u2以下() {
+            Random random = new Random(2L);
+            double maxError = 0d;
+            for (double range : new double[] { 0.4, 2d, 100d }) {
+                for (int i = 0; i < 3_000; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range);
+                    if (x.doubleValue() == 0d) {
+                        continue;
+                    }
+                    BigDecimal expected = expm1Reference(exactValue(x));
+                    maxError = Math.max(maxError, relativeError(x.expm1(), expected));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(5 * U2)));
+        }
+
+        @Test
+        public void test_exp2の最大相対誤差は3u2以下() {
+            Random random = new Random(3L);
+            double maxError = 0d;
+            for (double range : new double[] { 1d, 1070d }) {
+                for (int i = 0; i < 3_000; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range);
+                    DoubleDoubleFloat y = x.exp2();
+                    if (!isAccurateRange(y)) {
+                        continue;
+                    }
+                    BigDecimal expected = expReference(exactValue(x).multiply(LN2, MC_EVALUATION));
+                    maxError = Math.max(maxError, relativeError(y, expected));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(3 * U2)));
+        }
+
+        @Test
+        public void test_整数に対するexp2は正確() {
+            for (int k = -1074; k <= 1023; k++) {
+                assertThat(DoubleDoubleFloat.valueOf(k).exp2(), is(DoubleDoubleFloat.valueOf(Math.scalb(1d, k))));
+            }
+        }
+
+        private static BigDecimal expm1Reference(BigDecimal x) {
+            if (x.abs().compareTo(new BigDecimal("0.5")) > 0) {
+                return expReference(x).subtract(BigDecimal.ONE);
+            }
+            BigDecimal sum = BigDecimal.ZERO;
+            BigDecimal term = BigDecimal.ONE;
+            for (int k = 1; k < 100; k++) {
+                term = term.multiply(x, MC_EVALUATION).divide(BigDecimal.valueOf(k), MC_EVALUATION);
+                sum = sum.add(term, MC_EVALUATION);
+            }
+            return sum;
+        }
+    }
+
+    public static class 対数の精度の検証 {
+
+        /**
+         * 正規化数から非正規化数までにわたる乱数, または1に近い乱数を返す.
+         */
+        private static DoubleDoubleFloat randomPositive(Random random) {
+            double high;
+            switch (random.nextInt(3)) {
+                case 0:
+                    high = Math.scalb(1d + random.nextDouble(), random.nextInt(2097) - 1074);
+                    break;
+                case 1:
+                    high = 1d + Math.scalb(random.nextDouble() - 0.5, -random.nextInt(60));
+                    break;
+                default:
+                    high = 0.5 + 1.5 * random.nextDouble();
+                    break;
+            }
+            return DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+        }
+
+        @Test
+        public void test_logの最大相対誤差は5u2以下() {
+            Random random = new Random(4L);
+            double maxError = 0d;
+            for (int i = 0; i < 2_000; i++) {
+                DoubleDoubleFloat x = randomPositive(random);
+                BigDecimal expected = logReference(exactValue(x));
+                if (expected.signum() == 0) {
+                    continue;
+                }
+                maxError = Math.max(maxError, relativeError(x.log(), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(5 * U2)));
+        }
+
+        @Test
+        public void test_log1pの最大相対誤差は4u2以下() {
+            Random random = new Random(5L);
+            double maxError = 0d;
+            for (double range : new double[] { 0.3, 1d }) {
+                for (int i = 0; i < 1_000; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range);
+                    if (x.doubleValue() == 0d || x.doubleValue() <= -1d) {
+                        continue;
+                    }
+                    BigDecimal expected = logReference(exactValue(x).add(BigDecimal.ONE));
+                    maxError = Math.max(maxError, relativeError(x.log1p(), expected));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(4 * U2)));
+        }
+
+        @Test
+        public void test_log1pは還元なしの範囲の境界付近でも5u2以下() {
+            //1 + x を丸めてから対数をとると, 丸め誤差が拡大される範囲の値を含む
+            DoubleDoubleFloat reported = DoubleDoubleFloat.valueOf(-0x1.2ec0da49d4283p-2, 0x1.41e38c49fa518p-58);
+            assertThat(relativeError(reported.log1p(), logReference(exactValue(reported).add(BigDecimal.ONE))),
+                    is(lessThanOrEqualTo(5 * U2)));
+
+            Random random = new Random(15L);
+            double maxError = 0d;
+            double[] boundaries = { -0.5, Math.sqrt(0.5) - 1, Math.sqrt(2d) - 1, 1d };
+            for (double boundary : boundaries) {
+                for (int i = 0; i < 300; i++) {
+                    double high = boundary + 0x1p-6 * (2 * random.nextDouble() - 1);
+                    DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+                    BigDecimal expected = logReference(exactValue(x).add(BigDecimal.ONE));
+                    maxError = Math.max(maxError, relativeError(x.log1p(), expected));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(5 * U2)));
+        }
+
+        @Test
+        public void test_log2とlog10の最大相対誤差は8u2以下() {
+            Random random = new Random(6L);
+            BigDecimal ln10 = logReference(BigDecimal.TEN);
+            double maxError2 = 0d;
+            double maxError10 = 0d;
+            for (int i = 0; i < 1_000; i++) {
+                DoubleDoubleFloat x = randomPositive(random);
+                BigDecimal ln = logReference(exactValue(x));
+                if (ln.signum() == 0) {
+                    continue;
+                }
+                maxError2 = Math.max(maxError2, relativeError(x.log2(), ln.divide(LN2, MC_EVALUATION)));
+                maxError10 = Math.max(maxError10, relativeError(x.log10(), ln.divide(ln10, MC_EVALUATION)));
+            }
+            assertThat(maxError2, is(lessThanOrEqualTo(8 * U2)));
+            assertThat(maxError10, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_2の累乗に対するlog2は正確() {
+            for (int k = -1074; k <= 1023; k++) {
+                assertThat(DoubleDoubleFloat.valueOf(Math.scalb(1d, k)).log2(), is(DoubleDoubleFloat.valueOf(k)));
+            }
+        }
+
+        @Test
+        public void test_10の累乗に対するlog10は正確() {
+            DoubleDoubleFloat x = DoubleDoubleFloat.POSITIVE_1;
+            for (int n = 0; n <= 31; n++) {
+                assertThat(x.log10(), is(DoubleDoubleFloat.valueOf(n)));
+                x = x.times(10d);
+            }
+        }
+
+        @Test
+        public void test_expとlogは互いに逆() {
+            Random random = new Random(7L);
+            for (int i = 0; i < 1_000; i++) {
+                DoubleDoubleFloat x = randomArgument(random, 700d);
+                DoubleDoubleFloat e = x.exp();
+                if (!isAccurateRange(e)) {
+                    continue;
+                }
+                DoubleDoubleFloat y = e.log();
+                double tolerance = Math.max(Math.abs(x.doubleValue()), 1d) * 8 * U2;
+                assertThat(Math.abs(y.minus(x).doubleValue()), is(lessThanOrEqualTo(tolerance)));
+            }
+        }
+    }
+
+    public static class 累乗の精度の検証 {
+
+        /**
+         * 広い範囲の正の乱数を返す.
+         */
+        private static DoubleDoubleFloat randomPositive(Random random) {
+            double high = Math.scalb(1d + random.nextDouble(), random.nextInt(200) - 100);
+            return DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+        }
+
+        @Test
+        public void test_powの相対誤差はylogfに比例する範囲に収まる() {
+            Random random = new Random(8L);
+            for (int i = 0; i < 2_000; i++) {
+                DoubleDoubleFloat x = randomPositive(random);
+                DoubleDoubleFloat y = randomArgument(random, Math.scalb(1d, random.nextInt(10) - 3));
+                DoubleDoubleFloat power = x.pow(y);
+                if (!isAccurateRange(power)) {
+                    continue;
+                }
+                BigDecimal exact = exactValue(x);
+                BigDecimal expected = expReference(exactValue(y).multiply(logReference(exact)));
+
+                //x = 2^k * f (sqrt(1/2) <= f < sqrt(2)) の f による誤差の限界
+                double xh = x.doubleValue();
+                double f = xh / Math.scalb(1d, Math.getExponent(xh));
+                if (f >= Math.sqrt(2d)) {
+                    f *= 0.5;
+                }
+                double bound = 8 + 4 * Math.abs(y.doubleValue() * Math.log(f));
+                assertThat(relativeError(power, expected), is(lessThanOrEqualTo(bound * U2)));
+            }
+        }
+
+        @Test
+        public void test_2の累乗の累乗は指数の大きさによらず高精度() {
+            Random random = new Random(9L);
+            double maxError = 0d;
+            for (int i = 0; i < 2_000; i++) {
+                int k = random.nextInt(61) - 30;
+                DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(Math.scalb(1d, k));
+                DoubleDoubleFloat y = randomArgument(random, 30d);
+                BigDecimal expected = expReference(
+                        exactValue(y).multiply(BigDecimal.valueOf(k)).multiply(LN2, MC_EVALUATION));
+                maxError = Math.max(maxError, relativeError(x.pow(y), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(3 * U2)));
+        }
+
+        @Test
+        public void test_小さい整数の指数は整数乗と一致する() {
+            Random random = new Random(10L);
+            for (int i = 0; i < 200; i++) {
+                DoubleDoubleFloat x = randomPositive(random);
+                if (random.nextBoolean()) {
+                    x = x.negated();
+                }
+                for (int n = -4; n <= 4; n++) {
+                    assertThat(x.pow(DoubleDoubleFloat.valueOf(n)), is(x.pow(n)));
+                }
+            }
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_expの特殊値() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.exp(), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.exp(), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.exp(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.exp(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NaN.exp(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_expのオーバーフローとアンダーフロー() {
+            assertThat(DoubleDoubleFloat.valueOf(709.7).exp().isFinite(), is(true));
+            assertThat(DoubleDoubleFloat.valueOf(709.8).exp(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(1E10).exp(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(-744d).exp().doubleValue(), is(greaterThan(0d)));
+            assertThat(DoubleDoubleFloat.valueOf(-745.2).exp(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf(-1E10).exp(), is(DoubleDoubleFloat.POSITIVE_0));
+        }
+
+        @Test
+        public void test_expm1の特殊値() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.expm1(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.expm1(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.expm1(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.expm1(), is(DoubleDoubleFloat.NEGATIVE_1));
+            assertThat(DoubleDoubleFloat.NaN.expm1(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.valueOf(Double.MIN_VALUE).expm1(),
+                    is(DoubleDoubleFloat.valueOf(Double.MIN_VALUE)));
+        }
+
+        @Test
+        public void test_exp2の特殊値() {
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.exp2(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.exp2(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NaN.exp2(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.valueOf(1024).exp2(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(-1076).exp2(), is(DoubleDoubleFloat.POSITIVE_0));
+        }
+
+        @Test
+        public void test_logの特殊値はMath_logに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.log(), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.log(), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.log(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.log(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.log(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.log(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.log(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_log1pの特殊値はMath_log1pに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.log1p(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.log1p(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.log1p(), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(-2d).log1p(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.log1p(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NaN.log1p(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.valueOf(Double.MIN_VALUE).log1p(),
+                    is(DoubleDoubleFloat.valueOf(Double.MIN_VALUE)));
+        }
+
+        @Test
+        public void test_powの特殊値はMath_powに従う() {
+            double[] values = {
+                    0d, -0d, 0.5, -0.5, 1d, -1d, 2d, -2d, 3d, -3d, 2.5, -2.5,
+                    0x1p53 + 2, -(0x1p53 + 2), 0x1p60, Double.MAX_VALUE, Double.MIN_VALUE,
+                    Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+            for (double x : values) {
+                for (double y : values) {
+                    double expected = Math.pow(x, y);
+                    double actual = DoubleDoubleFloat.valueOf(x).pow(DoubleDoubleFloat.valueOf(y)).doubleValue();
+                    String message = "x = " + x + ", y = " + y;
+                    if (expected == 0d || !Double.isFinite(expected)) {
+                        assertThat(message, actual, is(expected));
+                    } else {
+                        assertThat(message, actual, is(closeTo(expected, 2 * Math.ulp(expected))));
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void test_powのオーバーフローとアンダーフロー() {
+            DoubleDoubleFloat ten = DoubleDoubleFloat.valueOf(10);
+            assertThat(ten.pow(DoubleDoubleFloat.valueOf(308.2)).isFinite(), is(true));
+            assertThat(ten.pow(DoubleDoubleFloat.valueOf(308.3)), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(ten.pow(DoubleDoubleFloat.valueOf(-323.5)).doubleValue(), is(greaterThan(0d)));
+            assertThat(ten.pow(DoubleDoubleFloat.valueOf(-324.5)), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(ten.pow(DoubleDoubleFloat.valueOf(1E300)), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(1.5).pow(DoubleDoubleFloat.valueOf(-1E10)),
+                    is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf(-1.5).pow(DoubleDoubleFloat.valueOf(1E10 + 1)),
+                    is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+        }
+
+        @Test
+        public void test_log2とlog10の特殊値() {
+            for (DoubleDoubleFloat x : new DoubleDoubleFloat[] {
+                    DoubleDoubleFloat.POSITIVE_0, DoubleDoubleFloat.NEGATIVE_1,
+                    DoubleDoubleFloat.POSITIVE_INFINITY, DoubleDoubleFloat.NaN }) {
+                assertThat(x.log2(), is(x.log()));
+                assertThat(x.log10(), is(x.log()));
+            }
+        }
+    }
+}
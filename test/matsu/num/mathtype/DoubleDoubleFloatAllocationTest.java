@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assume.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.DoubleFunction;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * {@link DoubleDoubleFloat} のメモリ割り当てに関するテスト.
+ * 
+ * <p>
+ * スレッドごとのメモリ割り当て量の計測を用いるため,
+ * それがサポートされていない環境ではテストはスキップされる.
+ * </p>
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleFloatAllocationTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleFloat.class;
+
+    /**
+     * 1回の計測における演算の回数.
+     */
+    private static final int ITERATION = 10_000;
+
+    /**
+     * 1演算あたりの割り当て量の許容誤差 (byte).
+     * 計測自体が生じる割り当てを吸収するためのもの.
+     */
+    private static final double TOLERANCE_BYTES = 4d;
+
+    /**
+     * 演算を繰り返したときの, 1演算あたりのメモリ割り当て量 (byte) を返す.
+     * 
+     * <p>
+     * 演算結果がエスケープするように, 事前に確保した配列に格納する.
+     * </p>
+     */
+    private static double allocatedBytesPerOperation(
+            ThreadMXBean bean, DoubleFunction<DoubleDoubleFloat> operation) {
+        DoubleDoubleFloat[] sink = new DoubleDoubleFloat[ITERATION];
+        long threadId = Thread.currentThread().getId();
+
+        //計測APIの初回呼び出しの影響を除く
+        bean.getThreadAllocatedBytes(threadId);
+
+        long start = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATION; i++) {
+            sink[i] = operation.apply(1.1 + i);
+        }
+        long end = bean.getThreadAllocatedBytes(threadId);
+
+        return (double) (end - start) / ITERATION;
+    }
+
+    public static class 四則演算のメモリ割り当て {
+
+        private ThreadMXBean bean;
+
+        /**
+         * 1インスタンスの生成に要する割り当て量.
+         */
+        private double bytesPerInstance;
+
+        @Before
+        public void before_計測の準備() {
+            assumeThat(
+                    ManagementFactory.getThreadMXBean() instanceof ThreadMXBean,
+                    is(true));
+            bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            assumeThat(bean.isThreadAllocatedMemorySupported(), is(true));
+            bean.setThreadAllocatedMemoryEnabled(true);
+
+            //valueOf(double) は正確に1個のインスタンスを生成する
+            bytesPerInstance = allocatedBytesPerOperation(
+                    bean, v -> DoubleDoubleFloat.valueOf(v));
+            assertThat(bytesPerInstance, is(greaterThan(0d)));
+        }
+
+        @Test
+        public void test_1インスタンスの割り当て量は40byte以下() {
+            /*
+             * ヘッダ (12 or 16 byte) + double 2個 + 参照1個 (4 or 8 byte).
+             * 圧縮参照が有効な場合は32 byte, 無効な場合は40 byteとなる.
+             */
+            assertThat(bytesPerInstance, is(lessThanOrEqualTo(40d)));
+        }
+
+        @Test
+        public void test_キャッシュされる整数の生成と演算はメモリを割り当てない() {
+            //v = 1.1 + i であり, 整数部分を [-100, 100] に収める
+            assertThat(
+                    allocatedBytesPerOperation(bean, v -> DoubleDoubleFloat.valueOf((int) v % 100)),
+                    is(lessThan(TOLERANCE_BYTES)));
+            assertThat(
+                    allocatedBytesPerOperation(bean, v -> DoubleDoubleFloat.valueOf((int) v % 50).plus(-50d)),
+                    is(lessThan(TOLERANCE_BYTES)));
+        }
+
+        private void assertAllocatesOneInstance(DoubleFunction<DoubleDoubleFloat> operation) {
+            double bytes = allocatedBytesPerOperation(bean, operation);
+            assertThat(bytes, is(closeTo(bytesPerInstance, TOLERANCE_BYTES)));
+        }
+
+        @Test
+        public void test_和は1個のインスタンスのみを生成する() {
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(0.1, 1E-18);
+            DoubleDoubleFloat y = DoubleDoubleFloat.valueOf(0.3, -1E-18);
+            assertAllocatesOneInstance(v -> x.plus(v));
+            assertAllocatesOneInstance(v -> x.plus(y));
+        }
+
+        @Test
+        public void test_差は1個のインスタンスのみを生成する() {
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(0.1, 1E-18);
+            DoubleDoubleFloat y = DoubleDoubleFloat.valueOf(0.3, -1E-18);
+            assertAllocatesOneInstance(v -> x.minus(v));
+            assertAllocatesOneInstance(v -> x.minus(y));
+        }
+
+        @Test
+        public void test_積は1個のインスタンスのみを生成する() {
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(0.1, 1E-18);
+            DoubleDoubleFloat y = DoubleDoubleFloat.valueOf(0.3, -1E-18);
+            assertAllocatesOneInstance(v -> x.times(v));
+            assertAllocatesOneInstance(v -> x.times(y));
+        }
+
+        @Test
+        public void test_商は1個のインスタンスのみを生成する() {
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(0.1, 1E-18);
+            DoubleDoubleFloat y = DoubleDoubleFloat.valueOf(0.3, -1E-18);
+            assertAllocatesOneInstance(v -> x.dividedBy(v));
+            assertAllocatesOneInstance(v -> x.dividedBy(y));
+        }
+    }
+}
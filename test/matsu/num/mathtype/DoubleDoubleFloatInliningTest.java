@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleFloat} の演算がインライン展開されやすい大きさに保たれていることのテスト.
+ * 
+ * <p>
+ * HotSpot C2 は, 頻繁に呼ばれるメソッドのバイトコード長が
+ * {@code FreqInlineSize} (既定値325) 以下であればインライン展開する. <br>
+ * 演算から呼ばれるメソッドのバイトコード長をクラスファイルから読み取り,
+ * これを (今後の変更に対する余裕を持って) 下回ることを確かめる.
+ * </p>
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleFloatInliningTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleFloat.class;
+
+    /**
+     * C2 の {@code FreqInlineSize} の既定値.
+     */
+    private static final int FREQ_INLINE_SIZE = 325;
+
+    /**
+     * 正規化のメソッドに許容するバイトコード長.
+     * 呼び出し元と合わせて展開されるため, FreqInlineSize の半分とする.
+     */
+    private static final int CANONICALIZATION_LIMIT = FREQ_INLINE_SIZE / 2;
+
+    /**
+     * クラスファイルを読み, メソッド (名前 + ディスクリプタ) ごとのバイトコード長を返す.
+     */
+    private static Map<String, Integer> codeLengths(Class<?> clazz) throws IOException {
+        String resource = clazz.getSimpleName() + ".class";
+        try (InputStream in = clazz.getResourceAsStream(resource);
+                DataInputStream data = new DataInputStream(in)) {
+            data.readInt(); //magic
+            data.readUnsignedShort(); //minor
+            data.readUnsignedShort(); //major
+
+            int constantPoolCount = data.readUnsignedShort();
+            String[] utf8 = new String[constantPoolCount];
+            for (int i = 1; i < constantPoolCount; i++) {
+                int tag = data.readUnsignedByte();
+                switch (tag) {
+                    case 1: //Utf8
+                        utf8[i] = data.readUTF();
+                        break;
+                    case 7: case 8: case 16: case 19: case 20: //Class, String, MethodType, Module, Package
+                        data.skipBytes(2);
+                        break;
+                    case 15: //MethodHandle
+                        data.skipBytes(3);
+                        break;
+                    case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                        data.skipBytes(4);
+                        break;
+                    case 5: case 6: //Long, Double は2スロットを占める
+                        data.skipBytes(8);
+                        i++;
+                        break;
+                    default:
+                        throw new IOException("未知の定数プールタグ: " + tag);
+                }
+            }
+
+            data.skipBytes(6); //access_flags, this_class, super_class
+            data.skipBytes(2 * data.readUnsignedShort()); //interfaces
+
+            int fieldCount = data.readUnsignedShort();
+            for (int i = 0; i < fieldCount; i++) {
+                data.skipBytes(6);
+                skipAttributes(data);
+            }
+
+            Map<String, Integer> out = new HashMap<>();
+            int methodCount = data.readUnsignedShort();
+            for (int i = 0; i < methodCount; i++) {
+                data.skipBytes(2);
+                String name = utf8[data.readUnsignedShort()];
+                String descriptor = utf8[data.readUnsignedShort()];
+                int attributeCount = data.readUnsignedShort();
+                for (int j = 0; j < attributeCount; j++) {
+                    String attributeName = utf8[data.readUnsignedShort()];
+                    int length = data.readInt();
+                    if (attributeName.equals("Code")) {
+                        data.skipBytes(4); //max_stack, max_locals
+                        int codeLength = data.readInt();
+                        out.put(name + descriptor, codeLength);
+                        data.skipBytes(length - 8);
+                    } else {
+                        data.skipBytes(length);
+                    }
+                }
+            }
+            return out;
+        }
+    }
+
+    private static void skipAttributes(DataInputStream data) throws IOException {
+        int attributeCount = data.readUnsignedShort();
+        for (int j = 0; j < attributeCount; j++) {
+            data.skipBytes(2);
+            data.skipBytes(data.readInt());
+        }
+    }
+
+    public static class バイトコード長の検証 {
+
+        private static Map<String, Integer> floatMethods;
+        private static Map<String, Integer> mathMethods;
+        private static Map<String, Integer> twoProductMethods;
+
+        @BeforeClass
+        public static void beforeClass_クラスファイルの読み込み() throws IOException {
+            floatMethods = codeLengths(DoubleDoubleFloat.class);
+            mathMethods = codeLengths(DoubleDoubleMath.class);
+            twoProductMethods = codeLengths(TwoProduct.class);
+        }
+
+        private static void assertCodeLength(Map<String, Integer> methods, String method, int limit) {
+            assertThat(method, methods.get(method), is(notNullValue()));
+            assertThat(method, methods.get(method), is(lessThanOrEqualTo(limit)));
+        }
+
+        @Test
+        public void test_正規化は小さい() {
+            assertCodeLength(floatMethods, "canonicalized(DD)Lmatsu/num/mathtype/DoubleDoubleFloat;",
+                    CANONICALIZATION_LIMIT);
+            assertCodeLength(mathMethods, "canonicalHigh(DD)D", CANONICALIZATION_LIMIT);
+            assertCodeLength(mathMethods, "canonicalLow(DDD)D", CANONICALIZATION_LIMIT);
+        }
+
+        @Test
+        public void test_四則演算はインライン展開できる大きさである() {
+            String dd = "Lmatsu/num/mathtype/DoubleDoubleFloat;";
+            for (String op : new String[] { "plus", "minus", "times", "dividedBy" }) {
+                assertCodeLength(floatMethods, op + "(" + dd + ")" + dd, FREQ_INLINE_SIZE);
+                assertCodeLength(floatMethods, op + "(D)" + dd, FREQ_INLINE_SIZE);
+            }
+            assertCodeLength(floatMethods, "reciprocal()" + dd, FREQ_INLINE_SIZE);
+        }
+
+        @Test
+        public void test_カーネルはインライン展開できる大きさである() {
+            assertCodeLength(mathMethods, "two_sum_dd_low(DDDDD)D", FREQ_INLINE_SIZE);
+            assertCodeLength(mathMethods, "two_prod_dd_low(DDDDD)D", FREQ_INLINE_SIZE);
+            assertCodeLength(mathMethods, "two_divide_dd_low(DDDDD)D", FREQ_INLINE_SIZE);
+            assertCodeLength(mathMethods, "two_divide_d_low(DDDD)D", FREQ_INLINE_SIZE);
+            assertCodeLength(mathMethods, "two_reciprocal_dd_low(DDD)D", FREQ_INLINE_SIZE);
+            assertCodeLength(twoProductMethods, "error(DDD)D", FREQ_INLINE_SIZE);
+            assertCodeLength(twoProductMethods, "errorBySplit(DDD)D", FREQ_INLINE_SIZE);
+        }
+    }
+}
@@ -10,6 +10,14 @@ import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
@@ -52,6 +60,91 @@ final class DoubleDoubleFloatTest {
         }
     }
 
+    public static class 整数からの生成に関するテスト {
+
+        /**
+         * (high, low) の実数としての和を返す.
+         */
+        private static BigDecimal exactValue(DoubleDoubleFloat dd) {
+            return new BigDecimal(dd.doubleValue()).add(new BigDecimal(dd.lowValue()));
+        }
+
+        @Test
+        public void test_intからの生成はdoubleからの生成と一致する() {
+            int[] values = { 0, 1, -1, 2, 255, -256, 100_000, Integer.MAX_VALUE, Integer.MIN_VALUE };
+            for (int n : values) {
+                assertThat(DoubleDoubleFloat.valueOf(n), is(DoubleDoubleFloat.valueOf((double) n)));
+            }
+            assertThat(DoubleDoubleFloat.valueOf(0), is(sameInstance(DoubleDoubleFloat.POSITIVE_0)));
+        }
+
+        @Test
+        public void test_longからの生成は正確である() {
+            long[] values = {
+                    0L, 1L, -1L,
+                    (1L << 53) + 1, -(1L << 53) - 1,
+                    Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE, Long.MIN_VALUE + 1
+            };
+            for (long n : values) {
+                assertThat(exactValue(DoubleDoubleFloat.valueOf(n)), is(new BigDecimal(n)));
+            }
+
+            Random random = new Random(57_721L);
+            for (int i = 0; i < 10_000; i++) {
+                long n = random.nextLong() >> random.nextInt(64);
+                DoubleDoubleFloat dd = DoubleDoubleFloat.valueOf(n);
+                assertThat(exactValue(dd), is(new BigDecimal(n)));
+                assertThat(dd, is(DoubleDoubleFloat.valueOf(dd.doubleValue(), dd.lowValue())));
+            }
+        }
+    }
+
+    public static class キャッシュに関するテスト {
+
+        @Test
+        public void test_小さい整数は共有される() {
+            for (int n = -256; n <= 256; n++) {
+                DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(n);
+                assertThat(DoubleDoubleFloat.valueOf((double) n), is(sameInstance(value)));
+                assertThat(DoubleDoubleFloat.valueOf((long) n), is(sameInstance(value)));
+            }
+            assertThat(DoubleDoubleFloat.valueOf(1), is(sameInstance(DoubleDoubleFloat.POSITIVE_1)));
+            assertThat(DoubleDoubleFloat.valueOf(-1), is(sameInstance(DoubleDoubleFloat.NEGATIVE_1)));
+            assertThat(DoubleDoubleFloat.valueOf(-0d), is(sameInstance(DoubleDoubleFloat.NEGATIVE_0)));
+        }
+
+        @Test
+        public void test_2の冪は共有される() {
+            for (int k = -64; k <= 64; k++) {
+                double power = Math.scalb(1d, k);
+                DoubleDoubleFloat positive = DoubleDoubleFloat.valueOf(power);
+                DoubleDoubleFloat negative = DoubleDoubleFloat.valueOf(-power);
+                assertThat(DoubleDoubleFloat.valueOf(power), is(sameInstance(positive)));
+                assertThat(DoubleDoubleFloat.valueOf(-power), is(sameInstance(negative)));
+                assertThat(positive.negated(), is(sameInstance(negative)));
+            }
+        }
+
+        @Test
+        public void test_演算結果が整数の場合も共有される() {
+            DoubleDoubleFloat two = DoubleDoubleFloat.valueOf(2);
+            assertThat(DoubleDoubleFloat.POSITIVE_1.plus(1d), is(sameInstance(two)));
+            assertThat(
+                    two.times(DoubleDoubleFloat.valueOf(-3)),
+                    is(sameInstance(DoubleDoubleFloat.valueOf(-6))));
+            assertThat(
+                    DoubleDoubleFloat.valueOf(10).dividedBy(4d).times(4d),
+                    is(sameInstance(DoubleDoubleFloat.valueOf(10))));
+        }
+
+        @Test
+        public void test_キャッシュされない値は等価な新しいインスタンス() {
+            DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(1_000_001);
+            assertThat(value, is(DoubleDoubleFloat.valueOf(1_000_001d)));
+            assertThat(value.doubleValue(), is(1_000_001d));
+        }
+    }
+
     public static class 比較に関するテスト {
 
         @Test
@@ -216,6 +309,46 @@ final class DoubleDoubleFloatTest {
         }
     }
 
+    public static class 加法逆元の並行呼び出しの検証 {
+
+        @Test
+        public void test_複数スレッドからの呼び出しでも等価な値が返る() throws Exception {
+            final int threads = 8;
+            final int size = 10_000;
+            DoubleDoubleFloat[] values = new DoubleDoubleFloat[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = DoubleDoubleFloat.valueOf(1.1 + i, 1E-20);
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<DoubleDoubleFloat[]>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        DoubleDoubleFloat[] out = new DoubleDoubleFloat[size];
+                        for (int i = 0; i < size; i++) {
+                            out[i] = values[i].negated();
+                        }
+                        return out;
+                    }));
+                }
+                start.countDown();
+
+                for (Future<DoubleDoubleFloat[]> future : futures) {
+                    DoubleDoubleFloat[] result = future.get();
+                    for (int i = 0; i < size; i++) {
+                        assertThat(result[i], is(DoubleDoubleFloat.valueOf(-1.1 - i, -1E-20)));
+                        assertThat(result[i].negated(), is(values[i]));
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
     public static class 乗法逆元の検証_特殊値 {
 
         @Test
@@ -338,6 +471,234 @@ final class DoubleDoubleFloatTest {
         }
     }
 
+    public static class 四則演算の誤差限界の検証 {
+
+        /**
+         * u^2 = 2^{-106}.
+         */
+        private static final double U2 = 0x1p-106;
+
+        private static final MathContext MC = new MathContext(100);
+
+        private static BigDecimal exactValue(DoubleDoubleFloat dd) {
+            return new BigDecimal(dd.doubleValue()).add(new BigDecimal(dd.lowValue()));
+        }
+
+        /**
+         * 結果の, 厳密値に対する相対誤差を返す.
+         */
+        private static double relativeError(DoubleDoubleFloat result, BigDecimal exact) {
+            BigDecimal diff = exactValue(result).subtract(exact).abs();
+            if (exact.signum() == 0) {
+                return diff.signum() == 0 ? 0d : Double.POSITIVE_INFINITY;
+            }
+            return diff.divide(exact.abs(), MC).doubleValue();
+        }
+
+        /**
+         * 下位が上位の ulp の半分に近い値も含む乱数を返す.
+         */
+        private static DoubleDoubleFloat randomValue(Random random) {
+            double high = Math.scalb(1d + random.nextDouble(), random.nextInt(20) - 10);
+            if (random.nextBoolean()) {
+                high = -high;
+            }
+            double low = random.nextInt(4) == 0
+                    ? 0.5 * Math.ulp(high) * (1d - 0x1p-52 * random.nextInt(4))
+                    : Math.ulp(high) * (random.nextDouble() - 0.5);
+            return DoubleDoubleFloat.valueOf(high).plus(DoubleDoubleFloat.valueOf(low));
+        }
+
+        /**
+         * x にほぼ等しい (桁落ちを起こす) 値の符号反転を返す.
+         */
+        private static DoubleDoubleFloat nearlyCancelling(DoubleDoubleFloat x, Random random) {
+            return x.negated().plus(Math.scalb(random.nextDouble() - 0.5, -random.nextInt(110)));
+        }
+
+        @Test
+        public void test_高精度な和は桁落ちでも3u2以下() {
+            Random random = new Random(8_128L);
+            double maxError = 0d;
+            for (int i = 0; i < 50_000; i++) {
+                DoubleDoubleFloat x = randomValue(random);
+                DoubleDoubleFloat y = random.nextBoolean() ? randomValue(random) : nearlyCancelling(x, random);
+
+                BigDecimal sum = exactValue(x).add(exactValue(y));
+                maxError = Math.max(maxError, relativeError(x.plusAccurate(y), sum));
+                maxError = Math.max(
+                        maxError,
+                        relativeError(x.minusAccurate(y.negated()), sum));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(3 * U2)));
+        }
+
+        @Test
+        public void test_和は同符号なら3u2以下_異符号では大きくなりうる() {
+            Random random = new Random(496L);
+            double maxErrorSameSign = 0d;
+            double maxErrorCancelling = 0d;
+            for (int i = 0; i < 50_000; i++) {
+                DoubleDoubleFloat x = randomValue(random);
+                DoubleDoubleFloat y = randomValue(random);
+                if (Math.signum(x.doubleValue()) != Math.signum(y.doubleValue())) {
+                    y = y.negated();
+                }
+                maxErrorSameSign = Math.max(
+                        maxErrorSameSign,
+                        relativeError(x.plus(y), exactValue(x).add(exactValue(y))));
+
+                DoubleDoubleFloat z = nearlyCancelling(x, random);
+                maxErrorCancelling = Math.max(
+                        maxErrorCancelling,
+                        relativeError(x.plus(z), exactValue(x).add(exactValue(z))));
+            }
+            assertThat(maxErrorSameSign, is(lessThanOrEqualTo(3 * U2)));
+            assertThat(maxErrorCancelling, is(greaterThan(3 * U2)));
+        }
+
+        @Test
+        public void test_積の誤差限界() {
+            Random random = new Random(33_550_336L);
+            double maxError = 0d;
+            double maxErrorAccurate = 0d;
+            for (int i = 0; i < 50_000; i++) {
+                DoubleDoubleFloat x = randomValue(random);
+                DoubleDoubleFloat y = randomValue(random);
+                BigDecimal product = exactValue(x).multiply(exactValue(y));
+
+                maxError = Math.max(maxError, relativeError(x.times(y), product));
+                maxErrorAccurate = Math.max(maxErrorAccurate, relativeError(x.timesAccurate(y), product));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(7 * U2)));
+            assertThat(maxErrorAccurate, is(lessThanOrEqualTo((TwoProduct.USE_FMA ? 5 : 7) * U2)));
+        }
+
+        /**
+         * 上位を 2^scale 倍した乱数を返す.
+         */
+        private static DoubleDoubleFloat randomValue(Random random, int scale) {
+            DoubleDoubleFloat value = randomValue(random);
+            return DoubleDoubleFloat.valueOf(Math.scalb(value.doubleValue(), scale))
+                    .plus(Math.scalb(value.lowValue(), scale));
+        }
+
+        @Test
+        public void test_商の誤差限界() {
+            Random random = new Random(8_589_869_056L);
+            //被除数と除数の指数の組, 極端な大きさを含む
+            int[][] scales = { { 0, 0 }, { 1000, 0 }, { 1012, 20 }, { -1000, -900 }, { -1060, -1000 }, { 0, 940 } };
+            double maxError = 0d;
+            double maxErrorDouble = 0d;
+            for (int[] scale : scales) {
+                for (int i = 0; i < 10_000; i++) {
+                    DoubleDoubleFloat x = randomValue(random, scale[0]);
+                    DoubleDoubleFloat y = randomValue(random, scale[1]);
+                    double yh = y.doubleValue();
+
+                    maxError = Math.max(
+                            maxError,
+                            relativeError(x.dividedBy(y), exactValue(x).divide(exactValue(y), MC)));
+                    maxErrorDouble = Math.max(
+                            maxErrorDouble,
+                            relativeError(x.dividedBy(yh), exactValue(x).divide(new BigDecimal(yh), MC)));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(10 * U2)));
+            assertThat(maxErrorDouble, is(lessThanOrEqualTo(4 * U2)));
+        }
+
+        @Test
+        public void test_逆数の誤差限界() {
+            Random random = new Random(137_438_691_328L);
+            double maxError = 0d;
+            for (int scale : new int[] { 0, 940, -1000 }) {
+                for (int i = 0; i < 10_000; i++) {
+                    DoubleDoubleFloat y = randomValue(random, scale);
+                    maxError = Math.max(
+                            maxError,
+                            relativeError(y.reciprocal(), BigDecimal.ONE.divide(exactValue(y), MC)));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(6 * U2)));
+        }
+
+        @Test
+        public void test_2乗は自身との積と一致する() {
+            Random random = new Random(2_305_843_008_139_952_128L);
+            for (int scale : new int[] { 0, 500, -500, 530, -560 }) {
+                for (int i = 0; i < 2_000; i++) {
+                    DoubleDoubleFloat x = randomValue(random, scale);
+                    assertThat(x.square(), is(x.times(x)));
+                }
+            }
+        }
+
+        @Test
+        public void test_整数乗の誤差限界() {
+            Random random = new Random(2_658_455_991_569_831_744L);
+            for (int n : new int[] { 1, 2, 3, 5, 8, 13, 64, 100, 1000, -1, -2, -7, -100 }) {
+                double maxError = 0d;
+                for (int i = 0; i < 500; i++) {
+                    DoubleDoubleFloat x = randomValue(random);
+                    if (n > 64 || n < -64) {
+                        //オーバーフローしない範囲に収める
+                        x = DoubleDoubleFloat.valueOf(1d + 0x1p-8 * (x.doubleValue() - Math.rint(x.doubleValue())))
+                                .plus(x.lowValue() * 0x1p-20);
+                    }
+                    BigDecimal power = n >= 0
+                            ? exactValue(x).pow(n, MC)
+                            : BigDecimal.ONE.divide(exactValue(x).pow(-n, MC), MC);
+                    maxError = Math.max(maxError, relativeError(x.pow(n), power));
+                }
+                double bound = 4 * Math.abs(n) + (n < 0 ? 6 : 0);
+                assertThat("n = " + n, maxError, is(lessThanOrEqualTo(bound * U2)));
+            }
+        }
+
+        @Test
+        public void test_整数乗の特殊値() {
+            assertThat(DoubleDoubleFloat.NaN.pow(0), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.NaN.pow(3), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.pow(3), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.pow(2), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.pow(-3), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.POSITIVE_0.pow(-2), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.pow(3), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.pow(-3), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf(10).pow(400), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(-2).pow(-1075), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.pow(Long.MIN_VALUE), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.pow(Long.MIN_VALUE), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.valueOf(2).pow(Long.MIN_VALUE), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf(3).pow(40), is(DoubleDoubleFloat.valueOf(BigDecimal.valueOf(3).pow(40))));
+        }
+
+        @Test
+        public void test_高精度な演算の特殊値は通常の演算と一致する() {
+            DoubleDoubleFloat[] values = {
+                    DoubleDoubleFloat.POSITIVE_0,
+                    DoubleDoubleFloat.NEGATIVE_0,
+                    DoubleDoubleFloat.POSITIVE_1,
+                    DoubleDoubleFloat.NEGATIVE_1,
+                    DoubleDoubleFloat.MAX_VALUE,
+                    DoubleDoubleFloat.MAX_VALUE.negated(),
+                    DoubleDoubleFloat.valueOf(Double.MAX_VALUE, 0x1p969),
+                    DoubleDoubleFloat.valueOf(Double.MIN_VALUE),
+                    DoubleDoubleFloat.POSITIVE_INFINITY,
+                    DoubleDoubleFloat.NEGATIVE_INFINITY,
+                    DoubleDoubleFloat.NaN,
+            };
+            for (DoubleDoubleFloat x : values) {
+                for (DoubleDoubleFloat y : values) {
+                    assertThat(x.plusAccurate(y), is(x.plus(y)));
+                    assertThat(x.minusAccurate(y), is(x.minus(y)));
+                    assertThat(x.timesAccurate(y), is(x.times(y)));
+                }
+            }
+        }
+    }
+
     @RunWith(Theories.class)
     public static class 除算の検証 {
 
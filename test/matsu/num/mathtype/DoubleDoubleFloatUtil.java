@@ -6,11 +6,26 @@
  */
 package matsu.num.mathtype;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
 /**
  * {@link DoubleDoubleFloat} に関するユーティリティ(テスト用).
  */
 final class DoubleDoubleFloatUtil {
 
+    /**
+     * 精度評価に用いる {@link MathContext}. <br>
+     * double-double の相対精度 (約32桁) に対して十分な桁数を持つ.
+     */
+    public static final MathContext MC_EVALUATION = new MathContext(100);
+
+    /**
+     * u^2 = 2^{-106}.
+     */
+    public static final double U2 = 0x1p-106;
+
     private DoubleDoubleFloatUtil() {
         throw new AssertionError("インスタンス化不可");
     }
@@ -26,4 +41,305 @@ final class DoubleDoubleFloatUtil {
     public static boolean isClose(DoubleDoubleFloat result, DoubleDoubleFloat expected, double relativeError) {
         return Math.abs(result.minus(expected).doubleValue()) <= Math.abs(relativeError * expected.doubleValue());
     }
+
+    /**
+     * 有限値が表す厳密な値を返す.
+     * 
+     * @param value 有限値
+     * @return 上位と下位の厳密な和
+     */
+    public static BigDecimal exactValue(DoubleDoubleFloat value) {
+        return new BigDecimal(value.doubleValue()).add(new BigDecimal(value.lowValue()));
+    }
+
+    /**
+     * 結果の, 厳密値に対する相対誤差を返す. <br>
+     * 精度評価のハーネスとして, 最大相対誤差の計測に用いる.
+     * 
+     * @param result 有限の結果
+     * @param exact 厳密値 (あるいは十分な精度の近似値)
+     * @return {@literal |result - exact| / |exact|}, ただしexactが0の場合は,
+     *             resultも0なら0, そうでないなら正の無限大
+     */
+    public static double relativeError(DoubleDoubleFloat result, BigDecimal exact) {
+        BigDecimal diff = exactValue(result).subtract(exact).abs();
+        if (exact.signum() == 0) {
+            return diff.signum() == 0 ? 0d : Double.POSITIVE_INFINITY;
+        }
+        return diff.divide(exact.abs(), MC_EVALUATION).doubleValue();
+    }
+
+    /**
+     * exp(x) を {@link #MC_EVALUATION} の精度で計算する (精度評価の参照値).
+     * 
+     * @param x 引数
+     * @return exp(x)
+     */
+    public static BigDecimal expReference(BigDecimal x) {
+        //|x| が十分小さくなるまで半分にし, Taylor 級数の後に平方を繰り返す
+        BigDecimal threshold = new BigDecimal("0.001");
+        int halvings = 0;
+        while (x.abs().compareTo(threshold) > 0) {
+            x = x.divide(BigDecimal.valueOf(2), MC_EVALUATION);
+            halvings++;
+        }
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal term = BigDecimal.ONE;
+        for (int k = 1; k < 40; k++) {
+            term = term.multiply(x, MC_EVALUATION).divide(BigDecimal.valueOf(k), MC_EVALUATION);
+            sum = sum.add(term, MC_EVALUATION);
+        }
+        for (int i = 0; i < halvings; i++) {
+            sum = sum.multiply(sum, MC_EVALUATION);
+        }
+        return sum;
+    }
+
+    /**
+     * 正の x に対し, log(x) を {@link #MC_EVALUATION} の精度で計算する (精度評価の参照値).
+     * 
+     * @param x 正の引数 ({@code double} の範囲にあること)
+     * @return log(x)
+     */
+    public static BigDecimal logReference(BigDecimal x) {
+        //Math.log による初期値に, Newton 法 y <- y + x exp(-y) - 1 を適用する
+        //収束は2次であり, 3回で十分な精度となる
+        BigDecimal y = new BigDecimal(Math.log(x.doubleValue()));
+        for (int i = 0; i < 3; i++) {
+            BigDecimal ratio = x.divide(expReference(y), MC_EVALUATION);
+            y = y.add(ratio, MC_EVALUATION).subtract(BigDecimal.ONE, MC_EVALUATION);
+        }
+        return y;
+    }
+
+    /**
+     * 巨大な引数の還元に用いる精度. <br>
+     * {@code double} の最大値 (約 10^308) の引数でも, 還元後に {@link #MC_EVALUATION} 以上の桁が残る.
+     */
+    private static final MathContext MC_REDUCTION = new MathContext(450);
+
+    /**
+     * π を {@link #MC_REDUCTION} の精度で表したもの.
+     */
+    public static final BigDecimal PI = machinPi();
+
+    /**
+     * sin(x) を {@link #MC_EVALUATION} の精度で計算する (精度評価の参照値).
+     * 
+     * @param x 引数 ({@code double} の範囲にあること)
+     * @return sin(x)
+     */
+    public static BigDecimal sinReference(BigDecimal x) {
+        return trigonometricReference(x, 0);
+    }
+
+    /**
+     * cos(x) を {@link #MC_EVALUATION} の精度で計算する (精度評価の参照値).
+     * 
+     * @param x 引数 ({@code double} の範囲にあること)
+     * @return cos(x)
+     */
+    public static BigDecimal cosReference(BigDecimal x) {
+        return trigonometricReference(x, 1);
+    }
+
+    /**
+     * atan2(y, x) を {@link #MC_EVALUATION} の精度で計算する (精度評価の参照値).
+     * 
+     * @param y 0でない縦座標 ({@code double} の範囲にあること)
+     * @param x 横座標 ({@code double} の範囲にあること)
+     * @return atan2(y, x)
+     */
+    public static BigDecimal atan2Reference(BigDecimal y, BigDecimal x) {
+        //Math.atan2 による初期値に, Newton 法 θ <- θ + (y cos θ - x sin θ) / (x cos θ + y sin θ) を適用する
+        //収束は3次であり, 2回で十分な精度となる
+        BigDecimal theta = new BigDecimal(Math.atan2(y.doubleValue(), x.doubleValue()));
+        for (int i = 0; i < 2; i++) {
+            BigDecimal sin = sinReference(theta);
+            BigDecimal cos = cosReference(theta);
+            BigDecimal numerator = y.multiply(cos, MC_EVALUATION).subtract(x.multiply(sin, MC_EVALUATION));
+            BigDecimal denominator = x.multiply(cos, MC_EVALUATION).add(y.multiply(sin, MC_EVALUATION));
+            theta = theta.add(numerator.divide(denominator, MC_EVALUATION), MC_EVALUATION);
+        }
+        return theta;
+    }
+
+    /**
+     * 正の x に対し, log Γ(x) を {@link #MC_EVALUATION} の精度で計算する (精度評価の参照値).
+     * 
+     * @param x 正の引数 ({@code double} の範囲にあること)
+     * @return log Γ(x)
+     */
+    public static BigDecimal lgammaReference(BigDecimal x) {
+        //y = x + n >= 50 として, log Γ(x) = log Γ(y) - log(x(x + 1)...(y - 1)) とし,
+        //log Γ(y) を Stirling の漸近展開 (30項) で計算する
+        int n = x.compareTo(BigDecimal.valueOf(50)) >= 0 ? 0 : 50 - x.intValue();
+        BigDecimal product = BigDecimal.ONE;
+        for (int i = 0; i < n; i++) {
+            product = product.multiply(x.add(BigDecimal.valueOf(i)), MC_EVALUATION);
+        }
+        BigDecimal y = x.add(BigDecimal.valueOf(n));
+
+        BigDecimal[] bernoulli = BERNOULLI_NUMBERS;
+        BigDecimal inverse = BigDecimal.ONE.divide(y, MC_EVALUATION);
+        BigDecimal inverseSquare = inverse.multiply(inverse, MC_EVALUATION);
+        BigDecimal series = BigDecimal.ZERO;
+        BigDecimal power = inverse;
+        for (int k = 1; k <= 30; k++) {
+            BigDecimal c = bernoulli[2 * k].divide(BigDecimal.valueOf(2L * k * (2 * k - 1)), MC_EVALUATION);
+            series = series.add(c.multiply(power, MC_EVALUATION), MC_EVALUATION);
+            power = power.multiply(inverseSquare, MC_EVALUATION);
+        }
+        BigDecimal halfLog2Pi = logReference(PI.multiply(BigDecimal.valueOf(2), MC_EVALUATION))
+                .divide(BigDecimal.valueOf(2), MC_EVALUATION);
+        BigDecimal logY = logReference(y);
+        BigDecimal value = y.subtract(new BigDecimal("0.5")).multiply(logY, MC_EVALUATION)
+                .subtract(y).add(halfLog2Pi).add(series, MC_EVALUATION);
+        return n == 0 ? value : value.subtract(logReference(product), MC_EVALUATION);
+    }
+
+    /**
+     * erf(x) を {@link #MC_EVALUATION} の精度で計算する (精度評価の参照値).
+     * 
+     * @param x 引数 ({@code double} の範囲にあること)
+     * @return erf(x)
+     */
+    public static BigDecimal erfReference(BigDecimal x) {
+        if (x.signum() < 0) {
+            return erfReference(x.negate()).negate();
+        }
+        if (x.compareTo(ERF_SERIES_UPPER) < 0) {
+            return erfSeries(x);
+        }
+        return BigDecimal.ONE.subtract(erfcReference(x), MC_EVALUATION);
+    }
+
+    /**
+     * erfc(x) を {@link #MC_EVALUATION} の精度で計算する (精度評価の参照値).
+     * 
+     * @param x 引数 ({@code double} の範囲にあること)
+     * @return erfc(x)
+     */
+    public static BigDecimal erfcReference(BigDecimal x) {
+        if (x.compareTo(ERF_SERIES_UPPER) < 0) {
+            return BigDecimal.ONE.subtract(erfSeries(x), MC_EVALUATION);
+        }
+
+        //Laplace の連分数 erfc(x) = exp(-x^2)/sqrt(π) / (x + (1/2)/(x + 1/(x + (3/2)/(x + ...))))
+        //項数は 6000/x^2 + 40 で十分である
+        int n = (int) (6000 / (x.doubleValue() * x.doubleValue())) + 40;
+        BigDecimal t = x;
+        for (int k = n; k >= 1; k--) {
+            t = x.add(BigDecimal.valueOf(k).divide(BigDecimal.valueOf(2).multiply(t), MC_EVALUATION));
+        }
+        BigDecimal scale = expReference(x.multiply(x).negate())
+                .divide(PI.sqrt(MC_EVALUATION), MC_EVALUATION);
+        return scale.divide(t, MC_EVALUATION);
+    }
+
+    /**
+     * erf の級数を用いる引数の上限 (これを含まない).
+     */
+    private static final BigDecimal ERF_SERIES_UPPER = BigDecimal.valueOf(3);
+
+    /**
+     * 級数 erf(x) = 2/sqrt(π) sum_n (-1)^n x^(2n+1) / (n!(2n+1)) により, |x| &lt; 3 の erf(x) を計算する.
+     */
+    private static BigDecimal erfSeries(BigDecimal x) {
+        //項の最大値は exp(x^2) 程度であり, 桁落ちを見込んで余分な桁で計算する
+        MathContext mc = new MathContext(MC_EVALUATION.getPrecision() + 20);
+        BigDecimal square = x.multiply(x, mc);
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(mc.getPrecision() + 5);
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal power = x;
+        for (int n = 0; power.abs().compareTo(threshold) > 0; n++) {
+            BigDecimal term = power.divide(BigDecimal.valueOf(2 * n + 1), mc);
+            sum = (n & 1) == 0 ? sum.add(term, mc) : sum.subtract(term, mc);
+            power = power.multiply(square, mc).divide(BigDecimal.valueOf(n + 1), mc);
+        }
+        return sum.multiply(BigDecimal.valueOf(2), mc).divide(PI.sqrt(mc), MC_EVALUATION);
+    }
+
+    /**
+     * BERNOULLI_NUMBERS[m] が Bernoulli 数 B_m を表す (0 &le; m &le; 60).
+     */
+    private static final BigDecimal[] BERNOULLI_NUMBERS = bernoulliNumbers(60);
+
+    /**
+     * 漸化式 B_m = -1/(m + 1) sum_{k=0}^{m-1} C(m + 1, k) B_k により, B_0, ..., B_n を計算する.
+     */
+    private static BigDecimal[] bernoulliNumbers(int n) {
+        MathContext mc = new MathContext(150);
+        BigDecimal[] b = new BigDecimal[n + 1];
+        b[0] = BigDecimal.ONE;
+        for (int m = 1; m <= n; m++) {
+            BigDecimal sum = BigDecimal.ZERO;
+            BigDecimal binomial = BigDecimal.ONE;
+            for (int k = 0; k < m; k++) {
+                sum = sum.add(binomial.multiply(b[k]), mc);
+                binomial = binomial.multiply(BigDecimal.valueOf(m + 1 - k))
+                        .divide(BigDecimal.valueOf(k + 1));
+            }
+            b[m] = sum.divide(BigDecimal.valueOf(m + 1), mc).negate();
+        }
+        return b;
+    }
+
+    /**
+     * sin(x + shift * π/2) を計算する.
+     */
+    private static BigDecimal trigonometricReference(BigDecimal x, int shift) {
+        BigDecimal halfPi = PI.divide(BigDecimal.valueOf(2), MC_REDUCTION);
+        BigDecimal q = x.divide(halfPi, MC_REDUCTION).setScale(0, RoundingMode.HALF_EVEN);
+        BigDecimal r = x.subtract(q.multiply(halfPi, MC_REDUCTION), MC_REDUCTION);
+        int quadrant = (q.remainder(BigDecimal.valueOf(4)).intValue() + shift + 4) & 3;
+
+        //Taylor 級数 (|r| <= π/4 + 微小)
+        BigDecimal sin = BigDecimal.ZERO;
+        BigDecimal cos = BigDecimal.ZERO;
+        BigDecimal term = BigDecimal.ONE;
+        for (int i = 0; i < 100; i++) {
+            BigDecimal signed = (i & 2) == 0 ? term : term.negate();
+            if ((i & 1) == 0) {
+                cos = cos.add(signed, MC_EVALUATION);
+            } else {
+                sin = sin.add(signed, MC_EVALUATION);
+            }
+            term = term.multiply(r, MC_EVALUATION).divide(BigDecimal.valueOf(i + 1), MC_EVALUATION);
+        }
+        switch (quadrant) {
+            case 0:
+                return sin;
+            case 1:
+                return cos;
+            case 2:
+                return sin.negate();
+            default:
+                return cos.negate();
+        }
+    }
+
+    /**
+     * Machin の公式 π = 16 arctan(1/5) - 4 arctan(1/239) による π.
+     */
+    private static BigDecimal machinPi() {
+        return arctanOfInverse(5).multiply(BigDecimal.valueOf(16))
+                .subtract(arctanOfInverse(239).multiply(BigDecimal.valueOf(4)), MC_REDUCTION);
+    }
+
+    /**
+     * arctan(1/n) を {@link #MC_REDUCTION} の精度で計算する.
+     */
+    private static BigDecimal arctanOfInverse(int n) {
+        BigDecimal inverseSquare = BigDecimal.ONE.divide(BigDecimal.valueOf((long) n * n), MC_REDUCTION);
+        BigDecimal power = BigDecimal.ONE.divide(BigDecimal.valueOf(n), MC_REDUCTION);
+        BigDecimal threshold = BigDecimal.ONE.movePointLeft(MC_REDUCTION.getPrecision() + 5);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int k = 0; power.compareTo(threshold) > 0; k++) {
+            BigDecimal term = power.divide(BigDecimal.valueOf(2 * k + 1), MC_REDUCTION);
+            sum = (k & 1) == 0 ? sum.add(term, MC_REDUCTION) : sum.subtract(term, MC_REDUCTION);
+            power = power.multiply(inverseSquare, MC_REDUCTION);
+        }
+        return sum;
+    }
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleFormat} クラス (および {@link DoubleDoubleFloat#toString()}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleFormatTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleFormat.class;
+
+    private static final MathContext MC_TO_STRING = new MathContext(32, RoundingMode.HALF_EVEN);
+
+    /**
+     * 検証に用いる有限の値の集合を返す.
+     */
+    private static List<DoubleDoubleFloat> corpus(long seed, int size) {
+        Random random = new Random(seed);
+        List<DoubleDoubleFloat> values = new ArrayList<>();
+
+        //下位が0の値
+        double[] doubles = {
+                1d, 0.5, 100d, 1E22, 1E23, 0x1p110, 0.1, 123456.75, 9999999d, 1E7, 0.001, 0.00099,
+                Double.MAX_VALUE, Double.MIN_NORMAL, Double.MIN_VALUE };
+        for (double d : doubles) {
+            values.add(DoubleDoubleFloat.valueOf(d));
+        }
+
+        //10の冪の近傍
+        for (int k = -300; k <= 300; k += 7) {
+            DoubleDoubleFloat power = DoubleDoubleFloat.valueOf(new BigDecimal("1E" + k));
+            double low = power.lowValue();
+            values.add(power);
+            values.add(DoubleDoubleFloat.valueOf(power.doubleValue(), low + Math.ulp(low)));
+            values.add(DoubleDoubleFloat.valueOf(power.doubleValue(), low - Math.ulp(low)));
+        }
+
+        //広い指数の範囲の, 下位が0でない値
+        for (int i = 0; i < size; i++) {
+            int exponent = i % 10 == 0
+                    ? random.nextInt(2100) - 1070
+                    : random.nextInt(240) - 120;
+            DoubleDoubleFloat numerator = DoubleDoubleFloat.valueOf(Math.scalb(1 + random.nextDouble(), exponent));
+            DoubleDoubleFloat value = numerator.dividedBy(DoubleDoubleFloat.valueOf(1 + 9 * random.nextDouble()));
+            if (i % 3 == 0) {
+                value = value.times(DoubleDoubleFloat.valueOf(random.nextDouble()).plus(1d));
+            }
+            values.add(value);
+        }
+
+        List<DoubleDoubleFloat> signed = new ArrayList<>();
+        for (DoubleDoubleFloat value : values) {
+            if (value.isFinite() && value.doubleValue() != 0d) {
+                signed.add(value);
+                signed.add(value.negated());
+            }
+        }
+        return signed;
+    }
+
+    /**
+     * 有効桁数 n の指数表記の参照値.
+     */
+    private static String scientificReference(BigDecimal exact, int n) {
+        BigDecimal rounded = exact.round(new MathContext(n, RoundingMode.HALF_EVEN));
+        StringBuilder unscaled = new StringBuilder(rounded.unscaledValue().abs().toString());
+        while (unscaled.length() < n) {
+            unscaled.append('0');
+        }
+        StringBuilder sb = new StringBuilder();
+        if (rounded.signum() < 0) {
+            sb.append('-');
+        }
+        sb.append(unscaled.charAt(0));
+        if (n > 1) {
+            sb.append('.').append(unscaled, 1, n);
+        }
+        return sb.append('E').append(rounded.precision() - rounded.scale() - 1).toString();
+    }
+
+    /**
+     * 最短表現の参照値. <br>
+     * 桁数を1から増やし, 元の値に戻る10進数が現れた最初の桁数で, 値に最も近いものを選ぶ.
+     */
+    private static String shortestReference(DoubleDoubleFloat value) {
+        double high = value.doubleValue();
+        double low = value.lowValue();
+        BigDecimal exact = exactValue(value);
+        for (int n = 1;; n++) {
+            BigDecimal floor = exact.round(new MathContext(n, RoundingMode.FLOOR));
+            BigDecimal ceiling = exact.round(new MathContext(n, RoundingMode.CEILING));
+            boolean floorRecovers = recovers(floor, high, low);
+            boolean ceilingRecovers = recovers(ceiling, high, low);
+            if (floorRecovers && ceilingRecovers) {
+                return shortestLayout(exact.round(new MathContext(n, RoundingMode.HALF_EVEN)));
+            }
+            if (floorRecovers) {
+                return shortestLayout(floor);
+            }
+            if (ceilingRecovers) {
+                return shortestLayout(ceiling);
+            }
+        }
+    }
+
+    private static boolean recovers(BigDecimal decimal, double high, double low) {
+        return decimal.doubleValue() == high
+                && decimal.subtract(new BigDecimal(high)).doubleValue() == low;
+    }
+
+    /**
+     * {@link Double#toString(double)} に準じたレイアウト.
+     */
+    private static String shortestLayout(BigDecimal decimal) {
+        decimal = decimal.stripTrailingZeros();
+        String unscaled = decimal.unscaledValue().abs().toString();
+        int leading = decimal.precision() - decimal.scale() - 1;
+        StringBuilder sb = new StringBuilder();
+        if (decimal.signum() < 0) {
+            sb.append('-');
+        }
+        if (-3 <= leading && leading < 7) {
+            String plain = decimal.abs().toPlainString();
+            return sb.append(plain).append(plain.indexOf('.') < 0 ? ".0" : "").toString();
+        }
+        sb.append(unscaled.charAt(0)).append('.');
+        sb.append(unscaled.length() > 1 ? unscaled.substring(1) : "0");
+        return sb.append('E').append(leading).toString();
+    }
+
+    public static class toStringの検証 {
+
+        @Test
+        public void test_正確な値を32桁に丸めたBigDecimalの文字列と一致する() {
+            for (DoubleDoubleFloat value : corpus(1L, 20000)) {
+                String expected = exactValue(value).round(MC_TO_STRING).toString();
+                assertThat(value.toString(), is(expected));
+            }
+        }
+
+        @Test
+        public void test_特殊値の文字列() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.toString(), is("0.0"));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.toString(), is("-0.0"));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.toString(), is("Infinity"));
+            assertThat(DoubleDoubleFloat.NaN.toString(), is("NaN"));
+            assertThat(DoubleDoubleFloat.valueOf(100).toString(), is("100"));
+            assertThat(DoubleDoubleFloat.valueOf(0.5).toString(), is("0.5"));
+            assertThat(DoubleDoubleFloat.valueOf(1E22).toString(), is("10000000000000000000000"));
+        }
+    }
+
+    public static class 指数表記の検証 {
+
+        @Test
+        public void test_BigDecimalによる丸めと一致する() {
+            int[] significantDigits = { 1, 5, 17, 32, 34, 36, 40 };
+            for (DoubleDoubleFloat value : corpus(2L, 5000)) {
+                BigDecimal exact = exactValue(value);
+                for (int n : significantDigits) {
+                    assertThat(DoubleDoubleFormat.scientific(n).format(value), is(scientificReference(exact, n)));
+                }
+            }
+        }
+
+        @Test
+        public void test_特殊値と0() {
+            DoubleDoubleFormat format = DoubleDoubleFormat.scientific(3);
+            assertThat(format.format(DoubleDoubleFloat.POSITIVE_0), is("0.00E0"));
+            assertThat(format.format(DoubleDoubleFloat.NEGATIVE_0), is("-0.00E0"));
+            assertThat(format.format(DoubleDoubleFloat.NEGATIVE_INFINITY), is("-Infinity"));
+            assertThat(format.format(DoubleDoubleFloat.NaN), is("NaN"));
+            assertThat(DoubleDoubleFormat.scientific(1).format(DoubleDoubleFloat.POSITIVE_0), is("0E0"));
+            assertThat(format.format(DoubleDoubleFloat.valueOf(9.996)), is("1.00E1"));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_有効桁数が0では例外() {
+            DoubleDoubleFormat.scientific(0);
+        }
+    }
+
+    public static class 小数点表記の検証 {
+
+        @Test
+        public void test_BigDecimalによる丸めと一致する() {
+            int[] fractionDigits = { 0, 1, 3, 10, 20, 35 };
+            for (DoubleDoubleFloat value : corpus(3L, 5000)) {
+                if (Math.abs(value.doubleValue()) > 1E30) {
+                    continue;
+                }
+                BigDecimal exact = exactValue(value);
+                for (int f : fractionDigits) {
+                    String expected = exact.setScale(f, RoundingMode.HALF_EVEN).toPlainString();
+                    assertThat(DoubleDoubleFormat.fixed(f).format(value), is(expected));
+                }
+            }
+        }
+
+        @Test
+        public void test_0に丸められた負の値は符号を持たない() {
+            assertThat(DoubleDoubleFormat.fixed(2).format(DoubleDoubleFloat.valueOf(-0.001)), is("0.00"));
+            assertThat(DoubleDoubleFormat.fixed(2).format(DoubleDoubleFloat.NEGATIVE_0), is("0.00"));
+            assertThat(DoubleDoubleFormat.fixed(0).format(DoubleDoubleFloat.valueOf(-2.5)), is("-2"));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_桁数が負では例外() {
+            DoubleDoubleFormat.fixed(-1);
+        }
+    }
+
+    public static class 最短表現の検証 {
+
+        @Test
+        public void test_元の値に戻る最短の10進数と一致する() {
+            for (DoubleDoubleFloat value : corpus(4L, 3000)) {
+                assertThat(DoubleDoubleFormat.shortest().format(value), is(shortestReference(value)));
+            }
+        }
+
+        @Test
+        public void test_最短表現から元の値に戻る() {
+            for (DoubleDoubleFloat value : corpus(5L, 3000)) {
+                BigDecimal decimal = new BigDecimal(DoubleDoubleFormat.shortest().format(value));
+                assertThat(recovers(decimal, value.doubleValue(), value.lowValue()), is(true));
+            }
+        }
+
+        @Test
+        public void test_表示の例() {
+            DoubleDoubleFormat format = DoubleDoubleFormat.shortest();
+            assertThat(format.format(DoubleDoubleFloat.valueOf(new BigDecimal("0.1"))), is("0.1"));
+            assertThat(format.format(DoubleDoubleFloat.valueOf(new BigDecimal("1234567"))), is("1234567.0"));
+            assertThat(format.format(DoubleDoubleFloat.valueOf(new BigDecimal("1.5E-7"))), is("1.5E-7"));
+            assertThat(format.format(DoubleDoubleFloat.valueOf(100)), is("100.0"));
+            assertThat(format.format(DoubleDoubleFloat.valueOf(1E7)), is("1.0E7"));
+            assertThat(format.format(DoubleDoubleFloat.NEGATIVE_0), is("-0.0"));
+            assertThat(format.format(DoubleDoubleFloat.POSITIVE_INFINITY), is("Infinity"));
+        }
+    }
+
+    public static class 出力先の検証 {
+
+        @Test
+        public void test_StringBuilderに追加される() {
+            DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(1).dividedBy(3);
+            StringBuilder sb = new StringBuilder("x = ");
+            DoubleDoubleFormat.scientific(5).appendTo(value, sb);
+            assertThat(sb.toString(), is("x = 3.3333E-1"));
+        }
+
+        @Test
+        public void test_Appendableに追加される() throws IOException {
+            DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(1).dividedBy(3);
+            StringWriter writer = new StringWriter();
+            writer.write("x = ");
+            DoubleDoubleFormat.fixed(3).appendTo(value, writer);
+            assertThat(writer.toString(), is("x = 0.333"));
+        }
+
+        @Test
+        public void test_StringBuilder以外のAppendableへの出力は文字列表現と一致する() throws IOException {
+            DoubleDoubleFormat[] formats = {
+                    DoubleDoubleFormat.shortest(),
+                    DoubleDoubleFormat.scientific(20),
+                    DoubleDoubleFormat.fixed(5) };
+            List<DoubleDoubleFloat> values = corpus(6L, 300);
+            values.add(DoubleDoubleFloat.POSITIVE_0);
+            values.add(DoubleDoubleFloat.NEGATIVE_0);
+            values.add(DoubleDoubleFloat.POSITIVE_INFINITY);
+            values.add(DoubleDoubleFloat.NEGATIVE_INFINITY);
+            values.add(DoubleDoubleFloat.NaN);
+
+            for (DoubleDoubleFormat format : formats) {
+                for (DoubleDoubleFloat value : values) {
+                    String expected = format.format(value);
+
+                    StringWriter writer = new StringWriter();
+                    format.appendTo(value, writer);
+                    assertThat(writer.toString(), is(expected));
+
+                    StringBuffer buffer = new StringBuffer();
+                    format.appendTo(value, buffer);
+                    assertThat(buffer.toString(), is(expected));
+
+                    CharBuffer charBuffer = CharBuffer.allocate(expected.length());
+                    format.appendTo(value, charBuffer);
+                    assertThat(charBuffer.flip().toString(), is(expected));
+                }
+            }
+        }
+    }
+}
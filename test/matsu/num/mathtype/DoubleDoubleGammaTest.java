@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleGamma} クラス
+ * ({@link DoubleDoubleFloat#gamma()}, {@link DoubleDoubleFloat#lgamma()}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleGammaTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleGamma.class;
+
+    /**
+     * [lower, upper) の一様乱数に, 下位の乱数を加えたものを返す.
+     */
+    private static DoubleDoubleFloat randomArgument(Random random, double lower, double upper) {
+        double high = lower + (upper - lower) * random.nextDouble();
+        return DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+    }
+
+    public static class 精度の検証 {
+
+        @Test
+        public void test_正の引数のlgammaの最大相対誤差は8u2以下() {
+            Random random = new Random(1L);
+            double[][] ranges = { { 0x1p-20, 0.5 }, { 0.5, 2.5 }, { 2.5, 20d }, { 20d, 1000d }, { 1000d, 1E+30 } };
+            double maxError = 0d;
+            for (double[] range : ranges) {
+                for (int i = 0; i < 100; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range[0], range[1]);
+                    BigDecimal expected = lgammaReference(exactValue(x));
+                    maxError = Math.max(maxError, relativeError(x.lgamma(), expected));
+                }
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_零点の近傍のlgammaの最大相対誤差は8u2以下() {
+            Random random = new Random(2L);
+            double maxError = 0d;
+            for (int i = 0; i < 200; i++) {
+                double center = (i & 1) == 0 ? 1d : 2d;
+                DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(center)
+                        .plus(Math.scalb(random.nextDouble() - 0.5, -random.nextInt(40)));
+                BigDecimal expected = lgammaReference(exactValue(x));
+                maxError = Math.max(maxError, relativeError(x.lgamma(), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_正の引数のgammaの相対誤差は_8プラスxの8分の1_u2以下() {
+            Random random = new Random(3L);
+            double[][] ranges = { { 0x1p-20, 2.5 }, { 2.5, 20d }, { 20d, 171.6 } };
+            for (double[] range : ranges) {
+                for (int i = 0; i < 100; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range[0], range[1]);
+                    BigDecimal expected = expReference(lgammaReference(exactValue(x)));
+                    double bound = (8 + x.doubleValue() / 8) * U2;
+                    assertThat(relativeError(x.gamma(), expected), is(lessThanOrEqualTo(bound)));
+                }
+            }
+        }
+
+        @Test
+        public void test_負の引数のgammaの相対誤差は_8プラスxの8分の1_u2以下() {
+            //Γ(x) = π / (sin(πx) Γ(1 - x)) を参照値とする
+            //(結果の下位が非正規化数とならない範囲)
+            Random random = new Random(4L);
+            for (int i = 0; i < 300; i++) {
+                DoubleDoubleFloat x = randomArgument(random, -150d, 0d);
+                BigDecimal exact = exactValue(x);
+                BigDecimal sin = sinReference(PI.multiply(exact));
+                BigDecimal gamma = expReference(lgammaReference(BigDecimal.ONE.subtract(exact)));
+                BigDecimal expected = PI.divide(sin.multiply(gamma), MC_EVALUATION);
+                double bound = (8 - x.doubleValue() / 8) * U2;
+                assertThat(relativeError(x.gamma(), expected), is(lessThanOrEqualTo(bound)));
+            }
+        }
+
+        @Test
+        public void test_整数の階乗は正確() {
+            BigDecimal factorial = BigDecimal.ONE;
+            for (int n = 1; n <= 25; n++) {
+                //(n - 1)! < 2^106 の範囲
+                assertThat(exactValue(DoubleDoubleFloat.valueOf(n).gamma()), is(comparesEqualTo(factorial)));
+                factorial = factorial.multiply(BigDecimal.valueOf(n));
+            }
+        }
+
+        @Test
+        public void test_lgammaはgammaの対数と整合する() {
+            Random random = new Random(5L);
+            for (int i = 0; i < 200; i++) {
+                DoubleDoubleFloat x = randomArgument(random, -30d, 30d);
+                DoubleDoubleFloat gamma = x.gamma();
+                assertThat(
+                        x.lgamma().doubleValue(),
+                        is(closeTo(gamma.abs().log().doubleValue(), 1E-13)));
+            }
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_gammaの特殊値() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.gamma(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.gamma(), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(-3d).gamma(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.gamma(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.gamma(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.gamma(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_gammaのオーバーフローとアンダーフロー() {
+            assertThat(DoubleDoubleFloat.valueOf(172d).gamma(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(Double.isFinite(DoubleDoubleFloat.valueOf(171.5).gamma().doubleValue()), is(true));
+            assertThat(DoubleDoubleFloat.valueOf(-300.5).gamma(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf(-301.5).gamma(), is(DoubleDoubleFloat.POSITIVE_0));
+
+            //Γ(-x) はオーバーフローするが, Γ(x) は正規化数の範囲にある
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(-172.5);
+            assertThat(x.gamma().doubleValue(), is(closeTo(-Math.exp(x.lgamma().doubleValue()), 1E-320)));
+            assertThat(x.gamma().doubleValue(), is(lessThan(0d)));
+        }
+
+        @Test
+        public void test_lgammaの特殊値() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.lgamma(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(-3d).lgamma(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.lgamma(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf(2d).lgamma(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.lgamma(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.lgamma(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NaN.lgamma(), is(DoubleDoubleFloat.NaN));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleHexPair} クラス ({@link DoubleDoubleFloat#toExactString()},
+ * {@link DoubleDoubleFloat#parseExact(CharSequence)}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleHexPairTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleHexPair.class;
+
+    /**
+     * 16進ペア表現を経由して, 上位と下位のビット表現まで等しいインスタンスに戻ることを検証する.
+     */
+    private static void assertRoundTrip(DoubleDoubleFloat value) {
+        String text = value.toExactString();
+        DoubleDoubleFloat parsed = DoubleDoubleFloat.parseExact(text);
+        assertThat(text, parsed, is(value));
+        assertThat(text, Double.doubleToLongBits(parsed.doubleValue()), is(Double.doubleToLongBits(value.doubleValue())));
+        assertThat(text, Double.doubleToLongBits(parsed.lowValue()), is(Double.doubleToLongBits(value.lowValue())));
+        assertThat(DoubleDoubleFloat.parseExact(text.toUpperCase()), is(value));
+    }
+
+    private static String pair(double high, double low) {
+        return String.format("%016x:%016x", Double.doubleToLongBits(high), Double.doubleToLongBits(low));
+    }
+
+    public static class 文字列表現からの復元 {
+
+        @Test
+        public void test_広い範囲の値が元に戻る() {
+            Random random = new Random(1L);
+            for (int i = 0; i < 20000; i++) {
+                int exponent = i % 10 == 0
+                        ? random.nextInt(2100) - 1070
+                        : random.nextInt(240) - 120;
+                DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(Math.scalb(1 + random.nextDouble(), exponent))
+                        .dividedBy(1 + 9 * random.nextDouble());
+                assertRoundTrip(value);
+                assertRoundTrip(value.negated());
+            }
+        }
+
+        @Test
+        public void test_特殊値が元に戻る() {
+            DoubleDoubleFloat[] values = {
+                    DoubleDoubleFloat.POSITIVE_0, DoubleDoubleFloat.NEGATIVE_0,
+                    DoubleDoubleFloat.POSITIVE_1, DoubleDoubleFloat.NEGATIVE_1,
+                    DoubleDoubleFloat.MAX_VALUE, DoubleDoubleFloat.MAX_VALUE.negated(),
+                    DoubleDoubleFloat.MAX_VALUE.minus(DoubleDoubleFloat.valueOf(Math.ulp(Double.MAX_VALUE) / 4)),
+                    DoubleDoubleFloat.POSITIVE_INFINITY, DoubleDoubleFloat.NEGATIVE_INFINITY,
+                    DoubleDoubleFloat.valueOf(Double.MIN_VALUE), DoubleDoubleFloat.valueOf(1d).plus(Double.MIN_VALUE),
+                    DoubleDoubleFloat.valueOf(3d).negated() };
+            for (DoubleDoubleFloat value : values) {
+                assertRoundTrip(value);
+            }
+            assertThat(DoubleDoubleFloat.parseExact(DoubleDoubleFloat.NaN.toExactString()).isNaN(), is(true));
+        }
+
+        @Test
+        public void test_文字列表現の例() {
+            DoubleDoubleFloat third = DoubleDoubleFloat.valueOf(1d).dividedBy(3d);
+            assertThat(third.toExactString(), is("3fd5555555555555:3c75555555555555"));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.toExactString(), is("3ff0000000000000:0000000000000000"));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.toExactString(), is("8000000000000000:0000000000000000"));
+            assertThat(DoubleDoubleFloat.NaN.toExactString(), is("7ff8000000000000:7ff8000000000000"));
+        }
+
+        @Test
+        public void test_キャッシュされた値は同一のインスタンス() {
+            assertThat(DoubleDoubleFloat.parseExact(DoubleDoubleFloat.POSITIVE_1.toExactString()),
+                    is(sameInstance(DoubleDoubleFloat.POSITIVE_1)));
+            assertThat(DoubleDoubleFloat.parseExact(DoubleDoubleFloat.POSITIVE_INFINITY.toExactString()),
+                    is(sameInstance(DoubleDoubleFloat.POSITIVE_INFINITY)));
+        }
+    }
+
+    public static class 解釈できない文字列の検証 {
+
+        @Test
+        public void test_書式の誤りは例外() {
+            String[] texts = {
+                    "", "3ff0000000000000", "3ff0000000000000:000000000000000",
+                    "3ff0000000000000-0000000000000000", "3ff000000000000g:0000000000000000",
+                    "3ff0000000000000:0000000000000000 ", "+3ff000000000000:0000000000000000",
+                    "3ff0000000000000:00000000000000000" };
+            for (String text : texts) {
+                try {
+                    DoubleDoubleFloat.parseExact(text);
+                } catch (NumberFormatException expected) {
+                    continue;
+                }
+                throw new AssertionError("例外がスローされない: \"" + text + "\"");
+            }
+        }
+
+        @Test
+        public void test_正規化されていない組は例外() {
+            String[] texts = {
+                    pair(1d, 1d), pair(1d, 0x1p-52), pair(1d, Double.NaN), pair(1d, Double.POSITIVE_INFINITY),
+                    pair(0d, 1d), pair(0d, -0d), pair(Double.POSITIVE_INFINITY, 1d),
+                    pair(Double.NaN, 0d), pair(Double.MAX_VALUE, Math.ulp(Double.MAX_VALUE) / 2) };
+            for (String text : texts) {
+                try {
+                    DoubleDoubleFloat.parseExact(text);
+                } catch (NumberFormatException expected) {
+                    continue;
+                }
+                throw new AssertionError("例外がスローされない: \"" + text + "\"");
+            }
+        }
+    }
+}
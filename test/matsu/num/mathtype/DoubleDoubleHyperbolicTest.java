@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleHyperbolic} クラス
+ * ({@link DoubleDoubleFloat#sinh()}, {@link DoubleDoubleFloat#cosh()},
+ * {@link DoubleDoubleFloat#tanh()}, {@link DoubleDoubleFloat#sinhCosh()},
+ * {@link DoubleDoubleFloat#asinh()}, {@link DoubleDoubleFloat#acosh()},
+ * {@link DoubleDoubleFloat#atanh()}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleHyperbolicTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleHyperbolic.class;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /**
+     * 絶対値が 2^(-30) から 2^10 程度までにわたる, 符号がランダムな乱数を返す.
+     */
+    private static DoubleDoubleFloat randomArgument(Random random) {
+        double high = Math.scalb(1d + random.nextDouble(), random.nextInt(40) - 30);
+        if (random.nextBoolean()) {
+            high = -high;
+        }
+        return DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+    }
+
+    public static class 精度の検証 {
+
+        @Test
+        public void test_sinhとcoshの最大相対誤差は8u2以下() {
+            Random random = new Random(1L);
+            double maxError = 0d;
+            for (int i = 0; i < 3_000; i++) {
+                DoubleDoubleFloat x = randomArgument(random);
+                if (Math.abs(x.doubleValue()) > 700d) {
+                    continue;
+                }
+                BigDecimal exact = exactValue(x);
+                BigDecimal ep = expReference(exact);
+                BigDecimal em = expReference(exact.negate());
+                BigDecimal sinh = ep.subtract(em).divide(TWO, MC_EVALUATION);
+                BigDecimal cosh = ep.add(em).divide(TWO, MC_EVALUATION);
+                maxError = Math.max(maxError, relativeError(x.sinh(), sinh));
+                maxError = Math.max(maxError, relativeError(x.cosh(), cosh));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_tanhの最大相対誤差は12u2以下() {
+            Random random = new Random(2L);
+            double maxError = 0d;
+            for (int i = 0; i < 3_000; i++) {
+                DoubleDoubleFloat x = randomArgument(random);
+                if (Math.abs(x.doubleValue()) > 40d) {
+                    continue;
+                }
+                BigDecimal exact = exactValue(x);
+                BigDecimal ep = expReference(exact);
+                BigDecimal em = expReference(exact.negate());
+                BigDecimal tanh = ep.subtract(em).divide(ep.add(em), MC_EVALUATION);
+                maxError = Math.max(maxError, relativeError(x.tanh(), tanh));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(12 * U2)));
+        }
+
+        @Test
+        public void test_asinhの最大相対誤差は8u2以下() {
+            Random random = new Random(3L);
+            double maxError = 0d;
+            for (int i = 0; i < 3_000; i++) {
+                DoubleDoubleFloat x = randomArgument(random);
+                BigDecimal abs = exactValue(x).abs();
+                BigDecimal expected = logReference(
+                        abs.add(abs.multiply(abs).add(BigDecimal.ONE).sqrt(MC_EVALUATION)));
+                maxError = Math.max(maxError, relativeError(x.abs().asinh(), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_acoshの最大相対誤差は8u2以下() {
+            Random random = new Random(4L);
+            double maxError = 0d;
+            for (int i = 0; i < 3_000; i++) {
+                //1に近い値を重点的に検証する
+                DoubleDoubleFloat x = randomArgument(random).abs().plus(1d);
+                BigDecimal exact = exactValue(x);
+                BigDecimal expected = logReference(
+                        exact.add(exact.multiply(exact).subtract(BigDecimal.ONE).sqrt(MC_EVALUATION)));
+                maxError = Math.max(maxError, relativeError(x.acosh(), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_atanhの最大相対誤差は8u2以下() {
+            Random random = new Random(5L);
+            double maxError = 0d;
+            for (int i = 0; i < 3_000; i++) {
+                DoubleDoubleFloat x = randomArgument(random).abs();
+                if (x.doubleValue() >= 1d) {
+                    //1に近い値を検証する
+                    x = DoubleDoubleFloat.POSITIVE_1.minus(x.reciprocal().times(0x1p-20));
+                }
+                BigDecimal exact = exactValue(x);
+                BigDecimal expected = logReference(BigDecimal.ONE.add(exact))
+                        .subtract(logReference(BigDecimal.ONE.subtract(exact)))
+                        .divide(TWO, MC_EVALUATION);
+                maxError = Math.max(maxError, relativeError(x.atanh(), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_奇関数と偶関数の対称性() {
+            Random random = new Random(6L);
+            for (int i = 0; i < 500; i++) {
+                DoubleDoubleFloat x = randomArgument(random);
+                assertThat(x.negated().sinh(), is(x.sinh().negated()));
+                assertThat(x.negated().cosh(), is(x.cosh()));
+                assertThat(x.negated().tanh(), is(x.tanh().negated()));
+                assertThat(x.negated().asinh(), is(x.asinh().negated()));
+            }
+        }
+
+        @Test
+        public void test_sinhCoshはsinhとcoshに一致する() {
+            Random random = new Random(7L);
+            for (int i = 0; i < 500; i++) {
+                DoubleDoubleFloat x = randomArgument(random);
+                DoubleDoubleFloat[] sinhCosh = x.sinhCosh();
+                assertThat(sinhCosh[0], is(x.sinh()));
+                assertThat(sinhCosh[1], is(x.cosh()));
+            }
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_sinhとcoshの特殊値() {
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.sinh(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.cosh(), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.sinh(), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.cosh(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NaN.sinh(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.cosh(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.sinhCosh()[1], is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_sinhとcoshはexpがオーバーフローしても有限() {
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(710d);
+            assertThat(Double.isFinite(x.sinh().doubleValue()), is(true));
+            assertThat(Double.isFinite(x.cosh().doubleValue()), is(true));
+            assertThat(x.negated().sinh().doubleValue(), is(closeTo(-Math.sinh(710d), Math.ulp(Math.sinh(710d)))));
+            assertThat(DoubleDoubleFloat.valueOf(711d).cosh(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+        }
+
+        @Test
+        public void test_tanhの特殊値() {
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.tanh(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.tanh(), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.valueOf(-100d).tanh(), is(DoubleDoubleFloat.NEGATIVE_1));
+            assertThat(DoubleDoubleFloat.NaN.tanh(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_逆双曲線関数の特殊値() {
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.asinh(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.asinh(), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NaN.asinh(), is(DoubleDoubleFloat.NaN));
+
+            assertThat(DoubleDoubleFloat.POSITIVE_1.acosh(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.acosh(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf(0.5).acosh(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.minus(0x1p-100).acosh(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.acosh(), is(DoubleDoubleFloat.NaN));
+
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.atanh(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.atanh(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.atanh(), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.plus(0x1p-100).atanh(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.valueOf(-2d).atanh(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.atanh(), is(DoubleDoubleFloat.NaN));
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleMath} クラスのテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleMathTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleMath.class;
+
+    /**
+     * 検証に用いる値の一覧を返す. <br>
+     * 特殊値と乱数による値を含む.
+     */
+    private static List<DoubleDoubleFloat> corpus() {
+        List<DoubleDoubleFloat> out = new ArrayList<>();
+        out.add(DoubleDoubleFloat.POSITIVE_0);
+        out.add(DoubleDoubleFloat.NEGATIVE_0);
+        out.add(DoubleDoubleFloat.POSITIVE_1);
+        out.add(DoubleDoubleFloat.NEGATIVE_1);
+        out.add(DoubleDoubleFloat.MAX_VALUE);
+        out.add(DoubleDoubleFloat.MAX_VALUE.negated());
+        out.add(DoubleDoubleFloat.POSITIVE_INFINITY);
+        out.add(DoubleDoubleFloat.NEGATIVE_INFINITY);
+        out.add(DoubleDoubleFloat.NaN);
+        out.add(DoubleDoubleFloat.valueOf(Double.MAX_VALUE, 0x1p969));
+        out.add(DoubleDoubleFloat.valueOf(Double.MIN_VALUE));
+        out.add(DoubleDoubleFloat.valueOf(Double.MIN_NORMAL * 3, -Double.MIN_VALUE));
+
+        Random random = new Random(1_234L);
+        for (int i = 0; i < 200; i++) {
+            double high = Math.scalb(random.nextDouble() - 0.5, random.nextInt(2000) - 1000);
+            double low = high * 0x1p-54 * (random.nextDouble() - 0.5);
+            out.add(DoubleDoubleFloat.valueOf(high, low));
+        }
+        return out;
+    }
+
+    /**
+     * 演算結果が期待値と (上位, 下位ともに) ビット単位で一致することを確かめる.
+     */
+    private static void assertSame(double high, double low, DoubleDoubleFloat expected) {
+        assertThat(high, is(expected.doubleValue()));
+        assertThat(low, is(expected.lowValue()));
+    }
+
+    public static class 配列への書き込みの検証 {
+
+        @Test
+        public void test_四則演算はDoubleDoubleFloatと一致する() {
+            List<DoubleDoubleFloat> corpus = corpus();
+            double[] dest = new double[5];
+            for (DoubleDoubleFloat x : corpus) {
+                for (DoubleDoubleFloat y : corpus) {
+                    double xh = x.doubleValue();
+                    double xl = x.lowValue();
+                    double yh = y.doubleValue();
+                    double yl = y.lowValue();
+
+                    DoubleDoubleMath.add(xh, xl, yh, yl, dest, 3);
+                    assertSame(dest[3], dest[4], x.plus(y));
+
+                    DoubleDoubleMath.subtract(xh, xl, yh, yl, dest, 3);
+                    assertSame(dest[3], dest[4], x.minus(y));
+
+                    DoubleDoubleMath.multiply(xh, xl, yh, yl, dest, 3);
+                    assertSame(dest[3], dest[4], x.times(y));
+
+                    DoubleDoubleMath.divide(xh, xl, yh, yl, dest, 3);
+                    assertSame(dest[3], dest[4], x.dividedBy(y));
+                }
+            }
+        }
+
+        @Test
+        public void test_高精度な加減乗算はDoubleDoubleFloatと一致する() {
+            List<DoubleDoubleFloat> corpus = corpus();
+            double[] dest = new double[2];
+            for (DoubleDoubleFloat x : corpus) {
+                for (DoubleDoubleFloat y : corpus) {
+                    double xh = x.doubleValue();
+                    double xl = x.lowValue();
+                    double yh = y.doubleValue();
+                    double yl = y.lowValue();
+
+                    DoubleDoubleMath.addAccurate(xh, xl, yh, yl, dest, 0);
+                    assertSame(dest[0], dest[1], x.plusAccurate(y));
+
+                    DoubleDoubleMath.subtractAccurate(xh, xl, yh, yl, dest, 0);
+                    assertSame(dest[0], dest[1], x.minusAccurate(y));
+
+                    DoubleDoubleMath.multiplyAccurate(xh, xl, yh, yl, dest, 0);
+                    assertSame(dest[0], dest[1], x.timesAccurate(y));
+                }
+            }
+        }
+
+        @Test
+        public void test_平方は同一値の積と一致する() {
+            double[] dest = new double[2];
+            for (DoubleDoubleFloat x : corpus()) {
+                DoubleDoubleMath.square(x.doubleValue(), x.lowValue(), dest, 0);
+                assertSame(dest[0], dest[1], x.times(x));
+            }
+        }
+
+        @Test
+        public void test_逆数はDoubleDoubleFloatと一致する() {
+            double[] dest = new double[2];
+            DoubleDoubleMath.Holder holder = new DoubleDoubleMath.Holder();
+            for (DoubleDoubleFloat x : corpus()) {
+                DoubleDoubleMath.reciprocal(x.doubleValue(), x.lowValue(), dest, 0);
+                assertSame(dest[0], dest[1], x.reciprocal());
+
+                DoubleDoubleMath.reciprocal(x.doubleValue(), x.lowValue(), holder);
+                assertSame(holder.high(), holder.low(), x.reciprocal());
+            }
+        }
+
+        @Test
+        public void test_積和は1に近い積に対して正しい() {
+            //(1 + 2^-30)(1 - 2^-30) - 1 = -2^-60
+            double[] dest = new double[2];
+            DoubleDoubleMath.fma(1d + 0x1p-30, 0d, 1d - 0x1p-30, 0d, -1d, 0d, dest, 0);
+            assertThat(dest[0], is(-0x1p-60));
+            assertThat(dest[1], is(0d));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_範囲外への書き込みは例外() {
+            DoubleDoubleMath.add(1d, 0d, 1d, 0d, new double[2], 1);
+        }
+    }
+
+    public static class Holderへの書き込みの検証 {
+
+        @Test
+        public void test_四則演算はDoubleDoubleFloatと一致する() {
+            List<DoubleDoubleFloat> corpus = corpus();
+            DoubleDoubleMath.Holder dest = new DoubleDoubleMath.Holder();
+            for (DoubleDoubleFloat x : corpus) {
+                for (DoubleDoubleFloat y : corpus) {
+                    double xh = x.doubleValue();
+                    double xl = x.lowValue();
+                    double yh = y.doubleValue();
+                    double yl = y.lowValue();
+
+                    DoubleDoubleMath.add(xh, xl, yh, yl, dest);
+                    assertSame(dest.high(), dest.low(), x.plus(y));
+                    assertThat(dest.toDoubleDoubleFloat(), is(x.plus(y)));
+
+                    DoubleDoubleMath.subtract(xh, xl, yh, yl, dest);
+                    assertSame(dest.high(), dest.low(), x.minus(y));
+
+                    DoubleDoubleMath.multiply(xh, xl, yh, yl, dest);
+                    assertSame(dest.high(), dest.low(), x.times(y));
+
+                    DoubleDoubleMath.divide(xh, xl, yh, yl, dest);
+                    assertSame(dest.high(), dest.low(), x.dividedBy(y));
+
+                    DoubleDoubleMath.addAccurate(xh, xl, yh, yl, dest);
+                    assertSame(dest.high(), dest.low(), x.plusAccurate(y));
+
+                    DoubleDoubleMath.subtractAccurate(xh, xl, yh, yl, dest);
+                    assertSame(dest.high(), dest.low(), x.minusAccurate(y));
+
+                    DoubleDoubleMath.multiplyAccurate(xh, xl, yh, yl, dest);
+                    assertSame(dest.high(), dest.low(), x.timesAccurate(y));
+                }
+            }
+        }
+
+        @Test
+        public void test_初期値は正の0() {
+            DoubleDoubleMath.Holder holder = new DoubleDoubleMath.Holder();
+            assertThat(holder.toDoubleDoubleFloat(), is(DoubleDoubleFloat.POSITIVE_0));
+        }
+    }
+
+    public static class インスタンスへの変換の検証 {
+
+        @Test
+        public void test_正規化されていない組は正規化される() {
+            DoubleDoubleFloat result = DoubleDoubleMath.toDoubleDoubleFloat(0x1p-60, 1d);
+            assertThat(result, is(DoubleDoubleFloat.valueOf(1d, 0x1p-60)));
+        }
+
+        @Test
+        public void test_有限でない組は特殊値になる() {
+            assertThat(
+                    DoubleDoubleMath.toDoubleDoubleFloat(1d, Double.POSITIVE_INFINITY),
+                    is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(
+                    DoubleDoubleMath.toDoubleDoubleFloat(Double.MAX_VALUE, Double.MAX_VALUE),
+                    is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(
+                    DoubleDoubleMath.toDoubleDoubleFloat(Double.NaN, 0d),
+                    is(DoubleDoubleFloat.NaN));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleNorm} クラス
+ * ({@link DoubleDoubleFloat#hypot(DoubleDoubleFloat, DoubleDoubleFloat)},
+ * {@link DoubleDoubleFloat#norm(double[])}, {@link DoubleDoubleFloat#norm(DoubleDoubleFloat[])})
+ * のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleNormTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleNorm.class;
+
+    /**
+     * 検証する2進指数, 2乗がオーバーフローまたはアンダーフローする極端な値を含む.
+     */
+    private static final int[] SCALES = { 0, 100, -100, 600, -600, 1000, -1000, 1023, -1060 };
+
+    /**
+     * [-2^scale, 2^scale] の乱数を返す.
+     */
+    private static DoubleDoubleFloat randomValue(Random random, int scale) {
+        double high = Math.scalb(2 * random.nextDouble() - 1, scale);
+        return DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+    }
+
+    /**
+     * 結果の上位が, 下位まで正規化数で表現できる範囲にあるかを判定する.
+     */
+    private static boolean isAccurateRange(DoubleDoubleFloat y) {
+        double abs = Math.abs(y.doubleValue());
+        return abs >= 0x1p-960 && abs <= Double.MAX_VALUE;
+    }
+
+    public static class 精度の検証 {
+
+        @Test
+        public void test_hypotの最大相対誤差は4u2以下() {
+            Random random = new Random(1L);
+            for (int scale : SCALES) {
+                double maxError = 0d;
+                for (int i = 0; i < 1_000; i++) {
+                    DoubleDoubleFloat x = randomValue(random, scale);
+                    DoubleDoubleFloat y = randomValue(random, scale - random.nextInt(60));
+                    DoubleDoubleFloat hypot = DoubleDoubleFloat.hypot(x, y);
+                    if (!isAccurateRange(hypot)) {
+                        continue;
+                    }
+                    BigDecimal expected = exactValue(x).pow(2).add(exactValue(y).pow(2)).sqrt(MC_EVALUATION);
+                    maxError = Math.max(maxError, relativeError(hypot, expected));
+                }
+                assertThat("scale = " + scale, maxError, is(lessThanOrEqualTo(4 * U2)));
+            }
+        }
+
+        @Test
+        public void test_ノルムの最大相対誤差は4u2以下() {
+            Random random = new Random(2L);
+            for (int scale : SCALES) {
+                double maxError = 0d;
+                for (int i = 0; i < 300; i++) {
+                    int length = 1 + random.nextInt(20);
+                    double[] doubles = new double[length];
+                    DoubleDoubleFloat[] values = new DoubleDoubleFloat[length];
+                    BigDecimal sumOfDoubles = BigDecimal.ZERO;
+                    BigDecimal sum = BigDecimal.ZERO;
+                    for (int k = 0; k < length; k++) {
+                        values[k] = randomValue(random, scale);
+                        doubles[k] = values[k].doubleValue();
+                        sumOfDoubles = sumOfDoubles.add(new BigDecimal(doubles[k]).pow(2));
+                        sum = sum.add(exactValue(values[k]).pow(2));
+                    }
+                    DoubleDoubleFloat normOfDoubles = DoubleDoubleFloat.norm(doubles);
+                    DoubleDoubleFloat norm = DoubleDoubleFloat.norm(values);
+                    if (!isAccurateRange(normOfDoubles) || !isAccurateRange(norm)) {
+                        continue;
+                    }
+                    maxError = Math.max(maxError, relativeError(normOfDoubles, sumOfDoubles.sqrt(MC_EVALUATION)));
+                    maxError = Math.max(maxError, relativeError(norm, sum.sqrt(MC_EVALUATION)));
+                }
+                assertThat("scale = " + scale, maxError, is(lessThanOrEqualTo(4 * U2)));
+            }
+        }
+
+        @Test
+        public void test_2要素のノルムはhypotと一致する() {
+            Random random = new Random(3L);
+            for (int i = 0; i < 200; i++) {
+                DoubleDoubleFloat x = randomValue(random, 0);
+                DoubleDoubleFloat y = randomValue(random, 0);
+                if (Math.abs(y.doubleValue()) > Math.abs(x.doubleValue())) {
+                    //累積の順序を hypot (大きい方が先) に合わせる
+                    DoubleDoubleFloat t = x;
+                    x = y;
+                    y = t;
+                }
+                assertThat(
+                        DoubleDoubleFloat.norm(new DoubleDoubleFloat[] { x, y }),
+                        is(DoubleDoubleFloat.hypot(x, y)));
+            }
+        }
+
+        @Test
+        public void test_ピタゴラス数は正確() {
+            DoubleDoubleFloat three = DoubleDoubleFloat.valueOf(3);
+            DoubleDoubleFloat four = DoubleDoubleFloat.valueOf(4);
+            assertThat(DoubleDoubleFloat.hypot(three, four), is(DoubleDoubleFloat.valueOf(5)));
+            assertThat(DoubleDoubleFloat.norm(new double[] { 2, -3, 6 }), is(DoubleDoubleFloat.valueOf(7)));
+
+            //2乗がオーバーフローする値
+            DoubleDoubleFloat big3 = DoubleDoubleFloat.valueOf(0x1.8p1021);
+            DoubleDoubleFloat big4 = DoubleDoubleFloat.valueOf(0x1p1022);
+            assertThat(DoubleDoubleFloat.hypot(big3, big4), is(DoubleDoubleFloat.valueOf(0x1.4p1022)));
+            assertThat(DoubleDoubleFloat.norm(new double[] { 0x1.8p1021, 0x1p1022 }),
+                    is(DoubleDoubleFloat.valueOf(0x1.4p1022)));
+
+            //2乗がアンダーフローする値
+            assertThat(DoubleDoubleFloat.norm(new double[] { 3 * Double.MIN_VALUE, 4 * Double.MIN_VALUE }),
+                    is(DoubleDoubleFloat.valueOf(5 * Double.MIN_VALUE)));
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_hypotの特殊値はMath_hypotに従う() {
+            DoubleDoubleFloat[] values = {
+                    DoubleDoubleFloat.POSITIVE_0, DoubleDoubleFloat.NEGATIVE_0,
+                    DoubleDoubleFloat.NEGATIVE_1, DoubleDoubleFloat.MAX_VALUE.negated(),
+                    DoubleDoubleFloat.POSITIVE_INFINITY, DoubleDoubleFloat.NEGATIVE_INFINITY,
+                    DoubleDoubleFloat.NaN };
+            for (DoubleDoubleFloat x : values) {
+                for (DoubleDoubleFloat y : values) {
+                    double expected = Math.hypot(x.doubleValue(), y.doubleValue());
+                    assertThat(
+                            x + ", " + y,
+                            DoubleDoubleFloat.hypot(x, y).doubleValue(), is(expected));
+                }
+            }
+        }
+
+        @Test
+        public void test_ノルムの特殊値() {
+            assertThat(DoubleDoubleFloat.norm(new double[0]), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.norm(new DoubleDoubleFloat[0]), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.norm(new double[] { -0d, 0d }), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.norm(new double[] { 1d, Double.NaN }), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.norm(new double[] { Double.NaN, Double.NEGATIVE_INFINITY }),
+                    is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.norm(new double[] { Double.MAX_VALUE, Double.MAX_VALUE }),
+                    is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.norm(new DoubleDoubleFloat[] { DoubleDoubleFloat.NaN, DoubleDoubleFloat.POSITIVE_1 }),
+                    is(DoubleDoubleFloat.NaN));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleParser} クラス ({@link DoubleDoubleFloat#valueOf(CharSequence)} など) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleParserTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleParser.class;
+
+    /**
+     * BigDecimal による正確な変換 (上位, 下位の順に最近接偶数丸めし, 正規化する) の結果と一致することを検証する.
+     */
+    private static void assertParsedExactly(String text) {
+        BigDecimal decimal = new BigDecimal(text);
+        double high = decimal.doubleValue();
+        double low = Double.isFinite(high) && high != 0d
+                ? decimal.subtract(new BigDecimal(high)).doubleValue()
+                : 0d;
+
+        assertThat(text, DoubleDoubleFloat.valueOf(text), is(DoubleDoubleFloat.valueOf(high, low)));
+    }
+
+    /**
+     * 桁数, 小数点の位置, 指数部が乱数で与えられる10進数の文字列を返す.
+     */
+    private static String randomDecimal(Random random, int maxDigits, int minExponent, int maxExponent) {
+        int digits = 1 + random.nextInt(maxDigits);
+        StringBuilder sb = new StringBuilder();
+        if (random.nextBoolean()) {
+            sb.append('-');
+        }
+        int point = random.nextInt(digits + 1);
+        for (int i = 0; i < digits; i++) {
+            if (i == point) {
+                sb.append('.');
+            }
+            sb.append((char) ('0' + (i == 0 ? 1 + random.nextInt(9) : random.nextInt(10))));
+        }
+        int exponent = minExponent + random.nextInt(maxExponent - minExponent + 1);
+        return sb.append('E').append(exponent).toString();
+    }
+
+    public static class BigDecimal経由の変換との比較 {
+
+        @Test
+        public void test_10から40桁の10進数() {
+            Random random = new Random(1L);
+            for (int i = 0; i < 50000; i++) {
+                assertParsedExactly(randomDecimal(random, 40, -30, 30));
+            }
+        }
+
+        @Test
+        public void test_広い指数の範囲の10進数() {
+            Random random = new Random(2L);
+            for (int i = 0; i < 20000; i++) {
+                assertParsedExactly(randomDecimal(random, 45, -360, 320));
+            }
+        }
+
+        @Test
+        public void test_上位と下位の丸めの中点の近傍() {
+            Random random = new Random(3L);
+            for (int i = 0; i < 3000; i++) {
+                DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(
+                        Math.scalb(1 + random.nextDouble(), random.nextInt(400) - 200)).dividedBy(3d);
+                BigDecimal exact = new BigDecimal(value.doubleValue()).add(new BigDecimal(value.lowValue()));
+                BigDecimal halfUlp = new BigDecimal(Math.ulp(value.lowValue())).divide(BigDecimal.valueOf(2));
+                BigDecimal tiny = halfUlp.movePointLeft(20);
+                assertParsedExactly(exact.toString());
+                assertParsedExactly(exact.add(halfUlp).toString());
+                assertParsedExactly(exact.add(halfUlp).subtract(tiny).toString());
+                assertParsedExactly(exact.add(halfUlp).add(tiny).toString());
+                assertParsedExactly(exact.round(new MathContext(36)).toString());
+            }
+        }
+
+        @Test
+        public void test_doubleで表せる値() {
+            Random random = new Random(4L);
+            for (int i = 0; i < 5000; i++) {
+                double x = Math.scalb(random.nextDouble(), random.nextInt(600) - 300);
+                assertParsedExactly(Double.toString(x));
+                assertParsedExactly(new BigDecimal(x).toString());
+            }
+            String[] texts = { "0.5", "0.25", "1.75", "-3.0625", "1E+22", "4503599627370496.5",
+                    "9007199254740993", "123456789012345678901234567890123456789012" };
+            for (String text : texts) {
+                assertParsedExactly(text);
+            }
+        }
+
+        @Test
+        public void test_doubleで表せる値の下位は0() {
+            assertThat(DoubleDoubleFloat.valueOf("0.5").lowValue(), is(0d));
+            assertThat(DoubleDoubleFloat.valueOf("-1.25E-3").lowValue(), is(not(0d)));
+            assertThat(DoubleDoubleFloat.valueOf("0.0078125").lowValue(), is(0d));
+            assertThat(DoubleDoubleFloat.valueOf("1024.000").lowValue(), is(0d));
+        }
+
+        @Test
+        public void test_非正規化数の範囲() {
+            Random random = new Random(5L);
+            for (int i = 0; i < 1000; i++) {
+                assertParsedExactly(randomDecimal(random, 40, -330, -290));
+            }
+            assertParsedExactly("2.4703282292062327E-324");
+            assertParsedExactly("2.4703282292062328E-324");
+            assertParsedExactly("4.9E-324");
+        }
+
+        @Test
+        public void test_最大値の近傍() {
+            assertParsedExactly("1.7976931348623157E308");
+            assertParsedExactly("1.7976931348623158E308");
+            assertParsedExactly("1.797693134862315799999999999999999999999E308");
+            assertParsedExactly("-1.7976931348623157081452742373170435679E308");
+            assertThat(DoubleDoubleFloat.valueOf("1.8E308"), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+        }
+    }
+
+    public static class 文字列表現からの復元 {
+
+        @Test
+        public void test_最短表現と40桁の表現から元の値に戻る() {
+            Random random = new Random(6L);
+            DoubleDoubleFormat scientific = DoubleDoubleFormat.scientific(40);
+            for (int i = 0; i < 10000; i++) {
+                DoubleDoubleFloat value = DoubleDoubleFloat.valueOf(
+                        Math.scalb(1 + random.nextDouble(), random.nextInt(1600) - 800))
+                        .dividedBy(1 + 9 * random.nextDouble());
+                value = random.nextBoolean() ? value : value.negated();
+                assertThat(DoubleDoubleFloat.valueOf(DoubleDoubleFormat.shortest().format(value)), is(value));
+                assertThat(DoubleDoubleFloat.valueOf(scientific.format(value)), is(value));
+            }
+        }
+    }
+
+    public static class 配列の範囲からの変換 {
+
+        @Test
+        public void test_char配列とbyte配列の範囲() {
+            String text = "x=-1.2345678901234567890123456789E-5;";
+            char[] chars = text.toCharArray();
+            byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            DoubleDoubleFloat expected = DoubleDoubleFloat.valueOf("-1.2345678901234567890123456789E-5");
+            assertThat(DoubleDoubleFloat.valueOf(chars, 2, text.length() - 3), is(expected));
+            assertThat(DoubleDoubleFloat.valueOf(bytes, 2, text.length() - 3), is(expected));
+            assertThat(DoubleDoubleFloat.valueOf(new StringBuilder(text).substring(2, text.length() - 1)),
+                    is(expected));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_範囲外は例外() {
+            DoubleDoubleFloat.valueOf(new char[] { '1', '2' }, 1, 2);
+        }
+    }
+
+    public static class 特殊値と書式の検証 {
+
+        @Test
+        public void test_特殊値() {
+            assertThat(DoubleDoubleFloat.valueOf("NaN").isNaN(), is(true));
+            assertThat(DoubleDoubleFloat.valueOf("Infinity"), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf("+Infinity"), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf("-Infinity"), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf("0"), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf("-0.000E5"), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf("1E400"), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf("-1E99999999999"), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.valueOf("1E-400"), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.valueOf("-1E-99999999999"), is(DoubleDoubleFloat.NEGATIVE_0));
+        }
+
+        @Test
+        public void test_受け付ける書式() {
+            assertThat(DoubleDoubleFloat.valueOf(".5"), is(DoubleDoubleFloat.valueOf(0.5)));
+            assertThat(DoubleDoubleFloat.valueOf("5."), is(DoubleDoubleFloat.valueOf(5)));
+            assertThat(DoubleDoubleFloat.valueOf("+5e-1"), is(DoubleDoubleFloat.valueOf(0.5)));
+            assertThat(DoubleDoubleFloat.valueOf("0005E+0"), is(DoubleDoubleFloat.valueOf(5)));
+        }
+
+        @Test
+        public void test_解釈できない文字列は例外() {
+            String[] texts = {
+                    "", "-", "+", ".", "e5", "1e", "1e+", "1.2.3", " 1", "1 ", "--1", "-NaN", "nan",
+                    "0x10", "1_000", "Infinit" };
+            for (String text : texts) {
+                try {
+                    DoubleDoubleFloat.valueOf(text);
+                } catch (NumberFormatException expected) {
+                    continue;
+                }
+                throw new AssertionError("例外がスローされない: \"" + text + "\"");
+            }
+        }
+    }
+}
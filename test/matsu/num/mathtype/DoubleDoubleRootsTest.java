@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleRoots} クラス
+ * ({@link DoubleDoubleFloat#sqrt()}, {@link DoubleDoubleFloat#cbrt()},
+ * {@link DoubleDoubleFloat#root(int)}) のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleRootsTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleRoots.class;
+
+    /**
+     * 正規化数から非正規化数までにわたる, 正の乱数を返す.
+     */
+    private static DoubleDoubleFloat randomPositive(Random random) {
+        double high = Math.scalb(1d + random.nextDouble(), random.nextInt(2097) - 1074);
+        double low = Math.ulp(high) * (random.nextDouble() - 0.5);
+        return DoubleDoubleFloat.valueOf(high).plus(low);
+    }
+
+    /**
+     * y = x^(1/n) の相対誤差を, y^n と x の比較により評価する. <br>
+     * y の相対誤差を d とすると y^n の相対誤差は nd である.
+     */
+    private static double rootRelativeError(DoubleDoubleFloat y, DoubleDoubleFloat x, int n) {
+        BigDecimal power = exactValue(y).pow(n, MC_EVALUATION);
+        return relativeError(x, power) / n;
+    }
+
+    /**
+     * 結果の上位が, 下位まで正規化数で表現できる範囲にあるかを判定する.
+     */
+    private static boolean isAccurateRange(DoubleDoubleFloat y) {
+        double abs = Math.abs(y.doubleValue());
+        return abs >= 0x1p-960 && abs <= Double.MAX_VALUE;
+    }
+
+    public static class 精度の検証 {
+
+        @Test
+        public void test_平方根の最大相対誤差は3u2以下() {
+            Random random = new Random(2L);
+            double maxError = 0d;
+            for (int i = 0; i < 20_000; i++) {
+                DoubleDoubleFloat x = randomPositive(random);
+                BigDecimal expected = exactValue(x).sqrt(MC_EVALUATION);
+                maxError = Math.max(maxError, relativeError(x.sqrt(), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(3 * U2)));
+        }
+
+        @Test
+        public void test_立方根の最大相対誤差は5u2以下() {
+            Random random = new Random(3L);
+            double maxError = 0d;
+            for (int i = 0; i < 20_000; i++) {
+                DoubleDoubleFloat x = randomPositive(random);
+                if (random.nextBoolean()) {
+                    x = x.negated();
+                }
+                maxError = Math.max(maxError, rootRelativeError(x.cbrt(), x, 3));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(5 * U2)));
+        }
+
+        @Test
+        public void test_n乗根の最大相対誤差は16u2以下() {
+            Random random = new Random(4L);
+            for (int n : new int[] { 4, 5, 7, 16, 100, 1023, 5000 }) {
+                double maxError = 0d;
+                for (int i = 0; i < 2_000; i++) {
+                    DoubleDoubleFloat x = randomPositive(random);
+                    DoubleDoubleFloat y = x.root(n);
+                    if (!isAccurateRange(y)) {
+                        continue;
+                    }
+                    maxError = Math.max(maxError, rootRelativeError(y, x, n));
+                }
+                assertThat("n = " + n, maxError, is(lessThanOrEqualTo(16 * U2)));
+            }
+        }
+
+        @Test
+        public void test_負の次数は逆数() {
+            Random random = new Random(5L);
+            double maxError = 0d;
+            for (int i = 0; i < 2_000; i++) {
+                DoubleDoubleFloat x = randomPositive(random);
+                DoubleDoubleFloat y = x.root(-5);
+                if (!isAccurateRange(y)) {
+                    continue;
+                }
+                BigDecimal power = BigDecimal.ONE.divide(exactValue(y).pow(5, MC_EVALUATION), MC_EVALUATION);
+                maxError = Math.max(maxError, relativeError(x, power) / 5);
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(16 * U2)));
+        }
+
+        @Test
+        public void test_小さい次数は専用の計算と一致する() {
+            Random random = new Random(6L);
+            for (int i = 0; i < 100; i++) {
+                DoubleDoubleFloat x = randomPositive(random);
+                assertThat(x.root(1), is(x));
+                assertThat(x.root(2), is(x.sqrt()));
+                assertThat(x.root(3), is(x.cbrt()));
+            }
+        }
+
+        @Test
+        public void test_完全平方と完全立方は正確() {
+            assertThat(DoubleDoubleFloat.valueOf(4).sqrt(), is(DoubleDoubleFloat.valueOf(2)));
+            assertThat(DoubleDoubleFloat.valueOf(-27).cbrt(), is(DoubleDoubleFloat.valueOf(-3)));
+            assertThat(DoubleDoubleFloat.valueOf(1L << 40).root(8), is(DoubleDoubleFloat.valueOf(32)));
+            assertThat(DoubleDoubleFloat.valueOf(Double.MIN_VALUE).sqrt(),
+                    is(DoubleDoubleFloat.valueOf(0x1p-537)));
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_平方根の特殊値はMath_sqrtに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.sqrt(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.sqrt(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.sqrt(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.sqrt(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.sqrt(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.sqrt(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_立方根の特殊値はMath_cbrtに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.cbrt(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.cbrt(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.cbrt(), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.cbrt(), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NaN.cbrt(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_n乗根の特殊値() {
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.root(4), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.root(5), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.root(4), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.root(5), is(DoubleDoubleFloat.NEGATIVE_1));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.root(4), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.root(5), is(DoubleDoubleFloat.NEGATIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.root(-4), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_0.root(-4), is(DoubleDoubleFloat.POSITIVE_INFINITY));
+            assertThat(DoubleDoubleFloat.NaN.root(Integer.MIN_VALUE), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_0乗根は例外() {
+            DoubleDoubleFloat.POSITIVE_1.root(0);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static matsu.num.mathtype.DoubleDoubleFloatUtil.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleTrigonometric} クラス
+ * ({@link DoubleDoubleFloat#sin()}, {@link DoubleDoubleFloat#cos()},
+ * {@link DoubleDoubleFloat#tan()}, {@link DoubleDoubleFloat#sinCos()},
+ * {@link DoubleDoubleFloat#atan()}, {@link DoubleDoubleFloat#asin()},
+ * {@link DoubleDoubleFloat#acos()}, {@link DoubleDoubleFloat#atan2(DoubleDoubleFloat, DoubleDoubleFloat)})
+ * のテスト.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleTrigonometricTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleTrigonometric.class;
+
+    /**
+     * [-range, range] の乱数を返す. <br>
+     * 下位は上位の ulp の範囲の乱数であり, 巨大な引数では下位の還元も検証される.
+     */
+    private static DoubleDoubleFloat randomArgument(Random random, double range) {
+        double high = (2 * random.nextDouble() - 1) * range;
+        return DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+    }
+
+    public static class 精度の検証 {
+
+        @Test
+        public void test_sinとcosの最大相対誤差は8u2以下() {
+            Random random = new Random(1L);
+            for (double range : new double[] { 0.7, 10d, 1E6, 1E20, 1E300 }) {
+                double maxError = 0d;
+                for (int i = 0; i < 500; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range);
+                    BigDecimal exact = exactValue(x);
+                    maxError = Math.max(maxError, relativeError(x.sin(), sinReference(exact)));
+                    maxError = Math.max(maxError, relativeError(x.cos(), cosReference(exact)));
+                }
+                assertThat("range = " + range, maxError, is(lessThanOrEqualTo(8 * U2)));
+            }
+        }
+
+        @Test
+        public void test_tanの最大相対誤差は12u2以下() {
+            Random random = new Random(2L);
+            for (double range : new double[] { 0.7, 10d, 1E20 }) {
+                double maxError = 0d;
+                for (int i = 0; i < 500; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range);
+                    BigDecimal exact = exactValue(x);
+                    BigDecimal expected = sinReference(exact).divide(cosReference(exact), MC_EVALUATION);
+                    maxError = Math.max(maxError, relativeError(x.tan(), expected));
+                }
+                assertThat("range = " + range, maxError, is(lessThanOrEqualTo(12 * U2)));
+            }
+        }
+
+        @Test
+        public void test_π_2の倍数に近い引数でも相対精度が保たれる() {
+            //6381956970095103 * 2^797 は, π/2 の倍数に最も近い double の1つとして知られる
+            double[] hardCases = {
+                    6381956970095103d * 0x1p797, 1E22, 355d, 103993d,
+                    0x1.921fb54442d18p0, 0x1.921fb54442d18p1 };
+            for (double h : hardCases) {
+                DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(h);
+                BigDecimal exact = exactValue(x);
+                assertThat("x = " + h, relativeError(x.sin(), sinReference(exact)), is(lessThanOrEqualTo(8 * U2)));
+                assertThat("x = " + h, relativeError(x.cos(), cosReference(exact)), is(lessThanOrEqualTo(8 * U2)));
+            }
+        }
+
+        @Test
+        public void test_sinCosはsinとcosに一致する() {
+            Random random = new Random(3L);
+            for (double range : new double[] { 0.7, 10d, 1E6, 1E20, 1E300 }) {
+                for (int i = 0; i < 1000; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range);
+                    DoubleDoubleFloat[] sinCos = x.sinCos();
+                    assertThat(sinCos.length, is(2));
+                    assertThat(sinCos[0], is(x.sin()));
+                    assertThat(sinCos[1], is(x.cos()));
+                }
+            }
+        }
+
+        @Test
+        public void test_奇関数と偶関数の対称性は正確() {
+            Random random = new Random(4L);
+            for (double range : new double[] { 0.7, 10d, 1E6, 1E20, 1E300 }) {
+                for (int i = 0; i < 1000; i++) {
+                    DoubleDoubleFloat x = randomArgument(random, range);
+                    assertThat(x.negated().sin(), is(x.sin().negated()));
+                    assertThat(x.negated().cos(), is(x.cos()));
+                    assertThat(x.negated().tan(), is(x.tan().negated()));
+                }
+            }
+        }
+    }
+
+    public static class 逆三角関数の精度の検証 {
+
+        /**
+         * 絶対値が1以下の乱数を返す. <br>
+         * 1に近い値 (asin, acos の桁落ちが問題となる範囲) を多く含む.
+         */
+        private static DoubleDoubleFloat randomUnitArgument(Random random) {
+            double high = random.nextBoolean()
+                    ? 2 * random.nextDouble() - 1
+                    : (1d - Math.scalb(random.nextDouble(), -random.nextInt(50))) * (random.nextBoolean() ? 1 : -1);
+            DoubleDoubleFloat x = DoubleDoubleFloat.valueOf(high).plus(Math.ulp(high) * (random.nextDouble() - 0.5));
+            return x.abs().compareTo(DoubleDoubleFloat.POSITIVE_1) > 0
+                    ? DoubleDoubleFloat.valueOf(high)
+                    : x;
+        }
+
+        @Test
+        public void test_atanの最大相対誤差は8u2以下() {
+            Random random = new Random(5L);
+            double maxError = 0d;
+            for (int i = 0; i < 1_000; i++) {
+                DoubleDoubleFloat x = randomArgument(random, Math.scalb(1d, random.nextInt(80) - 40));
+                if (x.doubleValue() == 0d) {
+                    continue;
+                }
+                BigDecimal expected = atan2Reference(exactValue(x), BigDecimal.ONE);
+                maxError = Math.max(maxError, relativeError(x.atan(), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_asinとacosの最大相対誤差は8u2以下() {
+            Random random = new Random(6L);
+            double maxError = 0d;
+            for (int i = 0; i < 1_000; i++) {
+                DoubleDoubleFloat x = randomUnitArgument(random);
+                if (x.doubleValue() == 0d || x.abs().equals(DoubleDoubleFloat.POSITIVE_1)) {
+                    continue;
+                }
+                BigDecimal exact = exactValue(x);
+                BigDecimal c = BigDecimal.ONE.subtract(exact.multiply(exact)).sqrt(MC_EVALUATION);
+                maxError = Math.max(maxError, relativeError(x.asin(), atan2Reference(exact, c)));
+                maxError = Math.max(maxError, relativeError(x.acos(), atan2Reference(c, exact)));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_atan2の最大相対誤差は8u2以下() {
+            Random random = new Random(7L);
+            double maxError = 0d;
+            for (int i = 0; i < 1_000; i++) {
+                DoubleDoubleFloat y = randomArgument(random, Math.scalb(1d, random.nextInt(40) - 20));
+                DoubleDoubleFloat x = randomArgument(random, Math.scalb(1d, random.nextInt(40) - 20));
+                if (y.doubleValue() == 0d) {
+                    continue;
+                }
+                BigDecimal expected = atan2Reference(exactValue(y), exactValue(x));
+                maxError = Math.max(maxError, relativeError(DoubleDoubleFloat.atan2(y, x), expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_atan2は極端な大きさの引数でも精度が保たれる() {
+            DoubleDoubleFloat big = DoubleDoubleFloat.valueOf(0x1.8p1000).plus(0x1p940);
+            DoubleDoubleFloat small = DoubleDoubleFloat.valueOf(0x1.4p-1000).plus(0x1p-1060);
+            DoubleDoubleFloat[][] cases = {
+                    { big, big.times(3d) }, { big.negated(), big }, { small, small.negated() } };
+            for (DoubleDoubleFloat[] c : cases) {
+                BigDecimal expected = atan2Reference(exactValue(c[0]), exactValue(c[1]));
+                assertThat(relativeError(DoubleDoubleFloat.atan2(c[0], c[1]), expected),
+                        is(lessThanOrEqualTo(8 * U2)));
+            }
+        }
+
+        @Test
+        public void test_atan2は指数の大きく異なる引数でも精度が保たれる() {
+            //|y/x| が小さく, 大きい方の引数でのスケーリングでは小さい方の下位が失われる場合
+            DoubleDoubleFloat y0 = DoubleDoubleFloat.valueOf(-3.725e-302);
+            DoubleDoubleFloat x0 = DoubleDoubleFloat.valueOf(2.044e-98);
+            assertThat(relativeError(DoubleDoubleFloat.atan2(y0, x0), atan2Reference(exactValue(y0), exactValue(x0))),
+                    is(lessThanOrEqualTo(8 * U2)));
+
+            Random random = new Random(9L);
+            double maxError = 0d;
+            for (int i = 0; i < 1_000; i++) {
+                int exponentY = random.nextInt(1800) - 900;
+                int exponentX = random.nextInt(1800) - 900;
+                DoubleDoubleFloat y = randomArgument(random, Math.scalb(1d, exponentY));
+                DoubleDoubleFloat x = randomArgument(random, Math.scalb(1d, exponentX));
+                DoubleDoubleFloat result = DoubleDoubleFloat.atan2(y, x);
+                if (y.doubleValue() == 0d || Math.abs(result.doubleValue()) < 0x1p-960) {
+                    //結果が非正規化数に近い場合は, 相対誤差を評価しない
+                    continue;
+                }
+                BigDecimal expected = atan2Reference(exactValue(y), exactValue(x));
+                maxError = Math.max(maxError, relativeError(result, expected));
+            }
+            assertThat(maxError, is(lessThanOrEqualTo(8 * U2)));
+        }
+
+        @Test
+        public void test_atan2は縦座標について奇関数() {
+            Random random = new Random(8L);
+            for (int i = 0; i < 1_000; i++) {
+                DoubleDoubleFloat y = randomArgument(random, 10d);
+                DoubleDoubleFloat x = randomArgument(random, 10d);
+                assertThat(DoubleDoubleFloat.atan2(y.negated(), x), is(DoubleDoubleFloat.atan2(y, x).negated()));
+            }
+        }
+    }
+
+    public static class 特殊値の検証 {
+
+        @Test
+        public void test_sinの特殊値はMath_sinに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.sin(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.sin(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.sin(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.sin(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.sin(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.valueOf(Double.MIN_VALUE).sin(),
+                    is(DoubleDoubleFloat.valueOf(Double.MIN_VALUE)));
+        }
+
+        @Test
+        public void test_cosの特殊値はMath_cosに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.cos(), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.cos(), is(DoubleDoubleFloat.POSITIVE_1));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.cos(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.cos(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.cos(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_tanの特殊値はMath_tanに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.tan(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.tan(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.tan(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.NaN.tan(), is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_sinCosの特殊値() {
+            DoubleDoubleFloat[] zero = DoubleDoubleFloat.NEGATIVE_0.sinCos();
+            assertThat(zero[0], is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(zero[1], is(DoubleDoubleFloat.POSITIVE_1));
+            DoubleDoubleFloat[] infinity = DoubleDoubleFloat.POSITIVE_INFINITY.sinCos();
+            assertThat(infinity[0], is(DoubleDoubleFloat.NaN));
+            assertThat(infinity[1], is(DoubleDoubleFloat.NaN));
+        }
+
+        @Test
+        public void test_atanの特殊値はMath_atanに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.atan(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.atan(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_INFINITY.atan(), is(halfPi()));
+            assertThat(DoubleDoubleFloat.NEGATIVE_INFINITY.atan(), is(halfPi().negated()));
+            assertThat(DoubleDoubleFloat.NaN.atan(), is(DoubleDoubleFloat.NaN));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.atan().times(4d), is(pi()));
+        }
+
+        @Test
+        public void test_asinとacosの特殊値はMathに従う() {
+            assertThat(DoubleDoubleFloat.POSITIVE_0.asin(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_0.asin(), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.asin(), is(halfPi()));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.asin(), is(halfPi().negated()));
+            assertThat(DoubleDoubleFloat.POSITIVE_1.acos(), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(DoubleDoubleFloat.NEGATIVE_1.acos(), is(pi()));
+            assertThat(DoubleDoubleFloat.POSITIVE_0.acos(), is(halfPi()));
+
+            //1をわずかに超える値, 無限大, NaN
+            DoubleDoubleFloat beyondOne = DoubleDoubleFloat.POSITIVE_1.plus(0x1p-100);
+            for (DoubleDoubleFloat x : new DoubleDoubleFloat[] {
+                    beyondOne, beyondOne.negated(), DoubleDoubleFloat.POSITIVE_INFINITY, DoubleDoubleFloat.NaN }) {
+                assertThat(x.asin(), is(DoubleDoubleFloat.NaN));
+                assertThat(x.acos(), is(DoubleDoubleFloat.NaN));
+            }
+        }
+
+        @Test
+        public void test_atan2の象限と符号付きの0はMath_atan2に従う() {
+            double[] values = {
+                    0d, -0d, 1d, -1d, 2.5, -2.5, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+            for (double y : values) {
+                for (double x : values) {
+                    DoubleDoubleFloat result = DoubleDoubleFloat.atan2(
+                            DoubleDoubleFloat.valueOf(y), DoubleDoubleFloat.valueOf(x));
+                    double expected = Math.atan2(y, x);
+                    String message = "atan2(" + y + ", " + x + ")";
+                    if (Double.isNaN(expected)) {
+                        assertThat(message, result, is(DoubleDoubleFloat.NaN));
+                    } else if (expected == 0d) {
+                        //符号付きの0が一致する
+                        assertThat(message, result, is(DoubleDoubleFloat.valueOf(expected)));
+                    } else {
+                        //Math.atan2 の誤差 (2ulp以内) を許容して象限を比較する
+                        assertThat(message, result.doubleValue(), is(closeTo(expected, 2 * Math.ulp(expected))));
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void test_atan2のアンダーフローした結果はyの符号を持つ0() {
+            DoubleDoubleFloat tiny = DoubleDoubleFloat.valueOf(1e-310);
+            DoubleDoubleFloat max = DoubleDoubleFloat.MAX_VALUE;
+            assertThat(DoubleDoubleFloat.atan2(tiny.negated(), max), is(DoubleDoubleFloat.NEGATIVE_0));
+            assertThat(DoubleDoubleFloat.atan2(tiny, max), is(DoubleDoubleFloat.POSITIVE_0));
+            assertThat(Math.atan2(-1e-310, Double.MAX_VALUE), is(-0d));
+
+            //x < 0 の場合は ±π
+            assertThat(DoubleDoubleFloat.atan2(tiny.negated(), max.negated()), is(pi().negated()));
+            assertThat(DoubleDoubleFloat.atan2(tiny, max.negated()), is(pi()));
+        }
+
+        @Test
+        public void test_atan2の特殊値はdouble_doubleの定数() {
+            DoubleDoubleFloat inf = DoubleDoubleFloat.POSITIVE_INFINITY;
+            assertThat(DoubleDoubleFloat.atan2(DoubleDoubleFloat.POSITIVE_0, DoubleDoubleFloat.NEGATIVE_0), is(pi()));
+            assertThat(DoubleDoubleFloat.atan2(DoubleDoubleFloat.NEGATIVE_1, DoubleDoubleFloat.POSITIVE_0),
+                    is(halfPi().negated()));
+            assertThat(DoubleDoubleFloat.atan2(inf, inf), is(halfPi().times(0.5)));
+            assertThat(DoubleDoubleFloat.atan2(inf, inf.negated()), is(pi().times(0.75)));
+        }
+
+        private static DoubleDoubleFloat pi() {
+            return DoubleDoubleFloat.valueOf(PI);
+        }
+
+        private static DoubleDoubleFloat halfPi() {
+            return pi().times(0.5);
+        }
+    }
+}
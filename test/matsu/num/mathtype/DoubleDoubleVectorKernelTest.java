@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assume.*;
+
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DoubleDoubleVectorKernel} クラスのテスト. <br>
+ * バージョン付きのソースフォルダ ({@code src-versions/17}) のクラスを用い,
+ * {@code --add-modules jdk.incubator.vector} を指定して実行した場合のみ検証される. <br>
+ * 検証されるのは JVM が使用するビット長のみであり, 他のビット長はシステムプロパティ
+ * {@value DoubleDoubleVectorKernel#VECTOR_BIT_SIZE_PROPERTY} を指定して検証する.
+ */
+@RunWith(Enclosed.class)
+final class DoubleDoubleVectorKernelTest {
+
+    public static final Class<?> TEST_CLASS = DoubleDoubleVectorKernel.class;
+
+    private static final int LENGTH = 1003;
+
+    /**
+     * 特殊値と乱数を要素に持つ, 上位と下位の配列の組 {xhs, xls, yhs, yls} を生成する.
+     */
+    private static double[][] inputs() {
+        DoubleDoubleFloat[] specials = {
+                DoubleDoubleFloat.POSITIVE_0,
+                DoubleDoubleFloat.NEGATIVE_0,
+                DoubleDoubleFloat.POSITIVE_INFINITY,
+                DoubleDoubleFloat.NEGATIVE_INFINITY,
+                DoubleDoubleFloat.NaN,
+                DoubleDoubleFloat.MAX_VALUE,
+                DoubleDoubleFloat.MAX_VALUE.negated(),
+                DoubleDoubleFloat.valueOf(Double.MIN_VALUE),
+        };
+
+        Random random = new Random(1_618L);
+        double[][] arrays = new double[4][LENGTH];
+        for (int k = 0; k < 2; k++) {
+            for (int i = 0; i < LENGTH; i++) {
+                DoubleDoubleFloat value;
+                if (random.nextInt(8) == 0) {
+                    value = specials[random.nextInt(specials.length)];
+                } else {
+                    double high = Math.scalb(random.nextDouble() - 0.5, random.nextInt(2100) - 1050);
+                    double low = high * 0x1p-54 * (random.nextDouble() - 0.5);
+                    value = DoubleDoubleFloat.valueOf(high, low);
+                }
+                arrays[2 * k][i] = value.doubleValue();
+                arrays[2 * k + 1][i] = value.lowValue();
+            }
+        }
+        return arrays;
+    }
+
+    /**
+     * カーネルが処理した要素が, 要素ごとの演算結果とビット単位で一致することを確かめる.
+     */
+    private static void assertElementwise(
+            double[][] in, int processed, double[] zhs, double[] zls,
+            BinaryOperator<DoubleDoubleFloat> operator) {
+        assertThat(processed, is(greaterThan(LENGTH - 64)));
+        for (int i = 0; i < processed; i++) {
+            DoubleDoubleFloat expected = operator.apply(
+                    DoubleDoubleFloat.valueOf(in[0][i], in[1][i]),
+                    DoubleDoubleFloat.valueOf(in[2][i], in[3][i]));
+            assertThat(
+                    Double.doubleToRawLongBits(zhs[i]),
+                    is(Double.doubleToRawLongBits(expected.doubleValue())));
+            assertThat(
+                    Double.doubleToRawLongBits(zls[i]),
+                    is(Double.doubleToRawLongBits(expected.lowValue())));
+        }
+    }
+
+    public static class 和の検証 {
+
+        @BeforeClass
+        public static void beforeClass_Vector_APIが利用可能() {
+            assumeThat(DoubleDoubleVectorKernel.AVAILABLE, is(true));
+        }
+
+        @Test
+        public void test_和はスカラーの演算と一致する() {
+            double[][] in = inputs();
+            double[] zhs = new double[LENGTH];
+            double[] zls = new double[LENGTH];
+            int processed = DoubleDoubleVectorKernel.add(in[0], in[1], in[2], in[3], zhs, zls, LENGTH);
+            assertElementwise(in, processed, zhs, zls, DoubleDoubleFloat::plus);
+        }
+    }
+
+    public static class 積の検証 {
+
+        @BeforeClass
+        public static void beforeClass_Vector_APIとFMAが利用可能() {
+            assumeThat(DoubleDoubleVectorKernel.AVAILABLE, is(true));
+            assumeThat(TwoProduct.USE_FMA, is(true));
+        }
+
+        @Test
+        public void test_積はFMAによるスカラーの演算と一致する() {
+            double[][] in = inputs();
+            double[] zhs = new double[LENGTH];
+            double[] zls = new double[LENGTH];
+            int processed = DoubleDoubleVectorKernel.multiply(in[0], in[1], in[2], in[3], zhs, zls, LENGTH);
+            assertElementwise(in, processed, zhs, zls, DoubleDoubleFloat::times);
+        }
+    }
+
+    public static class 利用不可の場合の検証 {
+
+        @BeforeClass
+        public static void beforeClass_Vector_APIが利用不可() {
+            assumeThat(DoubleDoubleVectorKernel.AVAILABLE, is(false));
+        }
+
+        @Test
+        public void test_何も処理しない() {
+            double[][] in = inputs();
+            double[] zhs = new double[LENGTH];
+            double[] zls = new double[LENGTH];
+            assertThat(DoubleDoubleVectorKernel.add(in[0], in[1], in[2], in[3], zhs, zls, LENGTH), is(0));
+            assertThat(DoubleDoubleVectorKernel.multiply(in[0], in[1], in[2], in[3], zhs, zls, LENGTH), is(0));
+            assertThat(DoubleDoubleVectorKernel.vectorBitSize(), is(0));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2024 Matsuura Y.
+ * 
+ * This software is released under the MIT License.
+ * http://opensource.org/licenses/mit-license.php
+ */
+package matsu.num.mathtype;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link TwoProduct} クラスのテスト.
+ */
+@RunWith(Enclosed.class)
+final class TwoProductTest {
+
+    public static final Class<?> TEST_CLASS = TwoProduct.class;
+
+    @RunWith(Theories.class)
+    public static class 積の誤差の値の検証 {
+
+        @DataPoints
+        public static double[][] values = {
+                { 1d + 0x1p-52, 1d - 0x1p-52 },
+                { 0.1, 0.3 },
+                { -1.7976931348623157E308, 0.5 },
+                { 1.7976931348623157E308, 0.9999999999999999 },
+                { Double.MIN_NORMAL, 1d + 0x1p-52 },
+                { Double.MIN_VALUE * 12345, 0x1p600 + 1d },
+                { 0x1.0000001p-540, 0x1.fffffffp-540 },
+                { 0x1.0000001p-530, 0x1.0000003p-530 },
+                { 0d, -3d },
+                { -0d, 3d },
+        };
+
+        @Theory
+        public void test_FMAによる計算は実数演算の結果に一致する(double[] value) {
+            double x = value[0];
+            double y = value[1];
+            double p = x * y;
+
+            assertThat(TwoProduct.errorByFma(x, y, p), is(exactError(x, y, p)));
+        }
+
+        @Theory
+        public void test_分割による計算は実数演算の結果に一致する(double[] value) {
+            double x = value[0];
+            double y = value[1];
+            double p = x * y;
+
+            assertThat(TwoProduct.errorBySplit(x, y, p), is(exactError(x, y, p)));
+        }
+
+        @Theory
+        public void test_平方の分割による計算は実数演算の結果に一致する(double[] value) {
+            double x = value[0];
+            double p = x * x;
+            if (!Double.isFinite(p)) {
+                return;
+            }
+
+            assertThat(TwoProduct.squareErrorBySplit(x, p), is(exactError(x, x, p)));
+        }
+
+        /**
+         * x*y - p を丸めたdoubleを返す.
+         */
+        private static double exactError(double x, double y, double p) {
+            return new BigDecimal(x).multiply(new BigDecimal(y))
+                    .subtract(new BigDecimal(p))
+                    .doubleValue();
+        }
+    }
+
+    public static class 二つの計算方法の一致の検証 {
+
+        /**
+         * 乱数によるコーパスの大きさ.
+         */
+        private static final int CORPUS_SIZE = 1_000_000;
+
+        @Test
+        public void test_乱数に対して二つの方法はビット単位で一致する() {
+            Random random = new Random(8_128L);
+            for (int i = 0; i < CORPUS_SIZE; i++) {
+                double x = randomDouble(random, i);
+                double y = i % 3 == 0
+                        //積が正規数の範囲に収まりやすいように, xの指数に合わせる
+                        ? Math.scalb(1d + random.nextDouble(), -Math.getExponent(x) + random.nextInt(200) - 100)
+                        : randomDouble(random, i / 3);
+                double p = x * y;
+                if (!Double.isFinite(p)) {
+                    continue;
+                }
+
+                double byFma = TwoProduct.errorByFma(x, y, p);
+                double bySplit = TwoProduct.errorBySplit(x, y, p);
+                if (Double.doubleToRawLongBits(byFma) != Double.doubleToRawLongBits(bySplit)) {
+                    throw new AssertionError(
+                            String.format("x = %s, y = %s: FMA: %s, split: %s", x, y, byFma, bySplit));
+                }
+
+                double pp = x * x;
+                if (!Double.isFinite(pp)) {
+                    continue;
+                }
+                double squareBySplit = TwoProduct.squareErrorBySplit(x, pp);
+                if (Double.doubleToRawLongBits(TwoProduct.errorByFma(x, x, pp))
+                        != Double.doubleToRawLongBits(squareBySplit)) {
+                    throw new AssertionError(
+                            String.format("x = %s: square, split: %s", x, squareBySplit));
+                }
+            }
+        }
+
+        /**
+         * ビット列が一様乱数であるdoubleを返す. <br>
+         * 一部は非正規数である.
+         */
+        private static double randomDouble(Random random, int i) {
+            long bits = random.nextLong();
+            if (i % 5 == 0) {
+                //非正規数
+                bits &= 0x800F_FFFF_FFFF_FFFFL;
+            }
+            double out = Double.longBitsToDouble(bits);
+            return Double.isNaN(out) ? 0d : out;
+        }
+    }
+
+    public static class 計算方法の選択の表示 {
+
+        @Test
+        public void test_計算方法の表示() {
+            System.out.println(TEST_CLASS.getName());
+            System.out.println("USE_FMA: " + TwoProduct.USE_FMA);
+            System.out.println();
+        }
+    }
+}